@@ -0,0 +1,147 @@
+#!/bin/bash
+#
+# F1 Bets API - Thread Mode Load Test
+# ===================================
+# Compares platform-thread and virtual-thread request handling while OpenF1 is slow.
+#
+# The app must be started against the slow upstream stub and with the API rate limit
+# raised, once per mode:
+#
+#   ./load-test.sh stub &                                   # slow OpenF1 stub on :8089
+#   OPENF1_BASE_URL=http://localhost:8089 RATE_LIMIT_REQUESTS=1000000 \
+#     SERVER_TOMCAT_MBEANREGISTRY_ENABLED=true \
+#     VIRTUAL_THREADS_ENABLED=false java -jar target/f1-bets-*.jar
+#   ./load-test.sh run platform
+#   # restart the app on a Java 21 runtime with VIRTUAL_THREADS_ENABLED=true
+#   ./load-test.sh run virtual
+#   ./load-test.sh compare
+#
+# Usage: ./load-test.sh {stub|run <label>|compare}
+#
+# Requires: hey (https://github.com/rakyll/hey), curl, python3
+#
+
+set -e
+
+BASE_URL="${BASE_URL:-http://localhost:8090}"
+STUB_PORT="${STUB_PORT:-8089}"
+STUB_DELAY_SECONDS="${STUB_DELAY_SECONDS:-5}"
+CONCURRENCY="${CONCURRENCY:-400}"
+DURATION="${DURATION:-60s}"
+PROBES="${PROBES:-50}"
+RESULTS_DIR="${RESULTS_DIR:-load-test-results}"
+
+usage() {
+    echo "Usage: $0 {stub|run <label>|compare}"
+    echo ""
+    echo "Commands:"
+    echo "  stub          Serve a fake OpenF1 API that answers after \$STUB_DELAY_SECONDS (default 5)"
+    echo "  run <label>   Load /api/v1/events (cache bypassed) and probe /actuator/health meanwhile"
+    echo "  compare       Print the summary of every recorded run side by side"
+    echo ""
+    echo "Environment: BASE_URL, CONCURRENCY (400), DURATION (60s), PROBES (50), RESULTS_DIR"
+    exit 1
+}
+
+stub() {
+    echo "Slow OpenF1 stub on :$STUB_PORT (delay ${STUB_DELAY_SECONDS}s)"
+    STUB_DELAY_SECONDS="$STUB_DELAY_SECONDS" python3 - "$STUB_PORT" <<'PY'
+import json, os, sys, time
+from http.server import ThreadingHTTPServer, BaseHTTPRequestHandler
+
+DELAY = float(os.environ["STUB_DELAY_SECONDS"])
+SESSION = {"session_key": 9472, "session_name": "Race", "session_type": "Race",
+           "circuit_short_name": "Silverstone", "country_name": "Great Britain", "country_code": "GBR",
+           "date_start": "2024-07-07T14:00:00+00:00", "date_end": "2024-07-07T16:00:00+00:00", "year": 2024}
+DRIVER = {"driver_number": 44, "full_name": "Lewis HAMILTON", "team_name": "Mercedes", "name_acronym": "HAM"}
+
+class Handler(BaseHTTPRequestHandler):
+    def do_GET(self):
+        time.sleep(DELAY)
+        body = json.dumps([DRIVER] if self.path.startswith("/drivers") else [SESSION]).encode()
+        self.send_response(200)
+        self.send_header("Content-Type", "application/json")
+        self.send_header("Content-Length", str(len(body)))
+        self.end_headers()
+        self.wfile.write(body)
+
+    def log_message(self, *args):
+        pass
+
+ThreadingHTTPServer(("0.0.0.0", int(sys.argv[1])), Handler).serve_forever()
+PY
+}
+
+scrape() {
+    local metrics
+    metrics=$(curl -s -m 30 "$BASE_URL/actuator/prometheus") || { echo "(no response within 30s)"; return; }
+    echo "$metrics" | grep -E "^(tomcat_threads_busy_threads|tomcat_threads_config_max_threads|hikaricp_connections_pending|hikaricp_connections_active|jvm_threads_live_threads)[{ ]" || true
+}
+
+run() {
+    local label="$1"
+    [ -z "$label" ] && usage
+    command -v hey > /dev/null || { echo "hey is required: go install github.com/rakyll/hey@latest"; exit 1; }
+
+    mkdir -p "$RESULTS_DIR"
+    local out="$RESULTS_DIR/$label.txt"
+    local probes="$RESULTS_DIR/$label.health.txt"
+    : > "$probes"
+
+    echo "[$label] $CONCURRENCY concurrent clients for $DURATION against $BASE_URL/api/v1/events"
+    hey -z "$DURATION" -c "$CONCURRENCY" -H "Cache-Control: no-cache" \
+        "$BASE_URL/api/v1/events?session_type=Race&year=2024" > "$RESULTS_DIR/$label.hey.txt" &
+    local hey_pid=$!
+
+    sleep 5
+    local before; before=$(scrape)
+    local during
+    for i in $(seq 1 "$PROBES"); do
+        curl -s -o /dev/null -m 30 -w "%{http_code} %{time_total}\n" "$BASE_URL/actuator/health" >> "$probes" || true
+        [ "$i" -eq $((PROBES / 2)) ] && during=$(scrape)
+        sleep 0.5
+    done
+    wait "$hey_pid"
+
+    {
+        echo "label: $label"
+        echo "concurrency: $CONCURRENCY  duration: $DURATION  upstream delay: ${STUB_DELAY_SECONDS}s"
+        echo ""
+        echo "== /api/v1/events (hey) =="
+        grep -E "Requests/sec|Average|Slowest|Fastest|  (50|90|99)%|\[[0-9]+\]" "$RESULTS_DIR/$label.hey.txt"
+        echo ""
+        echo "== /actuator/health probes during load =="
+        sort -k2 -n "$probes" | awk '{ t[NR]=$2; if ($1 != "200") fail++ }
+            END {
+                p50 = int(NR * 0.50) + 1; if (p50 > NR) p50 = NR
+                p99 = int(NR * 0.99) + 1; if (p99 > NR) p99 = NR
+                printf "probes: %d  non-200: %d  p50: %.3fs  p99: %.3fs  max: %.3fs\n",
+                       NR, fail + 0, t[p50], t[p99], t[NR]
+            }'
+        echo ""
+        echo "== server gauges (5s into the run) =="
+        echo "$before"
+        echo ""
+        echo "== server gauges (halfway through probing) =="
+        echo "$during"
+    } > "$out"
+
+    cat "$out"
+    echo ""
+    echo "Saved to $out"
+}
+
+compare() {
+    for f in "$RESULTS_DIR"/*.txt; do
+        case "$f" in *.hey.txt|*.health.txt) continue ;; esac
+        echo "────────────────────────────────────────────────────────────"
+        cat "$f"
+    done
+}
+
+case "$1" in
+    stub) stub ;;
+    run) run "$2" ;;
+    compare) compare ;;
+    *) usage ;;
+esac
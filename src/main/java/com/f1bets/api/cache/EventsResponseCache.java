@@ -0,0 +1,120 @@
+package com.f1bets.api.cache;
+
+import com.f1bets.api.dto.response.EventResponse;
+import com.f1bets.application.dto.EventWithDrivers;
+import com.f1bets.application.dto.SessionQuery;
+import com.f1bets.application.service.OperationMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-serialized representations of {@code GET /api/v1/events}, keyed by {@link SessionQuery}.
+ *
+ * The data provider hands out the same list instance until its cache refreshes, so the
+ * instance itself is the version: as long as it is unchanged the stored JSON bytes, their
+ * gzip encoding and the strong ETag are reused as-is and no mapping or serialization runs.
+ */
+@Component
+public class EventsResponseCache {
+
+    static final String CACHE_COUNTER = "f1bets.events.response.cache";
+
+    private final Cache<SessionQuery, SerializedEvents> cache;
+    private final ObjectWriter writer;
+    private final OperationMetrics metrics;
+
+    public EventsResponseCache(
+            ObjectMapper objectMapper,
+            OperationMetrics metrics,
+            @Value("${openf1.cache-ttl:180}") int cacheTtlSeconds) {
+        this.writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+            .constructCollectionType(List.class, EventResponse.class));
+        this.metrics = metrics;
+        this.cache = Caffeine.newBuilder()
+            .expireAfterWrite(cacheTtlSeconds, TimeUnit.SECONDS)
+            .maximumSize(1000)
+            .build();
+    }
+
+    /**
+     * Returns the serialized form of {@code events}, serializing only if this query has no
+     * entry yet or its entry was built from a different list instance.
+     */
+    public SerializedEvents get(SessionQuery query, List<EventWithDrivers> events) {
+        SerializedEvents current = cache.getIfPresent(query);
+        if (current != null && current.source() == events) {
+            metrics.counter(CACHE_COUNTER, "result", "hit").increment();
+            return current;
+        }
+        metrics.counter(CACHE_COUNTER, "result", "miss").increment();
+        SerializedEvents serialized = serialize(events);
+        cache.put(query, serialized);
+        return serialized;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private SerializedEvents serialize(List<EventWithDrivers> events) {
+        try {
+            byte[] json = writer.writeValueAsBytes(events.stream().map(EventResponse::from).toList());
+            return new SerializedEvents(events, json, gzip(json), strongEtag(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize events response", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String strongEtag(byte[] data) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(data);
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * One cached representation. {@code source} is kept only for the identity check.
+     */
+    public record SerializedEvents(List<EventWithDrivers> source, byte[] json, byte[] gzip, String etag) {
+
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.f1bets.api.controller;
 
 import com.f1bets.api.dto.request.PlaceBetRequest;
+import com.f1bets.api.dto.request.PlaceBetSlipRequest;
 import com.f1bets.api.dto.response.BetResponse;
+import com.f1bets.api.dto.response.BetSlipResponse;
 import com.f1bets.application.dto.PlaceBetCommand;
+import com.f1bets.application.dto.PlaceBetSlipCommand;
+import com.f1bets.application.usecase.PlaceBetSlipUseCase;
 import com.f1bets.application.usecase.PlaceBetUseCase;
 import com.f1bets.domain.model.DriverNumber;
 import com.f1bets.domain.model.Money;
@@ -32,9 +36,11 @@ import org.springframework.web.bind.annotation.RestController;
 public class BetController {
 
     private final PlaceBetUseCase placeBetUseCase;
+    private final PlaceBetSlipUseCase placeBetSlipUseCase;
 
-    public BetController(PlaceBetUseCase placeBetUseCase) {
+    public BetController(PlaceBetUseCase placeBetUseCase, PlaceBetSlipUseCase placeBetSlipUseCase) {
         this.placeBetUseCase = placeBetUseCase;
+        this.placeBetSlipUseCase = placeBetSlipUseCase;
     }
 
     @PostMapping
@@ -45,7 +51,8 @@ public class BetController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Bet placed successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid request or insufficient balance"),
-        @ApiResponse(responseCode = "409", description = "Idempotency key conflict - same key used with different request body")
+        @ApiResponse(responseCode = "409", description = "Idempotency key conflict - same key used with different request body"),
+        @ApiResponse(responseCode = "422", description = "Unknown session or driver, or a per-session exposure limit would be exceeded")
     })
     public ResponseEntity<BetResponse> placeBet(
             @Parameter(
@@ -75,4 +82,46 @@ public class BetController {
         var result = placeBetUseCase.execute(command);
         return ResponseEntity.status(HttpStatus.CREATED).body(BetResponse.from(result));
     }
+
+    @PostMapping("/batch")
+    @Operation(
+        summary = "Place a bet slip",
+        description = "Place several bets, possibly across sessions, in one request. All selections are validated first; the user is debited once for the total stake and either every bet is placed or none is. Each selection follows the rules of a single bet."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "All bets placed; one result per selection in request order"),
+        @ApiResponse(responseCode = "400", description = "Invalid request (e.g. empty slip or more than 20 selections)"),
+        @ApiResponse(responseCode = "402", description = "Balance does not cover the total stake of the slip"),
+        @ApiResponse(responseCode = "409", description = "A session is already settled, or idempotency key conflict"),
+        @ApiResponse(responseCode = "422", description = "Unknown session or driver, or a per-session exposure limit would be exceeded")
+    })
+    public ResponseEntity<BetSlipResponse> placeBetSlip(
+            @Parameter(
+                description = "Unique user identifier. Alphanumeric, hyphens, underscores allowed. Max 100 chars.",
+                example = "john-doe-123",
+                required = true
+            )
+            @RequestHeader("X-User-Id") String userIdHeader,
+
+            @Parameter(
+                description = "Unique request identifier (UUID) for the whole slip. Reusing with same request returns cached response. Reusing with different request returns 409.",
+                example = "550e8400-e29b-41d4-a716-446655440000",
+                required = true
+            )
+            @RequestHeader("Idempotency-Key") String idempotencyKey,
+
+            @Valid @RequestBody PlaceBetSlipRequest request) {
+
+        var selections = request.selections().stream()
+            .map(selection -> new PlaceBetSlipCommand.Selection(
+                SessionKey.of(selection.sessionKey()),
+                DriverNumber.of(selection.driverNumber()),
+                Money.fromDecimalForStake(selection.amount())
+            ))
+            .toList();
+
+        var result = placeBetSlipUseCase.execute(
+            new PlaceBetSlipCommand(UserId.of(userIdHeader), selections, idempotencyKey));
+        return ResponseEntity.status(HttpStatus.CREATED).body(BetSlipResponse.from(result));
+    }
 }
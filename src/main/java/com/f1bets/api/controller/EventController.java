@@ -1,8 +1,10 @@
 package com.f1bets.api.controller;
 
+import com.f1bets.api.cache.EventsResponseCache;
 import com.f1bets.api.dto.request.SettleEventRequest;
 import com.f1bets.api.dto.response.EventResponse;
 import com.f1bets.api.dto.response.SettleEventResponse;
+import com.f1bets.application.dto.SessionQuery;
 import com.f1bets.application.dto.SettleEventCommand;
 import com.f1bets.application.usecase.ListEventsUseCase;
 import com.f1bets.application.usecase.SettleEventUseCase;
@@ -11,11 +13,19 @@ import com.f1bets.domain.model.SessionKey;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -27,7 +37,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
+import java.time.Duration;
 
 @RestController
 @RequestMapping("/api/v1/events")
@@ -38,10 +48,17 @@ public class EventController {
 
     private final ListEventsUseCase listEventsUseCase;
     private final SettleEventUseCase settleEventUseCase;
+    private final EventsResponseCache responseCache;
+    private final CacheControl cacheControl;
 
-    public EventController(ListEventsUseCase listEventsUseCase, SettleEventUseCase settleEventUseCase) {
+    public EventController(ListEventsUseCase listEventsUseCase,
+                           SettleEventUseCase settleEventUseCase,
+                           EventsResponseCache responseCache,
+                           @Value("${openf1.cache-ttl:180}") int cacheTtlSeconds) {
         this.listEventsUseCase = listEventsUseCase;
         this.settleEventUseCase = settleEventUseCase;
+        this.responseCache = responseCache;
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(cacheTtlSeconds));
     }
 
     @GetMapping
@@ -50,10 +67,13 @@ public class EventController {
         description = "Retrieve F1 sessions from OpenF1 API with participating drivers and computed odds. Filter by session type, year, or country. Use Cache-Control: no-cache header to bypass cache."
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Events retrieved successfully"),
+        @ApiResponse(responseCode = "200", description = "Events retrieved successfully",
+            content = @Content(mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = EventResponse.class)))),
+        @ApiResponse(responseCode = "304", description = "Not modified - If-None-Match matches the current ETag"),
         @ApiResponse(responseCode = "503", description = "OpenF1 API unavailable - cached data returned if available")
     })
-    public ResponseEntity<List<EventResponse>> listEvents(
+    public ResponseEntity<byte[]> listEvents(
             @Parameter(
                 description = "Type of F1 session (e.g., Race, Qualifying, Sprint, Sprint Qualifying, Practice 1, Practice 2, Practice 3)",
                 example = "Race"
@@ -73,15 +93,51 @@ public class EventController {
             @RequestParam(required = false) String countryCode,
 
             @Parameter(description = "Cache control header - use 'no-cache' to bypass cache", hidden = true)
-            @RequestHeader(value = "Cache-Control", required = false) String cacheControl) {
+            @RequestHeader(value = "Cache-Control", required = false) String requestCacheControl,
 
-        boolean skipCache = "no-cache".equalsIgnoreCase(cacheControl);
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        boolean skipCache = "no-cache".equalsIgnoreCase(requestCacheControl);
         var events = listEventsUseCase.execute(sessionType, year, countryCode, skipCache);
-        var response = events.stream()
-            .map(EventResponse::from)
-            .toList();
 
-        return ResponseEntity.ok(response);
+        // Bytes, gzip variant and ETag are computed once per cache refresh, not per request
+        var serialized = responseCache.get(SessionQuery.of(sessionType, year, countryCode), events);
+
+        if (serialized.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(serialized.etag())
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .build();
+        }
+
+        var response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(serialized.etag())
+            .cacheControl(cacheControl)
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+
+        if (acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(serialized.gzip());
+        }
+        return response.body(serialized.json());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
     }
 
     // TODO: In production, this endpoint requires admin authentication (OAuth2/JWT with admin role).
@@ -0,0 +1,105 @@
+package com.f1bets.api.controller;
+
+import com.f1bets.api.dto.response.ExposureResponse;
+import com.f1bets.api.dto.response.SettleEventResponse;
+import com.f1bets.application.dto.SettleEventCommand;
+import com.f1bets.application.usecase.GetSessionExposureUseCase;
+import com.f1bets.application.usecase.PreviewSettlementUseCase;
+import com.f1bets.domain.model.DriverNumber;
+import com.f1bets.domain.model.SessionKey;
+import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Operator views of a session's liability: the exposure book and the settlement preview.
+ *
+ * TODO: Like settlement, these views require admin authentication in production; for this
+ *       take-home assignment authentication is omitted. Deployments that must not publish
+ *       liability data switch them off with {@code EXPOSURE_API_ENABLED=false}.
+ */
+@RestController
+@RequestMapping("/api/v1/events")
+@Validated
+@Tag(name = "Events", description = "Browse F1 events and settle race outcomes")
+@RateLimiter(name = "api")
+@ConditionalOnProperty(name = "exposure.api.enabled", havingValue = "true", matchIfMissing = true)
+public class EventExposureController {
+
+    private final GetSessionExposureUseCase getSessionExposureUseCase;
+    private final PreviewSettlementUseCase previewSettlementUseCase;
+
+    public EventExposureController(GetSessionExposureUseCase getSessionExposureUseCase,
+                                   PreviewSettlementUseCase previewSettlementUseCase) {
+        this.getSessionExposureUseCase = getSessionExposureUseCase;
+        this.previewSettlementUseCase = previewSettlementUseCase;
+    }
+
+    @GetMapping("/{sessionKey}/exposure")
+    @Operation(
+        summary = "Get the exposure book of an event",
+        description = "Per-driver totals of stake and potential payout for all bets on the session, the total stake and the worst-case payout. Served from memory; bets placed through other instances appear within exposure.mirror.max-staleness."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exposure retrieved (empty when no bets were placed)"),
+        @ApiResponse(responseCode = "400", description = "Invalid session key")
+    })
+    public ResponseEntity<ExposureResponse> getExposure(
+            @Parameter(
+                description = "F1 session identifier from OpenF1 API",
+                example = "9158",
+                required = true
+            )
+            @PathVariable @Positive(message = "Session key must be positive") int sessionKey) {
+
+        var exposure = getSessionExposureUseCase.execute(SessionKey.of(sessionKey));
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noStore())
+            .body(ExposureResponse.from(exposure));
+    }
+
+    @GetMapping("/{sessionKey}/settlement-preview")
+    @Operation(
+        summary = "Preview the settlement of an event",
+        description = "Returns what settling the session with the given winner would return (total bets, winning bets, total payout) without changing anything. Computed from the per-driver exposure totals, so no bets are read and no locks are taken. The number of affected users is not reported: the exposure totals are per driver, not per user."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Preview computed"),
+        @ApiResponse(responseCode = "400", description = "Invalid session key or driver number"),
+        @ApiResponse(responseCode = "422", description = "Unknown session or driver did not participate")
+    })
+    public ResponseEntity<SettleEventResponse> previewSettlement(
+            @Parameter(
+                description = "F1 session identifier from OpenF1 API",
+                example = "9158",
+                required = true
+            )
+            @PathVariable @Positive(message = "Session key must be positive") int sessionKey,
+
+            @Parameter(
+                description = "Driver number to assume as the winner",
+                example = "44",
+                required = true
+            )
+            @RequestParam("winner") @Positive(message = "Winner must be positive") int winner) {
+
+        var command = new SettleEventCommand(SessionKey.of(sessionKey), DriverNumber.of(winner));
+        var result = previewSettlementUseCase.execute(command);
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noStore())
+            .body(SettleEventResponse.from(result));
+    }
+}
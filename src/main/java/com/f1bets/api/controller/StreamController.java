@@ -0,0 +1,59 @@
+package com.f1bets.api.controller;
+
+import com.f1bets.api.stream.StreamBroadcaster;
+import com.f1bets.domain.model.UserId;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/v1/stream")
+@Tag(name = "Stream", description = "Live updates via Server-Sent Events")
+public class StreamController {
+
+    private final StreamBroadcaster broadcaster;
+
+    public StreamController(StreamBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Subscribe to live updates",
+        description = "Server-Sent Events stream. Public events: sessions.changed (session list refreshed with changes), " +
+            "event.settled (settlement outcome). With userId, additionally user.bet.updated (bet placed/won/lost with balance). " +
+            "Slow consumers are disconnected and should reconnect."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream opened"),
+        @ApiResponse(responseCode = "503", description = "Node is at its subscriber limit - retry later")
+    })
+    public ResponseEntity<SseEmitter> stream(
+            @Parameter(
+                description = "Optional user identifier to also receive that user's bet and balance updates",
+                example = "john-doe-123"
+            )
+            @RequestParam(required = false) String userId) {
+
+        String recipient = userId != null ? UserId.of(userId).getValue() : null;
+        return broadcaster.subscribe(recipient)
+            .map(emitter -> ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .header("X-Accel-Buffering", "no")
+                .body(emitter))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .build());
+    }
+}
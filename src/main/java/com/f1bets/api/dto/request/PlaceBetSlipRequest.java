@@ -0,0 +1,22 @@
+package com.f1bets.api.dto.request;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Request to place several bets at once; either all of them are placed or none")
+public record PlaceBetSlipRequest(
+    @ArraySchema(
+        schema = @Schema(implementation = PlaceBetRequest.class),
+        minItems = 1,
+        maxItems = 20,
+        arraySchema = @Schema(description = "Selections of the slip, each validated like a single bet")
+    )
+    @NotEmpty(message = "At least one selection is required")
+    @Size(max = 20, message = "A bet slip can have at most 20 selections")
+    List<@Valid PlaceBetRequest> selections
+) {}
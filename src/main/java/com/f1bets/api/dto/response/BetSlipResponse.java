@@ -0,0 +1,20 @@
+package com.f1bets.api.dto.response;
+
+import com.f1bets.application.dto.PlaceBetSlipResult;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record BetSlipResponse(
+    List<BetResponse> bets,
+    @JsonFormat(shape = JsonFormat.Shape.STRING) BigDecimal userBalance
+) {
+
+    public static BetSlipResponse from(PlaceBetSlipResult result) {
+        return new BetSlipResponse(
+            result.bets().stream().map(BetResponse::from).toList(),
+            result.userBalance().toDecimal()
+        );
+    }
+}
@@ -0,0 +1,52 @@
+package com.f1bets.api.dto.response;
+
+import com.f1bets.application.dto.SessionExposure;
+import com.f1bets.domain.model.DriverExposure;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record ExposureResponse(
+    int sessionKey,
+    long totalBets,
+    @JsonFormat(shape = JsonFormat.Shape.STRING) BigDecimal totalStake,
+    @JsonFormat(shape = JsonFormat.Shape.STRING) BigDecimal worstCasePayout,
+    List<DriverExposureResponse> drivers
+) {
+
+    /**
+     * @param houseNet total session stake minus this driver's payout: the house result if
+     *                 this driver wins (negative is a loss)
+     */
+    public record DriverExposureResponse(
+        int driverNumber,
+        long bets,
+        @JsonFormat(shape = JsonFormat.Shape.STRING) BigDecimal stake,
+        @JsonFormat(shape = JsonFormat.Shape.STRING) BigDecimal potentialPayout,
+        @JsonFormat(shape = JsonFormat.Shape.STRING) BigDecimal houseNet
+    ) {}
+
+    public static ExposureResponse from(SessionExposure exposure) {
+        long totalStakeCents = exposure.totalStake().toCents();
+        return new ExposureResponse(
+            exposure.sessionKey(),
+            exposure.totalBets(),
+            exposure.totalStake().toDecimal(),
+            exposure.worstCasePayout().toDecimal(),
+            exposure.drivers().stream()
+                .map(driver -> toDriverResponse(driver, totalStakeCents))
+                .toList()
+        );
+    }
+
+    private static DriverExposureResponse toDriverResponse(DriverExposure driver, long totalStakeCents) {
+        return new DriverExposureResponse(
+            driver.getDriverNumber().getValue(),
+            driver.getBetCount(),
+            driver.getTotalStake().toDecimal(),
+            driver.getPotentialPayout().toDecimal(),
+            BigDecimal.valueOf(totalStakeCents - driver.getPotentialPayout().toCents(), 2)
+        );
+    }
+}
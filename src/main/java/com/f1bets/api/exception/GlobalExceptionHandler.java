@@ -6,15 +6,21 @@ import com.f1bets.domain.exception.DriverNotInSessionException;
 import com.f1bets.domain.exception.EventAlreadySettledException;
 import com.f1bets.domain.exception.EventNotEndedException;
 import com.f1bets.domain.exception.ExternalServiceUnavailableException;
+import com.f1bets.domain.exception.ExposureLimitExceededException;
 import com.f1bets.domain.exception.InsufficientBalanceException;
+import com.f1bets.domain.exception.SessionLockTimeoutException;
 import com.f1bets.domain.exception.SessionNotFoundException;
 import com.f1bets.domain.exception.UserNotFoundException;
 import io.github.resilience4j.ratelimiter.RequestNotPermitted;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -22,7 +28,9 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingRequestHeaderException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.time.Duration;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
@@ -55,6 +63,13 @@ public class GlobalExceptionHandler {
             .body(ErrorResponse.of(422, "Unprocessable Entity", ex.getMessage(), request.getRequestURI()));
     }
 
+    @ExceptionHandler(ExposureLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleExposureLimit(ExposureLimitExceededException ex, HttpServletRequest request) {
+        log.warn("Exposure limit {} reached: {}", ex.getLimit(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+            .body(ErrorResponse.of(422, "Unprocessable Entity", ex.getMessage(), request.getRequestURI()));
+    }
+
     /**
      * Handles database integrity violations with sanitized error messages.
      * Raw database messages are logged for debugging but NEVER exposed to clients
@@ -84,6 +99,23 @@ public class GlobalExceptionHandler {
             .body(ErrorResponse.of(409, "Conflict", "Concurrent modification detected, please retry", request.getRequestURI()));
     }
 
+    /**
+     * Lock waits are bounded so a hot session cannot drain the connection pool.
+     * A timeout is transient: the client gets 503 with Retry-After and may retry
+     * with the same Idempotency-Key.
+     */
+    @ExceptionHandler(SessionLockTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleSessionLockTimeout(SessionLockTimeoutException ex, HttpServletRequest request) {
+        log.warn("Session lock timeout: {}", ex.getMessage());
+        return serviceBusy(retryAfterSeconds(ex.getTimeout()), request);
+    }
+
+    @ExceptionHandler(PessimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handlePessimisticLock(PessimisticLockingFailureException ex, HttpServletRequest request) {
+        log.warn("Row lock not acquired in time: {}", ex.getMostSpecificCause().getMessage());
+        return serviceBusy(1, request);
+    }
+
     @ExceptionHandler({UserNotFoundException.class, BetNotFoundException.class})
     public ResponseEntity<ErrorResponse> handleNotFound(RuntimeException ex, HttpServletRequest request) {
         log.warn("Resource not found: {}", ex.getMessage());
@@ -108,6 +140,25 @@ public class GlobalExceptionHandler {
             .body(ErrorResponse.of(400, "Bad Request", errors, request.getRequestURI()));
     }
 
+    /** Path variables and request parameters rejected by their constraints (e.g. {@code @Positive}). */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorResponse> handleConstraintViolation(ConstraintViolationException ex, HttpServletRequest request) {
+        String errors = ex.getConstraintViolations().stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining(", "));
+        log.warn("Validation error: {}", errors);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+            .body(ErrorResponse.of(400, "Bad Request", errors, request.getRequestURI()));
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleTypeMismatch(MethodArgumentTypeMismatchException ex, HttpServletRequest request) {
+        log.warn("Invalid value for {}: {}", ex.getName(), ex.getValue());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+            .body(ErrorResponse.of(400, "Bad Request", "Invalid value for " + ex.getName(), request.getRequestURI()));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex, HttpServletRequest request) {
         log.warn("Invalid argument: {}", ex.getMessage());
@@ -136,6 +187,17 @@ public class GlobalExceptionHandler {
             .body(ErrorResponse.of(503, "Service Unavailable", ex.getMessage(), request.getRequestURI()));
     }
 
+    private ResponseEntity<ErrorResponse> serviceBusy(long retryAfterSeconds, HttpServletRequest request) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+            .body(ErrorResponse.of(503, "Service Unavailable",
+                "Resource is busy, please retry", request.getRequestURI()));
+    }
+
+    private static long retryAfterSeconds(Duration lockTimeout) {
+        return Math.max(1, (lockTimeout.toMillis() + 999) / 1000);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneric(Exception ex, HttpServletRequest request) {
         log.error("Unhandled exception", ex);
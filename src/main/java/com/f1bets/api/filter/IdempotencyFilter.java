@@ -47,6 +47,7 @@ import java.util.regex.Pattern;
  *   <li>Replay (same key + same request): returns cached response</li>
  *   <li>Conflict (same key + different request): returns 409</li>
  *   <li>Concurrent (same key, in-progress): returns 409</li>
+ *   <li>Server error (5xx): not cached, the same key may be retried</li>
  * </ul>
  *
  * <h2>Architecture Note</h2>
@@ -201,9 +202,15 @@ public class IdempotencyFilter extends OncePerRequestFilter {
             // This ensures the client sees the actual result even if DB update fails.
             wrappedResponse.copyBodyToResponse();
 
-            // Best-effort idempotency update - don't fail the request if this fails
+            // Best-effort idempotency update - don't fail the request if this fails.
+            // 5xx responses (e.g. lock timeouts) are transient, so they are recorded as FAILED
+            // to let the client retry with the same key instead of replaying the error.
             try {
-                inProgressEntity.markCompleted(responseBody, responseStatus);
+                if (responseStatus >= 500) {
+                    inProgressEntity.markFailed("HTTP " + responseStatus);
+                } else {
+                    inProgressEntity.markCompleted(responseBody, responseStatus);
+                }
                 idempotencyRepository.save(inProgressEntity);
             } catch (Exception dbError) {
                 log.error("Failed to save idempotency record for key {} after successful request (status={}). " +
@@ -0,0 +1,243 @@
+package com.f1bets.api.stream;
+
+import com.f1bets.application.event.DomainEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans domain events out to Server-Sent Events subscribers.
+ *
+ * <h2>Design</h2>
+ * <ul>
+ *   <li>Each event is serialized once, then offered to every matching subscriber's bounded queue.
+ *       Offering never blocks, so a publisher is never slowed down by a client.</li>
+ *   <li>A small fixed pool of sender threads drains queues; a subscriber is scheduled at most
+ *       once at a time, so idle connections cost no thread at all.</li>
+ *   <li>A subscriber whose queue is full is a slow consumer and is disconnected; it is expected
+ *       to reconnect and re-read current state over the REST API.</li>
+ *   <li>User-scoped events ({@link DomainEvent#recipientUserId()}) are routed only to streams
+ *       opened for that user.</li>
+ * </ul>
+ */
+@Component
+public class StreamBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamBroadcaster.class);
+
+    static final String SUBSCRIBERS_GAUGE = "f1bets.stream.subscribers";
+    static final String DROPPED_COUNTER = "f1bets.stream.dropped";
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<Subscriber>> subscribersByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final ObjectMapper objectMapper;
+    private final ExecutorService senders;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long emitterTimeoutMillis;
+    private final Counter slowConsumerDrops;
+
+    public StreamBroadcaster(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${stream.buffer-size:32}") int bufferSize,
+            @Value("${stream.max-subscribers:50000}") int maxSubscribers,
+            @Value("${stream.sender-threads:4}") int senderThreads,
+            @Value("${stream.emitter-timeout:PT30M}") Duration emitterTimeout) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, r -> {
+            Thread thread = new Thread(r, "sse-sender-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder(SUBSCRIBERS_GAUGE, subscriberCount, AtomicInteger::get).register(meterRegistry);
+        this.slowConsumerDrops = meterRegistry.counter(DROPPED_COUNTER, "reason", "slow_consumer");
+    }
+
+    /**
+     * Opens a stream. With a {@code userId} the subscriber additionally receives that user's
+     * private events; without one it receives only public events.
+     *
+     * @return the emitter, or empty if the node already serves {@code stream.max-subscribers} streams
+     */
+    public Optional<SseEmitter> subscribe(String userId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, userId, new ArrayBlockingQueue<>(bufferSize));
+
+        subscribers.add(subscriber);
+        if (userId != null) {
+            subscribersByUser.computeIfAbsent(userId, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        // Flushes response headers so the client sees the stream open immediately
+        subscriber.offer(Frame.comment("connected"));
+        return Optional.of(emitter);
+    }
+
+    @EventListener
+    public void onDomainEvent(DomainEvent event) {
+        Frame frame;
+        try {
+            frame = Frame.event(event.eventType(), objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize {} for streaming", event.eventType(), e);
+            return;
+        }
+
+        String recipient = event.recipientUserId();
+        Set<Subscriber> targets = recipient == null
+            ? subscribers
+            : subscribersByUser.getOrDefault(recipient, Set.of());
+        for (Subscriber subscriber : targets) {
+            subscriber.offer(frame);
+        }
+    }
+
+    /**
+     * Keeps idle connections alive through proxies and detects dead peers.
+     */
+    @Scheduled(fixedRateString = "${stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        Frame frame = Frame.comment("heartbeat");
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(frame);
+        }
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        senders.shutdown();
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscribers.remove(subscriber);
+        if (subscriber.userId != null) {
+            subscribersByUser.computeIfPresent(subscriber.userId, (k, set) -> {
+                set.remove(subscriber);
+                return set.isEmpty() ? null : set;
+            });
+        }
+        subscriberCount.decrementAndGet();
+    }
+
+    private void dropSlowConsumer(Subscriber subscriber) {
+        slowConsumerDrops.increment();
+        log.debug("Dropping slow SSE consumer (user={})", subscriber.userId);
+        remove(subscriber);
+        subscriber.emitter.complete();
+    }
+
+    private record Frame(String name, String data, String comment) {
+
+        static Frame event(String name, String data) {
+            return new Frame(name, data, null);
+        }
+
+        static Frame comment(String comment) {
+            return new Frame(null, null, comment);
+        }
+
+        SseEmitter.SseEventBuilder toSse() {
+            if (comment != null) {
+                return SseEmitter.event().comment(comment);
+            }
+            return SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final String userId;
+        private final BlockingQueue<Frame> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, String userId, BlockingQueue<Frame> queue) {
+            this.emitter = emitter;
+            this.userId = userId;
+            this.queue = queue;
+        }
+
+        void offer(Frame frame) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(frame)) {
+                dropSlowConsumer(this);
+                return;
+            }
+            if (scheduled.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Frame frame;
+                while ((frame = queue.poll()) != null) {
+                    if (closed.get()) {
+                        queue.clear();
+                        break;
+                    }
+                    try {
+                        emitter.send(frame.toSse());
+                    } catch (IOException | IllegalStateException e) {
+                        remove(this);
+                        emitter.completeWithError(e);
+                        queue.clear();
+                        break;
+                    }
+                }
+                scheduled.set(false);
+            } while (!queue.isEmpty() && !closed.get() && scheduled.compareAndSet(false, true));
+        }
+    }
+}
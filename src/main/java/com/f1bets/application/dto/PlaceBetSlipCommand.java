@@ -0,0 +1,35 @@
+package com.f1bets.application.dto;
+
+import com.f1bets.domain.model.DriverNumber;
+import com.f1bets.domain.model.Money;
+import com.f1bets.domain.model.SessionKey;
+import com.f1bets.domain.model.UserId;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A bet slip: several selections placed together for one user, all or nothing.
+ */
+public record PlaceBetSlipCommand(
+    UserId userId,
+    List<Selection> selections,
+    String idempotencyKey
+) {
+    public PlaceBetSlipCommand {
+        Objects.requireNonNull(userId, "User ID cannot be null");
+        Objects.requireNonNull(selections, "Selections cannot be null");
+        if (selections.isEmpty()) {
+            throw new IllegalArgumentException("A bet slip needs at least one selection");
+        }
+        selections = List.copyOf(selections);
+    }
+
+    public record Selection(SessionKey sessionKey, DriverNumber driverNumber, Money stake) {
+        public Selection {
+            Objects.requireNonNull(sessionKey, "Session key cannot be null");
+            Objects.requireNonNull(driverNumber, "Driver number cannot be null");
+            Objects.requireNonNull(stake, "Stake cannot be null");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.f1bets.application.dto;
+
+import com.f1bets.domain.model.Money;
+
+import java.util.List;
+
+/**
+ * Result of placing a bet slip: one result per selection, in request order, and the balance
+ * after the whole slip was debited.
+ */
+public record PlaceBetSlipResult(
+    List<PlaceBetResult> bets,
+    Money userBalance
+) {}
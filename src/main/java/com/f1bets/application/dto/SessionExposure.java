@@ -0,0 +1,32 @@
+package com.f1bets.application.dto;
+
+import com.f1bets.domain.model.DriverExposure;
+import com.f1bets.domain.model.Money;
+
+import java.util.List;
+
+/**
+ * Exposure book of one session: per-driver totals, ordered by driver number, plus the
+ * session-wide stake and the largest payout any single winner would cause.
+ */
+public record SessionExposure(
+    int sessionKey,
+    List<DriverExposure> drivers,
+    long totalBets,
+    Money totalStake,
+    Money worstCasePayout
+) {
+
+    public static SessionExposure of(int sessionKey, List<DriverExposure> drivers) {
+        long totalBets = 0;
+        long totalStakeCents = 0;
+        long worstCasePayoutCents = 0;
+        for (DriverExposure driver : drivers) {
+            totalBets += driver.getBetCount();
+            totalStakeCents = Math.addExact(totalStakeCents, driver.getTotalStake().toCents());
+            worstCasePayoutCents = Math.max(worstCasePayoutCents, driver.getPotentialPayout().toCents());
+        }
+        return new SessionExposure(sessionKey, List.copyOf(drivers), totalBets,
+            Money.ofCents(totalStakeCents), Money.ofCents(worstCasePayoutCents));
+    }
+}
@@ -0,0 +1,22 @@
+package com.f1bets.application.event;
+
+/**
+ * Notification that something clients care about has changed.
+ *
+ * Events are published through {@link com.f1bets.application.port.DomainEventPublisher}
+ * and are only delivered once the surrounding transaction has committed.
+ */
+public sealed interface DomainEvent permits SessionsChanged, EventSettled, UserBetUpdated {
+
+    /**
+     * Stable event name used on the wire (e.g. the SSE {@code event:} field).
+     */
+    String eventType();
+
+    /**
+     * User the event is private to, or {@code null} for events visible to every subscriber.
+     */
+    default String recipientUserId() {
+        return null;
+    }
+}
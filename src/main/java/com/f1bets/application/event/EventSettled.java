@@ -0,0 +1,15 @@
+package com.f1bets.application.event;
+
+public record EventSettled(
+    int sessionKey,
+    int winningDriverNumber,
+    int totalBets,
+    int winningBets,
+    long totalPayoutCents
+) implements DomainEvent {
+
+    @Override
+    public String eventType() {
+        return "event.settled";
+    }
+}
@@ -0,0 +1,20 @@
+package com.f1bets.application.event;
+
+import java.util.List;
+
+/**
+ * The session list for a query changed on refresh from the F1 data provider
+ * (new sessions, drivers or odds).
+ */
+public record SessionsChanged(
+    String sessionType,
+    Integer year,
+    String countryCode,
+    List<Integer> sessionKeys
+) implements DomainEvent {
+
+    @Override
+    public String eventType() {
+        return "sessions.changed";
+    }
+}
@@ -0,0 +1,25 @@
+package com.f1bets.application.event;
+
+import java.util.UUID;
+
+/**
+ * A user's bet changed status (placed, won or lost), with the balance right after the change.
+ */
+public record UserBetUpdated(
+    String userId,
+    UUID betId,
+    int sessionKey,
+    String status,
+    long balanceCents
+) implements DomainEvent {
+
+    @Override
+    public String eventType() {
+        return "user.bet.updated";
+    }
+
+    @Override
+    public String recipientUserId() {
+        return userId;
+    }
+}
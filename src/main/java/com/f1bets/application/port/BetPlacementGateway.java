@@ -0,0 +1,39 @@
+package com.f1bets.application.port;
+
+import com.f1bets.domain.model.Bet;
+import com.f1bets.domain.model.DriverExposure;
+import com.f1bets.domain.model.Money;
+
+import java.time.Duration;
+
+/**
+ * Port for placing a bet in a single database round trip: the session lock, the settlement
+ * check, locking (or opening) the user's account, the balance and exposure-limit checks and
+ * every write run server-side.
+ *
+ * Must be called inside the caller's transaction. The caller must roll back on any status
+ * other than {@link Status#PLACED}: a rejected placement may already have opened the account.
+ */
+public interface BetPlacementGateway {
+
+    /**
+     * @throws com.f1bets.domain.exception.SessionLockTimeoutException if the session lock is
+     *         not acquired within {@code lockTimeout}
+     */
+    Outcome place(Bet bet, Money maxUserStake, Money maxDriverPayout, Duration lockTimeout);
+
+    enum Status {
+        PLACED,
+        EVENT_SETTLED,
+        INSUFFICIENT_BALANCE,
+        USER_STAKE_LIMIT,
+        DRIVER_PAYOUT_LIMIT
+    }
+
+    /**
+     * @param balanceCents the balance after the bet if placed, otherwise the balance it was
+     *                     checked against (0 for {@link Status#EVENT_SETTLED})
+     * @param exposure the driver's new totals if placed, otherwise {@code null}
+     */
+    record Outcome(Status status, long balanceCents, DriverExposure exposure) {}
+}
@@ -0,0 +1,24 @@
+package com.f1bets.application.port;
+
+import com.f1bets.application.event.DomainEvent;
+
+import java.util.List;
+
+/**
+ * Port for publishing domain events to interested parties (e.g. streaming clients).
+ *
+ * When called inside a transaction, delivery is deferred until after commit, so
+ * subscribers never observe changes that are later rolled back.
+ */
+public interface DomainEventPublisher {
+
+    void publish(DomainEvent event);
+
+    /**
+     * Publishes several events of the same unit of work, in order. Implementations may write
+     * them in one round trip; callers producing an event per row should prefer this.
+     */
+    default void publishAll(List<? extends DomainEvent> events) {
+        events.forEach(this::publish);
+    }
+}
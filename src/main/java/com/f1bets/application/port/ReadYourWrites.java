@@ -0,0 +1,24 @@
+package com.f1bets.application.port;
+
+import com.f1bets.domain.model.UserId;
+
+import java.util.function.Supplier;
+
+/**
+ * Port that keeps a user's own reads consistent with their recent writes when read-only
+ * queries may be served by an asynchronously replicated database.
+ */
+public interface ReadYourWrites {
+
+    /**
+     * Records that {@code userId} just committed a change. For a short window afterwards,
+     * reads made through {@link #read} for that user go to the primary.
+     */
+    void recordWrite(UserId userId);
+
+    /**
+     * Runs {@code query} on behalf of {@code userId}. The query must not have touched the
+     * database yet, since the routing decision is made when it first does.
+     */
+    <T> T read(UserId userId, Supplier<T> query);
+}
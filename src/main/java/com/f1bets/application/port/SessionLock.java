@@ -2,6 +2,10 @@ package com.f1bets.application.port;
 
 import com.f1bets.domain.model.SessionKey;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+
 /**
  * Port for acquiring session-level locks to prevent concurrent operations on the same session.
  * Used to ensure atomicity of bet placement and settlement operations.
@@ -9,10 +13,29 @@ import com.f1bets.domain.model.SessionKey;
 public interface SessionLock {
 
     /**
-     * Acquire an exclusive lock for the given session.
+     * Acquire an exclusive lock for the given session, waiting at most {@code timeout}.
      * The lock is automatically released when the current transaction ends.
      *
+     * The budget applies to this lock only; later lock waits in the same transaction
+     * (e.g. user row locks) are not bounded by what is left of it.
+     *
      * @param sessionKey the session to lock
+     * @param timeout maximum time to wait for the lock
+     * @throws com.f1bets.domain.exception.SessionLockTimeoutException if the lock is not acquired in time
+     */
+    void acquire(SessionKey sessionKey, Duration timeout);
+
+    /**
+     * Acquire the locks of several sessions in ascending key order, so that two transactions
+     * locking overlapping sets can never deadlock. {@code timeout} bounds the total wait.
+     *
+     * @throws com.f1bets.domain.exception.SessionLockTimeoutException if any lock is not acquired in time
      */
-    void acquire(SessionKey sessionKey);
+    default void acquireAll(Collection<SessionKey> sessionKeys, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        sessionKeys.stream()
+            .distinct()
+            .sorted(Comparator.comparingInt(SessionKey::getValue))
+            .forEach(sessionKey -> acquire(sessionKey, Duration.ofNanos(Math.max(deadline - System.nanoTime(), 0))));
+    }
 }
@@ -0,0 +1,22 @@
+package com.f1bets.application.port;
+
+import com.f1bets.domain.model.DriverNumber;
+import com.f1bets.domain.model.SessionKey;
+
+import java.time.Instant;
+
+/**
+ * Port for settling all pending bets of a session inside the database, without loading them:
+ * bets are marked won or lost, winners are credited, and the ledger entries and per-bet
+ * {@link com.f1bets.application.event.UserBetUpdated} events are written server-side.
+ *
+ * Must be called inside the caller's transaction, holding the session lock, after the event
+ * outcome has been recorded. The {@link com.f1bets.application.event.EventSettled} event is
+ * left to the caller.
+ */
+public interface SettlementGateway {
+
+    Totals settle(SessionKey sessionKey, DriverNumber winningDriverNumber, Instant settledAt);
+
+    record Totals(int totalBets, int winningBets, long totalPayoutCents) {}
+}
@@ -0,0 +1,15 @@
+package com.f1bets.application.port;
+
+/**
+ * Port for rolling back part of the current transaction.
+ */
+public interface TransactionSavepoints {
+
+    /**
+     * Runs {@code work} under a savepoint of the current transaction. Its writes are flushed to
+     * the database before the savepoint is released. If it throws, the transaction is rolled
+     * back to the savepoint and the exception is rethrown; entities it saved before throwing
+     * are not evicted, so it should throw before saving anything it wants undone.
+     */
+    void runUnderSavepoint(Runnable work);
+}
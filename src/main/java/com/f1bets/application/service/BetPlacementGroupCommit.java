@@ -0,0 +1,332 @@
+package com.f1bets.application.service;
+
+import com.f1bets.application.port.SessionLock;
+import com.f1bets.application.port.TransactionSavepoints;
+import com.f1bets.domain.exception.EventAlreadySettledException;
+import com.f1bets.domain.exception.ExposureLimitExceededException;
+import com.f1bets.domain.exception.InsufficientBalanceException;
+import com.f1bets.domain.exception.SessionLockTimeoutException;
+import com.f1bets.domain.model.SessionKey;
+import com.f1bets.domain.model.UserId;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Group commit for single bet placements (opt-in via {@code placement.group-commit.enabled}).
+ *
+ * Placements are queued and applied by a few writer loops, each running up to
+ * {@code batch-size} placements of different users in one transaction, so a burst pays one
+ * commit (and WAL flush) per batch instead of one per bet. Callers block until their batch
+ * has committed, so a returned placement is as durable as with a transaction of its own.
+ *
+ * A batch takes all its session locks up front in ascending key order and then applies the
+ * placements in ascending user order, the same global order single bets and bet slips use, so
+ * batches cannot deadlock with each other or with direct placements.
+ *
+ * Each placement runs under its own savepoint, see {@link TransactionSavepoints}. A
+ * placement rejected for a business reason (insufficient balance, settled event, exposure limit)
+ * is rolled back to its savepoint and only its caller sees the error. Rejections are thrown
+ * before the placement saves anything through JPA, so the persistence context holds nothing of
+ * it. Any other exception thrown by a placement rolls the transaction back; that caller gets the
+ * error and the rest of the batch is re-applied without it. A session lock timeout or a
+ * failed commit fails the whole batch, without retries that would wait for the locks again.
+ *
+ * Every placement that writes is a subtransaction with its own transaction id until the batch
+ * commits, so batch sizes above 64 overflow PostgreSQL's per-backend subtransaction cache.
+ *
+ * When disabled, stopped or the queue is full, placements run directly in the caller's thread.
+ */
+@Component
+public class BetPlacementGroupCommit {
+
+    private static final Logger log = LoggerFactory.getLogger(BetPlacementGroupCommit.class);
+
+    static final String BATCH_SIZE_SUMMARY = "f1bets.placement.group_commit.batch_size";
+    static final String RETRIES_COUNTER = "f1bets.placement.group_commit.retries";
+    static final String OVERFLOW_COUNTER = "f1bets.placement.group_commit.overflow";
+
+    private static final Set<Class<? extends RuntimeException>> REJECTIONS = Set.of(
+        InsufficientBalanceException.class,
+        EventAlreadySettledException.class,
+        ExposureLimitExceededException.class
+    );
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+    private static final long STOP_TIMEOUT_MILLIS = 5_000;
+
+    private final TransactionTemplate transactionTemplate;
+    private final SessionLock sessionLock;
+    private final TransactionSavepoints savepoints;
+    private final OperationMetrics metrics;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int writers;
+    private final Duration lockTimeout;
+    private final BlockingQueue<Pending<?>> queue;
+
+    private final List<Thread> writerThreads = new ArrayList<>();
+    private volatile boolean running;
+
+    public BetPlacementGroupCommit(TransactionTemplate transactionTemplate,
+                                   SessionLock sessionLock,
+                                   TransactionSavepoints savepoints,
+                                   OperationMetrics metrics,
+                                   @Value("${placement.group-commit.enabled:false}") boolean enabled,
+                                   @Value("${placement.group-commit.batch-size:64}") int batchSize,
+                                   @Value("${placement.group-commit.writers:2}") int writers,
+                                   @Value("${placement.group-commit.queue-capacity:2000}") int queueCapacity,
+                                   @Value("${session-lock.placement-timeout:2s}") Duration lockTimeout) {
+        if (batchSize < 1 || writers < 1) {
+            throw new IllegalArgumentException("Group commit batch size and writer count must be positive");
+        }
+        this.transactionTemplate = transactionTemplate;
+        this.sessionLock = sessionLock;
+        this.savepoints = savepoints;
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.writers = writers;
+        this.lockTimeout = lockTimeout;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < writers; i++) {
+            Thread thread = new Thread(this::writeLoop, "placement-writer-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            writerThreads.add(thread);
+        }
+        log.info("Bet placement group commit started - writers: {}, batch size: {}", writers, batchSize);
+    }
+
+    /**
+     * Lets the writers finish what is queued, then applies any straggler on the calling thread.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        try {
+            for (Thread thread : writerThreads) {
+                thread.join(STOP_TIMEOUT_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Pending<?> straggler;
+        while ((straggler = queue.poll()) != null) {
+            apply(List.of(straggler));
+        }
+    }
+
+    /**
+     * Runs {@code placement} in a transaction, batched with concurrent placements when group
+     * commit is running, and returns its result once that transaction has committed.
+     *
+     * @param placement transactional work of one placement; it may run more than once if its
+     *                  batch is retried, so it must not have side effects outside the transaction
+     */
+    public <T> T execute(UserId userId, SessionKey sessionKey, Placement<T> placement) {
+        if (!running) {
+            return transactionTemplate.execute(status -> placement.run(false));
+        }
+        Pending<T> pending = new Pending<>(userId, sessionKey, placement);
+        if (!queue.offer(pending)) {
+            metrics.counter(OVERFLOW_COUNTER).increment();
+            return transactionTemplate.execute(status -> placement.run(false));
+        }
+        try {
+            return pending.future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    int queued() {
+        return queue.size();
+    }
+
+    private void writeLoop() {
+        List<Pending<?>> carried = new ArrayList<>();
+        while (running || !queue.isEmpty() || !carried.isEmpty()) {
+            List<Pending<?>> batch;
+            try {
+                batch = nextBatch(carried);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+            try {
+                apply(batch);
+            } catch (RuntimeException e) {
+                log.error("Group commit batch failed unexpectedly", e);
+                batch.forEach(pending -> pending.fail(e));
+            }
+        }
+    }
+
+    /**
+     * Takes up to {@code batchSize} placements of distinct users. A user's further placements
+     * are carried over to the next batch, keeping their order.
+     */
+    private List<Pending<?>> nextBatch(List<Pending<?>> carried) throws InterruptedException {
+        List<Pending<?>> candidates = new ArrayList<>(carried);
+        carried.clear();
+        if (candidates.isEmpty()) {
+            Pending<?> first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            if (first == null) {
+                return List.of();
+            }
+            candidates.add(first);
+        }
+        queue.drainTo(candidates, batchSize - candidates.size());
+
+        List<Pending<?>> batch = new ArrayList<>(candidates.size());
+        Set<UserId> users = new HashSet<>();
+        for (Pending<?> pending : candidates) {
+            if (batch.size() < batchSize && users.add(pending.userId)) {
+                batch.add(pending);
+            } else {
+                carried.add(pending);
+            }
+        }
+        return batch;
+    }
+
+    private void apply(List<Pending<?>> batch) {
+        metrics.registry().summary(BATCH_SIZE_SUMMARY).record(batch.size());
+        List<Pending<?>> remaining = new ArrayList<>(batch);
+        remaining.sort(Comparator.comparing(pending -> pending.userId.getValue()));
+
+        while (!remaining.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> applyInTransaction(remaining));
+                remaining.forEach(Pending::settle);
+                return;
+            } catch (Failed e) {
+                e.pending.fail(e.getCause());
+                remaining.remove(e.pending);
+                if (!remaining.isEmpty()) {
+                    metrics.counter(RETRIES_COUNTER, "reason", "failed").increment();
+                }
+            } catch (RuntimeException e) {
+                remaining.forEach(pending -> pending.fail(e));
+                return;
+            }
+        }
+    }
+
+    private void applyInTransaction(List<Pending<?>> batch) {
+        Set<SessionKey> sessions = batch.stream()
+            .map(pending -> pending.sessionKey)
+            .collect(Collectors.toSet());
+        sessionLock.acquireAll(sessions, lockTimeout);
+
+        for (Pending<?> pending : batch) {
+            try {
+                savepoints.runUnderSavepoint(pending::run);
+            } catch (SessionLockTimeoutException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                if (!REJECTIONS.contains(e.getClass())) {
+                    throw new Failed(pending, e);
+                }
+                pending.reject(e);
+            }
+        }
+    }
+
+    /**
+     * Transactional work of one placement.
+     */
+    @FunctionalInterface
+    public interface Placement<T> {
+
+        /**
+         * @param sessionLocked whether the transaction already holds the session lock, as a
+         *                      batch does for all its sessions before running any placement
+         */
+        T run(boolean sessionLocked);
+    }
+
+    private static final class Pending<T> {
+
+        private final UserId userId;
+        private final SessionKey sessionKey;
+        private final Placement<T> placement;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private T result;
+        private RuntimeException rejection;
+
+        private Pending(UserId userId, SessionKey sessionKey, Placement<T> placement) {
+            this.userId = userId;
+            this.sessionKey = sessionKey;
+            this.placement = placement;
+        }
+
+        private void run() {
+            rejection = null;
+            result = placement.run(true);
+        }
+
+        private void reject(RuntimeException error) {
+            rejection = error;
+        }
+
+        /**
+         * Completes the caller once the batch has committed.
+         */
+        private void settle() {
+            if (rejection != null) {
+                future.completeExceptionally(rejection);
+            } else {
+                future.complete(result);
+            }
+        }
+
+        private void fail(Throwable error) {
+            future.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * Rolls the batch back on behalf of the placement that threw an unexpected exception.
+     */
+    private static final class Failed extends RuntimeException {
+
+        private final transient Pending<?> pending;
+
+        private Failed(Pending<?> pending, RuntimeException cause) {
+            super(cause.getMessage(), cause, false, false);
+            this.pending = pending;
+        }
+    }
+}
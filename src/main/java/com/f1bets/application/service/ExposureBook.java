@@ -0,0 +1,122 @@
+package com.f1bets.application.service;
+
+import com.f1bets.application.dto.SessionExposure;
+import com.f1bets.domain.exception.ExposureLimitExceededException;
+import com.f1bets.domain.exception.ExposureLimitExceededException.Limit;
+import com.f1bets.domain.model.Bet;
+import com.f1bets.domain.model.DriverExposure;
+import com.f1bets.domain.model.Money;
+import com.f1bets.domain.model.SessionKey;
+import com.f1bets.domain.repository.ExposureRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Per-session liability: persisted in {@code session_exposure} and mirrored in memory so
+ * reads do not touch the database.
+ *
+ * <ul>
+ *   <li>{@link #recordBet} updates the persistent rows inside the placement transaction and
+ *       returns the driver's new totals. The same conditional upserts enforce
+ *       {@code exposure.limits.max-user-stake} and {@code exposure.limits.max-driver-payout},
+ *       so a limit check costs one row update, never an aggregate over bets.</li>
+ *   <li>{@link #applyCommitted} publishes those totals to the mirror once the transaction has
+ *       committed. Each driver's slot keeps whichever snapshot has the higher bet count, so
+ *       concurrent updates and reloads can arrive in any order without a lock.</li>
+ *   <li>A session's mirror expires {@code exposure.mirror.max-staleness} after it was loaded
+ *       and is then reloaded from the table, which bounds how long bets placed through other
+ *       replicas stay invisible here. At most {@value #MAX_SESSIONS} sessions are mirrored.</li>
+ * </ul>
+ */
+@Component
+public class ExposureBook {
+
+    static final int MAX_SESSIONS = 1_000;
+
+    private final ExposureRepository exposureRepository;
+    private final Money maxUserStake;
+    private final Money maxDriverPayout;
+    private final Cache<Integer, SessionBook> books;
+
+    public ExposureBook(ExposureRepository exposureRepository,
+                        @Value("${exposure.mirror.max-staleness:PT1S}") Duration maxStaleness,
+                        @Value("${exposure.limits.max-user-stake:10000.00}") BigDecimal maxUserStake,
+                        @Value("${exposure.limits.max-driver-payout:1000000.00}") BigDecimal maxDriverPayout) {
+        this.exposureRepository = exposureRepository;
+        this.books = Caffeine.newBuilder()
+            .expireAfterWrite(maxStaleness)
+            .maximumSize(MAX_SESSIONS)
+            .build();
+        this.maxUserStake = Money.fromDecimal(maxUserStake);
+        this.maxDriverPayout = Money.fromDecimal(maxDriverPayout);
+    }
+
+    /**
+     * Adds the bet to the user's session stake and the driver's totals. The user row is
+     * updated first: it is private to the user, while the driver row is shared by everyone
+     * betting on that driver and should be locked as briefly as possible.
+     *
+     * @throws ExposureLimitExceededException if either limit would be exceeded; the caller's
+     *         transaction must then roll back
+     */
+    public DriverExposure recordBet(Bet bet) {
+        if (!exposureRepository.addUserStake(bet.getUserId(), bet.getSessionKey(), bet.getStake(), maxUserStake)) {
+            throw new ExposureLimitExceededException(Limit.USER_STAKE, bet.getSessionKey(), maxUserStake);
+        }
+        return exposureRepository.addBet(bet.getSessionKey(), bet.getDriverNumber(), bet.getStake(),
+                bet.calculatePayout(), maxDriverPayout)
+            .orElseThrow(() -> new ExposureLimitExceededException(Limit.DRIVER_PAYOUT, bet.getSessionKey(), maxDriverPayout));
+    }
+
+    public Money getMaxUserStake() {
+        return maxUserStake;
+    }
+
+    public Money getMaxDriverPayout() {
+        return maxDriverPayout;
+    }
+
+    public void applyCommitted(DriverExposure exposure) {
+        SessionBook book = books.getIfPresent(exposure.getSessionKey().getValue());
+        if (book != null) {
+            book.apply(exposure);
+        }
+    }
+
+    public SessionExposure get(SessionKey sessionKey) {
+        SessionBook book = books.get(sessionKey.getValue(),
+            key -> new SessionBook(exposureRepository.findBySessionKey(sessionKey)));
+        return SessionExposure.of(sessionKey.getValue(), book.snapshot());
+    }
+
+    private static final class SessionBook {
+
+        private final Map<Integer, AtomicReference<DriverExposure>> drivers = new ConcurrentHashMap<>();
+
+        private SessionBook(List<DriverExposure> loaded) {
+            loaded.forEach(this::apply);
+        }
+
+        void apply(DriverExposure exposure) {
+            drivers.computeIfAbsent(exposure.getDriverNumber().getValue(), k -> new AtomicReference<>(exposure))
+                .accumulateAndGet(exposure, (current, update) -> update.isNewerThan(current) ? update : current);
+        }
+
+        List<DriverExposure> snapshot() {
+            return drivers.values().stream()
+                .map(AtomicReference::get)
+                .sorted(Comparator.comparingInt(exposure -> exposure.getDriverNumber().getValue()))
+                .toList();
+        }
+    }
+}
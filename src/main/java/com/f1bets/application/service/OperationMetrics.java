@@ -0,0 +1,98 @@
+package com.f1bets.application.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Thin wrapper around Micrometer for timing use cases, their stages and outbound ports.
+ *
+ * All meters share the {@code f1bets.} prefix so percentile histograms and SLO buckets
+ * are configured in one place ({@code management.metrics.distribution.*} in application.yml).
+ *
+ * The {@code outcome} tag is {@code success} or the simple name of the thrown exception,
+ * which keeps cardinality bounded by the exception types the code can actually raise.
+ */
+@Component
+public class OperationMetrics {
+
+    public static final String OUTCOME_SUCCESS = "success";
+
+    static final String USE_CASE_TIMER = "f1bets.usecase";
+    static final String STAGE_TIMER = "f1bets.usecase.stage";
+
+    private final MeterRegistry registry;
+
+    public OperationMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Times a whole use case invocation ({@code f1bets.usecase{usecase, outcome}}).
+     */
+    public <T> T timeUseCase(String useCase, Supplier<T> action) {
+        return time(USE_CASE_TIMER, Tags.of("usecase", useCase), action, result -> OUTCOME_SUCCESS);
+    }
+
+    /**
+     * Times one stage of a use case ({@code f1bets.usecase.stage{usecase, stage, outcome}}).
+     */
+    public <T> T timeStage(String useCase, String stage, Supplier<T> action) {
+        return timeStage(useCase, stage, action, result -> OUTCOME_SUCCESS);
+    }
+
+    /**
+     * Times one stage of a use case, deriving the outcome tag from a successful result
+     * (e.g. "replay" vs "miss" for the idempotency check).
+     */
+    public <T> T timeStage(String useCase, String stage, Supplier<T> action, Function<T, String> outcomeOfResult) {
+        return time(STAGE_TIMER, Tags.of("usecase", useCase, "stage", stage), action, outcomeOfResult);
+    }
+
+    public void runStage(String useCase, String stage, Runnable action) {
+        timeStage(useCase, stage, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Times an arbitrary operation under the given timer name. An {@code outcome} tag is appended.
+     */
+    public <T> T time(String timerName, Tags tags, Supplier<T> action) {
+        return time(timerName, tags, action, result -> OUTCOME_SUCCESS);
+    }
+
+    public <T> T time(String timerName, Tags tags, Supplier<T> action, Function<T, String> outcomeOfResult) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = OUTCOME_SUCCESS;
+        try {
+            T result = action.get();
+            outcome = outcomeOfResult.apply(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            outcome = outcomeOf(e);
+            throw e;
+        } finally {
+            sample.stop(registry.timer(timerName, tags.and(Tag.of("outcome", outcome))));
+        }
+    }
+
+    public Counter counter(String name, String... tags) {
+        return registry.counter(name, tags);
+    }
+
+    public MeterRegistry registry() {
+        return registry;
+    }
+
+    public static String outcomeOf(Throwable t) {
+        return t.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,41 @@
+package com.f1bets.application.service;
+
+import com.f1bets.domain.model.LedgerEntry;
+import com.f1bets.domain.model.User;
+import com.f1bets.domain.model.UserId;
+import com.f1bets.domain.repository.UserRepository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads a user's account row for update, opening the account with the starting credit on
+ * first use. Must run inside the caller's transaction.
+ */
+@Component
+public class UserAccounts {
+
+    private final UserRepository userRepository;
+
+    public UserAccounts(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public User lockOrCreate(UserId userId) {
+        return userRepository.findByIdForUpdate(userId)
+            .orElseGet(() -> create(userId));
+    }
+
+    /**
+     * Opens the account and records its initial credit in the same statement that returns the
+     * locked row. If a concurrent first bet of the same user inserted the row first, the
+     * statement cannot see it and the row is locked with a second read. A single INITIAL_CREDIT
+     * per user is guaranteed by the V17 {@code ledger_one_initial_credit_per_user} trigger, which
+     * locks the user row before checking for an existing credit.
+     */
+    private User create(UserId userId) {
+        User newUser = User.createNew(userId);
+        LedgerEntry initialCredit = LedgerEntry.initialCredit(userId, newUser.getBalanceCents());
+        return userRepository.lockOrInsert(newUser, initialCredit)
+            .or(() -> userRepository.findByIdForUpdate(userId))
+            .orElseThrow(() -> new IllegalStateException("User not found after concurrent creation: " + userId));
+    }
+}
@@ -0,0 +1,29 @@
+package com.f1bets.application.usecase;
+
+import com.f1bets.application.dto.SessionExposure;
+import com.f1bets.application.service.ExposureBook;
+import com.f1bets.application.service.OperationMetrics;
+import com.f1bets.domain.model.SessionKey;
+import org.springframework.stereotype.Service;
+
+/**
+ * Reads a session's liability from the in-memory exposure book. No transaction: the
+ * book only touches the database when its mirror of the session is missing or stale.
+ */
+@Service
+public class GetSessionExposureUseCase {
+
+    static final String USE_CASE = "get_session_exposure";
+
+    private final ExposureBook exposureBook;
+    private final OperationMetrics metrics;
+
+    public GetSessionExposureUseCase(ExposureBook exposureBook, OperationMetrics metrics) {
+        this.exposureBook = exposureBook;
+        this.metrics = metrics;
+    }
+
+    public SessionExposure execute(SessionKey sessionKey) {
+        return metrics.timeUseCase(USE_CASE, () -> exposureBook.get(sessionKey));
+    }
+}
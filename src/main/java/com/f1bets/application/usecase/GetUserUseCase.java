@@ -1,5 +1,7 @@
 package com.f1bets.application.usecase;
 
+import com.f1bets.application.port.ReadYourWrites;
+import com.f1bets.application.service.OperationMetrics;
 import com.f1bets.domain.exception.UserNotFoundException;
 import com.f1bets.domain.model.Bet;
 import com.f1bets.domain.model.User;
@@ -14,22 +16,37 @@ import java.util.List;
 @Service
 public class GetUserUseCase {
 
+    static final String USE_CASE = "get_user";
+
     private final UserRepository userRepository;
     private final BetRepository betRepository;
+    private final ReadYourWrites readYourWrites;
+    private final OperationMetrics metrics;
 
-    public GetUserUseCase(UserRepository userRepository, BetRepository betRepository) {
+    public GetUserUseCase(UserRepository userRepository,
+                          BetRepository betRepository,
+                          ReadYourWrites readYourWrites,
+                          OperationMetrics metrics) {
         this.userRepository = userRepository;
         this.betRepository = betRepository;
+        this.readYourWrites = readYourWrites;
+        this.metrics = metrics;
     }
 
+    /**
+     * Read-only, so it may be served by a read replica; a user who just placed a bet
+     * is read from the primary so the bet is never missing from their own view.
+     */
     @Transactional(readOnly = true)
     public UserWithBets execute(UserId userId) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new UserNotFoundException(userId));
+        return metrics.timeUseCase(USE_CASE, () -> readYourWrites.read(userId, () -> {
+            User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId));
 
-        List<Bet> bets = betRepository.findByUserId(userId);
+            List<Bet> bets = betRepository.findByUserId(userId);
 
-        return new UserWithBets(user, bets);
+            return new UserWithBets(user, bets);
+        }));
     }
 
     public record UserWithBets(User user, List<Bet> bets) {}
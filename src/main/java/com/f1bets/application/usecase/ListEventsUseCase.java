@@ -3,6 +3,7 @@ package com.f1bets.application.usecase;
 import com.f1bets.application.dto.EventWithDrivers;
 import com.f1bets.application.dto.SessionQuery;
 import com.f1bets.application.port.F1DataProvider;
+import com.f1bets.application.service.OperationMetrics;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -16,10 +17,14 @@ import java.util.List;
 @Service
 public class ListEventsUseCase {
 
+    static final String USE_CASE = "list_events";
+
     private final F1DataProvider f1DataProvider;
+    private final OperationMetrics metrics;
 
-    public ListEventsUseCase(F1DataProvider f1DataProvider) {
+    public ListEventsUseCase(F1DataProvider f1DataProvider, OperationMetrics metrics) {
         this.f1DataProvider = f1DataProvider;
+        this.metrics = metrics;
     }
 
     public List<EventWithDrivers> execute(String sessionType, Integer year, String countryCode) {
@@ -28,6 +33,6 @@ public class ListEventsUseCase {
 
     public List<EventWithDrivers> execute(String sessionType, Integer year, String countryCode, boolean skipCache) {
         SessionQuery query = SessionQuery.of(sessionType, year, countryCode);
-        return f1DataProvider.getSessions(query, skipCache);
+        return metrics.timeUseCase(USE_CASE, () -> f1DataProvider.getSessions(query, skipCache));
     }
 }
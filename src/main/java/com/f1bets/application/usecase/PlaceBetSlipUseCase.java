@@ -0,0 +1,279 @@
+package com.f1bets.application.usecase;
+
+import com.f1bets.application.dto.EventWithDrivers;
+import com.f1bets.application.dto.PlaceBetResult;
+import com.f1bets.application.dto.PlaceBetSlipCommand;
+import com.f1bets.application.dto.PlaceBetSlipCommand.Selection;
+import com.f1bets.application.dto.PlaceBetSlipResult;
+import com.f1bets.application.event.UserBetUpdated;
+import com.f1bets.application.port.DomainEventPublisher;
+import com.f1bets.application.port.F1DataProvider;
+import com.f1bets.application.port.ReadYourWrites;
+import com.f1bets.application.port.SessionLock;
+import com.f1bets.application.service.ExposureBook;
+import com.f1bets.application.service.OddsCalculator;
+import com.f1bets.application.service.OperationMetrics;
+import com.f1bets.application.service.UserAccounts;
+import com.f1bets.domain.exception.DriverNotInSessionException;
+import com.f1bets.domain.exception.EventAlreadySettledException;
+import com.f1bets.domain.exception.InsufficientBalanceException;
+import com.f1bets.domain.exception.SessionNotFoundException;
+import com.f1bets.domain.model.Bet;
+import com.f1bets.domain.model.DriverExposure;
+import com.f1bets.domain.model.LedgerEntry;
+import com.f1bets.domain.model.Money;
+import com.f1bets.domain.model.Odds;
+import com.f1bets.domain.model.SessionKey;
+import com.f1bets.domain.model.User;
+import com.f1bets.domain.repository.BetRepository;
+import com.f1bets.domain.repository.BetRepository.PlacedBet;
+import com.f1bets.domain.repository.EventOutcomeRepository;
+import com.f1bets.domain.repository.LedgerRepository;
+import com.f1bets.domain.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Places a bet slip: several selections, possibly across sessions, for one user in a single
+ * all-or-nothing transaction.
+ *
+ * Compared to placing the selections one by one, a slip costs:
+ * <ul>
+ *   <li>one OpenF1 lookup per distinct session, run in parallel against the session cache</li>
+ *   <li>one transaction that takes every session lock in ascending key order (deadlock-free
+ *       against other slips and single bets), locks the user row once and debits it once</li>
+ *   <li>batched inserts for all bets and ledger entries</li>
+ * </ul>
+ *
+ * Each leg's bet carries an idempotency key derived from the slip's key and the leg index,
+ * so a retried slip is recognised from its first leg exactly like a retried single bet.
+ */
+@Service
+public class PlaceBetSlipUseCase {
+
+    static final String USE_CASE = "place_bet_slip";
+
+    private final UserRepository userRepository;
+    private final UserAccounts userAccounts;
+    private final BetRepository betRepository;
+    private final LedgerRepository ledgerRepository;
+    private final EventOutcomeRepository eventOutcomeRepository;
+    private final OddsCalculator oddsCalculator;
+    private final ExposureBook exposureBook;
+    private final F1DataProvider f1DataProvider;
+    private final SessionLock sessionLock;
+    private final TransactionTemplate transactionTemplate;
+    private final DomainEventPublisher eventPublisher;
+    private final ReadYourWrites readYourWrites;
+    private final OperationMetrics metrics;
+    private final Executor validationExecutor;
+    private final Duration lockTimeout;
+
+    public PlaceBetSlipUseCase(UserRepository userRepository,
+                               UserAccounts userAccounts,
+                               BetRepository betRepository,
+                               LedgerRepository ledgerRepository,
+                               EventOutcomeRepository eventOutcomeRepository,
+                               OddsCalculator oddsCalculator,
+                               ExposureBook exposureBook,
+                               F1DataProvider f1DataProvider,
+                               SessionLock sessionLock,
+                               TransactionTemplate transactionTemplate,
+                               DomainEventPublisher eventPublisher,
+                               ReadYourWrites readYourWrites,
+                               OperationMetrics metrics,
+                               @Qualifier("applicationTaskExecutor") Executor validationExecutor,
+                               @Value("${session-lock.placement-timeout:2s}") Duration lockTimeout) {
+        this.userRepository = userRepository;
+        this.userAccounts = userAccounts;
+        this.betRepository = betRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.eventOutcomeRepository = eventOutcomeRepository;
+        this.oddsCalculator = oddsCalculator;
+        this.exposureBook = exposureBook;
+        this.f1DataProvider = f1DataProvider;
+        this.sessionLock = sessionLock;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.readYourWrites = readYourWrites;
+        this.metrics = metrics;
+        this.validationExecutor = validationExecutor;
+        this.lockTimeout = lockTimeout;
+    }
+
+    public PlaceBetSlipResult execute(PlaceBetSlipCommand command) {
+        return metrics.timeUseCase(USE_CASE, () -> placeSlip(command));
+    }
+
+    private PlaceBetSlipResult placeSlip(PlaceBetSlipCommand command) {
+        String idempotencyKey = command.idempotencyKey();
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            Optional<PlaceBetSlipResult> replay = metrics.timeStage(USE_CASE, PlaceBetUseCase.STAGE_IDEMPOTENCY_CHECK,
+                () -> findExistingResult(command),
+                result -> result.isPresent() ? "replay" : "miss");
+            if (replay.isPresent()) {
+                return replay.get();
+            }
+        }
+
+        metrics.runStage(USE_CASE, PlaceBetUseCase.STAGE_OPENF1_VALIDATION, () -> validateSelections(command));
+
+        SlipPlacement placement = metrics.timeStage(USE_CASE, PlaceBetUseCase.STAGE_DB_TRANSACTION,
+            () -> transactionTemplate.execute(status -> placeInTransaction(command)));
+
+        placement.exposures().forEach(exposureBook::applyCommitted);
+        readYourWrites.recordWrite(command.userId());
+        return placement.result();
+    }
+
+    private SlipPlacement placeInTransaction(PlaceBetSlipCommand command) {
+        Set<SessionKey> sessions = command.selections().stream()
+            .map(Selection::sessionKey)
+            .collect(Collectors.toSet());
+        metrics.runStage(USE_CASE, PlaceBetUseCase.STAGE_LOCK_WAIT, () -> sessionLock.acquireAll(sessions, lockTimeout));
+
+        for (SessionKey sessionKey : sessions) {
+            if (eventOutcomeRepository.existsBySessionKey(sessionKey)) {
+                throw new EventAlreadySettledException(sessionKey);
+            }
+        }
+
+        User user = userAccounts.lockOrCreate(command.userId());
+
+        Money totalStake = command.selections().stream()
+            .map(Selection::stake)
+            .reduce(Money.ZERO, Money::add);
+        if (!user.canAfford(totalStake)) {
+            throw new InsufficientBalanceException(user.getBalance(), totalStake);
+        }
+
+        List<Bet> bets = new ArrayList<>(command.selections().size());
+        List<LedgerEntry> ledgerEntries = new ArrayList<>(command.selections().size());
+        List<PlaceBetResult> results = new ArrayList<>(command.selections().size());
+        List<DriverExposure> exposures = new ArrayList<>(command.selections().size());
+
+        for (int leg = 0; leg < command.selections().size(); leg++) {
+            Selection selection = command.selections().get(leg);
+            Odds odds = oddsCalculator.calculate(
+                selection.sessionKey().getValue(),
+                selection.driverNumber().getValue()
+            );
+
+            // Debited leg by leg in memory so every ledger entry carries its running balance;
+            // the user row itself is written once below
+            user.deductBalance(selection.stake());
+
+            Bet bet = Bet.place(
+                command.userId(),
+                selection.sessionKey(),
+                selection.driverNumber(),
+                selection.stake(),
+                odds,
+                legIdempotencyKey(command.idempotencyKey(), leg)
+            );
+
+            exposures.add(exposureBook.recordBet(bet));
+            bets.add(bet);
+            ledgerEntries.add(LedgerEntry.betPlaced(
+                command.userId(),
+                selection.stake().toCents(),
+                user.getBalanceCents(),
+                bet.getId()
+            ));
+            results.add(PlaceBetResult.from(bet, user.getBalance()));
+        }
+
+        userRepository.save(user);
+        betRepository.saveAll(bets);
+        ledgerRepository.saveAll(ledgerEntries);
+
+        eventPublisher.publishAll(bets.stream()
+            .map(bet -> new UserBetUpdated(
+                command.userId().getValue(),
+                bet.getId(),
+                bet.getSessionKey().getValue(),
+                bet.getStatus().name(),
+                user.getBalanceCents()
+            ))
+            .toList());
+
+        return new SlipPlacement(new PlaceBetSlipResult(results, user.getBalance()), exposures);
+    }
+
+    private Optional<PlaceBetSlipResult> findExistingResult(PlaceBetSlipCommand command) {
+        Optional<PlacedBet> firstLeg = betRepository.findPlacedByIdempotencyKey(
+            legIdempotencyKey(command.idempotencyKey(), 0));
+        if (firstLeg.isEmpty()) {
+            return Optional.empty();
+        }
+        List<PlaceBetResult> results = new ArrayList<>(command.selections().size());
+        for (int leg = 0; leg < command.selections().size(); leg++) {
+            String legKey = legIdempotencyKey(command.idempotencyKey(), leg);
+            PlacedBet placed = (leg == 0 ? firstLeg : betRepository.findPlacedByIdempotencyKey(legKey))
+                .orElseThrow(() -> new IllegalStateException("Bet slip partially found for leg key " + legKey));
+            if (placed.balanceAfter() == null) {
+                throw new IllegalStateException("Ledger entry missing for bet " + placed.bet().getId());
+            }
+            results.add(PlaceBetResult.from(placed.bet(), placed.balanceAfter()));
+        }
+        return Optional.of(new PlaceBetSlipResult(results, results.get(results.size() - 1).userBalance()));
+    }
+
+    private void validateSelections(PlaceBetSlipCommand command) {
+        Map<SessionKey, CompletableFuture<Optional<EventWithDrivers>>> lookups = new LinkedHashMap<>();
+        for (Selection selection : command.selections()) {
+            lookups.computeIfAbsent(selection.sessionKey(), sessionKey -> CompletableFuture.supplyAsync(
+                () -> f1DataProvider.getSessionByKey(sessionKey.getValue()), validationExecutor));
+        }
+
+        for (Selection selection : command.selections()) {
+            EventWithDrivers session = join(lookups.get(selection.sessionKey()))
+                .orElseThrow(() -> new SessionNotFoundException(selection.sessionKey()));
+            boolean driverParticipated = session.drivers().stream()
+                .anyMatch(d -> d.driverNumber() == selection.driverNumber().getValue());
+            if (!driverParticipated) {
+                throw new DriverNotInSessionException(selection.sessionKey(), selection.driverNumber());
+            }
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Surface the provider's own exception (e.g. ExternalServiceUnavailableException)
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    static String legIdempotencyKey(String slipKey, int leg) {
+        if (slipKey == null || slipKey.isBlank()) {
+            return null;
+        }
+        return UUID.nameUUIDFromBytes((slipKey + "#" + leg).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * Slip result plus each leg's exposure totals written in the same transaction.
+     */
+    private record SlipPlacement(PlaceBetSlipResult result, List<DriverExposure> exposures) {}
+}
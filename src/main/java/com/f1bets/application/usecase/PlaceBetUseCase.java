@@ -3,16 +3,28 @@ package com.f1bets.application.usecase;
 import com.f1bets.application.dto.EventWithDrivers;
 import com.f1bets.application.dto.PlaceBetCommand;
 import com.f1bets.application.dto.PlaceBetResult;
+import com.f1bets.application.event.UserBetUpdated;
+import com.f1bets.application.port.BetPlacementGateway;
+import com.f1bets.application.port.DomainEventPublisher;
 import com.f1bets.application.port.F1DataProvider;
+import com.f1bets.application.port.ReadYourWrites;
 import com.f1bets.application.port.SessionLock;
+import com.f1bets.application.service.BetPlacementGroupCommit;
+import com.f1bets.application.service.ExposureBook;
 import com.f1bets.application.service.OddsCalculator;
+import com.f1bets.application.service.OperationMetrics;
+import com.f1bets.application.service.UserAccounts;
 import com.f1bets.domain.exception.DriverNotInSessionException;
 import com.f1bets.domain.exception.EventAlreadySettledException;
+import com.f1bets.domain.exception.ExposureLimitExceededException;
+import com.f1bets.domain.exception.ExposureLimitExceededException.Limit;
 import com.f1bets.domain.exception.InsufficientBalanceException;
 import com.f1bets.domain.exception.SessionNotFoundException;
 import com.f1bets.domain.model.Bet;
+import com.f1bets.domain.model.DriverExposure;
 import com.f1bets.domain.model.DriverNumber;
 import com.f1bets.domain.model.LedgerEntry;
+import com.f1bets.domain.model.Money;
 import com.f1bets.domain.model.Odds;
 import com.f1bets.domain.model.SessionKey;
 import com.f1bets.domain.model.User;
@@ -20,41 +32,72 @@ import com.f1bets.domain.repository.BetRepository;
 import com.f1bets.domain.repository.EventOutcomeRepository;
 import com.f1bets.domain.repository.LedgerRepository;
 import com.f1bets.domain.repository.UserRepository;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
 
 @Service
 public class PlaceBetUseCase {
 
-    private static final Logger log = LoggerFactory.getLogger(PlaceBetUseCase.class);
+    static final String USE_CASE = "place_bet";
+    static final String STAGE_IDEMPOTENCY_CHECK = "idempotency_check";
+    static final String STAGE_OPENF1_VALIDATION = "openf1_validation";
+    static final String STAGE_LOCK_WAIT = "lock_wait";
+    static final String STAGE_DB_TRANSACTION = "db_transaction";
+    static final String STAGE_PLACE_FUNCTION = "place_function";
 
     private final UserRepository userRepository;
+    private final UserAccounts userAccounts;
     private final BetRepository betRepository;
     private final LedgerRepository ledgerRepository;
     private final EventOutcomeRepository eventOutcomeRepository;
     private final OddsCalculator oddsCalculator;
+    private final ExposureBook exposureBook;
     private final F1DataProvider f1DataProvider;
     private final SessionLock sessionLock;
-    private final TransactionTemplate transactionTemplate;
+    private final BetPlacementGroupCommit groupCommit;
+    private final BetPlacementGateway placementGateway;
+    private final DomainEventPublisher eventPublisher;
+    private final ReadYourWrites readYourWrites;
+    private final OperationMetrics metrics;
+    private final Duration lockTimeout;
+    private final boolean serverSidePlacement;
 
     public PlaceBetUseCase(UserRepository userRepository,
+                          UserAccounts userAccounts,
                           BetRepository betRepository,
                           LedgerRepository ledgerRepository,
                           EventOutcomeRepository eventOutcomeRepository,
                           OddsCalculator oddsCalculator,
+                          ExposureBook exposureBook,
                           F1DataProvider f1DataProvider,
                           SessionLock sessionLock,
-                          TransactionTemplate transactionTemplate) {
+                          BetPlacementGroupCommit groupCommit,
+                          BetPlacementGateway placementGateway,
+                          DomainEventPublisher eventPublisher,
+                          ReadYourWrites readYourWrites,
+                          OperationMetrics metrics,
+                          @Value("${session-lock.placement-timeout:2s}") Duration lockTimeout,
+                          @Value("${placement.server-side.enabled:false}") boolean serverSidePlacement) {
         this.userRepository = userRepository;
+        this.userAccounts = userAccounts;
         this.betRepository = betRepository;
         this.ledgerRepository = ledgerRepository;
         this.eventOutcomeRepository = eventOutcomeRepository;
         this.oddsCalculator = oddsCalculator;
+        this.exposureBook = exposureBook;
         this.f1DataProvider = f1DataProvider;
         this.sessionLock = sessionLock;
-        this.transactionTemplate = transactionTemplate;
+        this.groupCommit = groupCommit;
+        this.placementGateway = placementGateway;
+        this.eventPublisher = eventPublisher;
+        this.readYourWrites = readYourWrites;
+        this.metrics = metrics;
+        this.lockTimeout = lockTimeout;
+        this.serverSidePlacement = serverSidePlacement;
     }
 
     /**
@@ -63,93 +106,167 @@ public class PlaceBetUseCase {
      * The method is structured to minimize transaction duration:
      * 1. HTTP validation (session/driver) happens OUTSIDE the transaction
      * 2. Session lock is acquired to prevent race with settlement
-     * 3. DB operations happen in a short transaction
+     * 3. DB operations happen in a short transaction, shared with concurrent placements
+     *    when group commit is enabled (see {@link BetPlacementGroupCommit})
+     *
+     * Each step is timed as a separate stage (f1bets.usecase.stage) so latency spikes
+     * can be attributed to idempotency lookup, OpenF1, lock contention or the database.
      */
     public PlaceBetResult execute(PlaceBetCommand command) {
+        return metrics.timeUseCase(USE_CASE, () -> placeBet(command));
+    }
+
+    private PlaceBetResult placeBet(PlaceBetCommand command) {
         // Step 1: Check idempotency OUTSIDE transaction (read-only, no lock needed)
         String idempotencyKey = command.idempotencyKey();
         if (idempotencyKey != null && !idempotencyKey.isBlank()) {
-            var existingBet = betRepository.findByIdempotencyKey(idempotencyKey);
-            if (existingBet.isPresent()) {
-                var balanceAfter = ledgerRepository.findBalanceAfterForBet(existingBet.get().getId())
-                    .orElseGet(() -> userRepository.findById(existingBet.get().getUserId())
-                        .orElseThrow(() -> new IllegalStateException(
-                            "User not found for existing bet: " + existingBet.get().getUserId()))
-                        .getBalance());
-                return PlaceBetResult.from(existingBet.get(), balanceAfter);
+            Optional<PlaceBetResult> replay = metrics.timeStage(USE_CASE, STAGE_IDEMPOTENCY_CHECK,
+                () -> findExistingResult(idempotencyKey),
+                result -> result.isPresent() ? "replay" : "miss");
+            if (replay.isPresent()) {
+                return replay.get();
             }
         }
 
         // Step 2: Validate session and driver via HTTP OUTSIDE transaction
         // This avoids holding DB connections during potentially slow network calls
-        validateSessionAndDriver(command.sessionKey(), command.driverNumber());
+        metrics.runStage(USE_CASE, STAGE_OPENF1_VALIDATION,
+            () -> validateSessionAndDriver(command.sessionKey(), command.driverNumber()));
 
         // Step 3: Acquire session lock and execute DB operations in a short transaction
         // The session lock prevents race condition with settlement
-        return transactionTemplate.execute(status -> {
-            sessionLock.acquire(command.sessionKey());
+        Placement placement = metrics.timeStage(USE_CASE, STAGE_DB_TRANSACTION,
+            () -> groupCommit.execute(command.userId(), command.sessionKey(),
+                sessionLocked -> placeInTransaction(command, sessionLocked)));
 
-            // Re-check if event was settled while we were validating
-            if (eventOutcomeRepository.existsBySessionKey(command.sessionKey())) {
-                throw new EventAlreadySettledException(command.sessionKey());
-            }
+        // Only committed totals reach the in-memory exposure book
+        exposureBook.applyCommitted(placement.exposure());
+        // The user's next reads must see this bet even if they would otherwise hit a lagging replica
+        readYourWrites.recordWrite(command.userId());
+        return placement.result();
+    }
+
+    /**
+     * @param sessionLocked whether a group commit batch already holds the session lock
+     */
+    private Placement placeInTransaction(PlaceBetCommand command, boolean sessionLocked) {
+        if (serverSidePlacement) {
+            return placeServerSide(command);
+        }
 
-            User user = userRepository.findByIdForUpdate(command.userId())
-                .orElseGet(() -> getOrCreateUser(command));
+        if (!sessionLocked) {
+            metrics.runStage(USE_CASE, STAGE_LOCK_WAIT, () -> sessionLock.acquire(command.sessionKey(), lockTimeout));
+        }
 
-            if (!user.canAfford(command.stake())) {
-                throw new InsufficientBalanceException(user.getBalance(), command.stake());
-            }
+        // Re-check if event was settled while we were validating
+        if (eventOutcomeRepository.existsBySessionKey(command.sessionKey())) {
+            throw new EventAlreadySettledException(command.sessionKey());
+        }
+
+        User user = userAccounts.lockOrCreate(command.userId());
+
+        if (!user.canAfford(command.stake())) {
+            throw new InsufficientBalanceException(user.getBalance(), command.stake());
+        }
+
+        Odds odds = oddsCalculator.calculate(
+            command.sessionKey().getValue(),
+            command.driverNumber().getValue()
+        );
 
-            Odds odds = oddsCalculator.calculate(
-                command.sessionKey().getValue(),
-                command.driverNumber().getValue()
-            );
-
-            user.deductBalance(command.stake());
-
-            Bet bet = Bet.place(
-                command.userId(),
-                command.sessionKey(),
-                command.driverNumber(),
-                command.stake(),
-                odds,
-                command.idempotencyKey()
-            );
-
-            LedgerEntry ledgerEntry = LedgerEntry.betPlaced(
-                command.userId(),
-                command.stake().toCents(),
-                user.getBalanceCents(),
-                bet.getId()
-            );
-
-            userRepository.save(user);
-            betRepository.save(bet);
-            ledgerRepository.save(ledgerEntry);
-
-            return PlaceBetResult.from(bet, user.getBalance());
-        });
+        user.deductBalance(command.stake());
+
+        Bet bet = Bet.place(
+            command.userId(),
+            command.sessionKey(),
+            command.driverNumber(),
+            command.stake(),
+            odds,
+            command.idempotencyKey()
+        );
+
+        LedgerEntry ledgerEntry = LedgerEntry.betPlaced(
+            command.userId(),
+            command.stake().toCents(),
+            user.getBalanceCents(),
+            bet.getId()
+        );
+
+        // Limits are checked before any other write so a rejected bet costs as little as possible
+        DriverExposure exposure = exposureBook.recordBet(bet);
+
+        userRepository.save(user);
+        betRepository.save(bet);
+        ledgerRepository.save(ledgerEntry);
+
+        eventPublisher.publish(new UserBetUpdated(
+            command.userId().getValue(),
+            bet.getId(),
+            command.sessionKey().getValue(),
+            bet.getStatus().name(),
+            user.getBalanceCents()
+        ));
+
+        return new Placement(PlaceBetResult.from(bet, user.getBalance()), exposure);
     }
 
-    private User getOrCreateUser(PlaceBetCommand command) {
-        User newUser = User.createNew(command.userId());
-        boolean inserted = userRepository.insertIfAbsent(newUser);
-        if (inserted) {
-            LedgerEntry initialCredit = LedgerEntry.initialCredit(
-                command.userId(),
-                newUser.getBalanceCents()
-            );
-            ledgerRepository.save(initialCredit);
-            log.debug("Created new user: {}", command.userId());
-            // Return the newly created user directly to avoid race condition
-            // where concurrent requests could both create INITIAL_CREDIT entries
-            return userRepository.findByIdForUpdate(command.userId())
-                .orElseThrow(() -> new IllegalStateException("User creation failed"));
+    /**
+     * Same checks and writes as {@link #placeInTransaction} in one call to the {@code place_bet}
+     * database function, so locks are held for server-side execution only. Rejections come
+     * back as a status and are thrown here, which rolls back anything the function wrote.
+     */
+    private Placement placeServerSide(PlaceBetCommand command) {
+        Odds odds = oddsCalculator.calculate(
+            command.sessionKey().getValue(),
+            command.driverNumber().getValue()
+        );
+        Bet bet = Bet.place(
+            command.userId(),
+            command.sessionKey(),
+            command.driverNumber(),
+            command.stake(),
+            odds,
+            command.idempotencyKey()
+        );
+
+        BetPlacementGateway.Outcome outcome = metrics.timeStage(USE_CASE, STAGE_PLACE_FUNCTION,
+            () -> placementGateway.place(bet, exposureBook.getMaxUserStake(), exposureBook.getMaxDriverPayout(), lockTimeout),
+            result -> result.status().name().toLowerCase(Locale.ROOT));
+
+        switch (outcome.status()) {
+            case EVENT_SETTLED -> throw new EventAlreadySettledException(command.sessionKey());
+            case INSUFFICIENT_BALANCE ->
+                throw new InsufficientBalanceException(Money.ofCents(outcome.balanceCents()), command.stake());
+            case USER_STAKE_LIMIT -> throw new ExposureLimitExceededException(
+                Limit.USER_STAKE, command.sessionKey(), exposureBook.getMaxUserStake());
+            case DRIVER_PAYOUT_LIMIT -> throw new ExposureLimitExceededException(
+                Limit.DRIVER_PAYOUT, command.sessionKey(), exposureBook.getMaxDriverPayout());
+            case PLACED -> { }
         }
-        // User already existed (concurrent creation won), fetch with lock
-        return userRepository.findByIdForUpdate(command.userId())
-            .orElseThrow(() -> new IllegalStateException("User not found after insertIfAbsent returned false"));
+
+        eventPublisher.publish(new UserBetUpdated(
+            command.userId().getValue(),
+            bet.getId(),
+            command.sessionKey().getValue(),
+            bet.getStatus().name(),
+            outcome.balanceCents()
+        ));
+
+        return new Placement(PlaceBetResult.from(bet, Money.ofCents(outcome.balanceCents())), outcome.exposure());
+    }
+
+    private Optional<PlaceBetResult> findExistingResult(String idempotencyKey) {
+        return betRepository.findPlacedByIdempotencyKey(idempotencyKey)
+            .map(placed -> {
+                Bet existingBet = placed.bet();
+                Money balanceAfter = placed.balanceAfter() != null
+                    ? placed.balanceAfter()
+                    : userRepository.findById(existingBet.getUserId())
+                        .orElseThrow(() -> new IllegalStateException(
+                            "User not found for existing bet: " + existingBet.getUserId()))
+                        .getBalance();
+                return PlaceBetResult.from(existingBet, balanceAfter);
+            });
     }
 
     private void validateSessionAndDriver(SessionKey sessionKey, DriverNumber driverNumber) {
@@ -163,4 +280,9 @@ public class PlaceBetUseCase {
             throw new DriverNotInSessionException(sessionKey, driverNumber);
         }
     }
+
+    /**
+     * Placement result plus the driver's exposure totals written in the same transaction.
+     */
+    private record Placement(PlaceBetResult result, DriverExposure exposure) {}
 }
@@ -0,0 +1,84 @@
+package com.f1bets.application.usecase;
+
+import com.f1bets.application.dto.EventWithDrivers;
+import com.f1bets.application.dto.SettleEventCommand;
+import com.f1bets.application.dto.SettleEventResult;
+import com.f1bets.application.port.F1DataProvider;
+import com.f1bets.application.service.OperationMetrics;
+import com.f1bets.domain.exception.DriverNotInSessionException;
+import com.f1bets.domain.exception.SessionNotFoundException;
+import com.f1bets.domain.model.DriverExposure;
+import com.f1bets.domain.model.Money;
+import com.f1bets.domain.repository.ExposureRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Computes what {@link SettleEventUseCase} would return for a given winner, without settling.
+ *
+ * The answer comes from the per-driver rows of the exposure book (one primary-key range read
+ * in a read-only transaction, so no row locks and replica-eligible) instead of the session's
+ * bets. Every bet of a session is pending until settlement, so before settlement the preview
+ * matches the real result exactly; after settlement, previewing the actual winner matches the
+ * idempotent replay of the settlement.
+ */
+@Service
+public class PreviewSettlementUseCase {
+
+    static final String USE_CASE = "preview_settlement";
+
+    private final ExposureRepository exposureRepository;
+    private final F1DataProvider f1DataProvider;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final OperationMetrics metrics;
+
+    public PreviewSettlementUseCase(ExposureRepository exposureRepository,
+                                    F1DataProvider f1DataProvider,
+                                    @Qualifier("readOnlyTransactionTemplate") TransactionTemplate readOnlyTransactionTemplate,
+                                    OperationMetrics metrics) {
+        this.exposureRepository = exposureRepository;
+        this.f1DataProvider = f1DataProvider;
+        this.readOnlyTransactionTemplate = readOnlyTransactionTemplate;
+        this.metrics = metrics;
+    }
+
+    public SettleEventResult execute(SettleEventCommand command) {
+        return metrics.timeUseCase(USE_CASE, () -> preview(command));
+    }
+
+    private SettleEventResult preview(SettleEventCommand command) {
+        // Cached session data is good enough here: nothing is committed based on it
+        EventWithDrivers session = f1DataProvider.getSessionByKey(command.sessionKey().getValue())
+            .orElseThrow(() -> new SessionNotFoundException(command.sessionKey()));
+        boolean driverParticipated = session.drivers().stream()
+            .anyMatch(d -> d.driverNumber() == command.winningDriverNumber().getValue());
+        if (!driverParticipated) {
+            throw new DriverNotInSessionException(command.sessionKey(), command.winningDriverNumber());
+        }
+
+        List<DriverExposure> drivers = readOnlyTransactionTemplate.execute(
+            status -> exposureRepository.findBySessionKey(command.sessionKey()));
+
+        long totalBets = 0;
+        long winningBets = 0;
+        long totalPayoutCents = 0;
+        for (DriverExposure driver : drivers) {
+            totalBets += driver.getBetCount();
+            if (driver.getDriverNumber().equals(command.winningDriverNumber())) {
+                winningBets = driver.getBetCount();
+                totalPayoutCents = driver.getPotentialPayout().toCents();
+            }
+        }
+
+        return new SettleEventResult(
+            command.sessionKey().getValue(),
+            command.winningDriverNumber().getValue(),
+            Math.toIntExact(totalBets),
+            Math.toIntExact(winningBets),
+            Money.ofCents(totalPayoutCents)
+        );
+    }
+}
@@ -3,14 +3,18 @@ package com.f1bets.application.usecase;
 import com.f1bets.application.dto.EventWithDrivers;
 import com.f1bets.application.dto.SettleEventCommand;
 import com.f1bets.application.dto.SettleEventResult;
+import com.f1bets.application.event.EventSettled;
+import com.f1bets.application.event.UserBetUpdated;
+import com.f1bets.application.port.DomainEventPublisher;
 import com.f1bets.application.port.F1DataProvider;
 import com.f1bets.application.port.SessionLock;
+import com.f1bets.application.port.SettlementGateway;
+import com.f1bets.application.service.OperationMetrics;
 import com.f1bets.domain.exception.DriverNotInSessionException;
 import com.f1bets.domain.exception.EventAlreadySettledException;
 import com.f1bets.domain.exception.EventNotEndedException;
 import com.f1bets.domain.exception.SessionNotFoundException;
 import com.f1bets.domain.model.Bet;
-import com.f1bets.domain.model.BetStatus;
 import com.f1bets.domain.model.DriverNumber;
 import com.f1bets.domain.model.EventOutcome;
 import com.f1bets.domain.model.LedgerEntry;
@@ -24,46 +28,82 @@ import com.f1bets.domain.repository.UserRepository;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class SettleEventUseCase {
 
     private static final Logger log = LoggerFactory.getLogger(SettleEventUseCase.class);
 
+    static final String USE_CASE = "settle_event";
+    static final String STAGE_OPENF1_VALIDATION = "openf1_validation";
+    static final String STAGE_REPLAY_CHECK = "replay_check";
+    static final String STAGE_LOCK_WAIT = "lock_wait";
+    static final String STAGE_DB_TRANSACTION = "db_transaction";
+    static final String STAGE_SETTLE_FUNCTION = "settle_function";
+    static final String SETTLED_BETS_COUNTER = "f1bets.settlement.bets";
+
+    static final String ENGINE_JAVA = "java";
+    static final String ENGINE_SQL = "sql";
+
     private final EventOutcomeRepository eventOutcomeRepository;
     private final BetRepository betRepository;
     private final UserRepository userRepository;
     private final LedgerRepository ledgerRepository;
     private final SessionLock sessionLock;
+    private final SettlementGateway settlementGateway;
     private final F1DataProvider f1DataProvider;
     private final Clock clock;
     private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final DomainEventPublisher eventPublisher;
+    private final OperationMetrics metrics;
+    private final Duration lockTimeout;
+    private final boolean sqlEngine;
 
     public SettleEventUseCase(EventOutcomeRepository eventOutcomeRepository,
                              BetRepository betRepository,
                              UserRepository userRepository,
                              LedgerRepository ledgerRepository,
                              SessionLock sessionLock,
+                             SettlementGateway settlementGateway,
                              F1DataProvider f1DataProvider,
                              Clock clock,
-                             TransactionTemplate transactionTemplate) {
+                             TransactionTemplate transactionTemplate,
+                             @Qualifier("readOnlyTransactionTemplate") TransactionTemplate readOnlyTransactionTemplate,
+                             DomainEventPublisher eventPublisher,
+                             OperationMetrics metrics,
+                             @Value("${session-lock.settlement-timeout:10s}") Duration lockTimeout,
+                             @Value("${settlement.engine:java}") String engine) {
+        if (!ENGINE_JAVA.equals(engine) && !ENGINE_SQL.equals(engine)) {
+            throw new IllegalArgumentException("Unknown settlement engine '" + engine + "', expected java or sql");
+        }
         this.eventOutcomeRepository = eventOutcomeRepository;
         this.betRepository = betRepository;
         this.userRepository = userRepository;
         this.ledgerRepository = ledgerRepository;
         this.sessionLock = sessionLock;
+        this.settlementGateway = settlementGateway;
         this.f1DataProvider = f1DataProvider;
         this.clock = clock;
         this.transactionTemplate = transactionTemplate;
+        this.readOnlyTransactionTemplate = readOnlyTransactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.metrics = metrics;
+        this.lockTimeout = lockTimeout;
+        this.sqlEngine = ENGINE_SQL.equals(engine);
     }
 
     /**
@@ -73,114 +113,212 @@ public class SettleEventUseCase {
      * 1. HTTP validation (event ended, driver participated) happens OUTSIDE the transaction
      * 2. Session lock is acquired to prevent race with bet placement
      * 3. DB operations happen in a short transaction
+     *
+     * Settled bets are counted per result (f1bets.settlement.bets) so bets/sec during
+     * settlement can be read as a rate; idempotent replays are not counted.
+     *
+     * With {@code settlement.engine=sql} the bets are settled by the {@code settle_session}
+     * database function instead of the per-bet loop; both engines produce the same bets,
+     * balances, ledger entries and events.
      */
     public SettleEventResult execute(SettleEventCommand command) {
+        return metrics.timeUseCase(USE_CASE, () -> settle(command));
+    }
+
+    private SettleEventResult settle(SettleEventCommand command) {
         // Step 1: Validate event ended and driver via HTTP OUTSIDE transaction
         // This avoids holding DB connections during potentially slow network calls
         // Uses skipCache=true to get fresh data for financial decisions
-        validateEventEndedAndDriver(command.sessionKey(), command.winningDriverNumber());
-
-        // Step 2: Execute DB operations in a short transaction with session lock
-        return transactionTemplate.execute(status -> {
-            sessionLock.acquire(command.sessionKey());
-
-            // Check if already settled - if same winner, return idempotent success
-            var existingOutcome = eventOutcomeRepository.findBySessionKey(command.sessionKey());
-            if (existingOutcome.isPresent()) {
-                EventOutcome existing = existingOutcome.get();
-                if (existing.getWinningDriverNumber().equals(command.winningDriverNumber())) {
-                    // Idempotent: same outcome requested, return success
-                    log.info("Event {} already settled with same winner {}, returning idempotent success",
-                        command.sessionKey(), command.winningDriverNumber());
-                    return createIdempotentResult(command);
+        metrics.runStage(USE_CASE, STAGE_OPENF1_VALIDATION,
+            () -> validateEventEndedAndDriver(command.sessionKey(), command.winningDriverNumber()));
+
+        // Step 2: Answer replays of a completed settlement from a read-only transaction
+        // (eligible for a read replica) without taking the session lock. Outcomes never change
+        // once committed, so a stale read can only miss one, never report a wrong one.
+        Optional<SettleEventResult> replay = metrics.timeStage(USE_CASE, STAGE_REPLAY_CHECK,
+            () -> readOnlyTransactionTemplate.execute(status -> findCompletedSettlement(command)),
+            result -> result.isPresent() ? "replay" : "miss");
+        if (replay.isPresent()) {
+            return replay.get();
+        }
+
+        // Step 3: Execute DB operations in a short transaction with session lock
+        SettlementOutcome outcome = metrics.timeStage(USE_CASE, STAGE_DB_TRANSACTION,
+            () -> transactionTemplate.execute(status -> settleInTransaction(command)));
+
+        if (!outcome.replay()) {
+            SettleEventResult result = outcome.result();
+            metrics.counter(SETTLED_BETS_COUNTER, "result", "won").increment(result.winningBets());
+            metrics.counter(SETTLED_BETS_COUNTER, "result", "lost").increment(result.totalBets() - result.winningBets());
+        }
+        return outcome.result();
+    }
+
+    private Optional<SettleEventResult> findCompletedSettlement(SettleEventCommand command) {
+        return eventOutcomeRepository.findBySessionKey(command.sessionKey())
+            .map(existing -> {
+                if (!existing.getWinningDriverNumber().equals(command.winningDriverNumber())) {
+                    throw new EventAlreadySettledException(command.sessionKey());
                 }
-                // Different winner requested - this is a conflict
-                throw new EventAlreadySettledException(command.sessionKey());
-            }
+                log.info("Event {} already settled with same winner {}, returning idempotent success",
+                    command.sessionKey(), command.winningDriverNumber());
+                return createIdempotentResult(command);
+            });
+    }
 
-            EventOutcome outcome = EventOutcome.create(
-                command.sessionKey(),
-                command.winningDriverNumber()
-            );
+    private SettlementOutcome settleInTransaction(SettleEventCommand command) {
+        metrics.runStage(USE_CASE, STAGE_LOCK_WAIT, () -> sessionLock.acquire(command.sessionKey(), lockTimeout));
 
-            try {
-                eventOutcomeRepository.save(outcome);
-            } catch (DataIntegrityViolationException e) {
-                log.debug("Event {} already settled by concurrent request", command.sessionKey());
-                throw new EventAlreadySettledException(command.sessionKey());
+        // Check if already settled - if same winner, return idempotent success
+        var existingOutcome = eventOutcomeRepository.findBySessionKey(command.sessionKey());
+        if (existingOutcome.isPresent()) {
+            EventOutcome existing = existingOutcome.get();
+            if (existing.getWinningDriverNumber().equals(command.winningDriverNumber())) {
+                // Idempotent: same outcome requested, return success
+                log.info("Event {} already settled with same winner {}, returning idempotent success",
+                    command.sessionKey(), command.winningDriverNumber());
+                return new SettlementOutcome(createIdempotentResult(command), true);
             }
+            // Different winner requested - this is a conflict
+            throw new EventAlreadySettledException(command.sessionKey());
+        }
+
+        EventOutcome outcome = EventOutcome.create(
+            command.sessionKey(),
+            command.winningDriverNumber()
+        );
+
+        try {
+            eventOutcomeRepository.save(outcome);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Event {} already settled by concurrent request", command.sessionKey());
+            throw new EventAlreadySettledException(command.sessionKey());
+        }
+
+        if (sqlEngine) {
+            return settleInDatabase(command);
+        }
+
+        List<Bet> pendingBets = betRepository.findPendingBySessionKeyForUpdate(command.sessionKey());
+
+        if (pendingBets.isEmpty()) {
+            log.info("Event {} settled with no pending bets", command.sessionKey());
+            return settled(new SettleEventResult(
+                command.sessionKey().getValue(),
+                command.winningDriverNumber().getValue(),
+                0,
+                0,
+                Money.ofCents(0)
+            ));
+        }
+
+        // A user's bets are applied in placement order (ties broken by id), the order the SQL
+        // engine uses, so both write the same running balances to the ledger
+        List<Bet> sortedBets = pendingBets.stream()
+            .sorted(Comparator.<Bet, String>comparing(bet -> bet.getUserId().getValue())
+                .thenComparing(Bet::getCreatedAt)
+                .thenComparing(bet -> bet.getId().toString()))
+            .toList();
 
-            List<Bet> pendingBets = betRepository.findBySessionKeyAndStatusForUpdate(
-                command.sessionKey(),
-                BetStatus.PENDING
-            );
-
-            if (pendingBets.isEmpty()) {
-                log.info("Event {} settled with no pending bets", command.sessionKey());
-                return new SettleEventResult(
-                    command.sessionKey().getValue(),
-                    command.winningDriverNumber().getValue(),
-                    0,
-                    0,
-                    Money.ofCents(0)
-                );
+        long totalPayoutCents = 0;
+        int winningBetsCount = 0;
+        List<LedgerEntry> ledgerEntries = new ArrayList<>();
+        List<UserBetUpdated> betUpdates = new ArrayList<>();
+
+        for (Bet bet : sortedBets) {
+            if (!bet.isPending()) {
+                log.warn("Skipping non-pending bet {} during settlement (status={})",
+                         bet.getId(), bet.getStatus());
+                continue;
             }
 
-            List<Bet> sortedBets = pendingBets.stream()
-                .sorted(Comparator.comparing(bet -> bet.getUserId().getValue()))
-                .toList();
+            User user = userRepository.findByIdForUpdate(bet.getUserId())
+                .orElseThrow(() -> new IllegalStateException("User not found: " + bet.getUserId()));
 
-            long totalPayoutCents = 0;
-            int winningBetsCount = 0;
-            List<LedgerEntry> ledgerEntries = new ArrayList<>();
+            if (bet.isForDriver(command.winningDriverNumber())) {
+                bet.markAsWon();
+                Money payout = bet.calculatePayout();
+                totalPayoutCents = Math.addExact(totalPayoutCents, payout.toCents());
+                winningBetsCount++;
 
-            for (Bet bet : sortedBets) {
-                if (!bet.isPending()) {
-                    log.warn("Skipping non-pending bet {} during settlement (status={})",
-                             bet.getId(), bet.getStatus());
-                    continue;
-                }
+                user.addWinnings(payout);
+                userRepository.save(user);
 
-                User user = userRepository.findByIdForUpdate(bet.getUserId())
-                    .orElseThrow(() -> new IllegalStateException("User not found: " + bet.getUserId()));
-
-                if (bet.isForDriver(command.winningDriverNumber())) {
-                    bet.markAsWon();
-                    Money payout = bet.calculatePayout();
-                    totalPayoutCents = Math.addExact(totalPayoutCents, payout.toCents());
-                    winningBetsCount++;
-
-                    user.addWinnings(payout);
-                    userRepository.save(user);
-
-                    ledgerEntries.add(LedgerEntry.betWon(
-                        bet.getUserId(),
-                        payout.toCents(),
-                        user.getBalanceCents(),
-                        bet.getId()
-                    ));
-                } else {
-                    bet.markAsLost();
-
-                    ledgerEntries.add(LedgerEntry.betLost(
-                        bet.getUserId(),
-                        user.getBalanceCents(),
-                        bet.getId()
-                    ));
-                }
+                ledgerEntries.add(LedgerEntry.betWon(
+                    bet.getUserId(),
+                    payout.toCents(),
+                    user.getBalanceCents(),
+                    bet.getId()
+                ));
+                betUpdates.add(betUpdate(bet, user));
+            } else {
+                bet.markAsLost();
+
+                ledgerEntries.add(LedgerEntry.betLost(
+                    bet.getUserId(),
+                    user.getBalanceCents(),
+                    bet.getId()
+                ));
+                betUpdates.add(betUpdate(bet, user));
             }
+        }
 
-            betRepository.saveAll(sortedBets);
-            ledgerRepository.saveAll(ledgerEntries);
+        betRepository.saveAll(sortedBets);
+        ledgerRepository.saveAll(ledgerEntries);
+        // One batch for all bets instead of an outbox insert per bet under the session lock
+        eventPublisher.publishAll(betUpdates);
 
-            return new SettleEventResult(
-                command.sessionKey().getValue(),
-                command.winningDriverNumber().getValue(),
-                sortedBets.size(),
-                winningBetsCount,
-                Money.ofCents(totalPayoutCents)
-            );
-        });
+        return settled(new SettleEventResult(
+            command.sessionKey().getValue(),
+            command.winningDriverNumber().getValue(),
+            sortedBets.size(),
+            winningBetsCount,
+            Money.ofCents(totalPayoutCents)
+        ));
+    }
+
+    /**
+     * Settles the pending bets set-based in the database; no bet rows are loaded. The function
+     * writes the per-bet events itself, so only the outcome is published here.
+     */
+    private SettlementOutcome settleInDatabase(SettleEventCommand command) {
+        SettlementGateway.Totals totals = metrics.timeStage(USE_CASE, STAGE_SETTLE_FUNCTION,
+            () -> settlementGateway.settle(command.sessionKey(), command.winningDriverNumber(), clock.instant()));
+
+        if (totals.totalBets() == 0) {
+            log.info("Event {} settled with no pending bets", command.sessionKey());
+        }
+        return settled(new SettleEventResult(
+            command.sessionKey().getValue(),
+            command.winningDriverNumber().getValue(),
+            totals.totalBets(),
+            totals.winningBets(),
+            Money.ofCents(totals.totalPayoutCents())
+        ));
+    }
+
+    /**
+     * Publishes the settlement outcome; delivery happens only after the transaction commits.
+     */
+    private SettlementOutcome settled(SettleEventResult result) {
+        eventPublisher.publish(new EventSettled(
+            result.sessionKey(),
+            result.winningDriverNumber(),
+            result.totalBets(),
+            result.winningBets(),
+            result.totalPayout().toCents()
+        ));
+        return new SettlementOutcome(result, false);
+    }
+
+    private static UserBetUpdated betUpdate(Bet bet, User user) {
+        return new UserBetUpdated(
+            bet.getUserId().getValue(),
+            bet.getId(),
+            bet.getSessionKey().getValue(),
+            bet.getStatus().name(),
+            user.getBalanceCents()
+        );
     }
 
     /**
@@ -226,4 +364,9 @@ public class SettleEventUseCase {
             throw new DriverNotInSessionException(sessionKey, winningDriver);
         }
     }
+
+    /**
+     * Settlement result plus whether it was an idempotent replay of an earlier settlement.
+     */
+    private record SettlementOutcome(SettleEventResult result, boolean replay) {}
 }
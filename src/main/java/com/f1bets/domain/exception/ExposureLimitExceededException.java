@@ -0,0 +1,39 @@
+package com.f1bets.domain.exception;
+
+import com.f1bets.domain.model.Money;
+import com.f1bets.domain.model.SessionKey;
+
+public class ExposureLimitExceededException extends RuntimeException {
+
+    public enum Limit {
+        DRIVER_PAYOUT,
+        USER_STAKE
+    }
+
+    private final Limit limit;
+    private final SessionKey sessionKey;
+    private final Money limitAmount;
+
+    public ExposureLimitExceededException(Limit limit, SessionKey sessionKey, Money limitAmount) {
+        super(describe(limit) + " of " + limitAmount + " for session " + sessionKey.getValue() + " would be exceeded");
+        this.limit = limit;
+        this.sessionKey = sessionKey;
+        this.limitAmount = limitAmount;
+    }
+
+    private static String describe(Limit limit) {
+        return limit == Limit.DRIVER_PAYOUT ? "Maximum payout per driver" : "Maximum stake per user";
+    }
+
+    public Limit getLimit() {
+        return limit;
+    }
+
+    public SessionKey getSessionKey() {
+        return sessionKey;
+    }
+
+    public Money getLimitAmount() {
+        return limitAmount;
+    }
+}
@@ -0,0 +1,25 @@
+package com.f1bets.domain.exception;
+
+import com.f1bets.domain.model.SessionKey;
+
+import java.time.Duration;
+
+public class SessionLockTimeoutException extends RuntimeException {
+
+    private final SessionKey sessionKey;
+    private final Duration timeout;
+
+    public SessionLockTimeoutException(SessionKey sessionKey, Duration timeout, Throwable cause) {
+        super("Timed out after " + timeout.toMillis() + "ms waiting for lock on session " + sessionKey.getValue(), cause);
+        this.sessionKey = sessionKey;
+        this.timeout = timeout;
+    }
+
+    public SessionKey getSessionKey() {
+        return sessionKey;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+}
@@ -40,7 +40,7 @@ public final class Bet {
     public static Bet place(UserId userId, SessionKey sessionKey, DriverNumber driverNumber,
                             Money stake, Odds odds, String idempotencyKey) {
         return new Bet(
-            UUID.randomUUID(),
+            UuidV7.next(),
             userId,
             sessionKey,
             driverNumber,
@@ -0,0 +1,79 @@
+package com.f1bets.domain.model;
+
+import java.util.Objects;
+
+/**
+ * Running totals of all bets on one driver in one session: what was staked and what would
+ * be paid out if that driver wins.
+ *
+ * {@code betCount} only grows, so of two snapshots of the same driver the one with the
+ * higher count is the more recent.
+ */
+public final class DriverExposure {
+
+    private final SessionKey sessionKey;
+    private final DriverNumber driverNumber;
+    private final long betCount;
+    private final Money totalStake;
+    private final Money potentialPayout;
+
+    private DriverExposure(SessionKey sessionKey, DriverNumber driverNumber, long betCount,
+                           Money totalStake, Money potentialPayout) {
+        this.sessionKey = Objects.requireNonNull(sessionKey);
+        this.driverNumber = Objects.requireNonNull(driverNumber);
+        this.betCount = betCount;
+        this.totalStake = Objects.requireNonNull(totalStake);
+        this.potentialPayout = Objects.requireNonNull(potentialPayout);
+    }
+
+    public static DriverExposure reconstitute(SessionKey sessionKey, DriverNumber driverNumber, long betCount,
+                                              Money totalStake, Money potentialPayout) {
+        return new DriverExposure(sessionKey, driverNumber, betCount, totalStake, potentialPayout);
+    }
+
+    public boolean isNewerThan(DriverExposure other) {
+        return betCount > other.betCount;
+    }
+
+    public SessionKey getSessionKey() {
+        return sessionKey;
+    }
+
+    public DriverNumber getDriverNumber() {
+        return driverNumber;
+    }
+
+    public long getBetCount() {
+        return betCount;
+    }
+
+    public Money getTotalStake() {
+        return totalStake;
+    }
+
+    public Money getPotentialPayout() {
+        return potentialPayout;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DriverExposure that)) return false;
+        return betCount == that.betCount
+            && sessionKey.equals(that.sessionKey)
+            && driverNumber.equals(that.driverNumber)
+            && totalStake.equals(that.totalStake)
+            && potentialPayout.equals(that.potentialPayout);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sessionKey, driverNumber, betCount);
+    }
+
+    @Override
+    public String toString() {
+        return "DriverExposure{sessionKey=" + sessionKey + ", driverNumber=" + driverNumber +
+               ", betCount=" + betCount + ", totalStake=" + totalStake + ", potentialPayout=" + potentialPayout + "}";
+    }
+}
@@ -3,10 +3,19 @@ package com.f1bets.domain.model;
 /**
  * Driver Number value object.
  * Must be positive integer, max 99.
+ *
+ * The range is small, so every valid number is a shared, pre-built instance.
  */
 public final class DriverNumber {
 
     private static final int MAX_VALUE = 99;
+    private static final DriverNumber[] INSTANCES = new DriverNumber[MAX_VALUE + 1];
+
+    static {
+        for (int value = 1; value <= MAX_VALUE; value++) {
+            INSTANCES[value] = new DriverNumber(value);
+        }
+    }
 
     private final int value;
 
@@ -25,7 +34,7 @@ public final class DriverNumber {
                 "Driver number exceeds maximum of " + MAX_VALUE + ": " + value
             );
         }
-        return new DriverNumber(value);
+        return INSTANCES[value];
     }
 
     public int getValue() {
@@ -27,7 +27,7 @@ public final class LedgerEntry {
 
     public static LedgerEntry initialCredit(UserId userId, long balanceAfterCents) {
         return new LedgerEntry(
-            UUID.randomUUID(),
+            UuidV7.next(),
             userId,
             LedgerEntryType.INITIAL_CREDIT,
             balanceAfterCents,
@@ -39,7 +39,7 @@ public final class LedgerEntry {
 
     public static LedgerEntry betPlaced(UserId userId, long amountCents, long balanceAfterCents, UUID betId) {
         return new LedgerEntry(
-            UUID.randomUUID(),
+            UuidV7.next(),
             userId,
             LedgerEntryType.BET_PLACED,
             -amountCents,
@@ -51,7 +51,7 @@ public final class LedgerEntry {
 
     public static LedgerEntry betWon(UserId userId, long amountCents, long balanceAfterCents, UUID betId) {
         return new LedgerEntry(
-            UUID.randomUUID(),
+            UuidV7.next(),
             userId,
             LedgerEntryType.BET_WON,
             amountCents,
@@ -63,7 +63,7 @@ public final class LedgerEntry {
 
     public static LedgerEntry betLost(UserId userId, long balanceAfterCents, UUID betId) {
         return new LedgerEntry(
-            UUID.randomUUID(),
+            UuidV7.next(),
             userId,
             LedgerEntryType.BET_LOST,
             0,
@@ -38,6 +38,13 @@ public final class Money {
         return new Money(cents);
     }
 
+    /**
+     * Trusted path for persisted amounts (guarded by CHECK constraints). Performs no validation.
+     */
+    public static Money reconstitute(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
     /**
      * Create Money for stakes. Must be positive.
      * Use this for bet amounts.
@@ -1,17 +1,19 @@
 package com.f1bets.domain.model;
 
 import java.util.Objects;
-import java.util.Set;
 
 /**
  * Odds value object representing betting multipliers.
  * 
  * Valid values: 2, 3, or 4 only.
  * Odds are SERVER-DERIVED, never client-submitted.
+ *
+ * Each valid value is a single shared instance.
  */
 public final class Odds {
 
-    private static final Set<Integer> VALID_ODDS = Set.of(2, 3, 4);
+    private static final int MIN_VALUE = 2;
+    private static final Odds[] INSTANCES = {new Odds(2), new Odds(3), new Odds(4)};
 
     private final int value;
 
@@ -24,12 +26,12 @@ public final class Odds {
      * Only accepts 2, 3, or 4.
      */
     public static Odds of(int value) {
-        if (!VALID_ODDS.contains(value)) {
+        if (value < MIN_VALUE || value >= MIN_VALUE + INSTANCES.length) {
             throw new IllegalArgumentException(
-                "Invalid odds value: " + value + ". Must be one of: " + VALID_ODDS
+                "Invalid odds value: " + value + ". Must be one of: 2, 3, 4"
             );
         }
-        return new Odds(value);
+        return INSTANCES[value - MIN_VALUE];
     }
 
     /**
@@ -42,9 +44,8 @@ public final class Odds {
      */
     public static Odds fromSessionAndDriver(int sessionKey, int driverNumber, String seed) {
         int hash = Objects.hash(sessionKey, driverNumber, seed);
-        int[] validValues = {2, 3, 4};
-        int index = (hash & 0x7FFFFFFF) % validValues.length;
-        return new Odds(validValues[index]);
+        int index = (hash & 0x7FFFFFFF) % INSTANCES.length;
+        return INSTANCES[index];
     }
 
     public int getValue() {
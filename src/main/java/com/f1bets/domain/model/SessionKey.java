@@ -21,6 +21,13 @@ public final class SessionKey {
         return new SessionKey(value);
     }
 
+    /**
+     * Trusted path for persisted session keys (guarded by the schema). Performs no validation.
+     */
+    public static SessionKey reconstitute(int value) {
+        return new SessionKey(value);
+    }
+
     public int getValue() {
         return value;
     }
@@ -4,7 +4,10 @@ import java.util.Objects;
 
 /**
  * User ID value object.
- * Non-blank, max 100 characters.
+ * Non-blank, max 100 characters, alphanumeric, hyphens and underscores only.
+ *
+ * {@link #of} validates input from outside the system; {@link #reconstitute} skips validation
+ * for identifiers read back from storage, which passed {@link #of} when first written.
  */
 public final class UserId {
 
@@ -26,8 +29,7 @@ public final class UserId {
                 "User ID exceeds maximum length of " + MAX_LENGTH + " characters"
             );
         }
-        // Basic validation: alphanumeric, hyphens, and underscores only
-        if (!trimmed.matches("^[a-zA-Z0-9_-]+$")) {
+        if (!hasOnlyAllowedCharacters(trimmed)) {
             throw new IllegalArgumentException(
                 "User ID contains invalid characters. Only alphanumeric, hyphens, and underscores allowed"
             );
@@ -35,6 +37,31 @@ public final class UserId {
         return new UserId(trimmed);
     }
 
+    /**
+     * Trusted path for persisted identifiers. Performs no validation.
+     */
+    public static UserId reconstitute(String value) {
+        return new UserId(Objects.requireNonNull(value, "User ID cannot be null"));
+    }
+
+    /**
+     * Equivalent to matching {@code ^[a-zA-Z0-9_-]+$} on a non-empty string, without a regex.
+     */
+    private static boolean hasOnlyAllowedCharacters(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean allowed = (c >= 'a' && c <= 'z')
+                || (c >= 'A' && c <= 'Z')
+                || (c >= '0' && c <= '9')
+                || c == '_'
+                || c == '-';
+            if (!allowed) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public String getValue() {
         return value;
     }
@@ -0,0 +1,74 @@
+package com.f1bets.domain.model;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Time-ordered UUID (version 7, RFC 9562) for bet and ledger entry ids.
+ *
+ * Layout: 48-bit Unix epoch milliseconds, version, a 12-bit sequence (rand_a), variant and
+ * 62 random bits (rand_b). New keys land at the right edge of the primary-key B-tree instead of
+ * a random page, and generation uses per-thread state and {@link ThreadLocalRandom} rather
+ * than the shared SecureRandom behind {@link UUID#randomUUID()}.
+ *
+ * Ids from one thread strictly increase: within a millisecond, or if the clock steps back, the
+ * sequence is incremented; when it overflows the timestamp is advanced by one millisecond.
+ * Ids from different threads are ordered by millisecond only. They are not secrets; nothing
+ * in the service treats an id as a capability.
+ */
+public final class UuidV7 {
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final int MAX_SEQUENCE = (1 << SEQUENCE_BITS) - 1;
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final long RAND_B_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    private static final ThreadLocal<Sequence> SEQUENCE = ThreadLocal.withInitial(Sequence::new);
+
+    private UuidV7() {}
+
+    public static UUID next() {
+        return SEQUENCE.get().next(System.currentTimeMillis());
+    }
+
+    /**
+     * Extracts the creation time in epoch milliseconds.
+     */
+    public static long timestampMillis(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    static UUID of(long epochMillis, int sequence, long randomBits) {
+        long msb = (epochMillis << 16) | VERSION | (sequence & MAX_SEQUENCE);
+        long lsb = VARIANT | (randomBits & RAND_B_MASK);
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * Per-thread generator state; never shared, so it needs no synchronization.
+     */
+    static final class Sequence {
+
+        private long lastMillis = Long.MIN_VALUE;
+        private int sequence;
+
+        UUID next(long nowMillis) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (nowMillis > lastMillis) {
+                lastMillis = nowMillis;
+                // Start in the lower half so a burst has room to count up within the millisecond
+                sequence = random.nextInt(1 << (SEQUENCE_BITS - 1));
+            } else if (sequence < MAX_SEQUENCE) {
+                sequence++;
+            } else {
+                lastMillis++;
+                sequence = 0;
+            }
+            return of(lastMillis, sequence, random.nextLong());
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.f1bets.domain.repository;
 
 import com.f1bets.domain.model.Bet;
 import com.f1bets.domain.model.BetStatus;
+import com.f1bets.domain.model.Money;
 import com.f1bets.domain.model.SessionKey;
 import com.f1bets.domain.model.UserId;
 
@@ -15,15 +16,30 @@ public interface BetRepository {
 
     Optional<Bet> findByIdempotencyKey(String idempotencyKey);
 
+    /**
+     * Finds a bet by idempotency key together with the balance right after its placement,
+     * in one query.
+     */
+    Optional<PlacedBet> findPlacedByIdempotencyKey(String idempotencyKey);
+
     List<Bet> findByUserId(UserId userId);
 
     List<Bet> findBySessionKey(SessionKey sessionKey);
 
     List<Bet> findBySessionKeyAndStatus(SessionKey sessionKey, BetStatus status);
 
-    List<Bet> findBySessionKeyAndStatusForUpdate(SessionKey sessionKey, BetStatus status);
+    /**
+     * Finds the pending bets of a session and locks them for settlement.
+     */
+    List<Bet> findPendingBySessionKeyForUpdate(SessionKey sessionKey);
 
     Bet save(Bet bet);
 
     List<Bet> saveAll(List<Bet> bets);
+
+    /**
+     * @param balanceAfter the balance recorded by the bet's BET_PLACED ledger entry, or
+     *                     {@code null} if there is none
+     */
+    record PlacedBet(Bet bet, Money balanceAfter) {}
 }
@@ -0,0 +1,31 @@
+package com.f1bets.domain.repository;
+
+import com.f1bets.domain.model.DriverExposure;
+import com.f1bets.domain.model.DriverNumber;
+import com.f1bets.domain.model.Money;
+import com.f1bets.domain.model.SessionKey;
+import com.f1bets.domain.model.UserId;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ExposureRepository {
+
+    /**
+     * Adds one bet to the driver's running totals and returns the totals including it, unless
+     * that would take the driver's potential payout above {@code maxPayout}; then nothing is
+     * changed and the result is empty. Must run in the transaction that inserts the bet.
+     */
+    Optional<DriverExposure> addBet(SessionKey sessionKey, DriverNumber driverNumber, Money stake,
+                                    Money potentialPayout, Money maxPayout);
+
+    /**
+     * Adds {@code stake} to the user's running stake in the session unless that would exceed
+     * {@code maxStake}. Must run in the transaction that inserts the bet.
+     *
+     * @return false if the limit would be exceeded (nothing is changed)
+     */
+    boolean addUserStake(UserId userId, SessionKey sessionKey, Money stake, Money maxStake);
+
+    List<DriverExposure> findBySessionKey(SessionKey sessionKey);
+}
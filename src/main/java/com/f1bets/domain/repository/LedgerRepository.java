@@ -1,12 +1,10 @@
 package com.f1bets.domain.repository;
 
 import com.f1bets.domain.model.LedgerEntry;
-import com.f1bets.domain.model.Money;
 import com.f1bets.domain.model.UserId;
 
+import java.time.Instant;
 import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
 
 public interface LedgerRepository {
 
@@ -14,7 +12,9 @@ public interface LedgerRepository {
 
     List<LedgerEntry> saveAll(List<LedgerEntry> entries);
 
-    List<LedgerEntry> findByUserId(UserId userId);
-
-    Optional<Money> findBalanceAfterForBet(UUID betId);
+    /**
+     * Finds a user's entries created at or after {@code since}, newest first. The ledger is
+     * partitioned by month, so a recent {@code since} reads only the newest partitions.
+     */
+    List<LedgerEntry> findByUserIdSince(UserId userId, Instant since);
 }
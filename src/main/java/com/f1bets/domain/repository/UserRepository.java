@@ -1,5 +1,6 @@
 package com.f1bets.domain.repository;
 
+import com.f1bets.domain.model.LedgerEntry;
 import com.f1bets.domain.model.User;
 import com.f1bets.domain.model.UserId;
 
@@ -11,7 +12,14 @@ public interface UserRepository {
 
     Optional<User> findByIdForUpdate(UserId id);
 
-    boolean insertIfAbsent(User user);
+    /**
+     * Inserts the user together with its initial credit unless the row already exists, and
+     * returns the row locked for update, in one statement.
+     *
+     * @return empty if another transaction inserted the row after this statement started;
+     *         it is committed by then and can be locked with {@link #findByIdForUpdate}
+     */
+    Optional<User> lockOrInsert(User user, LedgerEntry initialCredit);
 
     User save(User user);
 }
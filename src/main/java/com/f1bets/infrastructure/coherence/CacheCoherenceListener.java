@@ -0,0 +1,182 @@
+package com.f1bets.infrastructure.coherence;
+
+import com.f1bets.application.service.OperationMetrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies cache invalidations broadcast by other nodes.
+ *
+ * Holds one dedicated connection outside the pool with {@code LISTEN} on the coherence
+ * channel, so a saturated pool never delays invalidations and the listener never takes a
+ * connection away from request handling. After a reconnect every registered region is
+ * dropped, because messages sent while disconnected are lost.
+ */
+@Component
+@ConditionalOnProperty(name = "cache-coherence.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheCoherenceListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheCoherenceListener.class);
+
+    static final String LAG_TIMER = "f1bets.cache.coherence.lag";
+    static final String RECONNECTS_COUNTER = "f1bets.cache.coherence.reconnects";
+
+    private final DataSourceProperties dataSourceProperties;
+    private final CacheInvalidationPublisher publisher;
+    private final Map<String, CacheInvalidationHandler> handlers;
+    private final OperationMetrics metrics;
+    private final Clock clock;
+    private final int pollTimeoutMillis;
+    private final long reconnectBackoffMillis;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread thread;
+
+    public CacheCoherenceListener(
+            DataSourceProperties dataSourceProperties,
+            CacheInvalidationPublisher publisher,
+            List<CacheInvalidationHandler> handlers,
+            OperationMetrics metrics,
+            Clock clock,
+            @Value("${cache-coherence.poll-timeout:PT0.5S}") Duration pollTimeout,
+            @Value("${cache-coherence.reconnect-backoff:PT5S}") Duration reconnectBackoff) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.publisher = publisher;
+        this.handlers = handlers.stream()
+            .collect(Collectors.toUnmodifiableMap(CacheInvalidationHandler::region, Function.identity()));
+        this.metrics = metrics;
+        this.clock = clock;
+        this.pollTimeoutMillis = Math.toIntExact(pollTimeout.toMillis());
+        this.reconnectBackoffMillis = reconnectBackoff.toMillis();
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        thread = new Thread(this::listen, "cache-coherence");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("Cache coherence listener started - node: {}, channel: {}, regions: {}",
+            publisher.nodeId(), publisher.channel(), handlers.keySet());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        closeQuietly(connection);
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void listen() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection conn = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                connection = conn;
+                try (Statement statement = conn.createStatement()) {
+                    statement.execute("LISTEN " + publisher.channel());
+                }
+                if (connectedBefore) {
+                    invalidateAllRegions();
+                }
+                connectedBefore = true;
+
+                PGConnection pgConnection = conn.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                metrics.counter(RECONNECTS_COUNTER).increment();
+                log.warn("Cache coherence connection lost, reconnecting in {}ms: {}",
+                    reconnectBackoffMillis, e.getMessage());
+                try {
+                    Thread.sleep(reconnectBackoffMillis);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies one notification payload. Messages sent by this node are ignored.
+     */
+    public void handle(String payload) {
+        CoherenceMessage message;
+        try {
+            message = CoherenceMessage.parse(payload);
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed coherence message: {}", payload);
+            return;
+        }
+        if (message.nodeId().equals(publisher.nodeId())) {
+            return;
+        }
+        metrics.counter(CacheInvalidationPublisher.MESSAGES_COUNTER,
+            "direction", "received", "region", message.region()).increment();
+        Timer.builder(LAG_TIMER)
+            .register(metrics.registry())
+            .record(Math.max(0, clock.millis() - message.sentAtMillis()), TimeUnit.MILLISECONDS);
+
+        CacheInvalidationHandler handler = handlers.get(message.region());
+        if (handler == null) {
+            return;
+        }
+        if (message.regionWide()) {
+            handler.invalidateAll();
+        } else {
+            handler.invalidate(message.keys());
+        }
+    }
+
+    private void invalidateAllRegions() {
+        log.info("Cache coherence listener reconnected, dropping regions {}", handlers.keySet());
+        handlers.values().forEach(CacheInvalidationHandler::invalidateAll);
+    }
+
+    private static void closeQuietly(Connection conn) {
+        if (conn == null) {
+            return;
+        }
+        try {
+            conn.close();
+        } catch (SQLException ignored) {
+            // Shutting down
+        }
+    }
+}
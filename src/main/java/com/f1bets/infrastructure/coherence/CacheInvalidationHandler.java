@@ -0,0 +1,15 @@
+package com.f1bets.infrastructure.coherence;
+
+import java.util.List;
+
+/**
+ * Drops local cache entries of one region when another node reports them stale.
+ */
+public interface CacheInvalidationHandler {
+
+    String region();
+
+    void invalidate(List<String> keys);
+
+    void invalidateAll();
+}
@@ -0,0 +1,72 @@
+package com.f1bets.infrastructure.coherence;
+
+import com.f1bets.application.event.DomainEvent;
+import com.f1bets.application.event.EventSettled;
+import com.f1bets.application.event.UserBetUpdated;
+import com.f1bets.infrastructure.outbox.OutboxConsumer;
+import com.f1bets.infrastructure.outbox.OutboxMessage;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Turns committed settlements and balance changes into cache invalidations on every node,
+ * including the one relaying the event.
+ *
+ * Only regions with a registered {@link CacheInvalidationHandler} are invalidated; every node
+ * runs the same handlers, so a region without one has nothing to drop anywhere and its events
+ * cause no NOTIFY traffic. As of now no cache holds users or settled sessions, so both
+ * branches stay idle until such a cache registers a handler.
+ *
+ * Session list changes are not handled here: the node that observed them broadcasts
+ * directly, since it already holds the fresh data and must not drop it.
+ */
+@Component
+public class CacheInvalidationOutboxConsumer implements OutboxConsumer {
+
+    public static final String SETTLED_SESSIONS_REGION = "settled-sessions";
+    public static final String USERS_REGION = "users";
+
+    private final CacheInvalidationPublisher publisher;
+    private final List<CacheInvalidationHandler> localHandlers;
+    private final Set<String> handledRegions;
+
+    public CacheInvalidationOutboxConsumer(CacheInvalidationPublisher publisher,
+                                           List<CacheInvalidationHandler> localHandlers) {
+        this.publisher = publisher;
+        this.localHandlers = List.copyOf(localHandlers);
+        this.handledRegions = localHandlers.stream()
+            .map(CacheInvalidationHandler::region)
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public String name() {
+        return "cache_coherence";
+    }
+
+    @Override
+    public void handle(OutboxMessage message) {
+        DomainEvent event = message.event();
+        if (event instanceof EventSettled settled) {
+            invalidateEverywhere(SETTLED_SESSIONS_REGION, Integer.toString(settled.sessionKey()));
+        } else if (event instanceof UserBetUpdated updated) {
+            invalidateEverywhere(USERS_REGION, updated.userId());
+        }
+    }
+
+    private void invalidateEverywhere(String region, String key) {
+        if (!handledRegions.contains(region)) {
+            return;
+        }
+        List<String> keys = List.of(key);
+        for (CacheInvalidationHandler handler : localHandlers) {
+            if (handler.region().equals(region)) {
+                handler.invalidate(keys);
+            }
+        }
+        publisher.broadcast(region, keys);
+    }
+}
@@ -0,0 +1,62 @@
+package com.f1bets.infrastructure.coherence;
+
+import com.f1bets.application.service.OperationMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Broadcasts cache invalidations to the other nodes via Postgres {@code NOTIFY}.
+ *
+ * The notification goes through the regular pool and therefore joins the caller's
+ * transaction if there is one; Postgres only delivers it once that transaction commits,
+ * so other nodes never drop entries for a change that was rolled back.
+ */
+@Component
+public class CacheInvalidationPublisher {
+
+    static final String MESSAGES_COUNTER = "f1bets.cache.coherence.messages";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OperationMetrics metrics;
+    private final Clock clock;
+    private final String channel;
+    private final String nodeId;
+
+    public CacheInvalidationPublisher(
+            JdbcTemplate jdbcTemplate,
+            OperationMetrics metrics,
+            Clock clock,
+            @Value("${cache-coherence.channel:f1bets_cache}") String channel) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.metrics = metrics;
+        this.clock = clock;
+        this.channel = channel;
+        this.nodeId = UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Identifies this node in outgoing messages so it can ignore its own notifications.
+     */
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public String channel() {
+        return channel;
+    }
+
+    /**
+     * Tells every other node to drop {@code keys} from {@code region}; an empty collection
+     * drops the whole region. The calling node is expected to have updated its own cache.
+     */
+    public void broadcast(String region, Collection<String> keys) {
+        CoherenceMessage message = CoherenceMessage.of(nodeId, clock.millis(), region, keys);
+        jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, channel, message.encode());
+        metrics.counter(MESSAGES_COUNTER, "direction", "sent", "region", region).increment();
+    }
+}
@@ -0,0 +1,57 @@
+package com.f1bets.infrastructure.coherence;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Wire format of a cache invalidation on the coherence channel:
+ * {@code nodeId|sentAtMillis|region|key1,key2,...}.
+ *
+ * Keys are URL-encoded, so they may contain any character. An empty key list means
+ * "drop the whole region". Postgres caps NOTIFY payloads at 8000 bytes; a message that
+ * would exceed {@link #MAX_PAYLOAD_BYTES} is widened to a region-wide invalidation.
+ */
+public record CoherenceMessage(String nodeId, long sentAtMillis, String region, List<String> keys) {
+
+    static final int MAX_PAYLOAD_BYTES = 7900;
+
+    public CoherenceMessage {
+        keys = List.copyOf(keys);
+    }
+
+    public static CoherenceMessage of(String nodeId, long sentAtMillis, String region, Collection<String> keys) {
+        return new CoherenceMessage(nodeId, sentAtMillis, region, List.copyOf(keys));
+    }
+
+    public boolean regionWide() {
+        return keys.isEmpty();
+    }
+
+    public String encode() {
+        String header = nodeId + "|" + sentAtMillis + "|" + region + "|";
+        String payload = header + String.join(",", keys.stream()
+            .map(key -> URLEncoder.encode(key, StandardCharsets.UTF_8))
+            .toList());
+        if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            return header;
+        }
+        return payload;
+    }
+
+    public static CoherenceMessage parse(String payload) {
+        String[] parts = payload.split("\\|", -1);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Malformed coherence message: " + payload);
+        }
+        List<String> keys = parts[3].isEmpty()
+            ? List.of()
+            : Arrays.stream(parts[3].split(","))
+                .map(key -> URLDecoder.decode(key, StandardCharsets.UTF_8))
+                .toList();
+        return new CoherenceMessage(parts[0], Long.parseLong(parts[1]), parts[2], keys);
+    }
+}
@@ -1,34 +1,62 @@
 package com.f1bets.infrastructure.config;
 
 import com.f1bets.infrastructure.persistence.repository.SpringDataIdempotencyKeyRepository;
+import com.f1bets.infrastructure.scheduling.SchedulerLeadership;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Duration;
 import java.time.Instant;
 
+/**
+ * Cluster-wide periodic jobs. Every replica triggers them, but only the node leading a job
+ * (see {@link SchedulerLeadership}) runs it.
+ */
 @Component
 public class ScheduledTasks {
 
     private static final Logger log = LoggerFactory.getLogger(ScheduledTasks.class);
 
+    static final String IDEMPOTENCY_CLEANUP_JOB = "idempotency-cleanup";
+    static final String LEDGER_PARTITIONS_JOB = "ledger-partitions";
+
     private final SpringDataIdempotencyKeyRepository idempotencyRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SchedulerLeadership leadership;
+    private final TransactionTemplate transactionTemplate;
     private final Duration staleInProgressTimeout;
+    private final int ledgerPartitionsAhead;
 
     public ScheduledTasks(
             SpringDataIdempotencyKeyRepository idempotencyRepository,
-            @Value("${idempotency.stale-timeout-minutes:5}") int staleTimeoutMinutes) {
+            JdbcTemplate jdbcTemplate,
+            SchedulerLeadership leadership,
+            TransactionTemplate transactionTemplate,
+            @Value("${idempotency.stale-timeout-minutes:5}") int staleTimeoutMinutes,
+            @Value("${ledger.partitions.months-ahead:3}") int ledgerPartitionsAhead) {
         this.idempotencyRepository = idempotencyRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.leadership = leadership;
+        this.transactionTemplate = transactionTemplate;
         this.staleInProgressTimeout = Duration.ofMinutes(staleTimeoutMinutes);
+        this.ledgerPartitionsAhead = ledgerPartitionsAhead;
+        leadership.register(IDEMPOTENCY_CLEANUP_JOB);
+        leadership.register(LEDGER_PARTITIONS_JOB);
     }
 
     @Scheduled(cron = "${idempotency.cleanup.cron:0 0 * * * *}")
-    @Transactional
     public void cleanupExpiredIdempotencyKeys() {
+        // The transaction is opened only on the leader, so other nodes never check out a connection
+        leadership.runIfLeader(IDEMPOTENCY_CLEANUP_JOB,
+            () -> transactionTemplate.executeWithoutResult(status -> deleteExpiredIdempotencyKeys()));
+    }
+
+    private void deleteExpiredIdempotencyKeys() {
         Instant now = Instant.now();
         
         int expiredDeleted = idempotencyRepository.deleteExpiredKeys(now);
@@ -43,4 +71,19 @@ public class ScheduledTasks {
                 staleDeleted, staleInProgressTimeout);
         }
     }
+
+    /**
+     * Keeps monthly ledger partitions in place ahead of time; a ledger insert for a month
+     * without a partition would fail. Creating one that already exists is a no-op.
+     */
+    @Scheduled(cron = "${ledger.partitions.cron:0 30 2 * * *}")
+    public void createLedgerPartitions() {
+        leadership.runIfLeader(LEDGER_PARTITIONS_JOB, () -> {
+            Integer created = jdbcTemplate.queryForObject(
+                "SELECT create_ledger_partitions(NOW(), ?)", Integer.class, ledgerPartitionsAhead + 1);
+            if (created != null && created > 0) {
+                log.info("Created {} ledger partitions", created);
+            }
+        });
+    }
 }
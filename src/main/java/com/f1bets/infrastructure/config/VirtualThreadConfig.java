@@ -0,0 +1,84 @@
+package com.f1bets.infrastructure.config;
+
+import com.f1bets.infrastructure.persistence.PermitLimitedDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import javax.sql.DataSource;
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Opt-in virtual-thread mode, active only with {@code spring.threads.virtual.enabled=true}
+ * on a Java 21+ runtime (the build still targets Java 17).
+ *
+ * Spring Boot switches Tomcat's request executor and the scheduler to virtual threads on its
+ * own. This configuration covers the two places Boot does not:
+ * <ul>
+ *   <li>OpenF1 HTTP calls use a JDK HttpClient whose executor spawns virtual threads</li>
+ *   <li>The application DataSource is wrapped in a {@link PermitLimitedDataSource}, so an
+ *       unbounded number of virtual request threads cannot pile up inside the connection pool</li>
+ * </ul>
+ *
+ * Only the DataSource the application injects is wrapped: the {@code @Primary} one, or the
+ * only one. With the read replica enabled, that is the routing proxy in front of both pools,
+ * so each connection takes exactly one permit whichever pool serves it; the pools themselves
+ * and the lag monitor's replica connections are left alone.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public ClientHttpRequestFactory openF1RequestFactory(Environment environment) {
+        Duration timeout = Duration.ofMillis(environment.getProperty("openf1.timeout", Integer.class, 5000));
+        HttpClient httpClient = HttpClient.newBuilder()
+            .executor(new VirtualThreadTaskExecutor("openf1-"))
+            .connectTimeout(timeout)
+            .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(timeout);
+        return requestFactory;
+    }
+
+    @Bean
+    public static BeanPostProcessor dbPermitDataSourcePostProcessor(Environment environment,
+                                                                    ConfigurableListableBeanFactory beanFactory) {
+        int maxConcurrent = environment.getProperty("db.permits.max-concurrent", Integer.class,
+            environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        Duration acquireTimeout = environment.getProperty("db.permits.acquire-timeout", Duration.class,
+            Duration.ofSeconds(5));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof PermitLimitedDataSource)
+                        && isApplicationDataSource(beanFactory, beanName)) {
+                    log.info("Limiting concurrent connection checkout on '{}' to {} permits (timeout {})",
+                        beanName, maxConcurrent, acquireTimeout);
+                    return new PermitLimitedDataSource(dataSource, maxConcurrent, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    static boolean isApplicationDataSource(ConfigurableListableBeanFactory beanFactory, String beanName) {
+        if (!beanFactory.containsBeanDefinition(beanName)) {
+            return false;
+        }
+        return beanFactory.getBeanDefinition(beanName).isPrimary()
+            || beanFactory.getBeanNamesForType(DataSource.class, true, false).length == 1;
+    }
+}
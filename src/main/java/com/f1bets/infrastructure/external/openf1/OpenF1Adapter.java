@@ -3,12 +3,16 @@ package com.f1bets.infrastructure.external.openf1;
 import com.f1bets.application.dto.EventWithDrivers;
 import com.f1bets.application.dto.EventWithDrivers.DriverInfo;
 import com.f1bets.application.dto.SessionQuery;
+import com.f1bets.application.event.SessionsChanged;
+import com.f1bets.application.port.DomainEventPublisher;
 import com.f1bets.application.port.F1DataProvider;
 import com.f1bets.application.service.OddsCalculator;
 import com.f1bets.domain.exception.ExternalServiceUnavailableException;
+import com.f1bets.infrastructure.coherence.CacheInvalidationPublisher;
 import com.f1bets.infrastructure.external.openf1.dto.OpenF1Driver;
 import com.f1bets.infrastructure.external.openf1.dto.OpenF1Session;
 import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
@@ -22,6 +26,7 @@ import org.springframework.stereotype.Component;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,6 +39,12 @@ public class OpenF1Adapter implements F1DataProvider {
     private final Cache<SessionQuery, List<EventWithDrivers>> sessionCache;
     private final Cache<Integer, Optional<EventWithDrivers>> sessionKeyCache;
     private final OddsCalculator oddsCalculator;
+    private final DomainEventPublisher eventPublisher;
+    private final CacheInvalidationPublisher cacheInvalidationPublisher;
+    // Last snapshot per query, kept past cache expiry so a refresh can be diffed against it
+    private final Cache<SessionQuery, List<EventWithDrivers>> lastSnapshots = Caffeine.newBuilder()
+        .maximumSize(1000)
+        .build();
     private final int cacheTtlSeconds;
     private final int maxSessions;
     private final int driverDelayMs;
@@ -42,6 +53,8 @@ public class OpenF1Adapter implements F1DataProvider {
                          Cache<SessionQuery, List<EventWithDrivers>> sessionCache,
                          Cache<Integer, Optional<EventWithDrivers>> sessionKeyCache,
                          OddsCalculator oddsCalculator,
+                         DomainEventPublisher eventPublisher,
+                         CacheInvalidationPublisher cacheInvalidationPublisher,
                          @Value("${openf1.cache-ttl:180}") int cacheTtlSeconds,
                          @Value("${openf1.max-sessions:6}") int maxSessions,
                          @Value("${openf1.driver-delay-ms:500}") int driverDelayMs) {
@@ -49,6 +62,8 @@ public class OpenF1Adapter implements F1DataProvider {
         this.sessionCache = sessionCache;
         this.sessionKeyCache = sessionKeyCache;
         this.oddsCalculator = oddsCalculator;
+        this.eventPublisher = eventPublisher;
+        this.cacheInvalidationPublisher = cacheInvalidationPublisher;
         this.cacheTtlSeconds = cacheTtlSeconds;
         this.maxSessions = maxSessions;
         this.driverDelayMs = driverDelayMs;
@@ -107,6 +122,7 @@ public class OpenF1Adapter implements F1DataProvider {
             
             if (allEventsHaveDrivers) {
                 sessionCache.put(query, events);
+                publishIfChanged(query, events);
             } else {
                 log.warn("Not caching results for query {} - some events have empty driver lists", query);
             }
@@ -115,6 +131,44 @@ public class OpenF1Adapter implements F1DataProvider {
         return events;
     }
 
+    /**
+     * Publishes {@link SessionsChanged} when a refresh differs from the previous snapshot of
+     * the same query, and tells the other nodes to drop their now stale copies. The first snapshot
+     * after startup has nothing to compare with and is silent.
+     */
+    private void publishIfChanged(SessionQuery query, List<EventWithDrivers> events) {
+        List<EventWithDrivers> previous = lastSnapshots.getIfPresent(query);
+        lastSnapshots.put(query, events);
+        if (previous != null && !previous.equals(events)) {
+            log.info("Session list changed for query {}", query);
+            List<Integer> sessionKeys = events.stream().map(EventWithDrivers::sessionKey).toList();
+            eventPublisher.publish(new SessionsChanged(
+                query.sessionType(),
+                query.year(),
+                query.countryCode(),
+                sessionKeys
+            ));
+            cacheInvalidationPublisher.broadcast(SessionCacheInvalidationHandler.REGION,
+                SessionCacheInvalidationHandler.keysFor(query, sessionKeys));
+        }
+    }
+
+    /**
+     * Drops entries another node reported as stale. The snapshot is dropped as well, so the
+     * refetch is not reported as a change a second time.
+     */
+    void evict(Collection<SessionQuery> queries, Collection<Integer> sessionKeys) {
+        sessionCache.invalidateAll(queries);
+        lastSnapshots.invalidateAll(queries);
+        sessionKeyCache.invalidateAll(sessionKeys);
+    }
+
+    void evictAll() {
+        sessionCache.invalidateAll();
+        lastSnapshots.invalidateAll();
+        sessionKeyCache.invalidateAll();
+    }
+
     private List<EventWithDrivers> fetchDriversSequentially(List<OpenF1Session> sessions) {
         // OpenF1 API has a rate limit of 3 requests/second.
         // Add delay between driver fetches to avoid 429 errors.
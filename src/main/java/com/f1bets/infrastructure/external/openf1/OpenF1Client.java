@@ -1,13 +1,17 @@
 package com.f1bets.infrastructure.external.openf1;
 
+import com.f1bets.application.service.OperationMetrics;
 import com.f1bets.infrastructure.external.openf1.dto.OpenF1Driver;
 import com.f1bets.infrastructure.external.openf1.dto.OpenF1Session;
+import io.micrometer.core.instrument.Tags;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.ClientHttpRequestFactories;
 import org.springframework.boot.web.client.ClientHttpRequestFactorySettings;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -15,6 +19,15 @@ import org.springframework.web.util.UriComponentsBuilder;
 import java.time.Duration;
 import java.util.List;
 
+/**
+ * Thin RestClient wrapper for the OpenF1 API.
+ *
+ * Every call is timed as {@code f1bets.openf1.request{endpoint, outcome}}; retries and
+ * circuit-breaker decisions happen in {@link OpenF1Adapter}, so each attempt is recorded.
+ *
+ * A {@link ClientHttpRequestFactory} bean (see {@code VirtualThreadConfig}) replaces the
+ * default request factory when virtual-thread mode is enabled.
+ */
 @Component
 public class OpenF1Client {
 
@@ -23,15 +36,20 @@ public class OpenF1Client {
             new ParameterizedTypeReference<>() {};
     private static final ParameterizedTypeReference<List<OpenF1Driver>> DRIVER_LIST_TYPE =
             new ParameterizedTypeReference<>() {};
+    private static final String REQUEST_TIMER = "f1bets.openf1.request";
 
     private final RestClient restClient;
     private final String baseUrl;
+    private final OperationMetrics metrics;
 
     public OpenF1Client(
             RestClient.Builder restClientBuilder,
+            ObjectProvider<ClientHttpRequestFactory> requestFactoryOverride,
+            OperationMetrics metrics,
             @Value("${openf1.base-url}") String baseUrl,
             @Value("${openf1.timeout:5000}") int timeoutMs) {
         this.baseUrl = baseUrl;
+        this.metrics = metrics;
         
         Duration timeout = Duration.ofMillis(timeoutMs);
         ClientHttpRequestFactorySettings settings = ClientHttpRequestFactorySettings.DEFAULTS
@@ -40,7 +58,7 @@ public class OpenF1Client {
         
         this.restClient = restClientBuilder
             .baseUrl(baseUrl)
-            .requestFactory(ClientHttpRequestFactories.get(settings))
+            .requestFactory(requestFactoryOverride.getIfAvailable(() -> ClientHttpRequestFactories.get(settings)))
             .build();
         
         log.info("OpenF1Client initialized with {}ms timeout", timeoutMs);
@@ -62,10 +80,11 @@ public class OpenF1Client {
         String uri = builder.build().toUriString();
         log.debug("Fetching sessions from OpenF1: {}", uri);
 
-        List<OpenF1Session> sessions = restClient.get()
-            .uri(uri)
-            .retrieve()
-            .body(SESSION_LIST_TYPE);
+        List<OpenF1Session> sessions = metrics.time(REQUEST_TIMER, Tags.of("endpoint", "sessions"), () ->
+            restClient.get()
+                .uri(uri)
+                .retrieve()
+                .body(SESSION_LIST_TYPE));
 
         return sessions != null ? sessions : List.of();
     }
@@ -78,10 +97,11 @@ public class OpenF1Client {
 
         log.debug("Fetching drivers from OpenF1: {}", uri);
 
-        List<OpenF1Driver> drivers = restClient.get()
-            .uri(uri)
-            .retrieve()
-            .body(DRIVER_LIST_TYPE);
+        List<OpenF1Driver> drivers = metrics.time(REQUEST_TIMER, Tags.of("endpoint", "drivers"), () ->
+            restClient.get()
+                .uri(uri)
+                .retrieve()
+                .body(DRIVER_LIST_TYPE));
 
         return drivers != null ? drivers : List.of();
     }
@@ -94,10 +114,11 @@ public class OpenF1Client {
 
         log.debug("Fetching session by key from OpenF1: {}", uri);
 
-        List<OpenF1Session> sessions = restClient.get()
-            .uri(uri)
-            .retrieve()
-            .body(SESSION_LIST_TYPE);
+        List<OpenF1Session> sessions = metrics.time(REQUEST_TIMER, Tags.of("endpoint", "session_by_key"), () ->
+            restClient.get()
+                .uri(uri)
+                .retrieve()
+                .body(SESSION_LIST_TYPE));
 
         return sessions != null ? sessions : List.of();
     }
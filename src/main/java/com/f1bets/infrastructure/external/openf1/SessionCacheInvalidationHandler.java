@@ -0,0 +1,72 @@
+package com.f1bets.infrastructure.external.openf1;
+
+import com.f1bets.application.dto.SessionQuery;
+import com.f1bets.infrastructure.coherence.CacheInvalidationHandler;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Coherence region for the OpenF1 session caches. Keys are either a session list query
+ * ({@code q:Race~2024~GBR}, empty segments for absent filters) or a session key ({@code k:9472}).
+ */
+@Component
+public class SessionCacheInvalidationHandler implements CacheInvalidationHandler {
+
+    public static final String REGION = "sessions";
+
+    private static final String QUERY_PREFIX = "q:";
+    private static final String SESSION_KEY_PREFIX = "k:";
+
+    private final OpenF1Adapter adapter;
+
+    public SessionCacheInvalidationHandler(OpenF1Adapter adapter) {
+        this.adapter = adapter;
+    }
+
+    @Override
+    public String region() {
+        return REGION;
+    }
+
+    @Override
+    public void invalidate(List<String> keys) {
+        List<SessionQuery> queries = new ArrayList<>();
+        List<Integer> sessionKeys = new ArrayList<>();
+        for (String key : keys) {
+            if (key.startsWith(QUERY_PREFIX)) {
+                queries.add(parseQuery(key.substring(QUERY_PREFIX.length())));
+            } else if (key.startsWith(SESSION_KEY_PREFIX)) {
+                sessionKeys.add(Integer.parseInt(key.substring(SESSION_KEY_PREFIX.length())));
+            }
+        }
+        adapter.evict(queries, sessionKeys);
+    }
+
+    @Override
+    public void invalidateAll() {
+        adapter.evictAll();
+    }
+
+    static List<String> keysFor(SessionQuery query, Collection<Integer> sessionKeys) {
+        List<String> keys = new ArrayList<>(sessionKeys.size() + 1);
+        keys.add(QUERY_PREFIX + String.join("~",
+            Objects.toString(query.sessionType(), ""),
+            Objects.toString(query.year(), ""),
+            Objects.toString(query.countryCode(), "")));
+        sessionKeys.forEach(sessionKey -> keys.add(SESSION_KEY_PREFIX + sessionKey));
+        return keys;
+    }
+
+    private static SessionQuery parseQuery(String encoded) {
+        String[] parts = encoded.split("~", -1);
+        return SessionQuery.of(
+            parts[0].isEmpty() ? null : parts[0],
+            parts[1].isEmpty() ? null : Integer.valueOf(parts[1]),
+            parts[2].isEmpty() ? null : parts[2]
+        );
+    }
+}
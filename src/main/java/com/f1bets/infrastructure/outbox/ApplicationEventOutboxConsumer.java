@@ -0,0 +1,28 @@
+package com.f1bets.infrastructure.outbox;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Re-publishes relayed events as Spring application events for in-process listeners
+ * such as the SSE broadcaster.
+ */
+@Component
+public class ApplicationEventOutboxConsumer implements OutboxConsumer {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public ApplicationEventOutboxConsumer(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public String name() {
+        return "application_events";
+    }
+
+    @Override
+    public void handle(OutboxMessage message) {
+        applicationEventPublisher.publishEvent(message.event());
+    }
+}
@@ -0,0 +1,64 @@
+package com.f1bets.infrastructure.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends every relayed event as one JSON line to {@code outbox.file-sink.path}.
+ * Intended for local testing and ad-hoc analytics; disabled unless the path is set.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.file-sink.path")
+public class FileSinkOutboxConsumer implements OutboxConsumer {
+
+    private final ObjectMapper objectMapper;
+    private final BufferedWriter writer;
+
+    public FileSinkOutboxConsumer(ObjectMapper objectMapper, @Value("${outbox.file-sink.path}") Path path)
+            throws IOException {
+        this.objectMapper = objectMapper;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public String name() {
+        return "file_sink";
+    }
+
+    @Override
+    public synchronized void handle(OutboxMessage message) {
+        try {
+            ObjectNode line = objectMapper.createObjectNode()
+                .put("id", message.id())
+                .put("type", message.eventType())
+                .put("createdAt", message.createdAt().toString());
+            line.set("payload", objectMapper.readTree(message.payload()));
+            writer.write(objectMapper.writeValueAsString(line));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,18 @@
+package com.f1bets.infrastructure.outbox;
+
+/**
+ * Receives events drained from the outbox by {@link OutboxRelay}.
+ *
+ * Delivery is at-least-once and in outbox order per relay batch: a batch whose
+ * transaction fails to commit is relayed again. Consumers should therefore be idempotent
+ * and must not block, since they run while the relay holds the claimed rows.
+ */
+public interface OutboxConsumer {
+
+    /**
+     * Short name used in logs and the {@code consumer} metric tag.
+     */
+    String name();
+
+    void handle(OutboxMessage message);
+}
@@ -0,0 +1,72 @@
+package com.f1bets.infrastructure.outbox;
+
+import com.f1bets.application.event.DomainEvent;
+import com.f1bets.application.port.DomainEventPublisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Writes domain events to the {@code outbox} table.
+ *
+ * Inside a transaction the insert joins it, so the event exists if and only if the business
+ * change commits. The relay is woken after commit instead of waiting for its next poll.
+ *
+ * The relay is looked up lazily: its consumers reach back to publishers of domain events
+ * (e.g. cache invalidation via the OpenF1 adapter), which would otherwise form a constructor cycle.
+ */
+@Component
+public class OutboxDomainEventPublisher implements DomainEventPublisher {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO outbox (event_type, recipient_user_id, payload) VALUES (?, ?, ?::jsonb)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OutboxEventCodec codec;
+    private final ObjectProvider<OutboxRelay> relay;
+
+    public OutboxDomainEventPublisher(JdbcTemplate jdbcTemplate, OutboxEventCodec codec, ObjectProvider<OutboxRelay> relay) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.codec = codec;
+        this.relay = relay;
+    }
+
+    @Override
+    public void publish(DomainEvent event) {
+        jdbcTemplate.update(INSERT_SQL, event.eventType(), event.recipientUserId(), codec.encode(event));
+        wakeUpRelay();
+    }
+
+    /**
+     * Writes all events with one JDBC batch.
+     */
+    @Override
+    public void publishAll(List<? extends DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (statement, event) -> {
+            statement.setString(1, event.eventType());
+            statement.setString(2, event.recipientUserId());
+            statement.setString(3, codec.encode(event));
+        });
+        wakeUpRelay();
+    }
+
+    private void wakeUpRelay() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    relay.getObject().wakeUp();
+                }
+            });
+        } else {
+            relay.getObject().wakeUp();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.f1bets.infrastructure.outbox;
+
+import com.f1bets.application.event.DomainEvent;
+import com.f1bets.application.event.EventSettled;
+import com.f1bets.application.event.SessionsChanged;
+import com.f1bets.application.event.UserBetUpdated;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * JSON encoding of domain events for the outbox {@code payload} column.
+ *
+ * The event type is stored in its own column, so payloads carry only the record fields.
+ */
+@Component
+public class OutboxEventCodec {
+
+    private static final Map<String, Class<? extends DomainEvent>> TYPES = Map.of(
+        "sessions.changed", SessionsChanged.class,
+        "event.settled", EventSettled.class,
+        "user.bet.updated", UserBetUpdated.class
+    );
+
+    private final ObjectMapper objectMapper;
+
+    public OutboxEventCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public String encode(DomainEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode " + event.eventType(), e);
+        }
+    }
+
+    public DomainEvent decode(String eventType, String payload) {
+        Class<? extends DomainEvent> type = TYPES.get(eventType);
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown outbox event type: " + eventType);
+        }
+        try {
+            return objectMapper.readValue(payload, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to decode " + eventType, e);
+        }
+    }
+}
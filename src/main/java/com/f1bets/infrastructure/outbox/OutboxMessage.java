@@ -0,0 +1,17 @@
+package com.f1bets.infrastructure.outbox;
+
+import com.f1bets.application.event.DomainEvent;
+
+import java.time.Instant;
+
+/**
+ * One relayed outbox row: the stored JSON payload plus the decoded event.
+ */
+public record OutboxMessage(
+    long id,
+    String eventType,
+    String recipientUserId,
+    String payload,
+    Instant createdAt,
+    DomainEvent event
+) {}
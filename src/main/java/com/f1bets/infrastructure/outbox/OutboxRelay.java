@@ -0,0 +1,200 @@
+package com.f1bets.infrastructure.outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Drains the {@code outbox} table and hands events to every {@link OutboxConsumer}.
+ *
+ * Each batch is claimed with {@code FOR UPDATE SKIP LOCKED} and deleted in the same
+ * transaction the consumers run in, so several nodes can relay concurrently without
+ * handing out the same row twice. If the transaction fails the rows reappear and are
+ * relayed again (at-least-once).
+ *
+ * Rows are decoded one by one after the claim. A row that cannot be decoded is moved to
+ * {@code outbox_dead_letter} in the same transaction and counted, instead of failing the
+ * claim and being claimed again on every poll.
+ *
+ * The relay runs on a fixed poll interval and is additionally woken right after a
+ * transaction that wrote to the outbox commits.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    static final String RELAYED_COUNTER = "f1bets.outbox.relayed";
+    static final String CONSUMER_FAILURES_COUNTER = "f1bets.outbox.consumer.failures";
+    static final String UNDECODABLE_COUNTER = "f1bets.outbox.undecodable";
+
+    private static final String CLAIM_SQL = """
+        DELETE FROM outbox
+        WHERE id IN (SELECT id FROM outbox ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED)
+        RETURNING id, event_type, recipient_user_id, payload::text AS payload, created_at
+        """;
+
+    private static final String DEAD_LETTER_SQL = """
+        INSERT INTO outbox_dead_letter (id, event_type, recipient_user_id, payload, created_at, error)
+        VALUES (?, ?, ?, ?::jsonb, ?, ?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxEventCodec codec;
+    private final List<OutboxConsumer> consumers;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+
+    private final ReentrantLock draining = new ReentrantLock();
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+    private final AtomicBoolean wakeUpScheduled = new AtomicBoolean();
+    private final ExecutorService wakeUpExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       TransactionTemplate transactionTemplate,
+                       OutboxEventCodec codec,
+                       List<OutboxConsumer> consumers,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size:100}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.codec = codec;
+        this.consumers = List.copyOf(consumers);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Requests an immediate drain on the relay thread. Calls are coalesced.
+     */
+    public void wakeUp() {
+        if (wakeUpScheduled.compareAndSet(false, true)) {
+            wakeUpExecutor.execute(() -> {
+                wakeUpScheduled.set(false);
+                drain();
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval:PT1S}")
+    public void poll() {
+        drain();
+    }
+
+    /**
+     * Relays batches until the outbox is empty. If another thread is already draining, it is
+     * asked to run one more pass instead, so no wake-up is lost.
+     *
+     * @return number of events relayed by this call
+     */
+    public int drain() {
+        drainRequested.set(true);
+        if (!draining.tryLock()) {
+            return 0;
+        }
+        int total = 0;
+        try {
+            while (drainRequested.getAndSet(false)) {
+                int relayed;
+                do {
+                    relayed = relayBatch();
+                    total += relayed;
+                } while (relayed == batchSize);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay failed, will retry on next poll: {}", e.getMessage());
+        } finally {
+            draining.unlock();
+        }
+        return total;
+    }
+
+    private int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<ClaimedRow> batch = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> ClaimedRow.from(rs), batchSize)
+                .stream()
+                .sorted(Comparator.comparingLong(ClaimedRow::id))
+                .toList();
+            for (ClaimedRow row : batch) {
+                OutboxMessage message = decode(row);
+                if (message != null) {
+                    dispatch(message);
+                }
+            }
+            return batch.size();
+        });
+        int count = relayed != null ? relayed : 0;
+        if (count > 0) {
+            meterRegistry.counter(RELAYED_COUNTER).increment(count);
+        }
+        return count;
+    }
+
+    private void dispatch(OutboxMessage message) {
+        for (OutboxConsumer consumer : consumers) {
+            try {
+                consumer.handle(message);
+            } catch (RuntimeException e) {
+                // One failing consumer must not block the others or wedge the outbox
+                meterRegistry.counter(CONSUMER_FAILURES_COUNTER, "consumer", consumer.name()).increment();
+                log.error("Outbox consumer {} failed for event {} ({})",
+                    consumer.name(), message.id(), message.eventType(), e);
+            }
+        }
+    }
+
+    /**
+     * @return the decoded message, or null if the row was dead-lettered
+     */
+    private OutboxMessage decode(ClaimedRow row) {
+        try {
+            return new OutboxMessage(row.id(), row.eventType(), row.recipientUserId(), row.payload(),
+                row.createdAt().toInstant(), codec.decode(row.eventType(), row.payload()));
+        } catch (RuntimeException e) {
+            jdbcTemplate.update(DEAD_LETTER_SQL, row.id(), row.eventType(), row.recipientUserId(), row.payload(),
+                row.createdAt(), String.valueOf(e.getMessage()));
+            meterRegistry.counter(UNDECODABLE_COUNTER).increment();
+            log.error("Outbox event {} ({}) could not be decoded, moved to outbox_dead_letter",
+                row.id(), row.eventType(), e);
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wakeUpExecutor.shutdown();
+    }
+
+    private record ClaimedRow(long id, String eventType, String recipientUserId, String payload, Timestamp createdAt) {
+
+        static ClaimedRow from(ResultSet rs) throws SQLException {
+            return new ClaimedRow(
+                rs.getLong("id"),
+                rs.getString("event_type"),
+                rs.getString("recipient_user_id"),
+                rs.getString("payload"),
+                rs.getTimestamp("created_at"));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.f1bets.infrastructure.persistence;
+
+import com.f1bets.application.port.BetPlacementGateway;
+import com.f1bets.domain.exception.SessionLockTimeoutException;
+import com.f1bets.domain.model.Bet;
+import com.f1bets.domain.model.DriverExposure;
+import com.f1bets.domain.model.Money;
+import com.f1bets.domain.model.User;
+import com.f1bets.domain.model.UuidV7;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+
+/**
+ * Calls the {@code place_bet} database function (V13, redefined in V22). JdbcTemplate runs on
+ * the connection of the surrounding JPA transaction, so the placement commits or rolls back
+ * with it.
+ *
+ * The function takes the same advisory lock as {@link SessionLockService} and, like it, applies
+ * {@code lockTimeout} to that lock only; only timeouts are reported to the
+ * {@link SessionLockContentionTracker}, since the wait is not observable separately from the
+ * rest of the call.
+ */
+@Component
+public class JdbcBetPlacementGateway implements BetPlacementGateway {
+
+    private static final String PLACE_BET_SQL =
+        "SELECT status, balance_cents, bet_count, total_stake_cents, potential_payout_cents "
+            + "FROM place_bet(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SessionLockContentionTracker contentionTracker;
+
+    public JdbcBetPlacementGateway(JdbcTemplate jdbcTemplate, SessionLockContentionTracker contentionTracker) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.contentionTracker = contentionTracker;
+    }
+
+    @Override
+    public Outcome place(Bet bet, Money maxUserStake, Money maxDriverPayout, Duration lockTimeout) {
+        long initialBalanceCents = User.createNew(bet.getUserId()).getBalanceCents();
+        long start = System.nanoTime();
+        try {
+            return jdbcTemplate.queryForObject(PLACE_BET_SQL, (rs, rowNum) -> {
+                    Status status = Status.valueOf(rs.getString("status"));
+                    long balanceCents = rs.getLong("balance_cents");
+                    DriverExposure exposure = status == Status.PLACED
+                        ? DriverExposure.reconstitute(bet.getSessionKey(), bet.getDriverNumber(),
+                            rs.getLong("bet_count"),
+                            Money.reconstitute(rs.getLong("total_stake_cents")),
+                            Money.reconstitute(rs.getLong("potential_payout_cents")))
+                        : null;
+                    return new Outcome(status, balanceCents, exposure);
+                },
+                bet.getId(),
+                bet.getUserId().getValue(),
+                bet.getSessionKey().getValue(),
+                bet.getDriverNumber().getValue(),
+                bet.getStakeCents(),
+                bet.getOddsValue(),
+                bet.getIdempotencyKey(),
+                Timestamp.from(bet.getCreatedAt()),
+                UuidV7.next(),
+                UuidV7.next(),
+                initialBalanceCents,
+                maxUserStake.toCents(),
+                maxDriverPayout.toCents(),
+                Math.max(lockTimeout.toMillis(), 1) + "ms");
+        } catch (RuntimeException e) {
+            if (SessionLockService.isLockTimeout(e)) {
+                contentionTracker.recordTimeout(bet.getSessionKey(), System.nanoTime() - start);
+                throw new SessionLockTimeoutException(bet.getSessionKey(), lockTimeout, e);
+            }
+            throw e;
+        }
+    }
+}
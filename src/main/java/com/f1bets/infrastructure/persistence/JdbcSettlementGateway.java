@@ -0,0 +1,42 @@
+package com.f1bets.infrastructure.persistence;
+
+import com.f1bets.application.port.SettlementGateway;
+import com.f1bets.domain.model.DriverNumber;
+import com.f1bets.domain.model.SessionKey;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Calls the {@code settle_session} database function (V14). JdbcTemplate runs on the connection
+ * of the surrounding JPA transaction, so the settlement commits or rolls back with it.
+ *
+ * The function writes the per-bet events straight to the outbox table; the relay picks them up
+ * when the caller's {@code EventSettled} publication wakes it after commit.
+ */
+@Component
+public class JdbcSettlementGateway implements SettlementGateway {
+
+    private static final String SETTLE_SESSION_SQL =
+        "SELECT total_bets, winning_bets, total_payout_cents FROM settle_session(?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcSettlementGateway(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Totals settle(SessionKey sessionKey, DriverNumber winningDriverNumber, Instant settledAt) {
+        return jdbcTemplate.queryForObject(SETTLE_SESSION_SQL,
+            (rs, rowNum) -> new Totals(
+                Math.toIntExact(rs.getLong("total_bets")),
+                Math.toIntExact(rs.getLong("winning_bets")),
+                rs.getLong("total_payout_cents")),
+            sessionKey.getValue(),
+            winningDriverNumber.getValue(),
+            Timestamp.from(settledAt));
+    }
+}
@@ -0,0 +1,39 @@
+package com.f1bets.infrastructure.persistence;
+
+import com.f1bets.application.port.TransactionSavepoints;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+
+import java.sql.Savepoint;
+
+/**
+ * JDBC savepoints on the connection of the current JPA transaction. Spring's
+ * {@code TransactionStatus} savepoints are not available here because the Hibernate JPA dialect
+ * does not support them.
+ *
+ * Pending entity changes are flushed before the savepoint is released: left in the persistence
+ * context, they would only reach the database after a later savepoint, and rolling back to that
+ * one would undo them while Hibernate considers them written.
+ */
+@Component
+public class JpaTransactionSavepoints implements TransactionSavepoints {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void runUnderSavepoint(Runnable work) {
+        Session session = entityManager.unwrap(Session.class);
+        Savepoint savepoint = session.doReturningWork(connection -> connection.setSavepoint());
+        try {
+            work.run();
+            session.flush();
+        } catch (RuntimeException e) {
+            session.doWork(connection -> connection.rollback(savepoint));
+            throw e;
+        }
+        session.doWork(connection -> connection.releaseSavepoint(savepoint));
+    }
+}
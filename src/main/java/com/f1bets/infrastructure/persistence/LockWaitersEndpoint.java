@@ -0,0 +1,109 @@
+package com.f1bets.infrastructure.persistence;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Actuator endpoint ({@code /actuator/lockwaiters}) listing backends currently waiting on
+ * session advisory locks or on {@code users} row locks, together with the pids blocking them.
+ *
+ * Advisory locks taken with a bigint key are reported by PostgreSQL split into
+ * {@code classid} (high 32 bits) and {@code objid} (low 32 bits); they are recombined into
+ * the session key here. A row lock wait on {@code users} shows up as a {@code tuple} lock
+ * on the table for all but the first waiter; the first waiter holds that tuple lock and
+ * waits on the holder's {@code transactionid}, so it is matched by the tuple lock it holds.
+ *
+ * Waiting time is measured from {@code pg_locks.waitstart}, falling back to the start of
+ * the statement while PostgreSQL has not filled it in yet.
+ */
+@Component
+@Endpoint(id = "lockwaiters")
+public class LockWaitersEndpoint {
+
+    private static final String WAITERS_QUERY = """
+        SELECT l.pid,
+               l.locktype,
+               l.mode,
+               CASE WHEN l.locktype = 'advisory'
+                    THEN (l.classid::bigint << 32) | l.objid::bigint END AS session_key,
+               CAST(EXTRACT(EPOCH FROM (clock_timestamp() - COALESCE(l.waitstart, a.query_start))) * 1000
+                   AS bigint) AS waiting_millis,
+               pg_blocking_pids(l.pid) AS blocked_by,
+               left(a.query, 200) AS query
+        FROM pg_locks l
+        JOIN pg_stat_activity a ON a.pid = l.pid
+        WHERE NOT l.granted
+          AND a.wait_event_type = 'Lock'
+          AND a.datname = current_database()
+          AND (l.locktype = 'advisory'
+               OR (l.locktype = 'tuple' AND l.relation = 'users'::regclass)
+               OR (l.locktype = 'transactionid' AND EXISTS (
+                       SELECT 1 FROM pg_locks held
+                       WHERE held.pid = l.pid
+                         AND held.granted
+                         AND held.locktype = 'tuple'
+                         AND held.relation = 'users'::regclass)))
+        ORDER BY waiting_millis DESC
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SessionLockContentionTracker contentionTracker;
+
+    public LockWaitersEndpoint(JdbcTemplate jdbcTemplate, SessionLockContentionTracker contentionTracker) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.contentionTracker = contentionTracker;
+    }
+
+    @ReadOperation
+    public LockWaitersReport waiters() {
+        List<LockWaiter> waiters = jdbcTemplate.query(WAITERS_QUERY, (rs, rowNum) -> toWaiter(rs));
+        return new LockWaitersReport(waiters.size(), waiters, contentionTracker.hotSessions());
+    }
+
+    private static LockWaiter toWaiter(ResultSet rs) throws SQLException {
+        String lockType = rs.getString("locktype");
+        long key = rs.getLong("session_key");
+        Long sessionKey = rs.wasNull() ? null : key;
+        return new LockWaiter(
+            rs.getInt("pid"),
+            "advisory".equals(lockType) ? "session" : "users",
+            sessionKey,
+            lockType,
+            rs.getString("mode"),
+            rs.getLong("waiting_millis"),
+            toPids(rs.getArray("blocked_by")),
+            rs.getString("query")
+        );
+    }
+
+    private static List<Integer> toPids(Array array) throws SQLException {
+        if (array == null) {
+            return List.of();
+        }
+        return List.of((Integer[]) array.getArray());
+    }
+
+    public record LockWaitersReport(
+        int waiting,
+        List<LockWaiter> waiters,
+        List<SessionLockContentionTracker.HotSession> hotSessions
+    ) {}
+
+    public record LockWaiter(
+        int pid,
+        String target,
+        Long sessionKey,
+        String lockType,
+        String mode,
+        long waitingMillis,
+        List<Integer> blockedBy,
+        String query
+    ) {}
+}
@@ -0,0 +1,70 @@
+package com.f1bets.infrastructure.persistence;
+
+import com.f1bets.application.port.ReadYourWrites;
+import com.f1bets.domain.model.UserId;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Pins a user's reads to the primary for {@code replica.read-your-writes-window} after
+ * they placed a bet, so a replica that has not replayed the bet yet cannot hide it.
+ *
+ * The pin is exposed to {@link ReplicaRoutingDataSource} through a thread-local, which is
+ * why the routed query must acquire its connection inside {@link #read}. Without a
+ * configured replica nothing is recorded.
+ */
+@Component
+public class ReadYourWritesTracker implements ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(
+            @Value("${replica.enabled:false}") boolean enabled,
+            @Value("${replica.read-your-writes-window:PT10S}") Duration window) {
+        this.enabled = enabled;
+        this.recentWriters = Caffeine.newBuilder()
+            .expireAfterWrite(window)
+            .maximumSize(100_000)
+            .build();
+    }
+
+    @Override
+    public void recordWrite(UserId userId) {
+        if (enabled) {
+            recentWriters.put(userId.getValue(), Boolean.TRUE);
+        }
+    }
+
+    @Override
+    public <T> T read(UserId userId, Supplier<T> query) {
+        if (!enabled || recentWriters.getIfPresent(userId.getValue()) == null) {
+            return query.get();
+        }
+        Boolean previous = PINNED_TO_PRIMARY.get();
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        try {
+            return query.get();
+        } finally {
+            if (previous == null) {
+                PINNED_TO_PRIMARY.remove();
+            } else {
+                PINNED_TO_PRIMARY.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Whether the current thread is inside {@link #read} for a user with a recent write.
+     */
+    public boolean pinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED_TO_PRIMARY.get());
+    }
+}
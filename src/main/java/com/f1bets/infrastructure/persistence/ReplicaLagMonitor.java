@@ -0,0 +1,84 @@
+package com.f1bets.infrastructure.persistence;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Periodically measures how far the read replica is behind the primary and decides whether
+ * read-only transactions may use it.
+ *
+ * Lag is the age of the last replayed transaction, reported as zero once everything received
+ * has been replayed, so an idle primary does not make a caught-up replica look stale. A failed
+ * check counts as unusable until the next successful one.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    static final String LAG_GAUGE = "f1bets.db.replica.lag";
+
+    private static final String LAG_SQL = """
+        SELECT CASE
+            WHEN NOT pg_is_in_recovery() THEN 0
+            WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+            ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+        END
+        """;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final double maxLagSeconds;
+
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        Gauge.builder(LAG_GAUGE, this, monitor -> monitor.lagSeconds)
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${replica.lag-check-interval:PT1S}")
+    public void check() {
+        try {
+            Double measured = replicaJdbcTemplate.queryForObject(LAG_SQL, Double.class);
+            record(measured != null ? measured : Double.NaN);
+        } catch (RuntimeException e) {
+            if (usable) {
+                log.warn("Replica lag check failed, routing reads to primary: {}", e.getMessage());
+            }
+            lagSeconds = Double.NaN;
+            usable = false;
+        }
+    }
+
+    void record(double measuredLagSeconds) {
+        boolean nowUsable = measuredLagSeconds <= maxLagSeconds;
+        if (nowUsable != usable) {
+            log.info("Replica lag {}s (max {}s) - read-only transactions now go to the {}",
+                measuredLagSeconds, maxLagSeconds, nowUsable ? "replica" : "primary");
+        }
+        lagSeconds = measuredLagSeconds;
+        usable = nowUsable;
+    }
+
+    public boolean replicaUsable() {
+        return usable;
+    }
+
+    /**
+     * Takes the replica out of rotation until the next successful check, e.g. after it
+     * refused a connection.
+     */
+    public void markUnusable() {
+        usable = false;
+    }
+}
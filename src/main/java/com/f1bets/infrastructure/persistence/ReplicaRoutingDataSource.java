@@ -0,0 +1,82 @@
+package com.f1bets.infrastructure.persistence;
+
+import com.f1bets.application.service.OperationMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+/**
+ * Connection source for read-only transactions: the replica while it is within the lag
+ * budget and the current read is not pinned by {@link ReadYourWritesTracker}, otherwise
+ * the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String READS_COUNTER = "f1bets.db.reads";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWrites;
+    private final OperationMetrics metrics;
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    DataSource replica,
+                                    ReplicaLagMonitor lagMonitor,
+                                    ReadYourWritesTracker readYourWrites,
+                                    OperationMetrics metrics) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        if (readYourWrites.pinnedToPrimary()) {
+            return primary(source, "read_your_writes");
+        }
+        if (!lagMonitor.replicaUsable()) {
+            return primary(source, "replica_unavailable");
+        }
+        try {
+            Connection connection = source.connect(replica);
+            metrics.counter(READS_COUNTER, "target", "replica", "reason", "read_only").increment();
+            return connection;
+        } catch (SQLFeatureNotSupportedException e) {
+            // The pool does not support this call at all; not a sign of an unhealthy replica
+            throw e;
+        } catch (SQLException e) {
+            log.warn("Replica connection failed, falling back to primary: {}", e.getMessage());
+            lagMonitor.markUnusable();
+            return primary(source, "replica_unavailable");
+        }
+    }
+
+    private Connection primary(ConnectionSource source, String reason) throws SQLException {
+        metrics.counter(READS_COUNTER, "target", "primary", "reason", reason).increment();
+        return source.connect(primary);
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+}
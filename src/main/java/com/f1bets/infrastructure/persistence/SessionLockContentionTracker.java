@@ -0,0 +1,109 @@
+package com.f1bets.infrastructure.persistence;
+
+import com.f1bets.domain.model.SessionKey;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes advisory-lock wait time and timeouts per session.
+ *
+ * Tagging every session key would give unbounded cardinality, so only the current top-N
+ * sessions by accumulated wait time get their own {@code session} tag; everything else is
+ * reported as {@code other}. The hot set is recomputed on a fixed interval from the waits
+ * seen since the previous refresh, and meters of sessions that drop out are removed.
+ */
+@Component
+public class SessionLockContentionTracker {
+
+    static final String WAIT_TIMER = "f1bets.session.lock.acquire";
+    static final String TIMEOUT_COUNTER = "f1bets.session.lock.timeouts";
+    static final String OTHER_SESSIONS = "other";
+
+    private final MeterRegistry registry;
+    private final int hotSessionLimit;
+
+    private final Map<Integer, LongAdder> waitNanosInWindow = new ConcurrentHashMap<>();
+    private volatile Set<Integer> hotSessions = Set.of();
+    private volatile List<HotSession> lastWindow = List.of();
+
+    public SessionLockContentionTracker(
+            MeterRegistry registry,
+            @Value("${session-lock.hot-sessions.limit:10}") int hotSessionLimit) {
+        this.registry = registry;
+        this.hotSessionLimit = hotSessionLimit;
+    }
+
+    public void recordAcquired(SessionKey sessionKey, long waitNanos) {
+        record(sessionKey, waitNanos, "success");
+    }
+
+    public void recordTimeout(SessionKey sessionKey, long waitNanos) {
+        record(sessionKey, waitNanos, "timeout");
+        registry.counter(TIMEOUT_COUNTER, "session", sessionTag(sessionKey)).increment();
+    }
+
+    public void recordFailed(SessionKey sessionKey, long waitNanos, Throwable error) {
+        record(sessionKey, waitNanos, error.getClass().getSimpleName());
+    }
+
+    /**
+     * Hot sessions of the last completed window, highest accumulated wait first.
+     */
+    public List<HotSession> hotSessions() {
+        return lastWindow;
+    }
+
+    @Scheduled(fixedDelayString = "${session-lock.hot-sessions.refresh-interval:PT30S}")
+    public void refreshHotSessions() {
+        List<HotSession> window = waitNanosInWindow.entrySet().stream()
+            .map(e -> new HotSession(e.getKey(), TimeUnit.NANOSECONDS.toMillis(e.getValue().sumThenReset())))
+            .filter(h -> h.totalWaitMillis() > 0)
+            .sorted(Comparator.comparingLong(HotSession::totalWaitMillis).reversed())
+            .limit(hotSessionLimit)
+            .toList();
+        waitNanosInWindow.entrySet().removeIf(e -> e.getValue().sum() == 0);
+
+        Set<Integer> previous = hotSessions;
+        Set<Integer> current = window.stream().map(HotSession::sessionKey).collect(Collectors.toUnmodifiableSet());
+        hotSessions = current;
+        lastWindow = window;
+
+        previous.stream()
+            .filter(key -> !current.contains(key))
+            .forEach(this::removeSessionMeters);
+    }
+
+    String sessionTag(SessionKey sessionKey) {
+        int key = sessionKey.getValue();
+        return hotSessions.contains(key) ? Integer.toString(key) : OTHER_SESSIONS;
+    }
+
+    private void record(SessionKey sessionKey, long waitNanos, String outcome) {
+        waitNanosInWindow.computeIfAbsent(sessionKey.getValue(), k -> new LongAdder()).add(waitNanos);
+        Timer.builder(WAIT_TIMER)
+            .tag("session", sessionTag(sessionKey))
+            .tag("outcome", outcome)
+            .register(registry)
+            .record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void removeSessionMeters(int sessionKey) {
+        String tag = Integer.toString(sessionKey);
+        registry.find(WAIT_TIMER).tag("session", tag).meters().forEach(registry::remove);
+        registry.find(TIMEOUT_COUNTER).tag("session", tag).meters().forEach(registry::remove);
+    }
+
+    public record HotSession(int sessionKey, long totalWaitMillis) {}
+}
@@ -1,25 +1,79 @@
 package com.f1bets.infrastructure.persistence;
 
 import com.f1bets.application.port.SessionLock;
+import com.f1bets.domain.exception.SessionLockTimeoutException;
 import com.f1bets.domain.model.SessionKey;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.springframework.stereotype.Service;
 
+import java.sql.SQLException;
+import java.time.Duration;
+
 /**
  * PostgreSQL implementation of SessionLock using advisory locks.
  * Advisory locks are lightweight, transactional locks that don't lock any actual rows.
+ *
+ * The wait is bounded by setting {@code lock_timeout} transaction-locally in the same
+ * round trip as the lock call, and the previous value is restored once the lock is held.
+ * Later lock waits in the transaction (user rows, the next session of a slip) are therefore
+ * not cut short by whatever was left of this budget.
+ *
+ * Wait time and timeouts are published per hot session by {@link SessionLockContentionTracker}.
  */
 @Service
 public class SessionLockService implements SessionLock {
 
+    /**
+     * lock_not_available, raised by lock_timeout. A statement timeout or cancel (query_canceled)
+     * is not a lock timeout and is not reported as one.
+     */
+    private static final String LOCK_TIMEOUT_SQL_STATE = "55P03";
+
+    // Subqueries with volatile functions are not flattened, so they run innermost first:
+    // remember and set lock_timeout, take the lock, then restore the previous value
+    private static final String LOCK_WITH_TIMEOUT_SQL = """
+        SELECT set_config('lock_timeout', locked.previous, true)
+        FROM (SELECT cfg.previous, pg_advisory_xact_lock(:key) AS acquired
+              FROM (SELECT current_setting('lock_timeout') AS previous,
+                           set_config('lock_timeout', :timeout, true) AS applied) cfg) locked
+        """;
+
     @PersistenceContext
     private EntityManager entityManager;
 
+    private final SessionLockContentionTracker contentionTracker;
+
+    public SessionLockService(SessionLockContentionTracker contentionTracker) {
+        this.contentionTracker = contentionTracker;
+    }
+
     @Override
-    public void acquire(SessionKey sessionKey) {
-        entityManager.createNativeQuery("SELECT pg_advisory_xact_lock(:key)")
-            .setParameter("key", (long) sessionKey.getValue())
-            .getSingleResult();
+    public void acquire(SessionKey sessionKey, Duration timeout) {
+        long start = System.nanoTime();
+        try {
+            entityManager.createNativeQuery(LOCK_WITH_TIMEOUT_SQL)
+                .setParameter("key", (long) sessionKey.getValue())
+                .setParameter("timeout", Math.max(timeout.toMillis(), 1) + "ms")
+                .getSingleResult();
+            contentionTracker.recordAcquired(sessionKey, System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            long waited = System.nanoTime() - start;
+            if (isLockTimeout(e)) {
+                contentionTracker.recordTimeout(sessionKey, waited);
+                throw new SessionLockTimeoutException(sessionKey, timeout, e);
+            }
+            contentionTracker.recordFailed(sessionKey, waited, e);
+            throw e;
+        }
+    }
+
+    static boolean isLockTimeout(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof SQLException sql && LOCK_TIMEOUT_SQL_STATE.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
     }
 }
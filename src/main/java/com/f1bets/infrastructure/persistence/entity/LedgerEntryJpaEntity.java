@@ -34,6 +34,12 @@ public class LedgerEntryJpaEntity {
     @Column(name = "reference_id", length = 100)
     private String referenceId;
 
+    /**
+     * Generated by the database from {@code reference_id} (V15); read-only here.
+     */
+    @Column(name = "bet_id", insertable = false, updatable = false)
+    private UUID betId;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
@@ -99,6 +105,10 @@ public class LedgerEntryJpaEntity {
         this.referenceId = referenceId;
     }
 
+    public UUID getBetId() {
+        return betId;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
@@ -24,8 +24,8 @@ public class EntityMapper {
 
     public User toDomain(UserJpaEntity entity) {
         return User.reconstitute(
-            UserId.of(entity.getId()),
-            Money.ofCents(entity.getBalanceCents()),
+            UserId.reconstitute(entity.getId()),
+            Money.reconstitute(entity.getBalanceCents()),
             entity.getVersion(),
             entity.getCreatedAt()
         );
@@ -43,10 +43,10 @@ public class EntityMapper {
     public Bet toDomain(BetJpaEntity entity) {
         return Bet.reconstitute(
             entity.getId(),
-            UserId.of(entity.getUserId()),
-            SessionKey.of(entity.getSessionKey()),
+            UserId.reconstitute(entity.getUserId()),
+            SessionKey.reconstitute(entity.getSessionKey()),
             DriverNumber.of(entity.getDriverNumber()),
-            Money.ofCents(entity.getStakeCents()),
+            Money.reconstitute(entity.getStakeCents()),
             Odds.of(entity.getOdds()),
             toBetStatus(entity.getStatus()),
             entity.getCreatedAt(),
@@ -73,7 +73,7 @@ public class EntityMapper {
     public LedgerEntry toDomain(LedgerEntryJpaEntity entity) {
         return LedgerEntry.reconstitute(
             entity.getId(),
-            UserId.of(entity.getUserId()),
+            UserId.reconstitute(entity.getUserId()),
             toLedgerEntryType(entity.getEntryType()),
             entity.getAmountCents(),
             entity.getBalanceAfterCents(),
@@ -96,7 +96,7 @@ public class EntityMapper {
 
     public EventOutcome toDomain(EventOutcomeJpaEntity entity) {
         return EventOutcome.reconstitute(
-            SessionKey.of(entity.getSessionKey()),
+            SessionKey.reconstitute(entity.getSessionKey()),
             DriverNumber.of(entity.getWinningDriverNumber()),
             entity.getSettledAt()
         );
@@ -0,0 +1,95 @@
+package com.f1bets.infrastructure.persistence.repository;
+
+import com.f1bets.domain.model.DriverExposure;
+import com.f1bets.domain.model.DriverNumber;
+import com.f1bets.domain.model.Money;
+import com.f1bets.domain.model.SessionKey;
+import com.f1bets.domain.model.UserId;
+import com.f1bets.domain.repository.ExposureRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Exposure book on plain JDBC: the upsert-with-RETURNING has no JPA equivalent and the rows
+ * are never loaded as entities. JdbcTemplate runs on the connection of the surrounding JPA
+ * transaction, so the update commits or rolls back together with the bet.
+ *
+ * Limits are enforced by the upserts themselves: the insert only happens if a single bet fits
+ * the limit, and the conflict update carries a {@code WHERE total + amount <= limit} guard that
+ * Postgres evaluates against the locked, latest row version. A rejected upsert returns no row.
+ */
+@Repository
+public class JdbcExposureRepository implements ExposureRepository {
+
+    private static final String ADD_BET_SQL = """
+        INSERT INTO session_exposure AS e
+            (session_key, driver_number, bet_count, total_stake_cents, potential_payout_cents)
+        SELECT ?, ?, 1, ?, p.payout
+        FROM (SELECT ?::bigint AS payout, ?::bigint AS max_payout) p
+        WHERE p.payout <= p.max_payout
+        ON CONFLICT (session_key, driver_number) DO UPDATE SET
+            bet_count = e.bet_count + 1,
+            total_stake_cents = e.total_stake_cents + EXCLUDED.total_stake_cents,
+            potential_payout_cents = e.potential_payout_cents + EXCLUDED.potential_payout_cents,
+            updated_at = CURRENT_TIMESTAMP
+        WHERE e.potential_payout_cents + EXCLUDED.potential_payout_cents <= ?
+        RETURNING session_key, driver_number, bet_count, total_stake_cents, potential_payout_cents
+        """;
+
+    private static final String ADD_USER_STAKE_SQL = """
+        INSERT INTO user_session_stake AS s (user_id, session_key, total_stake_cents)
+        SELECT ?, ?, p.stake
+        FROM (SELECT ?::bigint AS stake, ?::bigint AS max_stake) p
+        WHERE p.stake <= p.max_stake
+        ON CONFLICT (user_id, session_key) DO UPDATE SET
+            total_stake_cents = s.total_stake_cents + EXCLUDED.total_stake_cents,
+            updated_at = CURRENT_TIMESTAMP
+        WHERE s.total_stake_cents + EXCLUDED.total_stake_cents <= ?
+        """;
+
+    private static final String FIND_BY_SESSION_SQL = """
+        SELECT session_key, driver_number, bet_count, total_stake_cents, potential_payout_cents
+        FROM session_exposure
+        WHERE session_key = ?
+        ORDER BY driver_number
+        """;
+
+    private static final RowMapper<DriverExposure> ROW_MAPPER = (rs, rowNum) -> DriverExposure.reconstitute(
+        SessionKey.reconstitute(rs.getInt("session_key")),
+        DriverNumber.of(rs.getInt("driver_number")),
+        rs.getLong("bet_count"),
+        Money.reconstitute(rs.getLong("total_stake_cents")),
+        Money.reconstitute(rs.getLong("potential_payout_cents"))
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcExposureRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<DriverExposure> addBet(SessionKey sessionKey, DriverNumber driverNumber, Money stake,
+                                           Money potentialPayout, Money maxPayout) {
+        return jdbcTemplate.query(ADD_BET_SQL, ROW_MAPPER,
+                sessionKey.getValue(), driverNumber.getValue(), stake.toCents(),
+                potentialPayout.toCents(), maxPayout.toCents(), maxPayout.toCents())
+            .stream()
+            .findFirst();
+    }
+
+    @Override
+    public boolean addUserStake(UserId userId, SessionKey sessionKey, Money stake, Money maxStake) {
+        return jdbcTemplate.update(ADD_USER_STAKE_SQL,
+            userId.getValue(), sessionKey.getValue(), stake.toCents(), maxStake.toCents(), maxStake.toCents()) == 1;
+    }
+
+    @Override
+    public List<DriverExposure> findBySessionKey(SessionKey sessionKey) {
+        return jdbcTemplate.query(FIND_BY_SESSION_SQL, ROW_MAPPER, sessionKey.getValue());
+    }
+}
@@ -2,6 +2,7 @@ package com.f1bets.infrastructure.persistence.repository;
 
 import com.f1bets.domain.model.Bet;
 import com.f1bets.domain.model.BetStatus;
+import com.f1bets.domain.model.Money;
 import com.f1bets.domain.model.SessionKey;
 import com.f1bets.domain.model.UserId;
 import com.f1bets.domain.repository.BetRepository;
@@ -36,6 +37,15 @@ public class JpaBetRepository implements BetRepository {
             .map(mapper::toDomain);
     }
 
+    @Override
+    public Optional<PlacedBet> findPlacedByIdempotencyKey(String idempotencyKey) {
+        return springDataRepository.findPlacedByIdempotencyKey(idempotencyKey)
+            .map(view -> new PlacedBet(
+                mapper.toDomain(view.getBet()),
+                view.getBalanceAfterCents() == null ? null : Money.reconstitute(view.getBalanceAfterCents())
+            ));
+    }
+
     @Override
     public List<Bet> findByUserId(UserId userId) {
         return springDataRepository.findByUserId(userId.getValue())
@@ -64,11 +74,8 @@ public class JpaBetRepository implements BetRepository {
     }
 
     @Override
-    public List<Bet> findBySessionKeyAndStatusForUpdate(SessionKey sessionKey, BetStatus status) {
-        return springDataRepository.findBySessionKeyAndStatusForUpdate(
-                sessionKey.getValue(),
-                toJpaStatus(status)
-            )
+    public List<Bet> findPendingBySessionKeyForUpdate(SessionKey sessionKey) {
+        return springDataRepository.findPendingBySessionKeyForUpdate(sessionKey.getValue())
             .stream()
             .map(mapper::toDomain)
             .toList();
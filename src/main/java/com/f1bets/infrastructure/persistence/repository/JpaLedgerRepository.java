@@ -1,16 +1,13 @@
 package com.f1bets.infrastructure.persistence.repository;
 
 import com.f1bets.domain.model.LedgerEntry;
-import com.f1bets.domain.model.Money;
 import com.f1bets.domain.model.UserId;
 import com.f1bets.domain.repository.LedgerRepository;
-import com.f1bets.infrastructure.persistence.entity.LedgerEntryJpaEntity.LedgerEntryTypeJpa;
 import com.f1bets.infrastructure.persistence.mapper.EntityMapper;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
 
 @Repository
 public class JpaLedgerRepository implements LedgerRepository {
@@ -42,20 +39,11 @@ public class JpaLedgerRepository implements LedgerRepository {
     }
 
     @Override
-    public List<LedgerEntry> findByUserId(UserId userId) {
-        return springDataRepository.findByUserIdOrderByCreatedAtDesc(userId.getValue())
+    public List<LedgerEntry> findByUserIdSince(UserId userId, Instant since) {
+        return springDataRepository.findByUserIdAndCreatedAtGreaterThanEqualOrderByCreatedAtDesc(
+                userId.getValue(), since)
             .stream()
             .map(mapper::toDomain)
             .toList();
     }
-
-    @Override
-    public Optional<Money> findBalanceAfterForBet(UUID betId) {
-        return springDataRepository
-            .findTopByReferenceIdAndEntryTypeOrderByCreatedAtDesc(
-                betId.toString(),
-                LedgerEntryTypeJpa.BET_PLACED
-            )
-            .map(entry -> Money.ofCents(entry.getBalanceAfterCents()));
-    }
 }
@@ -1,5 +1,7 @@
 package com.f1bets.infrastructure.persistence.repository;
 
+import com.f1bets.domain.model.LedgerEntry;
+import com.f1bets.domain.model.LedgerEntryType;
 import com.f1bets.domain.model.User;
 import com.f1bets.domain.model.UserId;
 import com.f1bets.domain.repository.UserRepository;
@@ -32,14 +34,20 @@ public class JpaUserRepository implements UserRepository {
     }
 
     @Override
-    public boolean insertIfAbsent(User user) {
-        int inserted = springDataRepository.insertIfAbsent(
+    public Optional<User> lockOrInsert(User user, LedgerEntry initialCredit) {
+        if (initialCredit.getEntryType() != LedgerEntryType.INITIAL_CREDIT) {
+            throw new IllegalArgumentException("Expected an INITIAL_CREDIT entry, got " + initialCredit.getEntryType());
+        }
+        return springDataRepository.lockOrInsert(
             user.getId().getValue(),
             user.getBalanceCents(),
             user.getVersion(),
-            user.getCreatedAt()
-        );
-        return inserted == 1;
+            user.getCreatedAt(),
+            initialCredit.getId(),
+            initialCredit.getAmountCents(),
+            initialCredit.getBalanceAfterCents(),
+            initialCredit.getCreatedAt()
+        ).map(mapper::toDomain);
     }
 
     @Override
@@ -18,14 +18,33 @@ public interface SpringDataBetRepository extends JpaRepository<BetJpaEntity, UUI
 
     Optional<BetJpaEntity> findByIdempotencyKey(String idempotencyKey);
 
+    /**
+     * The entry type is a literal so that the partial index on BET_PLACED entries (V15)
+     * also serves generic plans of this prepared statement.
+     */
+    @Query("SELECT b AS bet, l.balanceAfterCents AS balanceAfterCents FROM BetJpaEntity b " +
+           "LEFT JOIN LedgerEntryJpaEntity l ON l.betId = b.id " +
+           "AND l.entryType = com.f1bets.infrastructure.persistence.entity.LedgerEntryJpaEntity.LedgerEntryTypeJpa.BET_PLACED " +
+           "WHERE b.idempotencyKey = :idempotencyKey")
+    Optional<PlacedBetView> findPlacedByIdempotencyKey(@Param("idempotencyKey") String idempotencyKey);
+
+    interface PlacedBetView {
+
+        BetJpaEntity getBet();
+
+        Long getBalanceAfterCents();
+    }
+
     List<BetJpaEntity> findBySessionKey(int sessionKey);
 
     List<BetJpaEntity> findBySessionKeyAndStatus(int sessionKey, BetStatusJpa status);
 
+    /**
+     * The status is a literal so that the partial index on PENDING bets (V16) also serves
+     * generic plans of this prepared statement.
+     */
     @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT b FROM BetJpaEntity b WHERE b.sessionKey = :sessionKey AND b.status = :status")
-    List<BetJpaEntity> findBySessionKeyAndStatusForUpdate(
-        @Param("sessionKey") int sessionKey,
-        @Param("status") BetStatusJpa status
-    );
+    @Query("SELECT b FROM BetJpaEntity b WHERE b.sessionKey = :sessionKey " +
+           "AND b.status = com.f1bets.infrastructure.persistence.entity.BetJpaEntity.BetStatusJpa.PENDING")
+    List<BetJpaEntity> findPendingBySessionKeyForUpdate(@Param("sessionKey") int sessionKey);
 }
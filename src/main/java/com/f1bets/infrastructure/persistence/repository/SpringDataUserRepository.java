@@ -4,11 +4,12 @@ import com.f1bets.infrastructure.persistence.entity.UserJpaEntity;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.Optional;
+import java.util.UUID;
 
 public interface SpringDataUserRepository extends JpaRepository<UserJpaEntity, String> {
 
@@ -16,15 +17,34 @@ public interface SpringDataUserRepository extends JpaRepository<UserJpaEntity, S
     @Query("SELECT u FROM UserJpaEntity u WHERE u.id = :id")
     Optional<UserJpaEntity> findByIdForUpdate(@Param("id") String id);
 
-    @Modifying
+    /**
+     * The inserted row is locked by the insert itself; a pre-existing row is locked by the
+     * {@code existing} branch. The result is a managed entity, so saving it later needs no reload.
+     */
     @Query(
-        value = "INSERT INTO users (id, balance_cents, version, created_at) " +
-                "VALUES (:id, :balanceCents, :version, :createdAt) " +
-                "ON CONFLICT DO NOTHING",
+        value = "WITH inserted AS (" +
+                "    INSERT INTO users (id, balance_cents, version, created_at) " +
+                "    VALUES (:id, :balanceCents, :version, :createdAt) " +
+                "    ON CONFLICT DO NOTHING " +
+                "    RETURNING id, balance_cents, version, created_at" +
+                "), initial_credit AS (" +
+                "    INSERT INTO ledger_entries " +
+                "        (id, user_id, entry_type, amount_cents, balance_after_cents, reference_id, created_at) " +
+                "    SELECT :creditId, i.id, 'INITIAL_CREDIT', :creditCents, :creditBalanceAfterCents, NULL, " +
+                "           :creditCreatedAt " +
+                "    FROM inserted i" +
+                "), existing AS (" +
+                "    SELECT id, balance_cents, version, created_at FROM users WHERE id = :id FOR UPDATE" +
+                ") " +
+                "SELECT * FROM inserted UNION ALL SELECT * FROM existing",
         nativeQuery = true
     )
-    int insertIfAbsent(@Param("id") String id,
-                       @Param("balanceCents") long balanceCents,
-                       @Param("version") long version,
-                       @Param("createdAt") java.time.Instant createdAt);
+    Optional<UserJpaEntity> lockOrInsert(@Param("id") String id,
+                                         @Param("balanceCents") long balanceCents,
+                                         @Param("version") long version,
+                                         @Param("createdAt") Instant createdAt,
+                                         @Param("creditId") UUID creditId,
+                                         @Param("creditCents") long creditCents,
+                                         @Param("creditBalanceAfterCents") long creditBalanceAfterCents,
+                                         @Param("creditCreatedAt") Instant creditCreatedAt);
 }
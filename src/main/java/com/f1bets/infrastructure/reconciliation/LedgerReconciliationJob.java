@@ -0,0 +1,379 @@
+package com.f1bets.infrastructure.reconciliation;
+
+import com.f1bets.application.service.OperationMetrics;
+import com.f1bets.infrastructure.scheduling.SchedulerLeadership;
+import io.micrometer.core.instrument.Gauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Proves nightly that every account matches its ledger: {@code users.balance_cents} must equal
+ * the sum of the user's ledger amounts and the {@code balance_after_cents} of their newest entry.
+ *
+ * Users are streamed in primary-key order, one keyset page at a time, and each page is checked
+ * by a worker with a single statement. Instead of aggregating each user's full history, the
+ * statement adds the entries after the user's checkpoint (see V19) to the checkpointed sum; the
+ * lower bound on created_at also lets it skip older ledger partitions. Reads run in read-only
+ * transactions, which go to the replica when it is within its lag budget, and users and ledger
+ * are always read from one snapshot. Checkpoints are written to the primary.
+ *
+ * Entries younger than the settle margin are checked but not folded into the checkpoint: an
+ * entry can commit (or be replayed on the replica) after a younger one, and a checkpoint past
+ * it would skip it for good.
+ *
+ * Results are published as metrics and as a CSV report of the mismatches.
+ */
+@Component
+public class LedgerReconciliationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerReconciliationJob.class);
+
+    static final String JOB = "ledger-reconciliation";
+    static final String USERS_COUNTER = "f1bets.reconciliation.users";
+    static final String MISMATCHES_COUNTER = "f1bets.reconciliation.mismatches";
+    static final String PROGRESS_GAUGE = "f1bets.reconciliation.progress";
+    static final String LAST_MISMATCHES_GAUGE = "f1bets.reconciliation.last.mismatches";
+
+    static final String CHECK_BALANCE_SUM = "balance_sum";
+    static final String CHECK_LAST_BALANCE = "last_balance";
+
+    private static final DateTimeFormatter REPORT_TIME =
+        DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private static final String PAGE_SQL = "SELECT id FROM users WHERE id > ? ORDER BY id LIMIT ?";
+
+    private static final String CHUNK_SQL = """
+        WITH horizon AS (
+            SELECT CASE WHEN pg_is_in_recovery()
+                        THEN COALESCE(pg_last_xact_replay_timestamp(), '-infinity')
+                        ELSE NOW() END - ? * INTERVAL '1 millisecond' AS at
+        )
+        SELECT u.id,
+               u.balance_cents,
+               COALESCE(c.ledger_sum_cents, 0) + d.sum_cents AS ledger_sum_cents,
+               COALESCE(d.last_balance_after_cents, c.last_balance_after_cents) AS last_balance_after_cents,
+               COALESCE(c.ledger_sum_cents, 0) + d.folded_sum_cents AS checkpoint_sum_cents,
+               COALESCE(c.entry_count, 0) + d.folded_count AS checkpoint_count,
+               d.folded_count,
+               d.folded_last_created_at,
+               d.folded_last_id,
+               d.folded_last_balance_after_cents
+        FROM users u
+        CROSS JOIN horizon h
+        LEFT JOIN ledger_reconciliation_checkpoints c ON c.user_id = u.id
+        CROSS JOIN LATERAL (
+            SELECT COALESCE(SUM(l.amount_cents), 0) AS sum_cents,
+                   (array_agg(l.balance_after_cents ORDER BY l.created_at DESC, l.id DESC))[1]
+                       AS last_balance_after_cents,
+                   COALESCE(SUM(l.amount_cents) FILTER (WHERE l.created_at < h.at), 0) AS folded_sum_cents,
+                   COUNT(*) FILTER (WHERE l.created_at < h.at) AS folded_count,
+                   (array_agg(l.created_at ORDER BY l.created_at DESC, l.id DESC)
+                       FILTER (WHERE l.created_at < h.at))[1] AS folded_last_created_at,
+                   (array_agg(l.id ORDER BY l.created_at DESC, l.id DESC)
+                       FILTER (WHERE l.created_at < h.at))[1] AS folded_last_id,
+                   (array_agg(l.balance_after_cents ORDER BY l.created_at DESC, l.id DESC)
+                       FILTER (WHERE l.created_at < h.at))[1] AS folded_last_balance_after_cents
+            FROM ledger_entries l
+            WHERE l.user_id = u.id
+              AND l.created_at >= COALESCE(c.last_created_at, '-infinity')
+              AND (l.created_at, l.id) > (COALESCE(c.last_created_at, '-infinity'),
+                                          COALESCE(c.last_entry_id, '00000000-0000-0000-0000-000000000000'))
+        ) d
+        WHERE u.id = ANY(?)
+        """;
+
+    private static final String CHECKPOINT_SQL = """
+        INSERT INTO ledger_reconciliation_checkpoints
+            (user_id, ledger_sum_cents, entry_count, last_created_at, last_entry_id, last_balance_after_cents, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, NOW())
+        ON CONFLICT (user_id) DO UPDATE SET
+            ledger_sum_cents = EXCLUDED.ledger_sum_cents,
+            entry_count = EXCLUDED.entry_count,
+            last_created_at = EXCLUDED.last_created_at,
+            last_entry_id = EXCLUDED.last_entry_id,
+            last_balance_after_cents = EXCLUDED.last_balance_after_cents,
+            updated_at = EXCLUDED.updated_at
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerLeadership leadership;
+    private final OperationMetrics metrics;
+    private final Clock clock;
+    private final int chunkSize;
+    private final int parallelism;
+    private final Duration settleMargin;
+    private final Path reportDir;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong progress = new AtomicLong();
+    private final AtomicLong lastMismatches = new AtomicLong();
+
+    public LedgerReconciliationJob(JdbcTemplate jdbcTemplate,
+                                   @Qualifier("readOnlyTransactionTemplate") TransactionTemplate readOnlyTransactionTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   SchedulerLeadership leadership,
+                                   OperationMetrics metrics,
+                                   Clock clock,
+                                   @Value("${reconciliation.chunk-size:1000}") int chunkSize,
+                                   @Value("${reconciliation.parallelism:4}") int parallelism,
+                                   @Value("${reconciliation.settle-margin:PT10M}") Duration settleMargin,
+                                   @Value("${reconciliation.report-dir:reconciliation-reports}") String reportDir) {
+        if (chunkSize <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("reconciliation.chunk-size and parallelism must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransactionTemplate = readOnlyTransactionTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.leadership = leadership;
+        this.metrics = metrics;
+        this.clock = clock;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.settleMargin = settleMargin;
+        this.reportDir = Path.of(reportDir);
+        leadership.register(JOB);
+        Gauge.builder(PROGRESS_GAUGE, progress, AtomicLong::get)
+            .description("Users checked so far in the current or last reconciliation run")
+            .register(metrics.registry());
+        Gauge.builder(LAST_MISMATCHES_GAUGE, lastMismatches, AtomicLong::get)
+            .description("Accounts that did not match their ledger in the last completed run")
+            .register(metrics.registry());
+    }
+
+    @Scheduled(cron = "${reconciliation.cron:0 0 3 * * *}")
+    public void reconcileNightly() {
+        leadership.runIfLeader(JOB, this::run);
+    }
+
+    /**
+     * Checks every account once and writes the report.
+     *
+     * @throws IllegalStateException if a run is already in progress on this node
+     */
+    public Summary run() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Ledger reconciliation is already running");
+        }
+        try {
+            return reconcileAll();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Summary reconcileAll() {
+        Instant started = clock.instant();
+        progress.set(0);
+        AtomicInteger mismatches = new AtomicInteger();
+        Path report = reportDir.resolve("ledger-reconciliation-" + REPORT_TIME.format(started) + ".csv");
+
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "ledger-reconciliation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Files.createDirectories(reportDir);
+            Path partial = Files.createTempFile(reportDir, "ledger-reconciliation-", ".partial");
+            try (BufferedWriter writer = Files.newBufferedWriter(partial, StandardCharsets.UTF_8)) {
+                writer.write("# Ledger reconciliation started " + started);
+                writer.newLine();
+                writer.write("user_id,balance_cents,ledger_sum_cents,last_balance_after_cents,failed_checks");
+                writer.newLine();
+
+                // Pages are read ahead of the workers by at most one page per worker
+                Semaphore inFlight = new Semaphore(parallelism);
+                List<Future<?>> chunks = new ArrayList<>();
+                String after = "";
+                while (true) {
+                    List<String> page = nextPage(after);
+                    if (page.isEmpty()) {
+                        break;
+                    }
+                    after = page.get(page.size() - 1);
+                    inFlight.acquire();
+                    chunks.add(workers.submit(() -> {
+                        try {
+                            mismatches.addAndGet(reconcileChunk(page, writer));
+                        } finally {
+                            inFlight.release();
+                        }
+                    }));
+                }
+                for (Future<?> chunk : chunks) {
+                    chunk.get();
+                }
+
+                Duration took = Duration.between(started, clock.instant());
+                writer.write("# Checked " + progress.get() + " users in " + took + ", " + mismatches.get()
+                    + " mismatches");
+                writer.newLine();
+            }
+            Files.move(partial, report, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write reconciliation report to " + reportDir, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ledger reconciliation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ledger reconciliation failed", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+
+        lastMismatches.set(mismatches.get());
+        if (mismatches.get() > 0) {
+            log.error("Ledger reconciliation found {} mismatching accounts out of {}, see {}",
+                mismatches.get(), progress.get(), report);
+        } else {
+            log.info("Ledger reconciliation checked {} accounts, all match", progress.get());
+        }
+        return new Summary(progress.get(), mismatches.get(), report);
+    }
+
+    private List<String> nextPage(String after) {
+        return readOnlyTransactionTemplate.execute(status ->
+            jdbcTemplate.queryForList(PAGE_SQL, String.class, after, chunkSize));
+    }
+
+    /**
+     * Checks one page of users, advances their checkpoints and reports mismatches.
+     *
+     * @return the number of mismatching accounts
+     */
+    private int reconcileChunk(List<String> userIds, BufferedWriter writer) {
+        List<Account> accounts = readOnlyTransactionTemplate.execute(status -> jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(CHUNK_SQL);
+                statement.setLong(1, settleMargin.toMillis());
+                Array ids = connection.createArrayOf("varchar", userIds.toArray());
+                statement.setArray(2, ids);
+                return statement;
+            },
+            (rs, rowNum) -> Account.from(rs)));
+
+        List<Account> advanced = accounts.stream().filter(Account::advancesCheckpoint).toList();
+        if (!advanced.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(CHECKPOINT_SQL, advanced, advanced.size(), (statement, account) -> {
+                    statement.setString(1, account.userId());
+                    statement.setLong(2, account.checkpointSumCents());
+                    statement.setLong(3, account.checkpointCount());
+                    statement.setTimestamp(4, account.foldedLastCreatedAt());
+                    statement.setObject(5, account.foldedLastId());
+                    statement.setLong(6, account.foldedLastBalanceAfterCents());
+                }));
+        }
+
+        int mismatches = 0;
+        for (Account account : accounts) {
+            List<String> failed = account.failedChecks();
+            if (failed.isEmpty()) {
+                continue;
+            }
+            mismatches++;
+            failed.forEach(check -> metrics.counter(MISMATCHES_COUNTER, "check", check).increment());
+            writeLine(writer, account.userId() + "," + account.balanceCents() + "," + account.ledgerSumCents() + ","
+                + (account.lastBalanceAfterCents() != null ? account.lastBalanceAfterCents() : "") + ","
+                + String.join(";", failed));
+        }
+        metrics.counter(USERS_COUNTER).increment(accounts.size());
+        progress.addAndGet(accounts.size());
+        return mismatches;
+    }
+
+    private static void writeLine(BufferedWriter writer, String line) {
+        synchronized (writer) {
+            try {
+                writer.write(line);
+                writer.newLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public record Summary(long usersChecked, int mismatches, Path report) {}
+
+    /**
+     * One user as seen in a single snapshot, with the checkpoint values to store if entries
+     * old enough to fold were found.
+     */
+    private record Account(String userId,
+                           long balanceCents,
+                           long ledgerSumCents,
+                           Long lastBalanceAfterCents,
+                           long checkpointSumCents,
+                           long checkpointCount,
+                           long foldedCount,
+                           Timestamp foldedLastCreatedAt,
+                           UUID foldedLastId,
+                           long foldedLastBalanceAfterCents) {
+
+        static Account from(ResultSet rs) throws SQLException {
+            return new Account(
+                rs.getString("id"),
+                rs.getLong("balance_cents"),
+                rs.getLong("ledger_sum_cents"),
+                rs.getObject("last_balance_after_cents", Long.class),
+                rs.getLong("checkpoint_sum_cents"),
+                rs.getLong("checkpoint_count"),
+                rs.getLong("folded_count"),
+                rs.getTimestamp("folded_last_created_at"),
+                rs.getObject("folded_last_id", UUID.class),
+                rs.getLong("folded_last_balance_after_cents"));
+        }
+
+        boolean advancesCheckpoint() {
+            return foldedCount > 0;
+        }
+
+        List<String> failedChecks() {
+            List<String> failed = new ArrayList<>(2);
+            if (balanceCents != ledgerSumCents) {
+                failed.add(CHECK_BALANCE_SUM);
+            }
+            if (lastBalanceAfterCents == null || balanceCents != lastBalanceAfterCents) {
+                failed.add(CHECK_LAST_BALANCE);
+            }
+            return failed;
+        }
+    }
+}
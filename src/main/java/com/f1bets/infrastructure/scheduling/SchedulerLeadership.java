@@ -0,0 +1,271 @@
+package com.f1bets.infrastructure.scheduling;
+
+import com.f1bets.application.service.OperationMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ensures each periodic job runs on exactly one replica.
+ *
+ * Leadership of a job is a session-level Postgres advisory lock held on one dedicated
+ * connection outside the pool. A node that dies or loses that connection releases its
+ * jobs automatically, and another node takes them over on its next rebalance or trigger.
+ *
+ * Jobs are sharded: every node counts the live nodes (connections with this scheduler's
+ * {@code application_name}) and holds at most its fair share, so with several registered
+ * jobs the work spreads across replicas instead of piling onto whoever started first.
+ *
+ * Leader locks use the two-key advisory lock form, whose key space is disjoint from the
+ * single-key session locks taken during bet placement and settlement.
+ *
+ * Statements on the leadership connection are serialized by {@code connectionLock}; the set of
+ * held jobs is published as an immutable snapshot, so {@link #isLeader} and the leader gauge
+ * never wait for a rebalance that is talking to the database.
+ */
+@Component
+public class SchedulerLeadership {
+
+    private static final Logger log = LoggerFactory.getLogger(SchedulerLeadership.class);
+
+    static final String JOB_TIMER = "f1bets.scheduler.job";
+    static final String SKIPPED_COUNTER = "f1bets.scheduler.job.skipped";
+    static final String LEADER_GAUGE = "f1bets.scheduler.leader";
+
+    /** Advisory lock namespace ("F1JB") for scheduler leadership. */
+    private static final int LOCK_NAMESPACE = 0x46314A42;
+    private static final String APPLICATION_NAME = "f1bets-scheduler";
+
+    private final DataSourceProperties dataSourceProperties;
+    private final OperationMetrics metrics;
+    private final boolean enabled;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Set<String> jobs = new ConcurrentSkipListSet<>();
+    private final ReentrantLock connectionLock = new ReentrantLock();
+
+    // Written under connectionLock, read without it
+    private volatile Set<String> held = Set.of();
+
+    // Guarded by connectionLock
+    private Connection connection;
+
+    public SchedulerLeadership(DataSourceProperties dataSourceProperties,
+                               OperationMetrics metrics,
+                               @Value("${scheduler.leadership.enabled:true}") boolean enabled) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.metrics = metrics;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Declares a job so it counts towards sharding before its first trigger.
+     */
+    public void register(String job) {
+        if (jobs.add(job)) {
+            Gauge.builder(LEADER_GAUGE, this, leadership -> leadership.isLeader(job) ? 1 : 0)
+                .tag("job", job)
+                .register(metrics.registry());
+        }
+    }
+
+    /**
+     * Runs {@code task} if this node is, or can become, the leader for {@code job}; otherwise
+     * skips it. Runs are timed as {@code f1bets.scheduler.job{job, outcome}}.
+     *
+     * @return whether the task ran on this node
+     */
+    public boolean runIfLeader(String job, Runnable task) {
+        register(job);
+        if (!acquire(job)) {
+            metrics.counter(SKIPPED_COUNTER, "job", job).increment();
+            log.debug("Skipping job {} - another node is leader", job);
+            return false;
+        }
+        metrics.time(JOB_TIMER, Tags.of("job", job), () -> {
+            task.run();
+            return null;
+        });
+        return true;
+    }
+
+    public boolean isLeader(String job) {
+        return !enabled || held.contains(job);
+    }
+
+    /**
+     * Re-evaluates the fair share periodically: hands back jobs above it, so a node that
+     * joined later gets work, and picks up jobs left behind by nodes that went away.
+     */
+    @Scheduled(fixedDelayString = "${scheduler.leadership.rebalance-interval:PT30S}")
+    public void rebalance() {
+        if (!enabled || jobs.isEmpty()) {
+            return;
+        }
+        connectionLock.lock();
+        try {
+            Connection conn = connection();
+            int share = fairShare(conn);
+            for (String job : preferredOrder()) {
+                if (held.contains(job) && held.size() > share) {
+                    unlock(conn, job);
+                } else if (!held.contains(job) && held.size() < share) {
+                    tryLock(conn, job);
+                }
+            }
+        } catch (SQLException e) {
+            dropConnection(e);
+        } finally {
+            connectionLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connectionLock.lock();
+        try {
+            held = Set.of();
+            closeQuietly();
+        } finally {
+            connectionLock.unlock();
+        }
+    }
+
+    private boolean acquire(String job) {
+        if (!enabled) {
+            return true;
+        }
+        connectionLock.lock();
+        try {
+            Connection conn = connection();
+            if (held.contains(job)) {
+                return true;
+            }
+            return held.size() < fairShare(conn) && tryLock(conn, job);
+        } catch (SQLException e) {
+            dropConnection(e);
+            return false;
+        } finally {
+            connectionLock.unlock();
+        }
+    }
+
+    private Connection connection() throws SQLException {
+        if (connection != null && connection.isValid(2)) {
+            return connection;
+        }
+        if (connection != null) {
+            // Session locks died with the old connection
+            held = Set.of();
+            closeQuietly();
+        }
+        Properties properties = new Properties();
+        properties.setProperty("user", dataSourceProperties.determineUsername());
+        if (dataSourceProperties.determinePassword() != null) {
+            properties.setProperty("password", dataSourceProperties.determinePassword());
+        }
+        properties.setProperty("ApplicationName", APPLICATION_NAME);
+        connection = DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+        return connection;
+    }
+
+    private int fairShare(Connection conn) throws SQLException {
+        int nodes;
+        try (PreparedStatement statement = conn.prepareStatement(
+                "SELECT count(*) FROM pg_stat_activity WHERE application_name = ? AND datname = current_database()")) {
+            statement.setString(1, APPLICATION_NAME);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                nodes = Math.max(1, rs.getInt(1));
+            }
+        }
+        return (jobs.size() + nodes - 1) / nodes;
+    }
+
+    private boolean tryLock(Connection conn, String job) throws SQLException {
+        try (PreparedStatement statement = conn.prepareStatement("SELECT pg_try_advisory_lock(?, ?)")) {
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setInt(2, job.hashCode());
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                if (rs.getBoolean(1)) {
+                    held = plus(held, job);
+                    log.info("Became leader for job {}", job);
+                    return true;
+                }
+                return false;
+            }
+        }
+    }
+
+    private void unlock(Connection conn, String job) throws SQLException {
+        try (PreparedStatement statement = conn.prepareStatement("SELECT pg_advisory_unlock(?, ?)")) {
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setInt(2, job.hashCode());
+            statement.execute();
+        }
+        held = minus(held, job);
+        log.info("Handed back leadership for job {} to rebalance", job);
+    }
+
+    /**
+     * Jobs ordered by a per-node hash, so different nodes prefer different jobs and the
+     * initial assignment is already spread out.
+     */
+    private List<String> preferredOrder() {
+        List<String> ordered = new ArrayList<>(jobs);
+        ordered.sort(Comparator.comparingInt(job -> (job + nodeId).hashCode()));
+        return ordered;
+    }
+
+    private static Set<String> plus(Set<String> held, String job) {
+        Set<String> copy = new HashSet<>(held);
+        copy.add(job);
+        return Set.copyOf(copy);
+    }
+
+    private static Set<String> minus(Set<String> held, String job) {
+        Set<String> copy = new HashSet<>(held);
+        copy.remove(job);
+        return Set.copyOf(copy);
+    }
+
+    private void dropConnection(SQLException e) {
+        log.warn("Scheduler leadership connection failed, releasing all jobs: {}", e.getMessage());
+        held = Set.of();
+        closeQuietly();
+    }
+
+    private void closeQuietly() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // Locks are released with the session either way
+        }
+        connection = null;
+    }
+}
@@ -0,0 +1,14 @@
+-- Transactional outbox: domain events are inserted in the same transaction as the
+-- business change and drained by a relay with FOR UPDATE SKIP LOCKED.
+-- Rows are deleted once relayed, so the table only holds the backlog.
+
+CREATE TABLE outbox (
+    id                BIGSERIAL PRIMARY KEY,
+    event_type        VARCHAR(64) NOT NULL,
+    recipient_user_id VARCHAR(100),
+    payload           JSONB NOT NULL,
+    created_at        TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+COMMENT ON TABLE outbox IS 'Pending domain events (bets, settlements, session changes) awaiting relay to consumers.';
+COMMENT ON COLUMN outbox.recipient_user_id IS 'User the event is private to; NULL for public events.';
@@ -0,0 +1,20 @@
+-- Exposure book: running stake and potential payout per (session, driver).
+-- Maintained with an upsert in the same transaction as each bet placement, so reading the
+-- liability of a session never requires scanning bets.
+CREATE TABLE session_exposure (
+    session_key INT NOT NULL,
+    driver_number INT NOT NULL,
+    bet_count BIGINT NOT NULL,
+    total_stake_cents BIGINT NOT NULL,
+    potential_payout_cents BIGINT NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (session_key, driver_number),
+    CONSTRAINT exposure_non_negative CHECK (bet_count >= 0 AND total_stake_cents >= 0 AND potential_payout_cents >= 0)
+);
+
+-- Backfill from bets placed before the book existed (payout = stake * odds)
+INSERT INTO session_exposure (session_key, driver_number, bet_count, total_stake_cents, potential_payout_cents)
+SELECT session_key, driver_number, COUNT(*), SUM(stake_cents), SUM(stake_cents * odds)
+FROM bets
+GROUP BY session_key, driver_number;
@@ -0,0 +1,16 @@
+-- Running stake per (user, session) so the per-user limit is a conditional upsert on one row
+-- instead of a SUM over the user's bets on every placement.
+CREATE TABLE user_session_stake (
+    user_id VARCHAR(100) NOT NULL REFERENCES users(id),
+    session_key INT NOT NULL,
+    total_stake_cents BIGINT NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (user_id, session_key),
+    CONSTRAINT user_session_stake_non_negative CHECK (total_stake_cents >= 0)
+);
+
+INSERT INTO user_session_stake (user_id, session_key, total_stake_cents)
+SELECT user_id, session_key, SUM(stake_cents)
+FROM bets
+GROUP BY user_id, session_key;
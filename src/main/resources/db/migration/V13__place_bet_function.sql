@@ -0,0 +1,115 @@
+-- Server-side bet placement: the same checks and writes as PlaceBetUseCase's statement-by-statement
+-- path in one call, so locks are held for server-side execution only, not for client round trips.
+--
+-- Business rejections are returned as a status instead of raised, so the caller can map them to
+-- its own exceptions; the caller must roll back on any status other than PLACED (a rejected call
+-- may already have opened the user's account). A lock timeout raises lock_not_available (55P03).
+CREATE OR REPLACE FUNCTION place_bet(
+    p_bet_id UUID,
+    p_user_id VARCHAR(100),
+    p_session_key INT,
+    p_driver_number INT,
+    p_stake_cents BIGINT,
+    p_odds INT,
+    p_idempotency_key VARCHAR(36),
+    p_created_at TIMESTAMP WITH TIME ZONE,
+    p_ledger_entry_id UUID,
+    p_initial_credit_id UUID,
+    p_initial_balance_cents BIGINT,
+    p_max_user_stake_cents BIGINT,
+    p_max_driver_payout_cents BIGINT,
+    p_lock_timeout TEXT
+)
+RETURNS TABLE (
+    status TEXT,
+    balance_cents BIGINT,
+    bet_count BIGINT,
+    total_stake_cents BIGINT,
+    potential_payout_cents BIGINT
+) AS $$
+#variable_conflict use_column
+DECLARE
+    v_balance BIGINT;
+    v_payout BIGINT := p_stake_cents * p_odds;
+    v_inserted INT;
+    v_bet_count BIGINT;
+    v_total_stake BIGINT;
+    v_potential_payout BIGINT;
+BEGIN
+    -- Same lock key and transaction-local timeout as SessionLockService
+    PERFORM set_config('lock_timeout', p_lock_timeout, true);
+    PERFORM pg_advisory_xact_lock(p_session_key::BIGINT);
+
+    IF EXISTS (SELECT 1 FROM event_outcomes o WHERE o.session_key = p_session_key) THEN
+        RETURN QUERY SELECT 'EVENT_SETTLED'::TEXT, NULL::BIGINT, NULL::BIGINT, NULL::BIGINT, NULL::BIGINT;
+        RETURN;
+    END IF;
+
+    SELECT u.balance_cents INTO v_balance FROM users u WHERE u.id = p_user_id FOR UPDATE;
+    IF NOT FOUND THEN
+        INSERT INTO users (id, balance_cents, version, created_at)
+        VALUES (p_user_id, p_initial_balance_cents, 0, p_created_at)
+        ON CONFLICT (id) DO NOTHING;
+        GET DIAGNOSTICS v_inserted = ROW_COUNT;
+        IF v_inserted = 1 THEN
+            INSERT INTO ledger_entries (id, user_id, entry_type, amount_cents, balance_after_cents, reference_id, created_at)
+            VALUES (p_initial_credit_id, p_user_id, 'INITIAL_CREDIT', p_initial_balance_cents, p_initial_balance_cents,
+                    NULL, p_created_at);
+        END IF;
+        SELECT u.balance_cents INTO v_balance FROM users u WHERE u.id = p_user_id FOR UPDATE;
+    END IF;
+
+    IF v_balance < p_stake_cents THEN
+        RETURN QUERY SELECT 'INSUFFICIENT_BALANCE'::TEXT, v_balance, NULL::BIGINT, NULL::BIGINT, NULL::BIGINT;
+        RETURN;
+    END IF;
+
+    -- Limits: identical guarded upserts to JdbcExposureRepository, user row first
+    INSERT INTO user_session_stake AS s (user_id, session_key, total_stake_cents)
+    SELECT p_user_id, p_session_key, p_stake_cents
+    WHERE p_stake_cents <= p_max_user_stake_cents
+    ON CONFLICT (user_id, session_key) DO UPDATE SET
+        total_stake_cents = s.total_stake_cents + EXCLUDED.total_stake_cents,
+        updated_at = CURRENT_TIMESTAMP
+    WHERE s.total_stake_cents + EXCLUDED.total_stake_cents <= p_max_user_stake_cents;
+    IF NOT FOUND THEN
+        RETURN QUERY SELECT 'USER_STAKE_LIMIT'::TEXT, v_balance, NULL::BIGINT, NULL::BIGINT, NULL::BIGINT;
+        RETURN;
+    END IF;
+
+    INSERT INTO session_exposure AS e
+        (session_key, driver_number, bet_count, total_stake_cents, potential_payout_cents)
+    SELECT p_session_key, p_driver_number, 1, p_stake_cents, v_payout
+    WHERE v_payout <= p_max_driver_payout_cents
+    ON CONFLICT (session_key, driver_number) DO UPDATE SET
+        bet_count = e.bet_count + 1,
+        total_stake_cents = e.total_stake_cents + EXCLUDED.total_stake_cents,
+        potential_payout_cents = e.potential_payout_cents + EXCLUDED.potential_payout_cents,
+        updated_at = CURRENT_TIMESTAMP
+    WHERE e.potential_payout_cents + EXCLUDED.potential_payout_cents <= p_max_driver_payout_cents
+    RETURNING e.bet_count, e.total_stake_cents, e.potential_payout_cents
+    INTO v_bet_count, v_total_stake, v_potential_payout;
+    IF NOT FOUND THEN
+        RETURN QUERY SELECT 'DRIVER_PAYOUT_LIMIT'::TEXT, v_balance, NULL::BIGINT, NULL::BIGINT, NULL::BIGINT;
+        RETURN;
+    END IF;
+
+    INSERT INTO bets (id, user_id, session_key, driver_number, stake_cents, odds, status, created_at, idempotency_key)
+    VALUES (p_bet_id, p_user_id, p_session_key, p_driver_number, p_stake_cents, p_odds, 'PENDING', p_created_at,
+            p_idempotency_key);
+
+    UPDATE users u
+    SET balance_cents = u.balance_cents - p_stake_cents,
+        version = u.version + 1
+    WHERE u.id = p_user_id;
+
+    INSERT INTO ledger_entries (id, user_id, entry_type, amount_cents, balance_after_cents, reference_id, created_at)
+    VALUES (p_ledger_entry_id, p_user_id, 'BET_PLACED', -p_stake_cents, v_balance - p_stake_cents, p_bet_id::TEXT,
+            p_created_at);
+
+    RETURN QUERY SELECT 'PLACED'::TEXT, v_balance - p_stake_cents, v_bet_count, v_total_stake, v_potential_payout;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION place_bet IS
+    'Places one bet atomically (lock, checks, exposure limits, bet, balance, ledger); returns PLACED or a rejection status.';
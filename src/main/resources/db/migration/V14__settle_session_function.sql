@@ -0,0 +1,99 @@
+-- Set-based settlement: settles every pending bet of a session in a fixed number of statements
+-- instead of SettleEventUseCase's per-bet loop, so no bet rows leave the database.
+--
+-- The caller holds the session lock and has already recorded the event outcome. Results must
+-- match the Java engine row for row: bets of a user are applied in (created_at, id) order, users
+-- in ascending id order (binary collation, like Java's String ordering), and each ledger row
+-- carries the balance right after its bet. One user.bet.updated outbox event is written per bet,
+-- in the same shape OutboxEventCodec produces.
+CREATE OR REPLACE FUNCTION settle_session(
+    p_session_key INT,
+    p_winning_driver_number INT,
+    p_settled_at TIMESTAMP WITH TIME ZONE
+)
+RETURNS TABLE (
+    total_bets BIGINT,
+    winning_bets BIGINT,
+    total_payout_cents BIGINT
+) AS $$
+#variable_conflict use_column
+DECLARE
+    v_total_bets BIGINT;
+    v_winning_bets BIGINT;
+    v_total_payout BIGINT;
+BEGIN
+    -- Lock accounts in the same order as the Java engine and batched placements, so the
+    -- aggregated UPDATE below cannot deadlock with them
+    PERFORM 1
+    FROM users u
+    WHERE u.id IN (SELECT b.user_id FROM bets b WHERE b.session_key = p_session_key AND b.status = 'PENDING')
+    ORDER BY u.id COLLATE "C"
+    FOR UPDATE;
+
+    -- All parts of this statement see the balances as they were before the credit, which is
+    -- what the running sum in the ledger insert starts from
+    WITH settled AS (
+        UPDATE bets b
+        SET status = CASE WHEN b.driver_number = p_winning_driver_number THEN 'WON' ELSE 'LOST' END,
+            settled_at = p_settled_at
+        WHERE b.session_key = p_session_key
+          AND b.status = 'PENDING'
+        RETURNING b.id, b.user_id, b.status, b.created_at,
+                  CASE WHEN b.status = 'WON' THEN b.stake_cents * b.odds ELSE 0 END AS payout_cents
+    ),
+    credited AS (
+        UPDATE users u
+        SET balance_cents = u.balance_cents + w.payout_cents,
+            -- One version step per credited bet, as the Java engine saves the account once per win
+            version = u.version + w.credits
+        FROM (
+            SELECT s.user_id, SUM(s.payout_cents) AS payout_cents, COUNT(*) AS credits
+            FROM settled s
+            WHERE s.status = 'WON'
+            GROUP BY s.user_id
+        ) w
+        WHERE u.id = w.user_id
+        RETURNING u.id
+    ),
+    ledger AS (
+        INSERT INTO ledger_entries (id, user_id, entry_type, amount_cents, balance_after_cents, reference_id, created_at)
+        SELECT gen_random_uuid(),
+               s.user_id,
+               CASE WHEN s.status = 'WON' THEN 'BET_WON' ELSE 'BET_LOST' END,
+               s.payout_cents,
+               u.balance_cents + SUM(s.payout_cents) OVER per_user,
+               s.id::TEXT,
+               -- One microsecond apart, so a user's history sorted by created_at keeps the
+               -- running-balance order
+               p_settled_at + (ROW_NUMBER() OVER per_user - 1) * INTERVAL '1 microsecond'
+        FROM settled s
+        JOIN users u ON u.id = s.user_id
+        WINDOW per_user AS (PARTITION BY s.user_id ORDER BY s.created_at, s.id ROWS UNBOUNDED PRECEDING)
+        RETURNING user_id, entry_type, balance_after_cents, reference_id, created_at
+    ),
+    events AS (
+        INSERT INTO outbox (event_type, recipient_user_id, payload)
+        SELECT 'user.bet.updated',
+               l.user_id,
+               jsonb_build_object(
+                   'userId', l.user_id,
+                   'betId', l.reference_id,
+                   'sessionKey', p_session_key,
+                   'status', CASE WHEN l.entry_type = 'BET_WON' THEN 'WON' ELSE 'LOST' END,
+                   'balanceCents', l.balance_after_cents)
+        FROM ledger l
+        ORDER BY l.user_id COLLATE "C", l.created_at
+        RETURNING id
+    )
+    SELECT COUNT(*),
+           COUNT(*) FILTER (WHERE s.status = 'WON'),
+           COALESCE(SUM(s.payout_cents), 0)
+    INTO v_total_bets, v_winning_bets, v_total_payout
+    FROM settled s;
+
+    RETURN QUERY SELECT v_total_bets, v_winning_bets, v_total_payout;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION settle_session IS
+    'Settles all pending bets of a session set-based (bets, balances, ledger, bet events); returns the totals.';
@@ -0,0 +1,16 @@
+-- Typed bet reference on the ledger. reference_id holds the bet id as text for bet entries,
+-- which cannot be indexed usefully for UUID lookups; bet_id carries the same value as a UUID.
+--
+-- A stored generated column is backfilled by the table rewrite of this ALTER and stays in
+-- sync for every writer (JPA, place_bet, settle_session) without touching the append-only
+-- guard, which forbids the UPDATE a manual backfill would need.
+ALTER TABLE ledger_entries ADD COLUMN bet_id UUID GENERATED ALWAYS AS (
+    CASE WHEN entry_type IN ('BET_PLACED', 'BET_WON', 'BET_LOST') THEN reference_id::UUID END
+) STORED;
+
+-- Idempotent replay reads the balance right after a bet's placement: one index-only lookup
+CREATE INDEX idx_ledger_bet_placed ON ledger_entries(bet_id)
+    INCLUDE (balance_after_cents)
+    WHERE entry_type = 'BET_PLACED';
+
+COMMENT ON COLUMN ledger_entries.bet_id IS 'Bet the entry belongs to (BET_* entries); generated from reference_id.';
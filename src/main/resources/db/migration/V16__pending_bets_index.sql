@@ -0,0 +1,11 @@
+-- Settlement only ever reads the PENDING bets of a session, while most rows in bets are already
+-- WON or LOST. idx_bets_session_status indexes all of them, so a hot session's settlement walks
+-- entries (and heap pages) of bets that will never be settled again.
+--
+-- The partial index holds PENDING bets only and covers the columns settlement works with, so
+-- reads that need no row lock (settle_session's account-lock step) are index-only, and the
+-- locking read of the Java engine visits the heap of pending bets only. Queries must spell the
+-- status as a literal for generic plans to match the predicate.
+CREATE INDEX idx_bets_session_pending ON bets(session_key)
+    INCLUDE (user_id, driver_number, stake_cents, odds)
+    WHERE status = 'PENDING';
@@ -0,0 +1,118 @@
+-- Monthly range partitions for the append-only ledger.
+--
+-- ledger_entries only ever grows, so its indexes and vacuum work grow with it. Partitioned by
+-- created_at, recent-history reads bounded by time touch only the newest partitions, and each
+-- month's indexes stay small and stop changing once the month is over.
+--
+-- The existing rows are copied once into the new table inside this migration.
+
+-- Creates the missing monthly partitions (UTC months) from the month containing p_from for
+-- p_months months. Idempotent; the ledger partition job calls it ahead of time, since an
+-- insert for a month without a partition fails. Returns the number of partitions created.
+CREATE OR REPLACE FUNCTION create_ledger_partitions(p_from TIMESTAMP WITH TIME ZONE, p_months INT)
+RETURNS INT AS $$
+DECLARE
+    v_month TIMESTAMP;
+    v_name TEXT;
+    v_created INT := 0;
+BEGIN
+    FOR i IN 0 .. p_months - 1 LOOP
+        v_month := date_trunc('month', p_from AT TIME ZONE 'UTC') + make_interval(months => i);
+        v_name := 'ledger_entries_' || to_char(v_month, 'YYYY_MM');
+        IF to_regclass(v_name) IS NULL THEN
+            EXECUTE format(
+                'CREATE TABLE IF NOT EXISTS %I PARTITION OF ledger_entries FOR VALUES FROM (%L) TO (%L)',
+                v_name,
+                v_month AT TIME ZONE 'UTC',
+                (v_month + INTERVAL '1 month') AT TIME ZONE 'UTC');
+            v_created := v_created + 1;
+        END IF;
+    END LOOP;
+    RETURN v_created;
+END;
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE ledger_entries RENAME TO ledger_entries_unpartitioned;
+ALTER INDEX ledger_entries_pkey RENAME TO ledger_entries_unpartitioned_pkey;
+
+-- The primary key of a partitioned table has to include the partition key; ids are UUIDs
+-- generated by the service, so (id, created_at) is as unique as id alone
+CREATE TABLE ledger_entries (
+    id UUID NOT NULL,
+    user_id VARCHAR(100) NOT NULL REFERENCES users(id),
+    entry_type VARCHAR(20) NOT NULL,
+    amount_cents BIGINT NOT NULL,
+    balance_after_cents BIGINT NOT NULL,
+    reference_id VARCHAR(100),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    bet_id UUID GENERATED ALWAYS AS (
+        CASE WHEN entry_type IN ('BET_PLACED', 'BET_WON', 'BET_LOST') THEN reference_id::UUID END
+    ) STORED,
+
+    PRIMARY KEY (id, created_at),
+    CONSTRAINT entry_type_valid CHECK (entry_type IN
+        ('INITIAL_CREDIT', 'BET_PLACED', 'BET_WON', 'BET_LOST'))
+) PARTITION BY RANGE (created_at);
+
+-- The current month and the next three, plus every month that already has entries
+SELECT create_ledger_partitions(NOW(), 4);
+SELECT create_ledger_partitions(month, 1)
+FROM (SELECT DISTINCT date_trunc('month', created_at AT TIME ZONE 'UTC') AT TIME ZONE 'UTC' AS month
+      FROM ledger_entries_unpartitioned) months;
+
+INSERT INTO ledger_entries (id, user_id, entry_type, amount_cents, balance_after_cents, reference_id, created_at)
+SELECT id, user_id, entry_type, amount_cents, balance_after_cents, reference_id, created_at
+FROM ledger_entries_unpartitioned;
+
+DROP TABLE ledger_entries_unpartitioned;
+
+-- Indexes are created on every partition, present and future. idx_ledger_user and
+-- idx_ledger_created are not recreated: user_id leads idx_ledger_user_created, and time
+-- ranges are served by partition pruning.
+CREATE INDEX idx_ledger_user_created ON ledger_entries(user_id, created_at DESC);
+
+CREATE INDEX idx_ledger_bet_placed ON ledger_entries(bet_id)
+    INCLUDE (balance_after_cents)
+    WHERE entry_type = 'BET_PLACED';
+
+-- A unique index on a partitioned table must contain created_at, which would make the one
+-- initial credit per user rule per month. It is checked by a trigger instead, serialized on
+-- the user row (account creation inserts the user and the credit in one statement).
+CREATE INDEX idx_ledger_initial_credit ON ledger_entries(user_id)
+    WHERE entry_type = 'INITIAL_CREDIT';
+
+CREATE OR REPLACE FUNCTION prevent_second_initial_credit()
+RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM 1 FROM users WHERE id = NEW.user_id FOR UPDATE;
+    IF EXISTS (SELECT 1 FROM ledger_entries WHERE user_id = NEW.user_id AND entry_type = 'INITIAL_CREDIT') THEN
+        RAISE EXCEPTION 'User % already received an initial credit', NEW.user_id
+            USING ERRCODE = 'unique_violation', CONSTRAINT = 'ledger_one_initial_credit_per_user';
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER ledger_one_initial_credit_per_user
+    BEFORE INSERT ON ledger_entries
+    FOR EACH ROW
+    WHEN (NEW.entry_type = 'INITIAL_CREDIT')
+    EXECUTE FUNCTION prevent_second_initial_credit();
+
+-- Row triggers on the partitioned table are cloned onto every partition, including the ones
+-- created later by create_ledger_partitions
+CREATE TRIGGER ledger_immutability_guard
+    BEFORE UPDATE OR DELETE ON ledger_entries
+    FOR EACH ROW
+    EXECUTE FUNCTION prevent_ledger_modification();
+
+COMMENT ON TABLE ledger_entries IS
+    'Append-only audit trail, partitioned by month of created_at. Updates and deletes blocked by trigger for betting compliance.';
+
+COMMENT ON TRIGGER ledger_immutability_guard ON ledger_entries IS
+    'Security control: prevents tampering with financial audit trail.';
+
+COMMENT ON TRIGGER ledger_one_initial_credit_per_user ON ledger_entries IS
+    'Ensures each user receives exactly one initial credit, preventing race condition exploits.';
+
+COMMENT ON COLUMN ledger_entries.bet_id IS 'Bet the entry belongs to (BET_* entries); generated from reference_id.';
@@ -0,0 +1,6 @@
+-- Registers the bets created before V18. A plain read of bets, so placements keep running; the
+-- ones they create meanwhile are registered by the trigger and skipped here.
+INSERT INTO bet_keys (id, idempotency_key)
+SELECT id, idempotency_key
+FROM bets
+ON CONFLICT DO NOTHING;
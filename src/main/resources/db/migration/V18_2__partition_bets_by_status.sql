@@ -0,0 +1,91 @@
+-- Bets partitioned by status: PENDING bets in bets_pending, WON and LOST in bets_settled.
+--
+-- Pending bets are the race-day working set; settled bets are only read for history. In one
+-- table they share indexes and buffer cache, so the hot pages are diluted by cold ones. As
+-- partitions, reads with a status (settlement, the pending index of V16) touch bets_pending
+-- only, and settlement moves each bet into bets_settled as part of its UPDATE.
+--
+-- Online-friendliness for a large table: the existing table becomes bets_settled in place.
+-- Only the pending rows are copied; settled rows are not rewritten and their indexes are
+-- attached, not rebuilt. ATTACH PARTITION would still scan bets_settled under its lock to
+-- check that no pending row is left, so this step only adds that check as a NOT VALID
+-- constraint; V18_3 vacuums and validates it outside a transaction and V18_4 attaches without
+-- a scan. Until V18_4, bets holds the pending partition only: history reads miss settled bets
+-- and settlement fails, so settlement should not run while the migration does.
+--
+-- Ids and idempotency keys are unique per partition only; bet_keys (V18) keeps them unique
+-- across partitions. Ids keep their value when a bet moves.
+
+ALTER TABLE bets RENAME TO bets_settled;
+ALTER INDEX bets_pkey RENAME TO bets_settled_pkey;
+ALTER INDEX idx_bets_user RENAME TO idx_bets_settled_user;
+ALTER INDEX idx_bets_session_status RENAME TO idx_bets_settled_session;
+ALTER INDEX ux_bets_idempotency_key RENAME TO ux_bets_settled_idempotency_key;
+DROP INDEX idx_bets_session_pending;
+DROP TRIGGER enforce_no_bet_on_settled ON bets_settled;
+DROP TRIGGER register_bet_key ON bets_settled;
+
+-- Column list and constraint names as in bets_settled, which ATTACH PARTITION requires
+CREATE TABLE bets (
+    id UUID NOT NULL,
+    user_id VARCHAR(100) NOT NULL REFERENCES users(id),
+    session_key INT NOT NULL,
+    driver_number INT NOT NULL,
+    stake_cents BIGINT NOT NULL,
+    odds INT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    settled_at TIMESTAMP WITH TIME ZONE,
+    idempotency_key VARCHAR(36),
+
+    CONSTRAINT stake_positive CHECK (stake_cents > 0),
+    CONSTRAINT stake_max CHECK (stake_cents <= 1000000),
+    CONSTRAINT odds_valid CHECK (odds IN (2, 3, 4)),
+    CONSTRAINT status_valid CHECK (status IN ('PENDING', 'WON', 'LOST'))
+) PARTITION BY LIST (status);
+
+-- Bet history by user; matches the existing index of bets_settled, which is attached as is
+CREATE INDEX idx_bets_user ON bets(user_id);
+
+-- Small and hot: settled rows leave by row movement, so vacuum it early
+CREATE TABLE bets_pending PARTITION OF bets FOR VALUES IN ('PENDING')
+    WITH (autovacuum_vacuum_scale_factor = 0.01, autovacuum_analyze_scale_factor = 0.02);
+ALTER TABLE bets_pending ADD CONSTRAINT bets_pending_pkey PRIMARY KEY (id);
+CREATE UNIQUE INDEX ux_bets_pending_idempotency_key ON bets_pending(idempotency_key)
+    WHERE idempotency_key IS NOT NULL;
+-- Replaces the index of V16. The predicate holds for every row here, but it lets the planner
+-- drop the status condition of settlement queries, which keeps their reads index-only
+CREATE INDEX idx_bets_session_pending ON bets_pending(session_key)
+    INCLUDE (user_id, driver_number, stake_cents, odds)
+    WHERE status = 'PENDING';
+
+INSERT INTO bets (id, user_id, session_key, driver_number, stake_cents, odds, status, created_at,
+                  settled_at, idempotency_key)
+SELECT id, user_id, session_key, driver_number, stake_cents, odds, status, created_at,
+       settled_at, idempotency_key
+FROM bets_settled
+WHERE status = 'PENDING';
+
+DELETE FROM bets_settled WHERE status = 'PENDING';
+
+-- Enforced for new rows right away; validated by V18_3
+ALTER TABLE bets_settled ADD CONSTRAINT bets_settled_status_settled
+    CHECK (status IN ('WON', 'LOST')) NOT VALID;
+
+-- Settled rows are written once and never updated again
+ALTER TABLE bets_settled SET (fillfactor = 100);
+
+-- Only placements are checked and registered; settlement moves rows into bets_settled as
+-- inserts, which would otherwise trip over the event outcome recorded just before and
+-- register the bet a second time. Created after the copy above, whose bets are already registered
+CREATE TRIGGER enforce_no_bet_on_settled
+    BEFORE INSERT ON bets
+    FOR EACH ROW
+    WHEN (NEW.status = 'PENDING')
+    EXECUTE FUNCTION prevent_bet_on_settled_event();
+
+CREATE TRIGGER register_bet_key
+    BEFORE INSERT ON bets
+    FOR EACH ROW
+    WHEN (NEW.status = 'PENDING')
+    EXECUTE FUNCTION register_bet_key();
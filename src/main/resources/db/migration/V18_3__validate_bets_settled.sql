@@ -0,0 +1,12 @@
+-- Runs outside a transaction (see the .conf file), so neither step holds the locks of V18_2.
+--
+-- VACUUM reclaims the pending rows V18_2 deleted: they are the newest rows, so the pages at the
+-- end of the table are truncated and the remaining holes are recorded as free space for the
+-- bets settlement moves in. Without it they stay dead tuples in a table that is not updated
+-- again and would wait for autovacuum.
+--
+-- VALIDATE scans bets_settled under a SHARE UPDATE EXCLUSIVE lock, which does not block reads
+-- or writes. Once the constraint is valid, ATTACH PARTITION (V18_4) needs no scan of its own.
+VACUUM (ANALYZE) bets_settled;
+
+ALTER TABLE bets_settled VALIDATE CONSTRAINT bets_settled_status_settled;
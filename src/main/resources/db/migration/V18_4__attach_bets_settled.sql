@@ -0,0 +1,5 @@
+-- Attaches the settled bets. The validated constraint of V18_3 implies the partition bound, so
+-- this is a catalog change without a scan; the partition bound makes the constraint redundant.
+ALTER TABLE bets ATTACH PARTITION bets_settled FOR VALUES IN ('WON', 'LOST');
+
+ALTER TABLE bets_settled DROP CONSTRAINT bets_settled_status_settled;
@@ -0,0 +1,31 @@
+-- Table-wide uniqueness of bet ids and idempotency keys, ahead of partitioning bets by status
+-- (V18_2). Unique indexes of a partitioned table must contain the partition key, so once bets is
+-- partitioned its id and idempotency_key indexes only cover one partition each: a key whose bet
+-- has been settled would be accepted again for a new PENDING bet once its idempotency_keys row
+-- has expired, in any session that is still open.
+--
+-- bet_keys records every bet as it is created. Bets are always created PENDING and never
+-- deleted; rows inserted as WON or LOST are settlement moving a bet between partitions, which
+-- must not register it again. Created on the unpartitioned table first, so the backfill in
+-- V18_1 runs while its unique indexes still cover every bet.
+
+CREATE TABLE bet_keys (
+    id UUID PRIMARY KEY,
+    idempotency_key VARCHAR(36) UNIQUE
+);
+
+CREATE OR REPLACE FUNCTION register_bet_key()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO bet_keys (id, idempotency_key) VALUES (NEW.id, NEW.idempotency_key);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER register_bet_key
+    BEFORE INSERT ON bets
+    FOR EACH ROW
+    WHEN (NEW.status = 'PENDING')
+    EXECUTE FUNCTION register_bet_key();
+
+COMMENT ON TABLE bet_keys IS 'Id and idempotency key of every bet, unique across all bet partitions.';
@@ -0,0 +1,14 @@
+-- Per-user running aggregates of the ledger for the nightly reconciliation job, so a run only
+-- reads entries created after the previous run's checkpoint instead of each user's full history.
+--
+-- Rows are derived data and can be deleted at any time; the next run rebuilds them from the
+-- ledger. (last_created_at, last_entry_id) is the position of the newest entry folded in.
+CREATE TABLE ledger_reconciliation_checkpoints (
+    user_id VARCHAR(100) PRIMARY KEY REFERENCES users(id),
+    ledger_sum_cents BIGINT NOT NULL,
+    entry_count BIGINT NOT NULL,
+    last_created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    last_entry_id UUID NOT NULL,
+    last_balance_after_cents BIGINT NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
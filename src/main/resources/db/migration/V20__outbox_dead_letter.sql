@@ -0,0 +1,15 @@
+-- Outbox rows the relay could not decode (unknown event type or a payload that no longer
+-- matches the event class). They are moved here in the claiming transaction instead of being
+-- relayed, so one bad row cannot block the outbox; nothing reads this table automatically.
+
+CREATE TABLE outbox_dead_letter (
+    id                BIGINT PRIMARY KEY,
+    event_type        VARCHAR(64) NOT NULL,
+    recipient_user_id VARCHAR(100),
+    payload           JSONB NOT NULL,
+    created_at        TIMESTAMP WITH TIME ZONE NOT NULL,
+    failed_at         TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    error             TEXT NOT NULL
+);
+
+COMMENT ON TABLE outbox_dead_letter IS 'Undecodable outbox events, kept for inspection; id is the original outbox id.';
@@ -0,0 +1,113 @@
+-- Time-ordered ids for settlement ledger rows. Ledger ids written from Java are UUIDv7
+-- (UuidV7), but settle_session drew random v4 ids, so every settlement scattered its inserts
+-- across the primary key index instead of appending to its right edge.
+--
+-- uuid_v7() builds the same layout in SQL: the 48-bit Unix time in milliseconds from
+-- clock_timestamp() followed by random bits, with the version nibble set to 7 and the RFC 9562
+-- variant kept from gen_random_uuid(). Ids are ordered to the millisecond only; unlike UuidV7
+-- there is no sequence within a millisecond, which the index does not need.
+CREATE OR REPLACE FUNCTION uuid_v7()
+RETURNS UUID AS $$
+    SELECT encode(
+        set_bit(set_bit(
+            overlay(uuid_send(gen_random_uuid())
+                PLACING substring(int8send(floor(EXTRACT(EPOCH FROM clock_timestamp()) * 1000)::BIGINT) FROM 3)
+                FROM 1 FOR 6),
+            52, 1), 53, 1),
+        'hex')::UUID;
+$$ LANGUAGE sql VOLATILE;
+
+COMMENT ON FUNCTION uuid_v7 IS 'UUIDv7: Unix milliseconds from clock_timestamp() followed by random bits.';
+
+-- settle_session as in V14, with ledger ids from uuid_v7()
+CREATE OR REPLACE FUNCTION settle_session(
+    p_session_key INT,
+    p_winning_driver_number INT,
+    p_settled_at TIMESTAMP WITH TIME ZONE
+)
+RETURNS TABLE (
+    total_bets BIGINT,
+    winning_bets BIGINT,
+    total_payout_cents BIGINT
+) AS $$
+#variable_conflict use_column
+DECLARE
+    v_total_bets BIGINT;
+    v_winning_bets BIGINT;
+    v_total_payout BIGINT;
+BEGIN
+    -- Lock accounts in the same order as the Java engine and batched placements, so the
+    -- aggregated UPDATE below cannot deadlock with them
+    PERFORM 1
+    FROM users u
+    WHERE u.id IN (SELECT b.user_id FROM bets b WHERE b.session_key = p_session_key AND b.status = 'PENDING')
+    ORDER BY u.id COLLATE "C"
+    FOR UPDATE;
+
+    -- All parts of this statement see the balances as they were before the credit, which is
+    -- what the running sum in the ledger insert starts from
+    WITH settled AS (
+        UPDATE bets b
+        SET status = CASE WHEN b.driver_number = p_winning_driver_number THEN 'WON' ELSE 'LOST' END,
+            settled_at = p_settled_at
+        WHERE b.session_key = p_session_key
+          AND b.status = 'PENDING'
+        RETURNING b.id, b.user_id, b.status, b.created_at,
+                  CASE WHEN b.status = 'WON' THEN b.stake_cents * b.odds ELSE 0 END AS payout_cents
+    ),
+    credited AS (
+        UPDATE users u
+        SET balance_cents = u.balance_cents + w.payout_cents,
+            -- One version step per credited bet, as the Java engine saves the account once per win
+            version = u.version + w.credits
+        FROM (
+            SELECT s.user_id, SUM(s.payout_cents) AS payout_cents, COUNT(*) AS credits
+            FROM settled s
+            WHERE s.status = 'WON'
+            GROUP BY s.user_id
+        ) w
+        WHERE u.id = w.user_id
+        RETURNING u.id
+    ),
+    ledger AS (
+        INSERT INTO ledger_entries (id, user_id, entry_type, amount_cents, balance_after_cents, reference_id, created_at)
+        SELECT uuid_v7(),
+               s.user_id,
+               CASE WHEN s.status = 'WON' THEN 'BET_WON' ELSE 'BET_LOST' END,
+               s.payout_cents,
+               u.balance_cents + SUM(s.payout_cents) OVER per_user,
+               s.id::TEXT,
+               -- One microsecond apart, so a user's history sorted by created_at keeps the
+               -- running-balance order
+               p_settled_at + (ROW_NUMBER() OVER per_user - 1) * INTERVAL '1 microsecond'
+        FROM settled s
+        JOIN users u ON u.id = s.user_id
+        WINDOW per_user AS (PARTITION BY s.user_id ORDER BY s.created_at, s.id ROWS UNBOUNDED PRECEDING)
+        RETURNING user_id, entry_type, balance_after_cents, reference_id, created_at
+    ),
+    events AS (
+        INSERT INTO outbox (event_type, recipient_user_id, payload)
+        SELECT 'user.bet.updated',
+               l.user_id,
+               jsonb_build_object(
+                   'userId', l.user_id,
+                   'betId', l.reference_id,
+                   'sessionKey', p_session_key,
+                   'status', CASE WHEN l.entry_type = 'BET_WON' THEN 'WON' ELSE 'LOST' END,
+                   'balanceCents', l.balance_after_cents)
+        FROM ledger l
+        ORDER BY l.user_id COLLATE "C", l.created_at
+        RETURNING id
+    )
+    SELECT COUNT(*),
+           COUNT(*) FILTER (WHERE s.status = 'WON'),
+           COALESCE(SUM(s.payout_cents), 0)
+    INTO v_total_bets, v_winning_bets, v_total_payout
+    FROM settled s;
+
+    RETURN QUERY SELECT v_total_bets, v_winning_bets, v_total_payout;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION settle_session IS
+    'Settles all pending bets of a session set-based (bets, balances, ledger, bet events); returns the totals.';
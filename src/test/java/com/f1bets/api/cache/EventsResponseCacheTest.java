@@ -0,0 +1,114 @@
+package com.f1bets.api.cache;
+
+import com.f1bets.application.dto.EventWithDrivers;
+import com.f1bets.application.dto.SessionQuery;
+import com.f1bets.application.service.OperationMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventsResponseCacheTest {
+
+    private final SessionQuery query = SessionQuery.of("Race", 2024, null);
+
+    private ObjectMapper objectMapper;
+    private EventsResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        cache = new EventsResponseCache(objectMapper, new OperationMetrics(new SimpleMeterRegistry()), 60);
+    }
+
+    @Nested
+    @DisplayName("Serialization reuse")
+    class SerializationReuse {
+
+        @Test
+        @DisplayName("should reuse bytes while the provider returns the same list instance")
+        void shouldReuseForSameInstance() {
+            List<EventWithDrivers> events = List.of(event(9472));
+
+            var first = cache.get(query, events);
+            var second = cache.get(query, events);
+
+            assertSame(first, second);
+        }
+
+        @Test
+        @DisplayName("should reserialize when the provider refreshed its list")
+        void shouldReserializeOnRefresh() {
+            var first = cache.get(query, List.of(event(9472)));
+            var refreshed = cache.get(query, List.of(event(9158)));
+
+            assertNotSame(first, refreshed);
+            assertNotEquals(first.etag(), refreshed.etag());
+        }
+
+        @Test
+        @DisplayName("should produce the same strong ETag for identical content")
+        void shouldProduceStableEtag() {
+            var first = cache.get(query, new ArrayList<>(List.of(event(9472))));
+            var second = cache.get(query, new ArrayList<>(List.of(event(9472))));
+
+            assertEquals(first.etag(), second.etag());
+            assertTrue(first.etag().startsWith("\"") && first.etag().endsWith("\""));
+        }
+    }
+
+    @Nested
+    @DisplayName("Representations")
+    class Representations {
+
+        @Test
+        @DisplayName("should store gzip bytes that decode to the plain JSON")
+        void shouldStoreMatchingGzip() throws IOException {
+            var serialized = cache.get(query, List.of(event(9472)));
+
+            byte[] decoded;
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(serialized.gzip()))) {
+                decoded = in.readAllBytes();
+            }
+
+            assertArrayEquals(serialized.json(), decoded);
+            assertTrue(objectMapper.readTree(serialized.json()).get(0).has("drivers"));
+        }
+
+        @Test
+        @DisplayName("should match If-None-Match lists, weak form and wildcard")
+        void shouldMatchIfNoneMatch() {
+            var serialized = cache.get(query, List.of(event(9472)));
+
+            assertTrue(serialized.matches(serialized.etag()));
+            assertTrue(serialized.matches("\"other\", " + serialized.etag()));
+            assertTrue(serialized.matches("W/" + serialized.etag()));
+            assertTrue(serialized.matches("*"));
+            assertFalse(serialized.matches("\"other\""));
+            assertFalse(serialized.matches(null));
+        }
+    }
+
+    private static EventWithDrivers event(int sessionKey) {
+        return new EventWithDrivers(
+            sessionKey, "Race", "Race", "Silverstone", "Great Britain", "GBR",
+            Instant.parse("2024-07-07T14:00:00Z"), Instant.parse("2024-07-07T16:00:00Z"), 2024,
+            List.of(new EventWithDrivers.DriverInfo(44, "Lewis Hamilton", "Mercedes", 3))
+        );
+    }
+}
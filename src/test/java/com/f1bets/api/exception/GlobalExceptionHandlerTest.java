@@ -1,6 +1,8 @@
 package com.f1bets.api.exception;
 
 import com.f1bets.api.dto.response.ErrorResponse;
+import com.f1bets.domain.exception.SessionLockTimeoutException;
+import com.f1bets.domain.model.SessionKey;
 import io.github.resilience4j.ratelimiter.RequestNotPermitted;
 import io.github.resilience4j.ratelimiter.RateLimiter;
 import io.github.resilience4j.ratelimiter.RateLimiterConfig;
@@ -12,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -78,4 +81,24 @@ class GlobalExceptionHandlerTest {
             assertEquals("/api/v1/events", response.getBody().path());
         }
     }
+
+    @Nested
+    @DisplayName("Lock timeout handling")
+    class LockTimeoutHandling {
+
+        @Test
+        @DisplayName("should return 503 with Retry-After rounded up from the lock budget")
+        void shouldReturn503WithRetryAfter() {
+            when(request.getRequestURI()).thenReturn("/api/v1/bets");
+            SessionLockTimeoutException exception =
+                new SessionLockTimeoutException(SessionKey.of(9472), Duration.ofMillis(1500), null);
+
+            ResponseEntity<ErrorResponse> response = handler.handleSessionLockTimeout(exception, request);
+
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+            assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+            assertEquals(503, response.getBody().status());
+            assertFalse(response.getBody().message().contains("9472"));
+        }
+    }
 }
@@ -0,0 +1,76 @@
+package com.f1bets.api.stream;
+
+import com.f1bets.application.event.EventSettled;
+import com.f1bets.application.event.UserBetUpdated;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamBroadcasterTest {
+
+    private SimpleMeterRegistry registry;
+    private StreamBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        broadcaster = new StreamBroadcaster(new ObjectMapper(), registry, 4, 2, 1, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Nested
+    @DisplayName("Subscription capacity")
+    class SubscriptionCapacity {
+
+        @Test
+        @DisplayName("should refuse subscribers beyond the configured maximum")
+        void shouldRefuseBeyondMaximum() {
+            assertTrue(broadcaster.subscribe(null).isPresent());
+            assertTrue(broadcaster.subscribe("user-1").isPresent());
+
+            Optional<SseEmitter> refused = broadcaster.subscribe("user-2");
+
+            assertTrue(refused.isEmpty());
+            assertEquals(2, broadcaster.subscriberCount());
+            assertEquals(2.0, registry.get("f1bets.stream.subscribers").gauge().value());
+        }
+    }
+
+    @Nested
+    @DisplayName("Fan-out")
+    class FanOut {
+
+        @Test
+        @DisplayName("should accept public and user-scoped events without subscribers")
+        void shouldAcceptEventsWithoutSubscribers() {
+            assertDoesNotThrow(() -> {
+                broadcaster.onDomainEvent(new EventSettled(9472, 44, 1, 1, 2000));
+                broadcaster.onDomainEvent(new UserBetUpdated("nobody", UUID.randomUUID(), 9472, "WON", 2500));
+                broadcaster.heartbeat();
+            });
+        }
+
+        @Test
+        @DisplayName("should expose user routing on the event itself")
+        void shouldRouteUserEventsByRecipient() {
+            assertNull(new EventSettled(9472, 44, 1, 1, 2000).recipientUserId());
+            assertEquals("user-1",
+                new UserBetUpdated("user-1", UUID.randomUUID(), 9472, "PENDING", 5000).recipientUserId());
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.f1bets.application.service;
+
+import com.f1bets.application.port.SessionLock;
+import com.f1bets.application.service.BetPlacementGroupCommit.Placement;
+import com.f1bets.domain.exception.InsufficientBalanceException;
+import com.f1bets.domain.exception.SessionLockTimeoutException;
+import com.f1bets.domain.model.Money;
+import com.f1bets.domain.model.SessionKey;
+import com.f1bets.domain.model.UserId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BetPlacementGroupCommit")
+class BetPlacementGroupCommitTest {
+
+    private final List<String> events = new CopyOnWriteArrayList<>();
+    private final CountingTransactions transactions = new CountingTransactions();
+    private final CountDownLatch releaseBlocker = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    private BetPlacementGroupCommit groupCommit;
+
+    @AfterEach
+    void tearDown() {
+        releaseBlocker.countDown();
+        if (groupCommit != null) {
+            groupCommit.stop();
+        }
+        callers.shutdownNow();
+    }
+
+    private BetPlacementGroupCommit start(boolean enabled) {
+        return start(enabled, (sessionKey, timeout) -> events.add("lock:" + sessionKey.getValue()));
+    }
+
+    private BetPlacementGroupCommit start(boolean enabled, SessionLock sessionLock) {
+        groupCommit = new BetPlacementGroupCommit(transactions, sessionLock, this::underSavepoint,
+            new OperationMetrics(new SimpleMeterRegistry()), enabled, 64, 1, 100, Duration.ofSeconds(2));
+        groupCommit.start();
+        return groupCommit;
+    }
+
+    /**
+     * Records savepoints as events; rolling back to one is not simulated.
+     */
+    private void underSavepoint(Runnable work) {
+        events.add("savepoint");
+        try {
+            work.run();
+        } catch (RuntimeException e) {
+            events.add("rollback");
+            throw e;
+        }
+        events.add("release");
+    }
+
+    private CompletableFuture<String> submit(String user, int session, Placement<String> placement) {
+        return CompletableFuture.supplyAsync(
+            () -> groupCommit.execute(UserId.of(user), SessionKey.of(session), placement), callers);
+    }
+
+    private Placement<String> placing(String user) {
+        return sessionLocked -> {
+            events.add("place:" + user);
+            return user;
+        };
+    }
+
+    /**
+     * Occupies the single writer until {@link #releaseBlocker} opens, so that the placements
+     * submitted meanwhile end up in one batch.
+     */
+    private CompletableFuture<String> submitBlocker() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<String> blocker = submit("blocker", 1, sessionLocked -> {
+            started.countDown();
+            await(releaseBlocker);
+            return "blocker";
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS), "blocker placement never started");
+        return blocker;
+    }
+
+    private void awaitQueued(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (groupCommit.queued() < count) {
+            assertTrue(System.nanoTime() < deadline, "placements were not queued in time");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String join(CompletableFuture<String> future) {
+        return future.orTimeout(5, TimeUnit.SECONDS).join();
+    }
+
+    @Nested
+    @DisplayName("Disabled")
+    class Disabled {
+
+        @Test
+        @DisplayName("should run each placement in its own transaction on the caller's thread")
+        void shouldRunDirectly() {
+            start(false);
+            String caller = Thread.currentThread().getName();
+
+            String result = groupCommit.execute(UserId.of("alice"), SessionKey.of(9472),
+                sessionLocked -> sessionLocked ? "locked" : Thread.currentThread().getName());
+
+            assertEquals(caller, result);
+            assertEquals(1, transactions.count());
+        }
+    }
+
+    @Nested
+    @DisplayName("Batching")
+    class Batching {
+
+        @Test
+        @DisplayName("should apply concurrent placements of different users in one transaction")
+        void shouldShareTransaction() throws Exception {
+            start(true);
+            CompletableFuture<String> blocker = submitBlocker();
+            CompletableFuture<String> bob = submit("bob", 9473, placing("bob"));
+            CompletableFuture<String> alice = submit("alice", 9472, placing("alice"));
+            awaitQueued(2);
+
+            releaseBlocker.countDown();
+
+            assertEquals("blocker", join(blocker));
+            assertEquals("alice", join(alice));
+            assertEquals("bob", join(bob));
+            assertEquals(2, transactions.count());
+        }
+
+        @Test
+        @DisplayName("should lock sessions in key order, then place in user order")
+        void shouldLockBeforePlacingInOrder() throws Exception {
+            start(true);
+            CompletableFuture<String> blocker = submitBlocker();
+            CompletableFuture<String> bob = submit("bob", 9472, placing("bob"));
+            awaitQueued(1);
+            CompletableFuture<String> alice = submit("alice", 9473, placing("alice"));
+            awaitQueued(2);
+            events.clear();
+
+            releaseBlocker.countDown();
+            join(blocker);
+            join(alice);
+            join(bob);
+
+            // The blocker's batch finishes after the events were cleared
+            assertEquals(List.of("lock:9472", "lock:9473",
+                "savepoint", "place:alice", "release",
+                "savepoint", "place:bob", "release"),
+                events.subList(events.indexOf("lock:9472"), events.size()));
+        }
+
+        @Test
+        @DisplayName("should put a user's second placement into the next batch")
+        void shouldKeepOnePlacementPerUserPerBatch() throws Exception {
+            start(true);
+            CompletableFuture<String> blocker = submitBlocker();
+            CompletableFuture<String> first = submit("alice", 9472, placing("alice"));
+            awaitQueued(1);
+            CompletableFuture<String> second = submit("alice", 9472, placing("alice"));
+            CompletableFuture<String> bob = submit("bob", 9472, placing("bob"));
+            awaitQueued(3);
+
+            releaseBlocker.countDown();
+            join(blocker);
+            join(first);
+            join(second);
+            join(bob);
+
+            assertEquals(3, transactions.count());
+        }
+    }
+
+    @Nested
+    @DisplayName("Failures")
+    class Failures {
+
+        @Test
+        @DisplayName("should roll only the rejected placement back to its savepoint and commit the rest")
+        void shouldIsolateRejection() throws Exception {
+            start(true);
+            AtomicInteger aliceRuns = new AtomicInteger();
+            CompletableFuture<String> blocker = submitBlocker();
+            CompletableFuture<String> alice = submit("alice", 9472, sessionLocked -> {
+                aliceRuns.incrementAndGet();
+                return "alice";
+            });
+            CompletableFuture<String> bob = submit("bob", 9472, sessionLocked -> {
+                events.add("place:bob");
+                throw new InsufficientBalanceException(Money.ofCents(100), Money.ofCents(500));
+            });
+            CompletableFuture<String> carol = submit("carol", 9472, placing("carol"));
+            awaitQueued(3);
+            events.clear();
+
+            releaseBlocker.countDown();
+
+            join(blocker);
+            assertEquals("alice", join(alice));
+            assertEquals("carol", join(carol));
+            CompletionException error = assertThrows(CompletionException.class, () -> join(bob));
+            assertInstanceOf(InsufficientBalanceException.class, error.getCause());
+            assertEquals(1, aliceRuns.get());
+            assertEquals(2, transactions.count());
+            assertTrue(events.containsAll(List.of("place:bob", "rollback", "place:carol")));
+            assertEquals(1, events.stream().filter("rollback"::equals).count());
+        }
+
+        @Test
+        @DisplayName("should fail the placement that threw and re-apply the rest of the batch without it")
+        void shouldReapplyWithoutFailedPlacement() throws Exception {
+            start(true);
+            CompletableFuture<String> blocker = submitBlocker();
+            CompletableFuture<String> alice = submit("alice", 9472, placing("alice"));
+            CompletableFuture<String> bob = submit("bob", 9472, sessionLocked -> {
+                throw new IllegalStateException("flush failed");
+            });
+            CompletableFuture<String> carol = submit("carol", 9472, placing("carol"));
+            awaitQueued(3);
+
+            releaseBlocker.countDown();
+
+            join(blocker);
+            assertEquals("alice", join(alice));
+            assertEquals("carol", join(carol));
+            CompletionException error = assertThrows(CompletionException.class, () -> join(bob));
+            assertInstanceOf(IllegalStateException.class, error.getCause());
+            // blocker, the failed batch, then alice and carol together
+            assertEquals(3, transactions.count());
+        }
+
+        @Test
+        @DisplayName("should fail the whole batch at once when a session lock times out")
+        void shouldFailBatchOnLockTimeout() throws Exception {
+            start(true, (sessionKey, timeout) -> {
+                if (sessionKey.getValue() == 9473) {
+                    throw new SessionLockTimeoutException(sessionKey, timeout, null);
+                }
+            });
+            CompletableFuture<String> blocker = submitBlocker();
+            CompletableFuture<String> alice = submit("alice", 9472, placing("alice"));
+            CompletableFuture<String> bob = submit("bob", 9473, placing("bob"));
+            awaitQueued(2);
+
+            releaseBlocker.countDown();
+
+            join(blocker);
+            for (CompletableFuture<String> placement : List.of(alice, bob)) {
+                CompletionException error = assertThrows(CompletionException.class, () -> join(placement));
+                assertInstanceOf(SessionLockTimeoutException.class, error.getCause());
+            }
+            assertFalse(events.contains("place:alice") || events.contains("place:bob"));
+            assertEquals(2, transactions.count());
+        }
+    }
+
+    /**
+     * Runs callbacks inline and counts them; rollback is not simulated.
+     */
+    private static final class CountingTransactions extends TransactionTemplate {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public <T> T execute(TransactionCallback<T> action) {
+            count.incrementAndGet();
+            return action.doInTransaction(null);
+        }
+
+        int count() {
+            return count.get();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.f1bets.application.service;
+
+import com.f1bets.application.dto.SessionExposure;
+import com.f1bets.domain.exception.ExposureLimitExceededException;
+import com.f1bets.domain.model.Bet;
+import com.f1bets.domain.model.DriverExposure;
+import com.f1bets.domain.model.DriverNumber;
+import com.f1bets.domain.model.Money;
+import com.f1bets.domain.model.Odds;
+import com.f1bets.domain.model.SessionKey;
+import com.f1bets.domain.model.UserId;
+import com.f1bets.domain.repository.ExposureRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExposureBook")
+class ExposureBookTest {
+
+    private static final SessionKey SESSION = SessionKey.of(9472);
+    private static final Money MAX_USER_STAKE = Money.ofCents(50_000);
+    private static final Money MAX_DRIVER_PAYOUT = Money.ofCents(1_000_000);
+
+    @Mock
+    private ExposureRepository exposureRepository;
+
+    private ExposureBook book;
+
+    @BeforeEach
+    void setUp() {
+        book = newBook(Duration.ofMinutes(1));
+    }
+
+    private ExposureBook newBook(Duration maxStaleness) {
+        return new ExposureBook(exposureRepository, maxStaleness,
+            new BigDecimal("500.00"), new BigDecimal("10000.00"));
+    }
+
+    private static DriverExposure exposure(int driver, long bets, long stakeCents, long payoutCents) {
+        return DriverExposure.reconstitute(SESSION, DriverNumber.of(driver), bets,
+            Money.ofCents(stakeCents), Money.ofCents(payoutCents));
+    }
+
+    @Nested
+    @DisplayName("Mirror")
+    class Mirror {
+
+        @Test
+        @DisplayName("should return an empty book for a session without bets")
+        void shouldReturnEmptyBook() {
+            when(exposureRepository.findBySessionKey(SESSION)).thenReturn(List.of());
+
+            SessionExposure empty = book.get(SESSION);
+
+            assertEquals(0, empty.totalBets());
+            assertEquals(Money.ofCents(0), empty.totalStake());
+            assertEquals(Money.ofCents(0), empty.worstCasePayout());
+        }
+
+        @Test
+        @DisplayName("should load a session once and serve later reads from memory")
+        void shouldServeFromMemory() {
+            when(exposureRepository.findBySessionKey(SESSION)).thenReturn(List.of(exposure(44, 1, 1000, 3000)));
+
+            book.get(SESSION);
+            SessionExposure second = book.get(SESSION);
+
+            verify(exposureRepository, times(1)).findBySessionKey(SESSION);
+            assertEquals(1, second.totalBets());
+        }
+
+        @Test
+        @DisplayName("should apply committed totals to a loaded session")
+        void shouldApplyCommittedTotals() {
+            when(exposureRepository.findBySessionKey(SESSION)).thenReturn(List.of(exposure(44, 1, 1000, 3000)));
+            book.get(SESSION);
+
+            book.applyCommitted(exposure(44, 2, 3000, 9000));
+            book.applyCommitted(exposure(1, 1, 500, 2500));
+            SessionExposure current = book.get(SESSION);
+
+            assertEquals(3, current.totalBets());
+            assertEquals(Money.ofCents(3500), current.totalStake());
+            assertEquals(Money.ofCents(9000), current.worstCasePayout());
+            assertEquals(List.of(1, 44), current.drivers().stream()
+                .map(driver -> driver.getDriverNumber().getValue()).toList());
+        }
+
+        @Test
+        @DisplayName("should keep the newer totals when updates arrive out of order")
+        void shouldIgnoreStaleTotals() {
+            when(exposureRepository.findBySessionKey(SESSION)).thenReturn(List.of());
+            book.get(SESSION);
+
+            book.applyCommitted(exposure(44, 3, 3000, 9000));
+            book.applyCommitted(exposure(44, 2, 2000, 6000));
+
+            assertEquals(Money.ofCents(3000), book.get(SESSION).totalStake());
+        }
+
+        @Test
+        @DisplayName("should ignore committed totals for sessions nobody has read yet")
+        void shouldIgnoreUnloadedSessions() {
+            book.applyCommitted(exposure(44, 1, 1000, 3000));
+            when(exposureRepository.findBySessionKey(SESSION)).thenReturn(List.of(exposure(44, 5, 5000, 15000)));
+
+            assertEquals(5, book.get(SESSION).totalBets());
+        }
+
+        @Test
+        @DisplayName("should reload a session once it is older than the staleness bound")
+        void shouldReloadWhenStale() {
+            ExposureBook eager = newBook(Duration.ZERO);
+            when(exposureRepository.findBySessionKey(SESSION))
+                .thenReturn(List.of(exposure(44, 1, 1000, 3000)))
+                .thenReturn(List.of(exposure(44, 4, 4000, 12000)));
+
+            eager.get(SESSION);
+            SessionExposure reloaded = eager.get(SESSION);
+
+            verify(exposureRepository, times(2)).findBySessionKey(SESSION);
+            assertEquals(4, reloaded.totalBets());
+        }
+    }
+
+    @Nested
+    @DisplayName("Recording")
+    class Recording {
+
+        private final UserId user = UserId.of("user-1");
+        private final Bet bet = Bet.place(user, SESSION, DriverNumber.of(44), Money.ofCents(2000), Odds.of(3));
+
+        @Test
+        @DisplayName("should add the bet to both counters and return the driver's totals")
+        void shouldRecordWithinLimits() {
+            DriverExposure totals = exposure(44, 1, 2000, 6000);
+            when(exposureRepository.addUserStake(user, SESSION, Money.ofCents(2000), MAX_USER_STAKE)).thenReturn(true);
+            when(exposureRepository.addBet(SESSION, DriverNumber.of(44), Money.ofCents(2000), Money.ofCents(6000),
+                MAX_DRIVER_PAYOUT)).thenReturn(Optional.of(totals));
+
+            assertEquals(totals, book.recordBet(bet));
+        }
+
+        @Test
+        @DisplayName("should reject with USER_STAKE and leave the driver row alone when the user's limit is reached")
+        void shouldRejectUserStakeLimit() {
+            when(exposureRepository.addUserStake(user, SESSION, Money.ofCents(2000), MAX_USER_STAKE)).thenReturn(false);
+
+            ExposureLimitExceededException ex = assertThrows(ExposureLimitExceededException.class,
+                () -> book.recordBet(bet));
+
+            assertEquals(ExposureLimitExceededException.Limit.USER_STAKE, ex.getLimit());
+            assertEquals(MAX_USER_STAKE, ex.getLimitAmount());
+            verify(exposureRepository, never()).addBet(any(), any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("should reject with DRIVER_PAYOUT when the driver's payout limit is reached")
+        void shouldRejectDriverPayoutLimit() {
+            when(exposureRepository.addUserStake(user, SESSION, Money.ofCents(2000), MAX_USER_STAKE)).thenReturn(true);
+            when(exposureRepository.addBet(any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+
+            ExposureLimitExceededException ex = assertThrows(ExposureLimitExceededException.class,
+                () -> book.recordBet(bet));
+
+            assertEquals(ExposureLimitExceededException.Limit.DRIVER_PAYOUT, ex.getLimit());
+            assertEquals(SESSION, ex.getSessionKey());
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.f1bets.application.usecase;
 
+import com.f1bets.application.port.ReadYourWrites;
+import com.f1bets.application.service.OperationMetrics;
 import com.f1bets.domain.exception.UserNotFoundException;
 import com.f1bets.domain.model.*;
 import com.f1bets.domain.repository.BetRepository;
 import com.f1bets.domain.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -14,8 +17,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,11 +32,17 @@ class GetUserUseCaseTest {
     @Mock
     private BetRepository betRepository;
 
+    @Mock
+    private ReadYourWrites readYourWrites;
+
     private GetUserUseCase useCase;
 
     @BeforeEach
     void setUp() {
-        useCase = new GetUserUseCase(userRepository, betRepository);
+        lenient().when(readYourWrites.read(any(), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        useCase = new GetUserUseCase(userRepository, betRepository, readYourWrites,
+            new OperationMetrics(new SimpleMeterRegistry()));
     }
 
     @Nested
@@ -3,8 +3,10 @@ package com.f1bets.application.usecase;
 import com.f1bets.application.dto.EventWithDrivers;
 import com.f1bets.application.dto.SessionQuery;
 import com.f1bets.application.port.F1DataProvider;
+import com.f1bets.application.service.OperationMetrics;
 import com.f1bets.domain.exception.ExternalServiceUnavailableException;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -31,7 +33,7 @@ class ListEventsUseCaseTest {
 
     @BeforeEach
     void setUp() {
-        useCase = new ListEventsUseCase(f1DataProvider);
+        useCase = new ListEventsUseCase(f1DataProvider, new OperationMetrics(new SimpleMeterRegistry()));
     }
 
     @Nested
@@ -0,0 +1,292 @@
+package com.f1bets.application.usecase;
+
+import com.f1bets.application.dto.EventWithDrivers;
+import com.f1bets.application.dto.PlaceBetSlipCommand;
+import com.f1bets.application.dto.PlaceBetSlipCommand.Selection;
+import com.f1bets.application.dto.PlaceBetSlipResult;
+import com.f1bets.application.port.DomainEventPublisher;
+import com.f1bets.application.port.F1DataProvider;
+import com.f1bets.application.port.ReadYourWrites;
+import com.f1bets.application.port.SessionLock;
+import com.f1bets.application.service.ExposureBook;
+import com.f1bets.application.service.OddsCalculator;
+import com.f1bets.application.service.OperationMetrics;
+import com.f1bets.application.service.UserAccounts;
+import com.f1bets.domain.exception.DriverNotInSessionException;
+import com.f1bets.domain.exception.EventAlreadySettledException;
+import com.f1bets.domain.exception.ExternalServiceUnavailableException;
+import com.f1bets.domain.exception.InsufficientBalanceException;
+import com.f1bets.domain.model.Bet;
+import com.f1bets.domain.model.DriverNumber;
+import com.f1bets.domain.model.LedgerEntry;
+import com.f1bets.domain.model.Money;
+import com.f1bets.domain.model.Odds;
+import com.f1bets.domain.model.SessionKey;
+import com.f1bets.domain.model.User;
+import com.f1bets.domain.model.UserId;
+import com.f1bets.domain.repository.BetRepository;
+import com.f1bets.domain.repository.BetRepository.PlacedBet;
+import com.f1bets.domain.repository.EventOutcomeRepository;
+import com.f1bets.domain.repository.LedgerRepository;
+import com.f1bets.domain.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PlaceBetSlipUseCase")
+class PlaceBetSlipUseCaseTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private BetRepository betRepository;
+
+    @Mock
+    private LedgerRepository ledgerRepository;
+
+    @Mock
+    private EventOutcomeRepository eventOutcomeRepository;
+
+    @Mock
+    private ExposureBook exposureBook;
+
+    @Mock
+    private F1DataProvider f1DataProvider;
+
+    @Mock
+    private DomainEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ReadYourWrites readYourWrites;
+
+    private final List<SessionKey> lockedSessions = new ArrayList<>();
+    private final SessionLock sessionLock = (sessionKey, timeout) -> lockedSessions.add(sessionKey);
+
+    private final UserId userId = UserId.of("slip-user");
+    private PlaceBetSlipUseCase useCase;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any(TransactionCallback.class)))
+            .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(f1DataProvider.getSessionByKey(anyInt()))
+            .thenAnswer(invocation -> Optional.of(session(invocation.getArgument(0))));
+
+        useCase = new PlaceBetSlipUseCase(
+            userRepository, new UserAccounts(userRepository), betRepository, ledgerRepository,
+            eventOutcomeRepository, new OddsCalculator("TEST_SEED"), exposureBook, f1DataProvider, sessionLock,
+            transactionTemplate, eventPublisher, readYourWrites, new OperationMetrics(new SimpleMeterRegistry()),
+            Runnable::run, Duration.ofSeconds(2)
+        );
+    }
+
+    private static EventWithDrivers session(int sessionKey) {
+        return new EventWithDrivers(
+            sessionKey, "Race", "Race", "Circuit", "Country", "XX",
+            Instant.parse("2024-06-01T14:00:00Z"), Instant.parse("2024-06-01T16:00:00Z"), 2024,
+            List.of(
+                new EventWithDrivers.DriverInfo(44, "Lewis Hamilton", "Mercedes", 3),
+                new EventWithDrivers.DriverInfo(1, "Max Verstappen", "Red Bull", 2)
+            )
+        );
+    }
+
+    private static Selection selection(int sessionKey, int driverNumber, long stakeCents) {
+        return new Selection(SessionKey.of(sessionKey), DriverNumber.of(driverNumber), Money.ofCents(stakeCents));
+    }
+
+    private PlaceBetSlipCommand slip(Selection... selections) {
+        return new PlaceBetSlipCommand(userId, List.of(selections), UUID.randomUUID().toString());
+    }
+
+    private void givenBalance(long cents) {
+        User user = User.reconstitute(userId, Money.ofCents(cents), 1L, Instant.now());
+        when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(user));
+    }
+
+    @Nested
+    @DisplayName("Placement")
+    class Placement {
+
+        @Test
+        @DisplayName("should debit the total once and write all bets and ledger entries in one batch each")
+        @SuppressWarnings("unchecked")
+        void shouldPlaceAllLegsInOneTransaction() {
+            givenBalance(10_000);
+
+            PlaceBetSlipResult result = useCase.execute(slip(
+                selection(9472, 44, 2_000),
+                selection(9158, 1, 3_000),
+                selection(9472, 1, 1_000)
+            ));
+
+            assertEquals(3, result.bets().size());
+            assertEquals(Money.ofCents(4_000), result.userBalance());
+            assertEquals(List.of(Money.ofCents(8_000), Money.ofCents(5_000), Money.ofCents(4_000)),
+                result.bets().stream().map(bet -> bet.userBalance()).toList());
+
+            verify(transactionTemplate, times(1)).execute(any());
+            verify(userRepository, times(1)).save(argThat(user -> user.getBalanceCents() == 4_000));
+            ArgumentCaptor<List<Bet>> bets = ArgumentCaptor.forClass(List.class);
+            verify(betRepository).saveAll(bets.capture());
+            assertEquals(3, bets.getValue().size());
+            ArgumentCaptor<List<LedgerEntry>> ledger = ArgumentCaptor.forClass(List.class);
+            verify(ledgerRepository).saveAll(ledger.capture());
+            assertEquals(List.of(8_000L, 5_000L, 4_000L),
+                ledger.getValue().stream().map(LedgerEntry::getBalanceAfterCents).toList());
+            verify(betRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("should lock each session once in ascending key order")
+        void shouldLockSessionsInOrder() {
+            givenBalance(10_000);
+
+            useCase.execute(slip(
+                selection(9472, 44, 1_000),
+                selection(9158, 1, 1_000),
+                selection(9472, 1, 1_000)
+            ));
+
+            assertEquals(List.of(SessionKey.of(9158), SessionKey.of(9472)), lockedSessions);
+        }
+
+        @Test
+        @DisplayName("should look up each distinct session once")
+        void shouldValidateEachSessionOnce() {
+            givenBalance(10_000);
+
+            useCase.execute(slip(selection(9472, 44, 1_000), selection(9472, 1, 1_000)));
+
+            verify(f1DataProvider, times(1)).getSessionByKey(9472);
+        }
+
+        @Test
+        @DisplayName("should mirror exposures and pin reads only after commit")
+        void shouldApplyAfterCommit() {
+            givenBalance(10_000);
+
+            useCase.execute(slip(selection(9472, 44, 1_000), selection(9158, 1, 1_000)));
+
+            var inOrder = inOrder(transactionTemplate, exposureBook, readYourWrites);
+            inOrder.verify(transactionTemplate).execute(any());
+            inOrder.verify(exposureBook, times(2)).applyCommitted(any());
+            inOrder.verify(readYourWrites).recordWrite(userId);
+        }
+
+        @Test
+        @DisplayName("should derive distinct, stable idempotency keys per leg")
+        void shouldDeriveLegKeys() {
+            String slipKey = UUID.randomUUID().toString();
+
+            String first = PlaceBetSlipUseCase.legIdempotencyKey(slipKey, 0);
+
+            assertEquals(first, PlaceBetSlipUseCase.legIdempotencyKey(slipKey, 0));
+            assertNotEquals(first, PlaceBetSlipUseCase.legIdempotencyKey(slipKey, 1));
+            assertEquals(36, first.length());
+            assertNull(PlaceBetSlipUseCase.legIdempotencyKey(null, 0));
+        }
+    }
+
+    @Nested
+    @DisplayName("All or nothing")
+    class AllOrNothing {
+
+        @Test
+        @DisplayName("should reject the whole slip when the balance does not cover the total stake")
+        void shouldRejectWhenTotalUnaffordable() {
+            givenBalance(2_500);
+
+            InsufficientBalanceException ex = assertThrows(InsufficientBalanceException.class,
+                () -> useCase.execute(slip(selection(9472, 44, 2_000), selection(9158, 1, 1_000))));
+
+            assertEquals(Money.ofCents(3_000), ex.getRequiredAmount());
+            verify(betRepository, never()).saveAll(any());
+            verify(ledgerRepository, never()).saveAll(any());
+        }
+
+        @Test
+        @DisplayName("should reject the whole slip when one session is already settled")
+        void shouldRejectWhenAnySessionSettled() {
+            when(eventOutcomeRepository.existsBySessionKey(any()))
+                .thenAnswer(invocation -> SessionKey.of(9158).equals(invocation.getArgument(0)));
+
+            assertThrows(EventAlreadySettledException.class,
+                () -> useCase.execute(slip(selection(9472, 44, 1_000), selection(9158, 1, 1_000))));
+
+            verify(betRepository, never()).saveAll(any());
+        }
+
+        @Test
+        @DisplayName("should reject before any lock when one driver did not take part")
+        void shouldRejectUnknownDriverBeforeLocking() {
+            assertThrows(DriverNotInSessionException.class,
+                () -> useCase.execute(slip(selection(9472, 44, 1_000), selection(9158, 63, 1_000))));
+
+            assertTrue(lockedSessions.isEmpty());
+            verify(transactionTemplate, never()).execute(any());
+        }
+
+        @Test
+        @DisplayName("should surface the provider's exception from a parallel lookup")
+        void shouldUnwrapLookupFailure() {
+            when(f1DataProvider.getSessionByKey(9158))
+                .thenThrow(new ExternalServiceUnavailableException("OpenF1", "down"));
+
+            assertThrows(ExternalServiceUnavailableException.class,
+                () -> useCase.execute(slip(selection(9472, 44, 1_000), selection(9158, 1, 1_000))));
+        }
+    }
+
+    @Nested
+    @DisplayName("Idempotent replay")
+    class IdempotentReplay {
+
+        @Test
+        @DisplayName("should rebuild the result from the stored legs without a transaction")
+        void shouldReplayStoredSlip() {
+            PlaceBetSlipCommand command = slip(selection(9472, 44, 1_000), selection(9158, 1, 2_000));
+            Bet first = Bet.place(userId, SessionKey.of(9472), DriverNumber.of(44), Money.ofCents(1_000),
+                Odds.of(3), PlaceBetSlipUseCase.legIdempotencyKey(command.idempotencyKey(), 0));
+            Bet second = Bet.place(userId, SessionKey.of(9158), DriverNumber.of(1), Money.ofCents(2_000),
+                Odds.of(2), PlaceBetSlipUseCase.legIdempotencyKey(command.idempotencyKey(), 1));
+            when(betRepository.findPlacedByIdempotencyKey(first.getIdempotencyKey()))
+                .thenReturn(Optional.of(new PlacedBet(first, Money.ofCents(9_000))));
+            when(betRepository.findPlacedByIdempotencyKey(second.getIdempotencyKey()))
+                .thenReturn(Optional.of(new PlacedBet(second, Money.ofCents(7_000))));
+
+            PlaceBetSlipResult result = useCase.execute(command);
+
+            assertEquals(List.of(first.getId(), second.getId()),
+                result.bets().stream().map(bet -> bet.betId()).toList());
+            assertEquals(Money.ofCents(7_000), result.userBalance());
+            verify(transactionTemplate, never()).execute(any());
+        }
+    }
+}
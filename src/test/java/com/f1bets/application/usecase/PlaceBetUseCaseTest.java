@@ -3,16 +3,27 @@ package com.f1bets.application.usecase;
 import com.f1bets.application.dto.EventWithDrivers;
 import com.f1bets.application.dto.PlaceBetCommand;
 import com.f1bets.application.dto.PlaceBetResult;
+import com.f1bets.application.event.UserBetUpdated;
 import com.f1bets.application.port.F1DataProvider;
+import com.f1bets.application.port.BetPlacementGateway;
+import com.f1bets.application.port.DomainEventPublisher;
+import com.f1bets.application.port.ReadYourWrites;
 import com.f1bets.application.port.SessionLock;
+import com.f1bets.application.service.BetPlacementGroupCommit;
+import com.f1bets.application.service.ExposureBook;
 import com.f1bets.application.service.OddsCalculator;
+import com.f1bets.application.service.OperationMetrics;
+import com.f1bets.application.service.UserAccounts;
 import com.f1bets.domain.exception.DriverNotInSessionException;
 import com.f1bets.domain.exception.EventAlreadySettledException;
+import com.f1bets.domain.exception.ExposureLimitExceededException;
 import com.f1bets.domain.exception.ExternalServiceUnavailableException;
 import com.f1bets.domain.exception.InsufficientBalanceException;
+import com.f1bets.domain.exception.SessionLockTimeoutException;
 import com.f1bets.domain.exception.SessionNotFoundException;
 import com.f1bets.domain.model.Bet;
 import com.f1bets.domain.model.BetStatus;
+import com.f1bets.domain.model.DriverExposure;
 import com.f1bets.domain.model.DriverNumber;
 import com.f1bets.domain.model.LedgerEntry;
 import com.f1bets.domain.model.LedgerEntryType;
@@ -22,10 +33,12 @@ import com.f1bets.domain.model.SessionKey;
 import com.f1bets.domain.model.User;
 import com.f1bets.domain.model.UserId;
 import com.f1bets.domain.repository.BetRepository;
+import com.f1bets.domain.repository.BetRepository.PlacedBet;
 import com.f1bets.domain.repository.EventOutcomeRepository;
 import com.f1bets.domain.repository.LedgerRepository;
 import com.f1bets.domain.repository.UserRepository;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -37,6 +50,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.transaction.support.TransactionCallback;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
@@ -71,9 +85,25 @@ class PlaceBetUseCaseTest {
     @Mock
     private SessionLock sessionLock;
 
+    @Mock
+    private DomainEventPublisher eventPublisher;
+
     @Mock
     private TransactionTemplate transactionTemplate;
 
+    @Mock
+    private ReadYourWrites readYourWrites;
+
+    @Mock
+    private ExposureBook exposureBook;
+
+    @Mock
+    private BetPlacementGateway placementGateway;
+
+    private static final Duration LOCK_TIMEOUT = Duration.ofSeconds(2);
+
+    private SimpleMeterRegistry meterRegistry;
+
     private PlaceBetUseCase placeBetUseCase;
 
     private UserId userId;
@@ -91,9 +121,14 @@ class PlaceBetUseCaseTest {
                 return callback.doInTransaction(null);
             });
 
+        meterRegistry = new SimpleMeterRegistry();
+        OperationMetrics metrics = new OperationMetrics(meterRegistry);
+        BetPlacementGroupCommit directPlacement = new BetPlacementGroupCommit(
+            transactionTemplate, sessionLock, Runnable::run, metrics, false, 64, 1, 100, LOCK_TIMEOUT);
         placeBetUseCase = new PlaceBetUseCase(
-            userRepository, betRepository, ledgerRepository, eventOutcomeRepository,
-            oddsCalculator, f1DataProvider, sessionLock, transactionTemplate
+            userRepository, new UserAccounts(userRepository), betRepository, ledgerRepository, eventOutcomeRepository,
+            oddsCalculator, exposureBook, f1DataProvider, sessionLock, directPlacement, placementGateway, eventPublisher,
+            readYourWrites, metrics, LOCK_TIMEOUT, false
         );
         userId = UserId.of("test-user");
         sessionKey = SessionKey.of(9472);
@@ -171,10 +206,9 @@ class PlaceBetUseCaseTest {
         @Test
         @DisplayName("should create new user with initial balance when user does not exist")
         void shouldCreateNewUserWhenNotExists() {
-            when(userRepository.findByIdForUpdate(userId))
-                .thenReturn(Optional.empty())
+            when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.empty());
+            when(userRepository.lockOrInsert(any(User.class), any(LedgerEntry.class)))
                 .thenReturn(Optional.of(User.reconstitute(userId, Money.ofCents(10_000), 0L, Instant.now())));
-            when(userRepository.insertIfAbsent(any(User.class))).thenReturn(true);
 
             PlaceBetCommand command = new PlaceBetCommand(userId, sessionKey, driverNumber, stake);
             PlaceBetResult result = placeBetUseCase.execute(command);
@@ -190,48 +224,47 @@ class PlaceBetUseCaseTest {
         }
 
         @Test
-        @DisplayName("should record initial credit in ledger for new user")
+        @DisplayName("should open the account and its initial credit in one repository call")
         void shouldRecordInitialCreditForNewUser() {
-            when(userRepository.findByIdForUpdate(userId))
-                .thenReturn(Optional.empty())
+            when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.empty());
+            when(userRepository.lockOrInsert(any(User.class), any(LedgerEntry.class)))
                 .thenReturn(Optional.of(User.reconstitute(userId, Money.ofCents(10_000), 0L, Instant.now())));
-            when(userRepository.insertIfAbsent(any(User.class))).thenReturn(true);
 
             PlaceBetCommand command = new PlaceBetCommand(userId, sessionKey, driverNumber, stake);
             placeBetUseCase.execute(command);
 
+            ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
+            ArgumentCaptor<LedgerEntry> creditCaptor = ArgumentCaptor.forClass(LedgerEntry.class);
+            verify(userRepository).lockOrInsert(userCaptor.capture(), creditCaptor.capture());
+            assertEquals(userId, userCaptor.getValue().getId());
+            assertEquals(LedgerEntryType.INITIAL_CREDIT, creditCaptor.getValue().getEntryType());
+            assertEquals(10_000L, creditCaptor.getValue().getAmountCents());
+            assertEquals(userId, creditCaptor.getValue().getUserId());
+
+            // Only the bet itself goes through the ledger repository
             ArgumentCaptor<LedgerEntry> ledgerCaptor = ArgumentCaptor.forClass(LedgerEntry.class);
-            verify(ledgerRepository, times(2)).save(ledgerCaptor.capture());
-
-            LedgerEntry initialCredit = ledgerCaptor.getAllValues().get(0);
-            assertEquals(LedgerEntryType.INITIAL_CREDIT, initialCredit.getEntryType());
-            assertEquals(10_000L, initialCredit.getAmountCents());
+            verify(ledgerRepository, times(1)).save(ledgerCaptor.capture());
+            assertEquals(LedgerEntryType.BET_PLACED, ledgerCaptor.getValue().getEntryType());
         }
 
         @Test
-        @DisplayName("should handle concurrent user creation when insertIfAbsent returns false")
+        @DisplayName("should lock the row of a concurrent creation the insert could not see")
         void shouldHandleConcurrentUserCreation() {
             // First findByIdForUpdate returns empty (user doesn't exist)
-            // insertIfAbsent returns false (another request created user concurrently)
-            // Second findByIdForUpdate returns the user created by concurrent request
+            // lockOrInsert returns empty (another request created the user concurrently)
+            // Second findByIdForUpdate returns the user created by the concurrent request
             User concurrentlyCreatedUser = User.reconstitute(userId, Money.ofCents(10_000), 0L, Instant.now());
             when(userRepository.findByIdForUpdate(userId))
                 .thenReturn(Optional.empty())
                 .thenReturn(Optional.of(concurrentlyCreatedUser));
-            when(userRepository.insertIfAbsent(any(User.class))).thenReturn(false);
+            when(userRepository.lockOrInsert(any(User.class), any(LedgerEntry.class))).thenReturn(Optional.empty());
 
             PlaceBetCommand command = new PlaceBetCommand(userId, sessionKey, driverNumber, stake);
             PlaceBetResult result = placeBetUseCase.execute(command);
 
             assertNotNull(result.betId());
             assertEquals(5000, result.userBalance().toCents());
-
-            // No initial credit should be recorded since we didn't create the user
-            ArgumentCaptor<LedgerEntry> ledgerCaptor = ArgumentCaptor.forClass(LedgerEntry.class);
-            verify(ledgerRepository, times(1)).save(ledgerCaptor.capture());
-
-            LedgerEntry entry = ledgerCaptor.getValue();
-            assertEquals(LedgerEntryType.BET_PLACED, entry.getEntryType());
+            verify(userRepository, times(2)).findByIdForUpdate(userId);
         }
     }
 
@@ -293,9 +326,8 @@ class PlaceBetUseCaseTest {
                 stake, Odds.of(2), BetStatus.PENDING, Instant.now(), null, idempotencyKey
             );
 
-            when(betRepository.findByIdempotencyKey(idempotencyKey)).thenReturn(Optional.of(existingBet));
-            when(ledgerRepository.findBalanceAfterForBet(existingBet.getId()))
-                .thenReturn(Optional.of(Money.ofCents(7500)));
+            when(betRepository.findPlacedByIdempotencyKey(idempotencyKey))
+                .thenReturn(Optional.of(new PlacedBet(existingBet, Money.ofCents(7500))));
 
             PlaceBetCommand command = new PlaceBetCommand(userId, sessionKey, driverNumber, stake, idempotencyKey);
             PlaceBetResult result = placeBetUseCase.execute(command);
@@ -307,6 +339,26 @@ class PlaceBetUseCaseTest {
             verify(userRepository, never()).save(any());
             verify(betRepository, never()).save(any());
             verify(ledgerRepository, never()).save(any());
+            verify(userRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("should fall back to the current balance when the placement entry is missing")
+        void shouldFallBackToCurrentBalance() {
+            String idempotencyKey = "550e8400-e29b-41d4-a716-446655440000";
+            Bet existingBet = Bet.reconstitute(
+                UUID.randomUUID(), userId, sessionKey, driverNumber,
+                stake, Odds.of(2), BetStatus.PENDING, Instant.now(), null, idempotencyKey
+            );
+            when(betRepository.findPlacedByIdempotencyKey(idempotencyKey))
+                .thenReturn(Optional.of(new PlacedBet(existingBet, null)));
+            when(userRepository.findById(userId))
+                .thenReturn(Optional.of(User.reconstitute(userId, Money.ofCents(6_000), 3L, Instant.now())));
+
+            PlaceBetResult result = placeBetUseCase.execute(
+                new PlaceBetCommand(userId, sessionKey, driverNumber, stake, idempotencyKey));
+
+            assertEquals(6_000L, result.userBalance().toCents());
         }
     }
 
@@ -383,7 +435,7 @@ class PlaceBetUseCaseTest {
             PlaceBetCommand command = new PlaceBetCommand(userId, sessionKey, driverNumber, stake);
             placeBetUseCase.execute(command);
 
-            verify(sessionLock).acquire(sessionKey);
+            verify(sessionLock).acquire(sessionKey, LOCK_TIMEOUT);
         }
 
         @Test
@@ -397,8 +449,285 @@ class PlaceBetUseCaseTest {
 
             // Verify order: lock acquired, then settlement checked
             var inOrder = inOrder(sessionLock, eventOutcomeRepository);
-            inOrder.verify(sessionLock).acquire(sessionKey);
+            inOrder.verify(sessionLock).acquire(sessionKey, LOCK_TIMEOUT);
             inOrder.verify(eventOutcomeRepository).existsBySessionKey(sessionKey);
         }
+
+        @Test
+        @DisplayName("should fail fast without writes when the session lock times out")
+        void shouldFailFastOnLockTimeout() {
+            doThrow(new SessionLockTimeoutException(sessionKey, LOCK_TIMEOUT, null))
+                .when(sessionLock).acquire(sessionKey, LOCK_TIMEOUT);
+
+            PlaceBetCommand command = new PlaceBetCommand(userId, sessionKey, driverNumber, stake);
+
+            assertThrows(SessionLockTimeoutException.class, () -> placeBetUseCase.execute(command));
+
+            verify(userRepository, never()).findByIdForUpdate(any());
+            verify(betRepository, never()).save(any());
+            verify(ledgerRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("should not lock again or sample lock_wait inside a batch that holds the session lock")
+        void shouldReuseBatchSessionLock() {
+            User existingUser = User.reconstitute(userId, Money.ofCents(10_000), 1L, Instant.now());
+            when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(existingUser));
+            BetPlacementGroupCommit batch = mock(BetPlacementGroupCommit.class);
+            when(batch.execute(eq(userId), eq(sessionKey), any())).thenAnswer(invocation ->
+                invocation.<BetPlacementGroupCommit.Placement<?>>getArgument(2).run(true));
+            OperationMetrics metrics = new OperationMetrics(meterRegistry);
+            PlaceBetUseCase batched = new PlaceBetUseCase(
+                userRepository, new UserAccounts(userRepository), betRepository, ledgerRepository,
+                eventOutcomeRepository, oddsCalculator, exposureBook, f1DataProvider, sessionLock, batch,
+                placementGateway, eventPublisher, readYourWrites, metrics, LOCK_TIMEOUT, false
+            );
+
+            batched.execute(new PlaceBetCommand(userId, sessionKey, driverNumber, stake));
+
+            verify(betRepository).save(any(Bet.class));
+            verifyNoInteractions(sessionLock);
+            assertNull(meterRegistry.find("f1bets.usecase.stage").tags("stage", "lock_wait").timer());
+        }
+    }
+
+    @Nested
+    @DisplayName("Event publication")
+    class EventPublication {
+
+        @Test
+        @DisplayName("should publish the placed bet with the balance after deduction")
+        void shouldPublishUserBetUpdated() {
+            User existingUser = User.reconstitute(userId, Money.ofCents(10_000), 1L, Instant.now());
+            when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(existingUser));
+
+            PlaceBetResult result = placeBetUseCase.execute(new PlaceBetCommand(userId, sessionKey, driverNumber, stake));
+
+            verify(eventPublisher).publish(new UserBetUpdated("test-user", result.betId(), 9472, "PENDING", 5000));
+        }
+
+        @Test
+        @DisplayName("should not publish when placement fails")
+        void shouldNotPublishOnFailure() {
+            User poorUser = User.reconstitute(userId, Money.ofCents(1000), 1L, Instant.now());
+            when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(poorUser));
+
+            assertThrows(InsufficientBalanceException.class,
+                () -> placeBetUseCase.execute(new PlaceBetCommand(userId, sessionKey, driverNumber, stake)));
+
+            verify(eventPublisher, never()).publish(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Exposure book")
+    class ExposureBookUpdates {
+
+        @Test
+        @DisplayName("should add the bet to the exposure table in the transaction and mirror it after commit")
+        void shouldRecordAndApplyExposure() {
+            User existingUser = User.reconstitute(userId, Money.ofCents(10_000), 1L, Instant.now());
+            when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(existingUser));
+            DriverExposure totals = DriverExposure.reconstitute(
+                sessionKey, driverNumber, 1, stake, Money.ofCents(15_000));
+            when(exposureBook.recordBet(any(Bet.class))).thenReturn(totals);
+
+            placeBetUseCase.execute(new PlaceBetCommand(userId, sessionKey, driverNumber, stake));
+
+            var inOrder = inOrder(exposureBook, transactionTemplate);
+            inOrder.verify(transactionTemplate).execute(any());
+            inOrder.verify(exposureBook).applyCommitted(totals);
+            verify(exposureBook).recordBet(argThat(bet -> bet.getStake().equals(stake)));
+        }
+
+        @Test
+        @DisplayName("should propagate a limit rejection without writing the bet")
+        void shouldRejectOverLimit() {
+            User existingUser = User.reconstitute(userId, Money.ofCents(10_000), 1L, Instant.now());
+            when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(existingUser));
+            when(exposureBook.recordBet(any(Bet.class))).thenThrow(new ExposureLimitExceededException(
+                ExposureLimitExceededException.Limit.DRIVER_PAYOUT, sessionKey, Money.ofCents(100_000)));
+
+            assertThrows(ExposureLimitExceededException.class,
+                () -> placeBetUseCase.execute(new PlaceBetCommand(userId, sessionKey, driverNumber, stake)));
+
+            verify(betRepository, never()).save(any());
+            verify(ledgerRepository, never()).save(any());
+            verify(exposureBook, never()).applyCommitted(any());
+            verify(readYourWrites, never()).recordWrite(any());
+        }
+
+        @Test
+        @DisplayName("should not touch the exposure book when placement fails")
+        void shouldNotRecordOnFailure() {
+            User poorUser = User.reconstitute(userId, Money.ofCents(1000), 1L, Instant.now());
+            when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(poorUser));
+
+            assertThrows(InsufficientBalanceException.class,
+                () -> placeBetUseCase.execute(new PlaceBetCommand(userId, sessionKey, driverNumber, stake)));
+
+            verifyNoInteractions(exposureBook);
+        }
+    }
+
+    @Nested
+    @DisplayName("Read-your-writes")
+    class ReadYourWritesTracking {
+
+        @Test
+        @DisplayName("should record the write once the bet is committed")
+        void shouldRecordWriteAfterCommit() {
+            User existingUser = User.reconstitute(userId, Money.ofCents(10_000), 1L, Instant.now());
+            when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(existingUser));
+
+            placeBetUseCase.execute(new PlaceBetCommand(userId, sessionKey, driverNumber, stake));
+
+            var inOrder = inOrder(transactionTemplate, readYourWrites);
+            inOrder.verify(transactionTemplate).execute(any());
+            inOrder.verify(readYourWrites).recordWrite(userId);
+        }
+
+        @Test
+        @DisplayName("should not record a write when placement fails")
+        void shouldNotRecordOnFailure() {
+            User poorUser = User.reconstitute(userId, Money.ofCents(1000), 1L, Instant.now());
+            when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(poorUser));
+
+            assertThrows(InsufficientBalanceException.class,
+                () -> placeBetUseCase.execute(new PlaceBetCommand(userId, sessionKey, driverNumber, stake)));
+
+            verify(readYourWrites, never()).recordWrite(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Latency metrics")
+    class LatencyMetrics {
+
+        @Test
+        @DisplayName("should record use case and stage timers on successful placement")
+        void shouldRecordStageTimersOnSuccess() {
+            User existingUser = User.reconstitute(userId, Money.ofCents(10_000), 1L, Instant.now());
+            when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(existingUser));
+
+            placeBetUseCase.execute(new PlaceBetCommand(userId, sessionKey, driverNumber, stake));
+
+            assertEquals(1, meterRegistry.get("f1bets.usecase")
+                .tags("usecase", "place_bet", "outcome", "success").timer().count());
+            for (String stage : List.of("openf1_validation", "lock_wait", "db_transaction")) {
+                assertEquals(1, meterRegistry.get("f1bets.usecase.stage")
+                    .tags("usecase", "place_bet", "stage", stage, "outcome", "success").timer().count(), stage);
+            }
+        }
+
+        @Test
+        @DisplayName("should tag idempotent replays separately from misses")
+        void shouldTagIdempotentReplay() {
+            String idempotencyKey = "550e8400-e29b-41d4-a716-446655440000";
+            Bet existingBet = Bet.reconstitute(
+                UUID.randomUUID(), userId, sessionKey, driverNumber,
+                stake, Odds.of(2), BetStatus.PENDING, Instant.now(), null, idempotencyKey
+            );
+            when(betRepository.findPlacedByIdempotencyKey(idempotencyKey))
+                .thenReturn(Optional.of(new PlacedBet(existingBet, Money.ofCents(7500))));
+
+            placeBetUseCase.execute(new PlaceBetCommand(userId, sessionKey, driverNumber, stake, idempotencyKey));
+
+            assertEquals(1, meterRegistry.get("f1bets.usecase.stage")
+                .tags("stage", "idempotency_check", "outcome", "replay").timer().count());
+            assertNull(meterRegistry.find("f1bets.usecase.stage").tags("stage", "db_transaction").timer());
+        }
+
+        @Test
+        @DisplayName("should tag failed placements with the exception type")
+        void shouldTagFailureOutcome() {
+            User poorUser = User.reconstitute(userId, Money.ofCents(1000), 1L, Instant.now());
+            when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(poorUser));
+
+            assertThrows(InsufficientBalanceException.class,
+                () -> placeBetUseCase.execute(new PlaceBetCommand(userId, sessionKey, driverNumber, stake)));
+
+            assertEquals(1, meterRegistry.get("f1bets.usecase")
+                .tags("usecase", "place_bet", "outcome", "InsufficientBalanceException").timer().count());
+        }
+    }
+
+    @Nested
+    @DisplayName("Server-side placement")
+    class ServerSidePlacement {
+
+        private PlaceBetUseCase serverSideUseCase;
+
+        @BeforeEach
+        void setUp() {
+            OperationMetrics metrics = new OperationMetrics(meterRegistry);
+            serverSideUseCase = new PlaceBetUseCase(
+                userRepository, new UserAccounts(userRepository), betRepository, ledgerRepository,
+                eventOutcomeRepository, oddsCalculator, exposureBook, f1DataProvider, sessionLock,
+                new BetPlacementGroupCommit(transactionTemplate, sessionLock, Runnable::run, metrics,
+                    false, 64, 1, 100, LOCK_TIMEOUT),
+                placementGateway, eventPublisher, readYourWrites, metrics, LOCK_TIMEOUT, true
+            );
+            lenient().when(exposureBook.getMaxUserStake()).thenReturn(Money.ofCents(1_000_000));
+            lenient().when(exposureBook.getMaxDriverPayout()).thenReturn(Money.ofCents(100_000_000));
+        }
+
+        private void givenOutcome(BetPlacementGateway.Status status, long balanceCents, DriverExposure exposure) {
+            when(placementGateway.place(any(Bet.class), any(Money.class), any(Money.class), eq(LOCK_TIMEOUT)))
+                .thenReturn(new BetPlacementGateway.Outcome(status, balanceCents, exposure));
+        }
+
+        @Test
+        @DisplayName("should place through the gateway in one call and publish the bet")
+        void shouldPlaceThroughGateway() {
+            DriverExposure exposure = DriverExposure.reconstitute(sessionKey, driverNumber, 1,
+                stake, Money.ofCents(15_000));
+            givenOutcome(BetPlacementGateway.Status.PLACED, 5_000, exposure);
+
+            PlaceBetResult result = serverSideUseCase.execute(new PlaceBetCommand(userId, sessionKey, driverNumber, stake));
+
+            assertEquals(5_000, result.userBalance().toCents());
+            assertEquals(3, result.odds());
+            verify(eventPublisher).publish(any(UserBetUpdated.class));
+            verify(exposureBook).applyCommitted(exposure);
+            verify(exposureBook, never()).recordBet(any());
+            verifyNoInteractions(userRepository, betRepository, ledgerRepository, sessionLock, eventOutcomeRepository);
+            assertEquals(1, meterRegistry.get("f1bets.usecase.stage")
+                .tags("stage", "place_function", "outcome", "placed").timer().count());
+        }
+
+        @Test
+        @DisplayName("should map an insufficient balance status to InsufficientBalanceException")
+        void shouldRejectInsufficientBalance() {
+            givenOutcome(BetPlacementGateway.Status.INSUFFICIENT_BALANCE, 1_000, null);
+
+            InsufficientBalanceException error = assertThrows(InsufficientBalanceException.class,
+                () -> serverSideUseCase.execute(new PlaceBetCommand(userId, sessionKey, driverNumber, stake)));
+
+            assertTrue(error.getMessage().contains(Money.ofCents(1_000).toString()));
+            verifyNoInteractions(eventPublisher);
+            verify(exposureBook, never()).applyCommitted(any());
+        }
+
+        @Test
+        @DisplayName("should map a settled event status to EventAlreadySettledException")
+        void shouldRejectSettledEvent() {
+            givenOutcome(BetPlacementGateway.Status.EVENT_SETTLED, 0, null);
+
+            assertThrows(EventAlreadySettledException.class,
+                () -> serverSideUseCase.execute(new PlaceBetCommand(userId, sessionKey, driverNumber, stake)));
+        }
+
+        @Test
+        @DisplayName("should map limit statuses to ExposureLimitExceededException")
+        void shouldRejectLimits() {
+            givenOutcome(BetPlacementGateway.Status.USER_STAKE_LIMIT, 10_000, null);
+
+            ExposureLimitExceededException error = assertThrows(ExposureLimitExceededException.class,
+                () -> serverSideUseCase.execute(new PlaceBetCommand(userId, sessionKey, driverNumber, stake)));
+
+            assertEquals(ExposureLimitExceededException.Limit.USER_STAKE, error.getLimit());
+            assertEquals(Money.ofCents(1_000_000), error.getLimitAmount());
+        }
     }
 }
@@ -0,0 +1,129 @@
+package com.f1bets.application.usecase;
+
+import com.f1bets.application.dto.EventWithDrivers;
+import com.f1bets.application.dto.SettleEventCommand;
+import com.f1bets.application.dto.SettleEventResult;
+import com.f1bets.application.port.F1DataProvider;
+import com.f1bets.application.service.OperationMetrics;
+import com.f1bets.domain.exception.DriverNotInSessionException;
+import com.f1bets.domain.exception.SessionNotFoundException;
+import com.f1bets.domain.model.DriverExposure;
+import com.f1bets.domain.model.DriverNumber;
+import com.f1bets.domain.model.Money;
+import com.f1bets.domain.model.SessionKey;
+import com.f1bets.domain.repository.ExposureRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PreviewSettlementUseCase")
+class PreviewSettlementUseCaseTest {
+
+    private static final SessionKey SESSION = SessionKey.of(9472);
+
+    @Mock
+    private ExposureRepository exposureRepository;
+
+    @Mock
+    private F1DataProvider f1DataProvider;
+
+    @Mock
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+    private PreviewSettlementUseCase useCase;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        lenient().when(readOnlyTransactionTemplate.execute(any(TransactionCallback.class)))
+            .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        useCase = new PreviewSettlementUseCase(exposureRepository, f1DataProvider, readOnlyTransactionTemplate,
+            new OperationMetrics(new SimpleMeterRegistry()));
+
+        EventWithDrivers session = new EventWithDrivers(
+            9472, "Race", "Race", "Circuit", "Country", "XX",
+            Instant.parse("2024-06-01T14:00:00Z"), Instant.parse("2024-06-01T16:00:00Z"), 2024,
+            List.of(
+                new EventWithDrivers.DriverInfo(44, "Lewis Hamilton", "Mercedes", 3),
+                new EventWithDrivers.DriverInfo(1, "Max Verstappen", "Red Bull", 2),
+                new EventWithDrivers.DriverInfo(16, "Charles Leclerc", "Ferrari", 4)
+            )
+        );
+        lenient().when(f1DataProvider.getSessionByKey(9472)).thenReturn(Optional.of(session));
+    }
+
+    private static DriverExposure exposure(int driver, long bets, long stakeCents, long payoutCents) {
+        return DriverExposure.reconstitute(SESSION, DriverNumber.of(driver), bets,
+            Money.ofCents(stakeCents), Money.ofCents(payoutCents));
+    }
+
+    @Nested
+    @DisplayName("Aggregates")
+    class Aggregates {
+
+        @Test
+        @DisplayName("should count all bets and pay out the winner's potential payout")
+        void shouldComputeFromDriverTotals() {
+            when(exposureRepository.findBySessionKey(SESSION)).thenReturn(List.of(
+                exposure(1, 4, 10_000, 20_000),
+                exposure(44, 3, 6_000, 18_000)
+            ));
+
+            SettleEventResult result = useCase.execute(new SettleEventCommand(SESSION, DriverNumber.of(44)));
+
+            assertEquals(new SettleEventResult(9472, 44, 7, 3, Money.ofCents(18_000)), result);
+            verify(readOnlyTransactionTemplate).execute(any());
+        }
+
+        @Test
+        @DisplayName("should report no winners when nobody backed the winner")
+        void shouldReportNoWinners() {
+            when(exposureRepository.findBySessionKey(SESSION)).thenReturn(List.of(exposure(1, 2, 5_000, 10_000)));
+
+            SettleEventResult result = useCase.execute(new SettleEventCommand(SESSION, DriverNumber.of(16)));
+
+            assertEquals(new SettleEventResult(9472, 16, 2, 0, Money.ZERO), result);
+        }
+    }
+
+    @Nested
+    @DisplayName("Validation")
+    class Validation {
+
+        @Test
+        @DisplayName("should reject an unknown session without reading the exposure book")
+        void shouldRejectUnknownSession() {
+            when(f1DataProvider.getSessionByKey(1234)).thenReturn(Optional.empty());
+
+            assertThrows(SessionNotFoundException.class,
+                () -> useCase.execute(new SettleEventCommand(SessionKey.of(1234), DriverNumber.of(44))));
+
+            verifyNoInteractions(exposureRepository);
+        }
+
+        @Test
+        @DisplayName("should reject a driver who did not take part")
+        void shouldRejectUnknownDriver() {
+            assertThrows(DriverNotInSessionException.class,
+                () -> useCase.execute(new SettleEventCommand(SESSION, DriverNumber.of(99))));
+
+            verifyNoInteractions(exposureRepository);
+        }
+    }
+}
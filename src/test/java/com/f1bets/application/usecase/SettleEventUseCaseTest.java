@@ -4,7 +4,12 @@ import com.f1bets.application.dto.EventWithDrivers;
 import com.f1bets.application.dto.SettleEventCommand;
 import com.f1bets.application.dto.SettleEventResult;
 import com.f1bets.application.port.F1DataProvider;
+import com.f1bets.application.event.EventSettled;
+import com.f1bets.application.event.UserBetUpdated;
+import com.f1bets.application.port.DomainEventPublisher;
 import com.f1bets.application.port.SessionLock;
+import com.f1bets.application.port.SettlementGateway;
+import com.f1bets.application.service.OperationMetrics;
 import com.f1bets.domain.exception.DriverNotInSessionException;
 import com.f1bets.domain.exception.EventAlreadySettledException;
 import com.f1bets.domain.exception.EventNotEndedException;
@@ -26,6 +31,7 @@ import com.f1bets.domain.repository.EventOutcomeRepository;
 import com.f1bets.domain.repository.LedgerRepository;
 import com.f1bets.domain.repository.UserRepository;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -38,6 +44,7 @@ import org.springframework.transaction.support.TransactionCallback;
 import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.util.List;
@@ -68,6 +75,12 @@ class SettleEventUseCaseTest {
     @Mock
     private SessionLock sessionLock;
 
+    @Mock
+    private SettlementGateway settlementGateway;
+
+    @Mock
+    private DomainEventPublisher eventPublisher;
+
     @Mock
     private F1DataProvider f1DataProvider;
 
@@ -76,6 +89,10 @@ class SettleEventUseCaseTest {
 
     private Clock fixedClock;
 
+    private static final Duration LOCK_TIMEOUT = Duration.ofSeconds(2);
+
+    private SimpleMeterRegistry meterRegistry;
+
     private SettleEventUseCase settleEventUseCase;
 
     private SessionKey sessionKey;
@@ -94,10 +111,8 @@ class SettleEventUseCaseTest {
                 return callback.doInTransaction(null);
             });
 
-        settleEventUseCase = new SettleEventUseCase(
-            eventOutcomeRepository, betRepository, userRepository, ledgerRepository,
-            sessionLock, f1DataProvider, fixedClock, transactionTemplate
-        );
+        meterRegistry = new SimpleMeterRegistry();
+        settleEventUseCase = createUseCase("java");
         sessionKey = SessionKey.of(9472);
         winningDriver = DriverNumber.of(44);
 
@@ -113,6 +128,14 @@ class SettleEventUseCaseTest {
         lenient().when(f1DataProvider.getSessionByKey(anyInt(), anyBoolean())).thenReturn(Optional.of(validEndedSession));
     }
 
+    private SettleEventUseCase createUseCase(String engine) {
+        return new SettleEventUseCase(
+            eventOutcomeRepository, betRepository, userRepository, ledgerRepository,
+            sessionLock, settlementGateway, f1DataProvider, fixedClock, transactionTemplate, transactionTemplate,
+            eventPublisher, new OperationMetrics(meterRegistry), LOCK_TIMEOUT, engine
+        );
+    }
+
     @Nested
     @DisplayName("Event settlement with winning bets")
     class WinningBetsSettlement {
@@ -129,7 +152,7 @@ class SettleEventUseCaseTest {
                 Money.ofCents(1000), Odds.of(3), BetStatus.PENDING, Instant.now(), null
             );
 
-            when(betRepository.findBySessionKeyAndStatusForUpdate(sessionKey, BetStatus.PENDING))
+            when(betRepository.findPendingBySessionKeyForUpdate(sessionKey))
                 .thenReturn(List.of(winningBet));
             when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(user));
 
@@ -157,7 +180,7 @@ class SettleEventUseCaseTest {
                 Money.ofCents(2500), Odds.of(4), BetStatus.PENDING, Instant.now(), null
             );
 
-            when(betRepository.findBySessionKeyAndStatusForUpdate(sessionKey, BetStatus.PENDING))
+            when(betRepository.findPendingBySessionKeyForUpdate(sessionKey))
                 .thenReturn(List.of(betWithOdds4));
             when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(user));
 
@@ -185,7 +208,7 @@ class SettleEventUseCaseTest {
                 Money.ofCents(1000), Odds.of(2), BetStatus.PENDING, Instant.now(), null
             );
 
-            when(betRepository.findBySessionKeyAndStatusForUpdate(sessionKey, BetStatus.PENDING))
+            when(betRepository.findPendingBySessionKeyForUpdate(sessionKey))
                 .thenReturn(List.of(losingBet));
             when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(user));
 
@@ -221,7 +244,7 @@ class SettleEventUseCaseTest {
                 Money.ofCents(2000), Odds.of(3), BetStatus.PENDING, Instant.now(), null
             );
 
-            when(betRepository.findBySessionKeyAndStatusForUpdate(sessionKey, BetStatus.PENDING))
+            when(betRepository.findPendingBySessionKeyForUpdate(sessionKey))
                 .thenReturn(List.of(winningBet, losingBet));
             when(userRepository.findByIdForUpdate(winnerId)).thenReturn(Optional.of(winner));
             when(userRepository.findByIdForUpdate(loserId)).thenReturn(Optional.of(loser));
@@ -251,7 +274,7 @@ class SettleEventUseCaseTest {
 
             assertThrows(EventAlreadySettledException.class, () -> settleEventUseCase.execute(command));
 
-            verify(betRepository, never()).findBySessionKeyAndStatusForUpdate(any(), any());
+            verify(betRepository, never()).findPendingBySessionKeyForUpdate(any());
         }
 
         @Test
@@ -283,7 +306,20 @@ class SettleEventUseCaseTest {
             assertEquals(3000L, result.totalPayout().toCents());
 
             verify(eventOutcomeRepository, never()).save(any());
-            verify(betRepository, never()).findBySessionKeyAndStatusForUpdate(any(), any());
+            verify(betRepository, never()).findPendingBySessionKeyForUpdate(any());
+        }
+
+        @Test
+        @DisplayName("should answer replays without taking the session lock")
+        void shouldAnswerReplaysWithoutLock() {
+            EventOutcome existingOutcome = EventOutcome.create(sessionKey, winningDriver);
+            when(eventOutcomeRepository.findBySessionKey(sessionKey)).thenReturn(Optional.of(existingOutcome));
+            when(betRepository.findBySessionKey(sessionKey)).thenReturn(List.of());
+
+            settleEventUseCase.execute(new SettleEventCommand(sessionKey, winningDriver));
+
+            verify(sessionLock, never()).acquire(any(), any());
+            verify(transactionTemplate, times(1)).execute(any());
         }
     }
 
@@ -295,7 +331,7 @@ class SettleEventUseCaseTest {
         @DisplayName("should successfully settle event with zero pending bets")
         void shouldSettleEventWithZeroBets() {
             when(eventOutcomeRepository.findBySessionKey(sessionKey)).thenReturn(Optional.empty());
-            when(betRepository.findBySessionKeyAndStatusForUpdate(sessionKey, BetStatus.PENDING))
+            when(betRepository.findPendingBySessionKeyForUpdate(sessionKey))
                 .thenReturn(List.of());
 
             SettleEventCommand command = new SettleEventCommand(sessionKey, winningDriver);
@@ -314,7 +350,7 @@ class SettleEventUseCaseTest {
         @DisplayName("should persist event outcome even when no bets exist")
         void shouldPersistOutcomeWithZeroBets() {
             when(eventOutcomeRepository.findBySessionKey(sessionKey)).thenReturn(Optional.empty());
-            when(betRepository.findBySessionKeyAndStatusForUpdate(sessionKey, BetStatus.PENDING))
+            when(betRepository.findPendingBySessionKeyForUpdate(sessionKey))
                 .thenReturn(List.of());
 
             SettleEventCommand command = new SettleEventCommand(sessionKey, winningDriver);
@@ -331,11 +367,11 @@ class SettleEventUseCaseTest {
         @Test
         @DisplayName("should prevent re-settlement with different winner after zero-bet settlement")
         void shouldPreventReSettlementWithDifferentWinnerAfterZeroBets() {
-            // First call - no existing outcome
+            // First call - no existing outcome, neither in the replay check nor under the lock
             when(eventOutcomeRepository.findBySessionKey(sessionKey))
-                .thenReturn(Optional.empty())
+                .thenReturn(Optional.empty(), Optional.empty())
                 .thenReturn(Optional.of(EventOutcome.create(sessionKey, winningDriver)));
-            when(betRepository.findBySessionKeyAndStatusForUpdate(sessionKey, BetStatus.PENDING))
+            when(betRepository.findPendingBySessionKeyForUpdate(sessionKey))
                 .thenReturn(List.of());
 
             SettleEventCommand firstCommand = new SettleEventCommand(sessionKey, winningDriver);
@@ -366,7 +402,7 @@ class SettleEventUseCaseTest {
                 Money.ofCents(500), Odds.of(2), BetStatus.PENDING, Instant.now(), null
             );
 
-            when(betRepository.findBySessionKeyAndStatusForUpdate(sessionKey, BetStatus.PENDING))
+            when(betRepository.findPendingBySessionKeyForUpdate(sessionKey))
                 .thenReturn(List.of(winningBet));
             when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(user));
 
@@ -395,7 +431,7 @@ class SettleEventUseCaseTest {
                 Money.ofCents(1000), Odds.of(2), BetStatus.PENDING, Instant.now(), null
             );
 
-            when(betRepository.findBySessionKeyAndStatusForUpdate(sessionKey, BetStatus.PENDING))
+            when(betRepository.findPendingBySessionKeyForUpdate(sessionKey))
                 .thenReturn(List.of(losingBet));
             when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(user));
 
@@ -521,20 +557,20 @@ class SettleEventUseCaseTest {
         @DisplayName("should acquire session lock with correct session key")
         void shouldAcquireSessionLockWithCorrectKey() {
             when(eventOutcomeRepository.findBySessionKey(sessionKey)).thenReturn(Optional.empty());
-            when(betRepository.findBySessionKeyAndStatusForUpdate(sessionKey, BetStatus.PENDING))
+            when(betRepository.findPendingBySessionKeyForUpdate(sessionKey))
                 .thenReturn(List.of());
 
             SettleEventCommand command = new SettleEventCommand(sessionKey, winningDriver);
             settleEventUseCase.execute(command);
 
-            verify(sessionLock).acquire(sessionKey);
+            verify(sessionLock).acquire(sessionKey, LOCK_TIMEOUT);
         }
 
         @Test
         @DisplayName("should acquire lock before checking existing outcome")
         void shouldAcquireLockBeforeOutcomeCheck() {
             when(eventOutcomeRepository.findBySessionKey(sessionKey)).thenReturn(Optional.empty());
-            when(betRepository.findBySessionKeyAndStatusForUpdate(sessionKey, BetStatus.PENDING))
+            when(betRepository.findPendingBySessionKeyForUpdate(sessionKey))
                 .thenReturn(List.of());
 
             SettleEventCommand command = new SettleEventCommand(sessionKey, winningDriver);
@@ -542,7 +578,7 @@ class SettleEventUseCaseTest {
 
             // Verify order: lock acquired, then outcome checked
             var inOrder = inOrder(sessionLock, eventOutcomeRepository);
-            inOrder.verify(sessionLock).acquire(sessionKey);
+            inOrder.verify(sessionLock).acquire(sessionKey, LOCK_TIMEOUT);
             inOrder.verify(eventOutcomeRepository).findBySessionKey(sessionKey);
         }
     }
@@ -579,7 +615,7 @@ class SettleEventUseCaseTest {
                 Money.ofCents(100), Odds.of(2), BetStatus.PENDING, Instant.now(), null
             );
 
-            when(betRepository.findBySessionKeyAndStatusForUpdate(sessionKey, BetStatus.PENDING))
+            when(betRepository.findPendingBySessionKeyForUpdate(sessionKey))
                 .thenReturn(List.of(betZ, betA, betM));
             when(userRepository.findByIdForUpdate(userZ)).thenReturn(Optional.of(zUser));
             when(userRepository.findByIdForUpdate(userA)).thenReturn(Optional.of(aUser));
@@ -594,5 +630,171 @@ class SettleEventUseCaseTest {
             inOrder.verify(userRepository).findByIdForUpdate(userM);
             inOrder.verify(userRepository).findByIdForUpdate(userZ);
         }
+
+        @Test
+        @DisplayName("should apply a user's bets in placement order")
+        void shouldApplyUserBetsInPlacementOrder() {
+            when(eventOutcomeRepository.findBySessionKey(sessionKey)).thenReturn(Optional.empty());
+
+            UserId userId = UserId.of("user-1");
+            Bet later = Bet.reconstitute(
+                UUID.randomUUID(), userId, sessionKey, DriverNumber.of(1),
+                Money.ofCents(100), Odds.of(2), BetStatus.PENDING, Instant.parse("2024-06-01T14:05:00Z"), null
+            );
+            Bet earlier = Bet.reconstitute(
+                UUID.randomUUID(), userId, sessionKey, winningDriver,
+                Money.ofCents(100), Odds.of(3), BetStatus.PENDING, Instant.parse("2024-06-01T14:00:00Z"), null
+            );
+            when(betRepository.findPendingBySessionKeyForUpdate(sessionKey))
+                .thenReturn(List.of(later, earlier));
+            when(userRepository.findByIdForUpdate(userId))
+                .thenReturn(Optional.of(User.reconstitute(userId, Money.ofCents(1000), 1L, Instant.now())));
+
+            settleEventUseCase.execute(new SettleEventCommand(sessionKey, winningDriver));
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<LedgerEntry>> captor = ArgumentCaptor.forClass(List.class);
+            verify(ledgerRepository).saveAll(captor.capture());
+            List<LedgerEntry> entries = captor.getValue();
+            assertEquals(earlier.getId().toString(), entries.get(0).getReferenceId());
+            assertEquals(1300, entries.get(0).getBalanceAfterCents());
+            assertEquals(later.getId().toString(), entries.get(1).getReferenceId());
+            assertEquals(1300, entries.get(1).getBalanceAfterCents());
+        }
+    }
+
+    @Nested
+    @DisplayName("SQL settlement engine")
+    class SqlEngine {
+
+        @BeforeEach
+        void useSqlEngine() {
+            settleEventUseCase = createUseCase("sql");
+        }
+
+        @Test
+        @DisplayName("should settle through the database function without loading bets")
+        void shouldSettleInDatabase() {
+            when(eventOutcomeRepository.findBySessionKey(sessionKey)).thenReturn(Optional.empty());
+            when(settlementGateway.settle(sessionKey, winningDriver, fixedClock.instant()))
+                .thenReturn(new SettlementGateway.Totals(3, 1, 2000));
+
+            SettleEventResult result = settleEventUseCase.execute(new SettleEventCommand(sessionKey, winningDriver));
+
+            assertEquals(3, result.totalBets());
+            assertEquals(1, result.winningBets());
+            assertEquals(2000, result.totalPayout().toCents());
+            verify(eventOutcomeRepository).save(any(EventOutcome.class));
+            verifyNoInteractions(betRepository, userRepository, ledgerRepository);
+            verify(eventPublisher).publish(new EventSettled(9472, winningDriver.getValue(), 3, 1, 2000));
+            verifyNoMoreInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("should lock the session and record the outcome before settling")
+        void shouldLockAndRecordOutcomeFirst() {
+            when(eventOutcomeRepository.findBySessionKey(sessionKey)).thenReturn(Optional.empty());
+            when(settlementGateway.settle(any(), any(), any())).thenReturn(new SettlementGateway.Totals(0, 0, 0));
+
+            settleEventUseCase.execute(new SettleEventCommand(sessionKey, winningDriver));
+
+            var inOrder = inOrder(sessionLock, eventOutcomeRepository, settlementGateway);
+            inOrder.verify(sessionLock).acquire(sessionKey, LOCK_TIMEOUT);
+            inOrder.verify(eventOutcomeRepository).save(any(EventOutcome.class));
+            inOrder.verify(settlementGateway).settle(sessionKey, winningDriver, fixedClock.instant());
+        }
+
+        @Test
+        @DisplayName("should not call the database function on idempotent re-settlement")
+        void shouldNotSettleReplay() {
+            when(eventOutcomeRepository.findBySessionKey(sessionKey))
+                .thenReturn(Optional.of(EventOutcome.create(sessionKey, winningDriver)));
+            when(betRepository.findBySessionKey(sessionKey)).thenReturn(List.of());
+
+            settleEventUseCase.execute(new SettleEventCommand(sessionKey, winningDriver));
+
+            verifyNoInteractions(settlementGateway);
+        }
+
+        @Test
+        @DisplayName("should reject an unknown engine")
+        void shouldRejectUnknownEngine() {
+            assertThrows(IllegalArgumentException.class, () -> createUseCase("plsql"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Event publication")
+    class EventPublication {
+
+        @Test
+        @DisplayName("should publish the outcome and one update per settled bet in one batch")
+        void shouldPublishOutcomeAndBetUpdates() {
+            when(eventOutcomeRepository.findBySessionKey(sessionKey)).thenReturn(Optional.empty());
+
+            UserId winnerId = UserId.of("winner");
+            Bet winningBet = Bet.reconstitute(
+                UUID.randomUUID(), winnerId, sessionKey, winningDriver,
+                Money.ofCents(1000), Odds.of(2), BetStatus.PENDING, Instant.now(), null
+            );
+            when(betRepository.findPendingBySessionKeyForUpdate(sessionKey))
+                .thenReturn(List.of(winningBet));
+            when(userRepository.findByIdForUpdate(winnerId))
+                .thenReturn(Optional.of(User.reconstitute(winnerId, Money.ofCents(500), 1L, Instant.now())));
+
+            settleEventUseCase.execute(new SettleEventCommand(sessionKey, winningDriver));
+
+            verify(eventPublisher).publishAll(List.of(
+                new UserBetUpdated("winner", winningBet.getId(), 9472, "WON", 2500)));
+            verify(eventPublisher).publish(new EventSettled(9472, winningDriver.getValue(), 1, 1, 2000));
+        }
+
+        @Test
+        @DisplayName("should not republish on idempotent re-settlement")
+        void shouldNotPublishOnReplay() {
+            EventOutcome existing = EventOutcome.create(sessionKey, winningDriver);
+            when(eventOutcomeRepository.findBySessionKey(sessionKey)).thenReturn(Optional.of(existing));
+            when(betRepository.findBySessionKey(sessionKey)).thenReturn(List.of());
+
+            settleEventUseCase.execute(new SettleEventCommand(sessionKey, winningDriver));
+
+            verify(eventPublisher, never()).publish(any());
+            verify(eventPublisher, never()).publishAll(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Settlement metrics")
+    class SettlementMetrics {
+
+        @Test
+        @DisplayName("should count won and lost bets for a fresh settlement")
+        void shouldCountSettledBetsByResult() {
+            when(eventOutcomeRepository.findBySessionKey(sessionKey)).thenReturn(Optional.empty());
+
+            UserId winnerId = UserId.of("winner");
+            UserId loserId = UserId.of("loser");
+            Bet winningBet = Bet.reconstitute(
+                UUID.randomUUID(), winnerId, sessionKey, winningDriver,
+                Money.ofCents(1000), Odds.of(2), BetStatus.PENDING, Instant.now(), null
+            );
+            Bet losingBet = Bet.reconstitute(
+                UUID.randomUUID(), loserId, sessionKey, DriverNumber.of(1),
+                Money.ofCents(2000), Odds.of(3), BetStatus.PENDING, Instant.now(), null
+            );
+            when(betRepository.findPendingBySessionKeyForUpdate(sessionKey))
+                .thenReturn(List.of(winningBet, losingBet));
+            when(userRepository.findByIdForUpdate(winnerId))
+                .thenReturn(Optional.of(User.reconstitute(winnerId, Money.ofCents(0), 1L, Instant.now())));
+            when(userRepository.findByIdForUpdate(loserId))
+                .thenReturn(Optional.of(User.reconstitute(loserId, Money.ofCents(5000), 1L, Instant.now())));
+
+            settleEventUseCase.execute(new SettleEventCommand(sessionKey, winningDriver));
+
+            assertEquals(1.0, meterRegistry.get("f1bets.settlement.bets").tag("result", "won").counter().count());
+            assertEquals(1.0, meterRegistry.get("f1bets.settlement.bets").tag("result", "lost").counter().count());
+            assertEquals(1, meterRegistry.get("f1bets.usecase.stage")
+                .tags("usecase", "settle_event", "stage", "lock_wait").timer().count());
+        }
     }
 }
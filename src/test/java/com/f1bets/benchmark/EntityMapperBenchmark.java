@@ -0,0 +1,147 @@
+package com.f1bets.benchmark;
+
+import com.f1bets.domain.model.Bet;
+import com.f1bets.domain.model.BetStatus;
+import com.f1bets.domain.model.DriverNumber;
+import com.f1bets.domain.model.Money;
+import com.f1bets.domain.model.Odds;
+import com.f1bets.domain.model.SessionKey;
+import com.f1bets.domain.model.UserId;
+import com.f1bets.infrastructure.persistence.entity.BetJpaEntity;
+import com.f1bets.infrastructure.persistence.entity.BetJpaEntity.BetStatusJpa;
+import com.f1bets.infrastructure.persistence.mapper.EntityMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps 10k bet rows to domain objects, through {@link EntityMapper} (trusted reconstitution),
+ * through the validating factories that guard the API boundary, and through a baseline that
+ * validates user IDs with {@code String.matches} as the mapper did before reconstitution. The
+ * baseline still gets the shared DriverNumber and Odds instances, so it understates the
+ * original cost by their allocations.
+ *
+ * Not part of the test suite. Run with:
+ * <pre>
+ * mvn -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath com.f1bets.benchmark.EntityMapperBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class EntityMapperBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private final EntityMapper mapper = new EntityMapper();
+    private List<BetJpaEntity> rows;
+
+    @Setup
+    public void setUp() {
+        rows = new ArrayList<>(ROWS);
+        Instant createdAt = Instant.parse("2024-06-01T12:00:00Z");
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new BetJpaEntity(
+                UUID.randomUUID(),
+                "user-" + (i % 500),
+                9000 + (i % 20),
+                1 + (i % 99),
+                100L + i,
+                2 + (i % 3),
+                BetStatusJpa.PENDING,
+                createdAt,
+                null,
+                null
+            ));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void trustedMapping(Blackhole blackhole) {
+        for (BetJpaEntity row : rows) {
+            blackhole.consume(mapper.toDomain(row));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void validatedMapping(Blackhole blackhole) {
+        for (BetJpaEntity row : rows) {
+            blackhole.consume(Bet.reconstitute(
+                row.getId(),
+                UserId.of(row.getUserId()),
+                SessionKey.of(row.getSessionKey()),
+                DriverNumber.of(row.getDriverNumber()),
+                Money.ofCents(row.getStakeCents()),
+                Odds.of(row.getOdds()),
+                BetStatus.valueOf(row.getStatus().name()),
+                row.getCreatedAt(),
+                row.getSettledAt(),
+                row.getIdempotencyKey()
+            ));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void regexValidatedMapping(Blackhole blackhole) {
+        for (BetJpaEntity row : rows) {
+            blackhole.consume(Bet.reconstitute(
+                row.getId(),
+                regexValidatedUserId(row.getUserId()),
+                SessionKey.of(row.getSessionKey()),
+                DriverNumber.of(row.getDriverNumber()),
+                Money.ofCents(row.getStakeCents()),
+                Odds.of(row.getOdds()),
+                BetStatus.valueOf(row.getStatus().name()),
+                row.getCreatedAt(),
+                row.getSettledAt(),
+                row.getIdempotencyKey()
+            ));
+        }
+    }
+
+    /** The checks UserId.of made before it dropped the regex. */
+    private static UserId regexValidatedUserId(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("User ID cannot be null or blank");
+        }
+        String trimmed = value.trim();
+        if (trimmed.length() > 100) {
+            throw new IllegalArgumentException("User ID exceeds maximum length of 100 characters");
+        }
+        if (!trimmed.matches("^[a-zA-Z0-9_-]+$")) {
+            throw new IllegalArgumentException("User ID contains invalid characters");
+        }
+        return UserId.reconstitute(trimmed);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(EntityMapperBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
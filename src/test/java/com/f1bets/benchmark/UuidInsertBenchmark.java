@@ -0,0 +1,152 @@
+package com.f1bets.benchmark;
+
+import com.f1bets.domain.model.UuidV7;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput into a large table keyed by random (v4) versus time-ordered (v7) UUIDs.
+ *
+ * For each variant a table shaped like {@code ledger_entries} (UUID primary key plus a few
+ * columns) is filled with {@code prefill} rows, then {@code rows} more are inserted by
+ * {@code threads} writers in transactions of {@code batch} rows. Reported per variant: rows/s,
+ * WAL written during the measured phase (page splits and full-page images show up here) and
+ * the primary-key index size. The tables are dropped afterwards.
+ *
+ * Not part of the test suite. Needs a PostgreSQL with room for both tables (about 8 GB at the
+ * default 50M rows each). Run with:
+ * <pre>
+ * mvn -q test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-Durl=jdbc:postgresql://localhost:5432/f1bets -Duser=f1bets -Dpassword=... \
+ *     -cp %classpath com.f1bets.benchmark.UuidInsertBenchmark"
+ * </pre>
+ * Optional: {@code -Dprefill=50000000 -Drows=2000000 -Dthreads=8 -Dbatch=100}.
+ */
+public final class UuidInsertBenchmark {
+
+    private static final String URL = System.getProperty("url", "jdbc:postgresql://localhost:5432/f1bets");
+    private static final String USER = System.getProperty("user", "f1bets");
+    private static final String PASSWORD = System.getProperty("password", "");
+    private static final long PREFILL = Long.getLong("prefill", 50_000_000L);
+    private static final long ROWS = Long.getLong("rows", 2_000_000L);
+    private static final int THREADS = Integer.getInteger("threads", 8);
+    private static final int BATCH = Integer.getInteger("batch", 100);
+    private static final int PREFILL_BATCH = 10_000;
+
+    private UuidInsertBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("prefill=%,d rows=%,d threads=%d batch=%d%n", PREFILL, ROWS, THREADS, BATCH);
+        run("v4", UUID::randomUUID);
+        run("v7", UuidV7::next);
+    }
+
+    private static void run(String variant, Supplier<UUID> ids) throws Exception {
+        String table = "uuid_bench_" + variant;
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE TABLE " + table + " (id UUID PRIMARY KEY, user_id VARCHAR(100) NOT NULL, "
+                + "amount_cents BIGINT NOT NULL, created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW())");
+        }
+        try {
+            long prefillStart = System.nanoTime();
+            insert(table, ids, PREFILL, 1, PREFILL_BATCH);
+            try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+                statement.execute("CHECKPOINT");
+                statement.execute("VACUUM ANALYZE " + table);
+            }
+            System.out.printf("%s: prefilled in %.1f s%n", variant, (System.nanoTime() - prefillStart) / 1e9);
+
+            long walBefore = walLsn();
+            long start = System.nanoTime();
+            insert(table, ids, ROWS, THREADS, BATCH);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long walBytes = walLsn() - walBefore;
+
+            System.out.printf("%s: %,.0f rows/s, WAL %,.1f MB (%.0f B/row), pk index %s%n",
+                variant, ROWS / seconds, walBytes / 1e6, (double) walBytes / ROWS, indexSize(table));
+        } finally {
+            try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS " + table);
+            }
+        }
+    }
+
+    private static void insert(String table, Supplier<UUID> ids, long rows, int threads, int batch)
+            throws Exception {
+        ExecutorService writers = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long share = rows / threads + (t < rows % threads ? 1 : 0);
+                futures.add(writers.submit(() -> {
+                    insertShare(table, ids, share, batch);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            writers.shutdown();
+        }
+    }
+
+    private static void insertShare(String table, Supplier<UUID> ids, long rows, int batch) throws SQLException {
+        try (Connection connection = connect();
+             PreparedStatement insert = connection.prepareStatement(
+                 "INSERT INTO " + table + " (id, user_id, amount_cents) VALUES (?, ?, ?)")) {
+            connection.setAutoCommit(false);
+            long inBatch = 0;
+            for (long i = 0; i < rows; i++) {
+                insert.setObject(1, ids.get());
+                insert.setString(2, "user-" + (i % 10_000));
+                insert.setLong(3, -(i % 5_000) - 1);
+                insert.addBatch();
+                if (++inBatch == batch) {
+                    insert.executeBatch();
+                    connection.commit();
+                    inBatch = 0;
+                }
+            }
+            if (inBatch > 0) {
+                insert.executeBatch();
+                connection.commit();
+            }
+        }
+    }
+
+    private static long walLsn() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT pg_wal_lsn_diff(pg_current_wal_lsn(), '0/0')::BIGINT")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static String indexSize(String table) throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                 "SELECT pg_size_pretty(pg_relation_size('" + table + "_pkey'))")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(URL + (URL.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true",
+            USER, PASSWORD);
+    }
+}
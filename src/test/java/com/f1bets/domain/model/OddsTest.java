@@ -149,6 +149,14 @@ class OddsTest {
             Odds b = Odds.of(4);
             assertNotEquals(a, b);
         }
+
+        @Test
+        @DisplayName("should share one instance per value")
+        void shouldShareOneInstancePerValue() {
+            assertSame(Odds.of(3), Odds.of(3));
+            Odds generated = Odds.fromSessionAndDriver(9472, 44, "seed");
+            assertSame(Odds.of(generated.getValue()), generated);
+        }
     }
 
     @Test
@@ -0,0 +1,139 @@
+package com.f1bets.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UuidV7")
+class UuidV7Test {
+
+    private static final long NOW = 1_717_243_200_000L;
+
+    @Nested
+    @DisplayName("Layout")
+    class Layout {
+
+        @Test
+        @DisplayName("should set version 7 and the RFC variant")
+        void shouldSetVersionAndVariant() {
+            UUID uuid = UuidV7.next();
+
+            assertEquals(7, uuid.version());
+            assertEquals(2, uuid.variant());
+        }
+
+        @Test
+        @DisplayName("should carry the creation time in the leading 48 bits")
+        void shouldEncodeTimestamp() {
+            long before = System.currentTimeMillis();
+            UUID uuid = UuidV7.next();
+            long after = System.currentTimeMillis();
+
+            long millis = UuidV7.timestampMillis(uuid);
+            // A sequence overflow may move the timestamp one millisecond ahead of the clock
+            assertTrue(millis >= before && millis <= after + 1, "timestamp " + millis);
+        }
+
+        @Test
+        @DisplayName("should reject other versions when reading the timestamp")
+        void shouldRejectOtherVersions() {
+            UUID random = UUID.randomUUID();
+
+            assertThrows(IllegalArgumentException.class, () -> UuidV7.timestampMillis(random));
+        }
+    }
+
+    @Nested
+    @DisplayName("Ordering")
+    class Ordering {
+
+        @Test
+        @DisplayName("should increase within one millisecond")
+        void shouldIncreaseWithinMillisecond() {
+            UuidV7.Sequence sequence = new UuidV7.Sequence();
+
+            List<UUID> ids = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                ids.add(sequence.next(NOW));
+            }
+
+            assertStrictlyIncreasing(ids);
+        }
+
+        @Test
+        @DisplayName("should keep increasing when the clock steps back")
+        void shouldIncreaseWhenClockStepsBack() {
+            UuidV7.Sequence sequence = new UuidV7.Sequence();
+
+            UUID first = sequence.next(NOW);
+            UUID second = sequence.next(NOW - 5_000);
+
+            assertStrictlyIncreasing(List.of(first, second));
+            assertEquals(NOW, UuidV7.timestampMillis(second));
+        }
+
+        @Test
+        @DisplayName("should advance the timestamp when the sequence overflows")
+        void shouldAdvanceOnOverflow() {
+            UuidV7.Sequence sequence = new UuidV7.Sequence();
+
+            List<UUID> ids = new ArrayList<>();
+            for (int i = 0; i < 5_000; i++) {
+                ids.add(sequence.next(NOW));
+            }
+
+            assertStrictlyIncreasing(ids);
+            assertEquals(NOW + 1, UuidV7.timestampMillis(ids.get(ids.size() - 1)));
+        }
+
+        @Test
+        @DisplayName("should sort in the same order as text, as the database compares them")
+        void shouldSortAsText() {
+            UUID earlier = UuidV7.of(NOW, 0xFFF, -1L);
+            UUID later = UuidV7.of(NOW + 1, 0, 0L);
+
+            assertTrue(earlier.toString().compareTo(later.toString()) < 0);
+        }
+    }
+
+    @Test
+    @DisplayName("should not repeat across threads")
+    void shouldBeUniqueAcrossThreads() throws InterruptedException {
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    ids.add(UuidV7.next());
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40_000, ids.size());
+    }
+
+    /**
+     * Compares the text form, which orders like PostgreSQL's byte-wise uuid comparison
+     * (UUID.compareTo compares signed longs and does not).
+     */
+    private static void assertStrictlyIncreasing(List<UUID> ids) {
+        for (int i = 1; i < ids.size(); i++) {
+            String previous = ids.get(i - 1).toString();
+            String current = ids.get(i).toString();
+            assertTrue(previous.compareTo(current) < 0, previous + " !< " + current);
+        }
+    }
+}
@@ -55,6 +55,12 @@ class ValueObjectsTest {
             assertEquals(dn1.hashCode(), dn2.hashCode());
             assertNotEquals(dn1, dn3);
         }
+
+        @Test
+        @DisplayName("should return the shared instance for the same number")
+        void shouldReturnSharedInstance() {
+            assertSame(DriverNumber.of(44), DriverNumber.of(44));
+        }
     }
 
     @Nested
@@ -130,6 +136,21 @@ class ValueObjectsTest {
             assertEquals("USER789", UserId.of("USER789").getValue());
         }
 
+        @Test
+        @DisplayName("should reject characters outside the allowed set")
+        void shouldRejectInvalidCharacters() {
+            assertThrows(IllegalArgumentException.class, () -> UserId.of("john.doe"));
+            assertThrows(IllegalArgumentException.class, () -> UserId.of("john doe"));
+            assertThrows(IllegalArgumentException.class, () -> UserId.of("jöhn"));
+            assertThrows(IllegalArgumentException.class, () -> UserId.of("user\u0663"));
+        }
+
+        @Test
+        @DisplayName("should reconstitute a persisted ID as-is")
+        void shouldReconstitutePersistedId() {
+            assertEquals(UserId.of("john-doe"), UserId.reconstitute("john-doe"));
+        }
+
         @Test
         @DisplayName("should implement equals and hashCode")
         void shouldImplementEqualsAndHashCode() {
@@ -0,0 +1,145 @@
+package com.f1bets.infrastructure;
+
+import com.f1bets.application.event.DomainEvent;
+import com.f1bets.application.event.EventSettled;
+import com.f1bets.application.event.UserBetUpdated;
+import com.f1bets.application.service.OperationMetrics;
+import com.f1bets.infrastructure.coherence.CacheCoherenceListener;
+import com.f1bets.infrastructure.coherence.CacheInvalidationHandler;
+import com.f1bets.infrastructure.coherence.CacheInvalidationOutboxConsumer;
+import com.f1bets.infrastructure.coherence.CacheInvalidationPublisher;
+import com.f1bets.infrastructure.coherence.CoherenceMessage;
+import com.f1bets.infrastructure.outbox.OutboxMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheCoherenceTest {
+
+    @Nested
+    @DisplayName("Message format")
+    class MessageFormat {
+
+        @Test
+        @DisplayName("should round-trip keys containing separator characters")
+        void shouldRoundTripKeys() {
+            CoherenceMessage message = CoherenceMessage.of("node-a", 1000L, "sessions",
+                List.of("q:Race~2024~", "k:9472", "user|with,commas"));
+
+            assertEquals(message, CoherenceMessage.parse(message.encode()));
+        }
+
+        @Test
+        @DisplayName("should widen to a region-wide invalidation when the payload would exceed the NOTIFY limit")
+        void shouldWidenOversizedMessages() {
+            List<String> keys = IntStream.range(0, 2000).mapToObj(i -> "user-" + i).toList();
+
+            String payload = CoherenceMessage.of("node-a", 1000L, "users", keys).encode();
+
+            assertTrue(payload.getBytes(StandardCharsets.UTF_8).length < 8000);
+            assertTrue(CoherenceMessage.parse(payload).regionWide());
+        }
+    }
+
+    @Nested
+    @DisplayName("Listener")
+    class Listener {
+
+        @Mock
+        private CacheInvalidationPublisher publisher;
+
+        @Mock
+        private CacheInvalidationHandler handler;
+
+        private CacheCoherenceListener listener;
+
+        @BeforeEach
+        void setUp() {
+            when(publisher.nodeId()).thenReturn("self");
+            when(handler.region()).thenReturn("sessions");
+            Clock clock = Clock.fixed(Instant.ofEpochMilli(1500L), ZoneOffset.UTC);
+            listener = new CacheCoherenceListener(new DataSourceProperties(), publisher, List.of(handler),
+                new OperationMetrics(new SimpleMeterRegistry()), clock, Duration.ofMillis(500), Duration.ofSeconds(5));
+        }
+
+        @Test
+        @DisplayName("should apply invalidations from other nodes to the matching region")
+        void shouldApplyRemoteInvalidations() {
+            listener.handle(CoherenceMessage.of("other", 1000L, "sessions", List.of("k:9472")).encode());
+            listener.handle(CoherenceMessage.of("other", 1000L, "sessions", List.of()).encode());
+
+            verify(handler).invalidate(List.of("k:9472"));
+            verify(handler).invalidateAll();
+        }
+
+        @Test
+        @DisplayName("should ignore its own, unknown-region and malformed messages")
+        void shouldIgnoreIrrelevantMessages() {
+            listener.handle(CoherenceMessage.of("self", 1000L, "sessions", List.of("k:9472")).encode());
+            listener.handle(CoherenceMessage.of("other", 1000L, "users", List.of("john")).encode());
+            listener.handle("garbage");
+
+            verify(handler, never()).invalidate(any());
+            verify(handler, never()).invalidateAll();
+        }
+    }
+
+    @Nested
+    @DisplayName("Outbox consumer")
+    class OutboxConsumer {
+
+        @Mock
+        private CacheInvalidationPublisher publisher;
+
+        @Mock
+        private CacheInvalidationHandler handler;
+
+        private static OutboxMessage message(DomainEvent event) {
+            return new OutboxMessage(1L, event.eventType(), event.recipientUserId(), "{}", Instant.EPOCH, event);
+        }
+
+        @Test
+        @DisplayName("should not broadcast regions without a registered handler")
+        void shouldSkipUnhandledRegions() {
+            when(handler.region()).thenReturn("sessions");
+            CacheInvalidationOutboxConsumer consumer = new CacheInvalidationOutboxConsumer(publisher, List.of(handler));
+
+            consumer.handle(message(new UserBetUpdated("john", UUID.randomUUID(), 9472, "WON", 300)));
+            consumer.handle(message(new EventSettled(9472, 1, 3, 1, 2000)));
+
+            verifyNoInteractions(publisher);
+            verify(handler, never()).invalidate(any());
+        }
+
+        @Test
+        @DisplayName("should invalidate locally and broadcast regions with a handler")
+        void shouldInvalidateHandledRegions() {
+            when(handler.region()).thenReturn(CacheInvalidationOutboxConsumer.USERS_REGION);
+            CacheInvalidationOutboxConsumer consumer = new CacheInvalidationOutboxConsumer(publisher, List.of(handler));
+
+            consumer.handle(message(new UserBetUpdated("john", UUID.randomUUID(), 9472, "WON", 300)));
+
+            verify(handler).invalidate(List.of("john"));
+            verify(publisher).broadcast(CacheInvalidationOutboxConsumer.USERS_REGION, List.of("john"));
+        }
+    }
+}
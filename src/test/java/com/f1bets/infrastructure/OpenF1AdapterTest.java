@@ -2,9 +2,12 @@ package com.f1bets.infrastructure;
 
 import com.f1bets.application.dto.EventWithDrivers;
 import com.f1bets.application.dto.SessionQuery;
+import com.f1bets.application.event.SessionsChanged;
+import com.f1bets.application.port.DomainEventPublisher;
 import com.f1bets.application.service.OddsCalculator;
 import com.f1bets.domain.exception.ExternalServiceUnavailableException;
 import com.f1bets.domain.model.Odds;
+import com.f1bets.infrastructure.coherence.CacheInvalidationPublisher;
 import com.f1bets.infrastructure.external.openf1.OpenF1Adapter;
 import com.f1bets.infrastructure.external.openf1.OpenF1Client;
 import com.f1bets.infrastructure.external.openf1.dto.OpenF1Driver;
@@ -37,6 +40,12 @@ class OpenF1AdapterTest {
     @Mock
     private OddsCalculator oddsCalculator;
 
+    @Mock
+    private DomainEventPublisher eventPublisher;
+
+    @Mock
+    private CacheInvalidationPublisher cacheInvalidationPublisher;
+
     private Cache<SessionQuery, List<EventWithDrivers>> cache;
     private Cache<Integer, Optional<EventWithDrivers>> sessionKeyCache;
     private OpenF1Adapter adapter;
@@ -51,7 +60,8 @@ class OpenF1AdapterTest {
             .expireAfterWrite(Duration.ofMinutes(5))
             .maximumSize(100)
             .build();
-        adapter = new OpenF1Adapter(openF1Client, cache, sessionKeyCache, oddsCalculator, 180, 6, 500);
+        adapter = new OpenF1Adapter(openF1Client, cache, sessionKeyCache, oddsCalculator, eventPublisher,
+            cacheInvalidationPublisher, 180, 6, 500);
 
         lenient().when(oddsCalculator.calculate(anyInt(), anyInt())).thenReturn(Odds.of(3));
     }
@@ -110,6 +120,41 @@ class OpenF1AdapterTest {
         }
     }
 
+    @Nested
+    @DisplayName("Change notifications")
+    class ChangeNotifications {
+
+        @Test
+        @DisplayName("should publish SessionsChanged only when a refresh differs from the previous snapshot")
+        void shouldPublishOnlyOnChange() {
+            SessionQuery query = SessionQuery.of("Race", 2024, null);
+            OpenF1Session monza = new OpenF1Session(
+                9472, "GP", "Race", "Monza", "Italy", "IT",
+                "2024-09-01T13:00:00Z", "2024-09-01T15:00:00Z", 2024
+            );
+            OpenF1Session baku = new OpenF1Session(
+                9480, "GP", "Race", "Baku", "Azerbaijan", "AZE",
+                "2024-09-15T11:00:00Z", "2024-09-15T13:00:00Z", 2024
+            );
+            when(openF1Client.getDrivers(anyInt()))
+                .thenReturn(List.of(new OpenF1Driver(16, "Charles Leclerc", "Ferrari", "LEC")));
+            when(openF1Client.getSessions("Race", 2024, null))
+                .thenReturn(List.of(monza), List.of(monza), List.of(monza, baku));
+
+            adapter.getSessions(query);
+            cache.invalidateAll();
+            adapter.getSessions(query);
+            verify(eventPublisher, never()).publish(any());
+            verifyNoInteractions(cacheInvalidationPublisher);
+
+            cache.invalidateAll();
+            adapter.getSessions(query);
+
+            verify(eventPublisher).publish(new SessionsChanged("Race", 2024, null, List.of(9472, 9480)));
+            verify(cacheInvalidationPublisher).broadcast("sessions", List.of("q:Race~2024~", "k:9472", "k:9480"));
+        }
+    }
+
     @Nested
     @DisplayName("Fallback behavior")
     class FallbackBehavior {
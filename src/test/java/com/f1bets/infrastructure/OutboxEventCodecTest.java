@@ -0,0 +1,60 @@
+package com.f1bets.infrastructure;
+
+import com.f1bets.application.event.DomainEvent;
+import com.f1bets.application.event.EventSettled;
+import com.f1bets.application.event.SessionsChanged;
+import com.f1bets.application.event.UserBetUpdated;
+import com.f1bets.infrastructure.outbox.OutboxEventCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboxEventCodecTest {
+
+    private final OutboxEventCodec codec = new OutboxEventCodec(new ObjectMapper());
+
+    @Nested
+    @DisplayName("Round trip")
+    class RoundTrip {
+
+        @Test
+        @DisplayName("should decode every event type back to an equal record")
+        void shouldRoundTripAllTypes() {
+            List<DomainEvent> events = List.of(
+                new SessionsChanged("Race", 2024, "GBR", List.of(9472, 9158)),
+                new EventSettled(9472, 44, 10, 3, 12000),
+                new UserBetUpdated("user-1", UUID.randomUUID(), 9472, "WON", 2500)
+            );
+
+            for (DomainEvent event : events) {
+                assertEquals(event, codec.decode(event.eventType(), codec.encode(event)));
+            }
+        }
+
+        @Test
+        @DisplayName("should keep payloads compact by omitting the type, which has its own column")
+        void shouldOmitTypeFromPayload() {
+            String payload = codec.encode(new EventSettled(9472, 44, 10, 3, 12000));
+
+            assertFalse(payload.contains("event.settled"));
+            assertTrue(payload.contains("\"sessionKey\":9472"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Unknown types")
+    class UnknownTypes {
+
+        @Test
+        @DisplayName("should reject an event type it cannot decode")
+        void shouldRejectUnknownType() {
+            assertThrows(IllegalArgumentException.class, () -> codec.decode("bet.voided", "{}"));
+        }
+    }
+}
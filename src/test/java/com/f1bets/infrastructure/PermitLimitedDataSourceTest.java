@@ -0,0 +1,76 @@
+package com.f1bets.infrastructure;
+
+import com.f1bets.infrastructure.persistence.PermitLimitedDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PermitLimitedDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    private PermitLimitedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new PermitLimitedDataSource(target, 1, Duration.ofMillis(50));
+    }
+
+    @Nested
+    @DisplayName("Permit accounting")
+    class PermitAccounting {
+
+        @Test
+        @DisplayName("should hold a permit until the connection is closed")
+        void shouldReleasePermitOnClose() throws SQLException {
+            when(target.getConnection()).thenReturn(connection);
+
+            Connection first = dataSource.getConnection();
+            assertEquals(0, dataSource.availablePermits());
+
+            first.close();
+            first.close();
+
+            assertEquals(1, dataSource.availablePermits());
+            verify(connection, times(2)).close();
+        }
+
+        @Test
+        @DisplayName("should fail with a transient error when no permit is free in time")
+        void shouldTimeOutWhenExhausted() throws SQLException {
+            when(target.getConnection()).thenReturn(connection);
+            dataSource.getConnection();
+
+            assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+            verify(target, times(1)).getConnection();
+        }
+
+        @Test
+        @DisplayName("should return the permit when the pool fails to hand out a connection")
+        void shouldReleasePermitWhenCheckoutFails() throws SQLException {
+            when(target.getConnection()).thenThrow(new SQLException("pool closed"));
+
+            assertThrows(SQLException.class, () -> dataSource.getConnection());
+
+            assertEquals(1, dataSource.availablePermits());
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.f1bets.infrastructure;
+
+import com.f1bets.application.service.OperationMetrics;
+import com.f1bets.domain.model.UserId;
+import com.f1bets.infrastructure.persistence.ReadYourWritesTracker;
+import com.f1bets.infrastructure.persistence.ReplicaLagMonitor;
+import com.f1bets.infrastructure.persistence.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private ReplicaLagMonitor lagMonitor;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    private SimpleMeterRegistry registry;
+    private ReadYourWritesTracker readYourWrites;
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        readYourWrites = new ReadYourWritesTracker(true, Duration.ofSeconds(10));
+        dataSource = new ReplicaRoutingDataSource(primary, replica, lagMonitor, readYourWrites,
+            new OperationMetrics(registry));
+    }
+
+    @Nested
+    @DisplayName("Lag awareness")
+    class LagAwareness {
+
+        @Test
+        @DisplayName("should use the replica while it is within the lag budget")
+        void shouldUseHealthyReplica() throws SQLException {
+            when(lagMonitor.replicaUsable()).thenReturn(true);
+            when(replica.getConnection()).thenReturn(replicaConnection);
+
+            assertSame(replicaConnection, dataSource.getConnection());
+            verifyNoInteractions(primary);
+        }
+
+        @Test
+        @DisplayName("should fall back to the primary when the replica lags")
+        void shouldFallBackWhenLagging() throws SQLException {
+            when(lagMonitor.replicaUsable()).thenReturn(false);
+            when(primary.getConnection()).thenReturn(primaryConnection);
+
+            assertSame(primaryConnection, dataSource.getConnection());
+            verifyNoInteractions(replica);
+            assertEquals(1.0, registry.get("f1bets.db.reads")
+                .tags("target", "primary", "reason", "replica_unavailable").counter().count());
+        }
+
+        @Test
+        @DisplayName("should fall back to the primary and take the replica out when it refuses connections")
+        void shouldFallBackWhenReplicaRefuses() throws SQLException {
+            when(lagMonitor.replicaUsable()).thenReturn(true);
+            when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+            when(primary.getConnection()).thenReturn(primaryConnection);
+
+            assertSame(primaryConnection, dataSource.getConnection());
+            verify(lagMonitor).markUnusable();
+        }
+
+        @Test
+        @DisplayName("should route connections with explicit credentials the same way")
+        void shouldRouteExplicitCredentials() throws SQLException {
+            when(lagMonitor.replicaUsable()).thenReturn(true, false);
+            when(replica.getConnection("reader", "secret")).thenReturn(replicaConnection);
+            when(primary.getConnection("reader", "secret")).thenReturn(primaryConnection);
+
+            assertSame(replicaConnection, dataSource.getConnection("reader", "secret"));
+            assertSame(primaryConnection, dataSource.getConnection("reader", "secret"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Read-your-writes")
+    class ReadYourWritesPinning {
+
+        @Test
+        @DisplayName("should read a user's data from the primary right after they wrote")
+        void shouldPinRecentWriter() {
+            UserId writer = UserId.of("writer");
+            readYourWrites.recordWrite(writer);
+
+            Connection connection = readYourWrites.read(writer, () -> connectQuietly());
+
+            assertSame(primaryConnection, connection);
+            assertFalse(readYourWrites.pinnedToPrimary());
+            verifyNoInteractions(replica);
+        }
+
+        @Test
+        @DisplayName("should not pin users without a recent write")
+        void shouldNotPinOtherUsers() {
+            readYourWrites.recordWrite(UserId.of("writer"));
+
+            assertFalse(readYourWrites.read(UserId.of("reader"), readYourWrites::pinnedToPrimary));
+        }
+
+        @Test
+        @DisplayName("should not pin anything when no replica is configured")
+        void shouldNotPinWhenDisabled() {
+            ReadYourWritesTracker disabled = new ReadYourWritesTracker(false, Duration.ofSeconds(10));
+            UserId writer = UserId.of("writer");
+            disabled.recordWrite(writer);
+
+            assertFalse(disabled.read(writer, disabled::pinnedToPrimary));
+        }
+
+        private Connection connectQuietly() {
+            try {
+                when(primary.getConnection()).thenReturn(primaryConnection);
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.f1bets.infrastructure;
+
+import com.f1bets.application.service.OperationMetrics;
+import com.f1bets.infrastructure.config.ScheduledTasks;
+import com.f1bets.infrastructure.persistence.repository.SpringDataIdempotencyKeyRepository;
+import com.f1bets.infrastructure.scheduling.SchedulerLeadership;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SchedulerLeadershipTest {
+
+    @Nested
+    @DisplayName("Without leader election")
+    class Disabled {
+
+        @Test
+        @DisplayName("should run every job locally and time it")
+        void shouldRunAndTimeJobs() {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            SchedulerLeadership leadership = new SchedulerLeadership(
+                new DataSourceProperties(), new OperationMetrics(registry), false);
+            AtomicInteger runs = new AtomicInteger();
+
+            assertTrue(leadership.runIfLeader("cleanup", runs::incrementAndGet));
+
+            assertEquals(1, runs.get());
+            assertTrue(leadership.isLeader("cleanup"));
+            assertEquals(1, registry.get("f1bets.scheduler.job")
+                .tags("job", "cleanup", "outcome", "success").timer().count());
+            assertEquals(1.0, registry.get("f1bets.scheduler.leader").tag("job", "cleanup").gauge().value());
+        }
+    }
+
+    @Nested
+    @DisplayName("With leader election")
+    class Enabled {
+
+        @Mock
+        private DataSourceProperties dataSourceProperties;
+
+        @Test
+        @DisplayName("should report leadership while a rebalance waits on the database")
+        void shouldNotBlockLeaderGaugeDuringRebalance() throws Exception {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            SchedulerLeadership leadership = new SchedulerLeadership(
+                dataSourceProperties, new OperationMetrics(registry), true);
+            leadership.register("cleanup");
+            CountDownLatch connecting = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            when(dataSourceProperties.determineUsername()).thenAnswer(invocation -> {
+                connecting.countDown();
+                release.await();
+                return "f1bets";
+            });
+            when(dataSourceProperties.determineUrl()).thenReturn("jdbc:unreachable:leadership");
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                Future<?> rebalance = executor.submit(leadership::rebalance);
+                assertTrue(connecting.await(5, TimeUnit.SECONDS));
+
+                assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+                    assertFalse(leadership.isLeader("cleanup"));
+                    assertEquals(0.0, registry.get("f1bets.scheduler.leader").tag("job", "cleanup").gauge().value());
+                });
+
+                release.countDown();
+                rebalance.get(5, TimeUnit.SECONDS);
+                assertFalse(leadership.isLeader("cleanup"));
+            } finally {
+                release.countDown();
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Idempotency key cleanup")
+    class IdempotencyCleanup {
+
+        @Mock
+        private SpringDataIdempotencyKeyRepository repository;
+
+        @Mock
+        private JdbcTemplate jdbcTemplate;
+
+        @Mock
+        private SchedulerLeadership leadership;
+
+        @Mock
+        private TransactionTemplate transactionTemplate;
+
+        @Test
+        @DisplayName("should register the job and run it through leader election")
+        void shouldRunThroughLeadership() {
+            ScheduledTasks tasks = new ScheduledTasks(repository, jdbcTemplate, leadership, transactionTemplate, 5, 3);
+
+            tasks.cleanupExpiredIdempotencyKeys();
+
+            verify(leadership).register("idempotency-cleanup");
+            verify(leadership).runIfLeader(eq("idempotency-cleanup"), any());
+        }
+
+        @Test
+        @DisplayName("should not open a transaction on nodes that are not leader")
+        void shouldNotTouchDatabaseWhenNotLeader() {
+            when(leadership.runIfLeader(any(), any())).thenReturn(false);
+            ScheduledTasks tasks = new ScheduledTasks(repository, jdbcTemplate, leadership, transactionTemplate, 5, 3);
+
+            tasks.cleanupExpiredIdempotencyKeys();
+
+            verifyNoInteractions(transactionTemplate, repository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Ledger partition creation")
+    class LedgerPartitions {
+
+        @Mock
+        private SpringDataIdempotencyKeyRepository repository;
+
+        @Mock
+        private JdbcTemplate jdbcTemplate;
+
+        @Mock
+        private SchedulerLeadership leadership;
+
+        @Mock
+        private TransactionTemplate transactionTemplate;
+
+        @Test
+        @DisplayName("should create the current month and the configured months ahead on the leader")
+        void shouldCreatePartitionsOnLeader() {
+            when(leadership.runIfLeader(eq("ledger-partitions"), any())).thenAnswer(invocation -> {
+                invocation.<Runnable>getArgument(1).run();
+                return true;
+            });
+            ScheduledTasks tasks = new ScheduledTasks(repository, jdbcTemplate, leadership, transactionTemplate, 5, 3);
+
+            tasks.createLedgerPartitions();
+
+            verify(leadership).register("ledger-partitions");
+            verify(jdbcTemplate).queryForObject("SELECT create_ledger_partitions(NOW(), ?)", Integer.class, 4);
+        }
+
+        @Test
+        @DisplayName("should not touch the database on nodes that are not leader")
+        void shouldNotTouchDatabaseWhenNotLeader() {
+            when(leadership.runIfLeader(any(), any())).thenReturn(false);
+            ScheduledTasks tasks = new ScheduledTasks(repository, jdbcTemplate, leadership, transactionTemplate, 5, 3);
+
+            tasks.createLedgerPartitions();
+
+            verifyNoInteractions(jdbcTemplate);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.f1bets.infrastructure;
+
+import com.f1bets.domain.model.SessionKey;
+import com.f1bets.infrastructure.persistence.SessionLockContentionTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionLockContentionTrackerTest {
+
+    private SimpleMeterRegistry registry;
+    private SessionLockContentionTracker tracker;
+
+    private final SessionKey hot = SessionKey.of(9472);
+    private final SessionKey warm = SessionKey.of(9158);
+    private final SessionKey cold = SessionKey.of(9999);
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        tracker = new SessionLockContentionTracker(registry, 2);
+    }
+
+    @Nested
+    @DisplayName("Session tagging")
+    class SessionTagging {
+
+        @Test
+        @DisplayName("should tag waits as other until a session becomes hot")
+        void shouldTagAsOtherBeforeRefresh() {
+            tracker.recordAcquired(hot, TimeUnit.MILLISECONDS.toNanos(50));
+
+            assertEquals(1, registry.get("f1bets.session.lock.acquire").tag("session", "other").timer().count());
+        }
+
+        @Test
+        @DisplayName("should give only the top-N sessions by wait time their own tag")
+        void shouldTagTopNSessions() {
+            tracker.recordAcquired(hot, TimeUnit.MILLISECONDS.toNanos(500));
+            tracker.recordAcquired(warm, TimeUnit.MILLISECONDS.toNanos(100));
+            tracker.recordAcquired(cold, TimeUnit.MILLISECONDS.toNanos(10));
+            tracker.refreshHotSessions();
+
+            tracker.recordAcquired(hot, TimeUnit.MILLISECONDS.toNanos(5));
+            tracker.recordAcquired(cold, TimeUnit.MILLISECONDS.toNanos(5));
+
+            assertEquals(1, registry.get("f1bets.session.lock.acquire").tag("session", "9472").timer().count());
+            assertEquals(4, registry.get("f1bets.session.lock.acquire").tag("session", "other").timer().count());
+            assertEquals(2, tracker.hotSessions().size());
+            assertEquals(9472, tracker.hotSessions().get(0).sessionKey());
+        }
+
+        @Test
+        @DisplayName("should remove meters of sessions that are no longer hot")
+        void shouldRemoveMetersOfCooledSessions() {
+            tracker.recordAcquired(hot, TimeUnit.MILLISECONDS.toNanos(500));
+            tracker.refreshHotSessions();
+            tracker.recordTimeout(hot, TimeUnit.MILLISECONDS.toNanos(500));
+            assertNotNull(registry.find("f1bets.session.lock.timeouts").tag("session", "9472").counter());
+
+            tracker.recordAcquired(warm, TimeUnit.MILLISECONDS.toNanos(900));
+            tracker.recordAcquired(cold, TimeUnit.MILLISECONDS.toNanos(800));
+            tracker.refreshHotSessions();
+            tracker.refreshHotSessions();
+
+            assertNull(registry.find("f1bets.session.lock.acquire").tag("session", "9472").timer());
+            assertNull(registry.find("f1bets.session.lock.timeouts").tag("session", "9472").counter());
+        }
+    }
+
+    @Nested
+    @DisplayName("Timeouts")
+    class Timeouts {
+
+        @Test
+        @DisplayName("should count timeouts and record them with a timeout outcome")
+        void shouldCountTimeouts() {
+            tracker.recordTimeout(cold, TimeUnit.SECONDS.toNanos(2));
+
+            assertEquals(1.0, registry.get("f1bets.session.lock.timeouts").tag("session", "other").counter().count());
+            assertEquals(1, registry.get("f1bets.session.lock.acquire").tag("outcome", "timeout").timer().count());
+        }
+    }
+}
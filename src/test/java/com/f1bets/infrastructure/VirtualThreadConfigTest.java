@@ -0,0 +1,59 @@
+package com.f1bets.infrastructure;
+
+import com.f1bets.infrastructure.config.VirtualThreadConfig;
+import com.f1bets.infrastructure.persistence.PermitLimitedDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadConfigTest {
+
+    private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+    private void define(String name, boolean primary) {
+        RootBeanDefinition definition = new RootBeanDefinition(DriverManagerDataSource.class);
+        definition.setPrimary(primary);
+        beanFactory.registerBeanDefinition(name, definition);
+    }
+
+    private Object postProcess(String name) {
+        BeanPostProcessor postProcessor =
+            VirtualThreadConfig.dbPermitDataSourcePostProcessor(new MockEnvironment(), beanFactory);
+        DataSource bean = new DriverManagerDataSource();
+        return postProcessor.postProcessAfterInitialization(bean, name);
+    }
+
+    @Nested
+    @DisplayName("DB permit wrapping")
+    class PermitWrapping {
+
+        @Test
+        @DisplayName("should wrap the only DataSource")
+        void shouldWrapSoleDataSource() {
+            define("dataSource", false);
+
+            assertInstanceOf(PermitLimitedDataSource.class, postProcess("dataSource"));
+        }
+
+        @Test
+        @DisplayName("should wrap only the primary DataSource when there are several")
+        void shouldWrapOnlyPrimary() {
+            define("primaryDataSource", false);
+            define("replicaDataSource", false);
+            define("dataSource", true);
+
+            assertInstanceOf(PermitLimitedDataSource.class, postProcess("dataSource"));
+            assertFalse(postProcess("primaryDataSource") instanceof PermitLimitedDataSource);
+            assertFalse(postProcess("replicaDataSource") instanceof PermitLimitedDataSource);
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.f1bets.integration;
 
 import com.f1bets.api.dto.response.BetResponse;
+import com.f1bets.api.dto.response.BetSlipResponse;
+import com.f1bets.api.dto.response.ExposureResponse;
+import com.f1bets.api.dto.response.SettleEventResponse;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -8,6 +11,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.*;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -126,6 +131,129 @@ class BetControllerIntegrationTest extends BaseIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /api/v1/bets/batch - Place bet slip")
+    class PlaceBetSlip {
+
+        @Test
+        @DisplayName("should place every selection and debit the total")
+        void shouldPlaceAllSelections() {
+            String userId = "slip-user-" + UUID.randomUUID();
+            Map<String, Object> request = Map.of("selections", List.of(
+                Map.of("sessionKey", 9472, "driverNumber", 44, "amount", 20.00),
+                Map.of("sessionKey", 9473, "driverNumber", 1, "amount", 15.00)
+            ));
+
+            ResponseEntity<BetSlipResponse> response = restTemplate.exchange(
+                "/api/v1/bets/batch", HttpMethod.POST, new HttpEntity<>(request, slipHeaders(userId)), BetSlipResponse.class);
+
+            assertEquals(HttpStatus.CREATED, response.getStatusCode());
+            assertEquals(2, response.getBody().bets().size());
+            assertEquals("65.00", response.getBody().userBalance().toPlainString());
+            assertEquals(9473, response.getBody().bets().get(1).sessionKey());
+        }
+
+        @Test
+        @DisplayName("should place nothing when the total stake exceeds the balance")
+        void shouldPlaceNothingWhenUnaffordable() {
+            String userId = "slip-poor-user-" + UUID.randomUUID();
+            Map<String, Object> request = Map.of("selections", List.of(
+                Map.of("sessionKey", 9472, "driverNumber", 44, "amount", 60.00),
+                Map.of("sessionKey", 9473, "driverNumber", 1, "amount", 60.00)
+            ));
+
+            ResponseEntity<String> response = restTemplate.exchange(
+                "/api/v1/bets/batch", HttpMethod.POST, new HttpEntity<>(request, slipHeaders(userId)), String.class);
+
+            assertEquals(HttpStatus.PAYMENT_REQUIRED, response.getStatusCode());
+            ResponseEntity<Map> user = restTemplate.getForEntity("/api/v1/users/" + userId, Map.class);
+            assertTrue(user.getStatusCode() == HttpStatus.NOT_FOUND
+                || ((List<?>) user.getBody().get("bets")).isEmpty());
+        }
+
+        @Test
+        @DisplayName("should return 400 for an empty slip")
+        void shouldRejectEmptySlip() {
+            ResponseEntity<String> response = restTemplate.exchange(
+                "/api/v1/bets/batch", HttpMethod.POST,
+                new HttpEntity<>(Map.of("selections", List.of()), slipHeaders("slip-empty-user")), String.class);
+
+            assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        }
+
+        private HttpHeaders slipHeaders(String userId) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.set("X-User-Id", userId);
+            headers.set("Idempotency-Key", UUID.randomUUID().toString());
+            return headers;
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/events/{sessionKey}/exposure - Exposure book")
+    class ExposureBook {
+
+        @Test
+        @DisplayName("should include a placed bet's stake and payout in the driver's exposure")
+        void shouldReflectPlacedBet() {
+            ExposureResponse before = exposure(9472);
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.set("X-User-Id", "exposure-test-user-" + UUID.randomUUID());
+            headers.set("Idempotency-Key", UUID.randomUUID().toString());
+            Map<String, Object> request = Map.of("sessionKey", 9472, "driverNumber", 44, "amount", 20.00);
+            ResponseEntity<BetResponse> bet = restTemplate.exchange(
+                "/api/v1/bets", HttpMethod.POST, new HttpEntity<>(request, headers), BetResponse.class);
+            assertEquals(HttpStatus.CREATED, bet.getStatusCode());
+
+            ExposureResponse after = exposure(9472);
+
+            BigDecimal expectedPayout = new BigDecimal("20.00").multiply(BigDecimal.valueOf(bet.getBody().odds()));
+            assertEquals(before.totalBets() + 1, after.totalBets());
+            assertEquals(0, after.totalStake().subtract(before.totalStake()).compareTo(new BigDecimal("20.00")));
+            assertEquals(0, driverPayout(after, 44).subtract(driverPayout(before, 44)).compareTo(expectedPayout));
+        }
+
+        @Test
+        @DisplayName("should preview the settlement for a winner from the exposure book")
+        void shouldPreviewSettlement() {
+            ExposureResponse exposure = exposure(9472);
+
+            ResponseEntity<SettleEventResponse> preview = restTemplate.getForEntity(
+                "/api/v1/events/9472/settlement-preview?winner=44", SettleEventResponse.class);
+
+            assertEquals(HttpStatus.OK, preview.getStatusCode());
+            assertEquals(exposure.totalBets(), preview.getBody().totalBets());
+            assertEquals(0, preview.getBody().totalPayout().compareTo(driverPayout(exposure, 44)));
+        }
+
+        @Test
+        @DisplayName("should return 400 for an invalid session key or winner")
+        void shouldRejectInvalidInput() {
+            for (String url : List.of("/api/v1/events/0/exposure", "/api/v1/events/9472/settlement-preview?winner=0",
+                    "/api/v1/events/9472/settlement-preview?winner=abc")) {
+                assertEquals(HttpStatus.BAD_REQUEST, restTemplate.getForEntity(url, String.class).getStatusCode(), url);
+            }
+        }
+
+        private ExposureResponse exposure(int sessionKey) {
+            ResponseEntity<ExposureResponse> response = restTemplate.getForEntity(
+                "/api/v1/events/" + sessionKey + "/exposure", ExposureResponse.class);
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            return response.getBody();
+        }
+
+        private BigDecimal driverPayout(ExposureResponse exposure, int driverNumber) {
+            return exposure.drivers().stream()
+                .filter(driver -> driver.driverNumber() == driverNumber)
+                .map(ExposureResponse.DriverExposureResponse::potentialPayout)
+                .findFirst()
+                .orElse(BigDecimal.ZERO);
+        }
+    }
+
     @Nested
     @DisplayName("Balance and insufficient funds")
     class BalanceTests {
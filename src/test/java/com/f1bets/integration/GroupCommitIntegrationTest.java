@@ -0,0 +1,100 @@
+package com.f1bets.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrent placements through the group commit writer, so that rejected placements are rolled
+ * back to their savepoint inside a batch shared with accepted ones.
+ */
+@TestPropertySource(properties = {
+    "placement.group-commit.enabled=true",
+    "placement.group-commit.writers=1"
+})
+class GroupCommitIntegrationTest extends BaseIntegrationTest {
+
+    private static final int SESSION_KEY = 9472;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String user(long balanceCents) {
+        String userId = "group-" + UUID.randomUUID().toString().substring(0, 8);
+        jdbcTemplate.update("INSERT INTO users (id, balance_cents) VALUES (?, ?)", userId, balanceCents);
+        return userId;
+    }
+
+    private HttpStatusCode place(String userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-User-Id", userId);
+        headers.set("Idempotency-Key", UUID.randomUUID().toString());
+        Map<String, Object> request = Map.of("sessionKey", SESSION_KEY, "driverNumber", 44, "amount", 10.00);
+        return restTemplate.exchange("/api/v1/bets", HttpMethod.POST, new HttpEntity<>(request, headers), String.class)
+            .getStatusCode();
+    }
+
+    private long count(String sql, String userId) {
+        return jdbcTemplate.queryForObject(sql, Long.class, userId);
+    }
+
+    @Test
+    @DisplayName("should commit accepted placements and leave no trace of rejected ones in the same batches")
+    void shouldIsolateRejectedPlacements() {
+        List<String> funded = new ArrayList<>();
+        List<String> broke = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            (i % 3 == 0 ? broke : funded).add(user(i % 3 == 0 ? 500 : 10_000));
+        }
+        List<String> all = new ArrayList<>(funded);
+        all.addAll(broke);
+
+        ExecutorService callers = Executors.newFixedThreadPool(all.size());
+        try {
+            List<CompletableFuture<HttpStatusCode>> placements = all.stream()
+                .map(userId -> CompletableFuture.supplyAsync(() -> place(userId), callers))
+                .toList();
+            for (int i = 0; i < all.size(); i++) {
+                HttpStatusCode expected = funded.contains(all.get(i)) ? HttpStatus.CREATED : HttpStatus.PAYMENT_REQUIRED;
+                assertEquals(expected, placements.get(i).join(), all.get(i));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertTrue(meterRegistry.get("f1bets.placement.group_commit.batch_size").summary().max() > 1,
+            "placements were not batched");
+
+        for (String userId : funded) {
+            assertEquals(9_000L, count("SELECT balance_cents FROM users WHERE id = ?", userId));
+            assertEquals(1L, count("SELECT COUNT(*) FROM bets WHERE user_id = ?", userId));
+            assertEquals(1L, count("SELECT COUNT(*) FROM ledger_entries WHERE user_id = ?", userId));
+        }
+        for (String userId : broke) {
+            assertEquals(500L, count("SELECT balance_cents FROM users WHERE id = ?", userId));
+            assertEquals(0L, count("SELECT COUNT(*) FROM bets WHERE user_id = ?", userId));
+            assertEquals(0L, count("SELECT COUNT(*) FROM ledger_entries WHERE user_id = ?", userId));
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.f1bets.integration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * One INITIAL_CREDIT per user under concurrent account creation. Since V17 this is enforced by
+ * the ledger_one_initial_credit_per_user trigger, which serializes on the user row, rather than
+ * by V9's unique index.
+ */
+class InitialCreditIntegrationTest extends BaseIntegrationTest {
+
+    private static final String INSERT_INITIAL_CREDIT = "INSERT INTO ledger_entries "
+        + "(id, user_id, entry_type, amount_cents, balance_after_cents) VALUES (?, ?, 'INITIAL_CREDIT', 10000, 10000)";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private long initialCredits(String userId) {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM ledger_entries WHERE user_id = ? AND entry_type = 'INITIAL_CREDIT'", Long.class, userId);
+    }
+
+    private HttpStatusCode placeFirstBet(String userId, int sessionKey) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-User-Id", userId);
+        headers.set("Idempotency-Key", UUID.randomUUID().toString());
+        Map<String, Object> request = Map.of("sessionKey", sessionKey, "driverNumber", 44, "amount", 10.00);
+        return restTemplate.exchange("/api/v1/bets", HttpMethod.POST, new HttpEntity<>(request, headers), String.class)
+            .getStatusCode();
+    }
+
+    @Test
+    @DisplayName("should open the account once when a new user's first bets arrive concurrently")
+    void shouldCreditOnceForConcurrentFirstBets() {
+        String userId = "first-bet-" + UUID.randomUUID().toString().substring(0, 8);
+        // Different sessions, so the placements do not queue on one session lock
+        int placements = 8;
+        ExecutorService callers = Executors.newFixedThreadPool(placements);
+        try {
+            List<CompletableFuture<HttpStatusCode>> results = IntStream.range(0, placements)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> placeFirstBet(userId, 9_600 + i), callers))
+                .toList();
+            for (CompletableFuture<HttpStatusCode> result : results) {
+                assertEquals(HttpStatus.CREATED, result.join());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(1L, initialCredits(userId));
+        assertEquals(10_000L - placements * 1_000L, jdbcTemplate.queryForObject(
+            "SELECT balance_cents FROM users WHERE id = ?", Long.class, userId));
+    }
+
+    @Test
+    @DisplayName("should reject the second of two concurrent initial credits once the first commits")
+    void shouldRejectConcurrentSecondCredit() throws Exception {
+        String userId = "first-credit-" + UUID.randomUUID().toString().substring(0, 8);
+        jdbcTemplate.update("INSERT INTO users (id, balance_cents) VALUES (?, 10000)", userId);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            first.setAutoCommit(false);
+            second.setAutoCommit(false);
+            insertInitialCredit(first, userId);
+            int secondPid = pid(second);
+
+            Future<?> secondInsert = executor.submit(() -> {
+                insertInitialCredit(second, userId);
+                return null;
+            });
+            awaitLockWait(secondPid);
+            first.commit();
+
+            Exception error = assertThrows(Exception.class, secondInsert::get);
+            assertInstanceOf(SQLException.class, error.getCause());
+            assertEquals("23505", ((SQLException) error.getCause()).getSQLState());
+            second.rollback();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1L, initialCredits(userId));
+    }
+
+    private static void insertInitialCredit(Connection connection, String userId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_INITIAL_CREDIT)) {
+            statement.setObject(1, UUID.randomUUID());
+            statement.setString(2, userId);
+            statement.executeUpdate();
+        }
+    }
+
+    private static int pid(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT pg_backend_pid()")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private void awaitLockWait(int pid) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT wait_event_type = 'Lock' FROM pg_stat_activity WHERE pid = ?", Boolean.class, pid))) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        fail("Backend " + pid + " never waited for the user row");
+    }
+}
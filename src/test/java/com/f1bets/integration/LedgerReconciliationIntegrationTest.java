@@ -0,0 +1,147 @@
+package com.f1bets.integration;
+
+import com.f1bets.application.service.OperationMetrics;
+import com.f1bets.infrastructure.reconciliation.LedgerReconciliationJob;
+import com.f1bets.infrastructure.scheduling.SchedulerLeadership;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the reconciliation job against committed data; its workers read and write in their own
+ * transactions, so these tests are not {@code @Transactional}. Other tests' users are checked
+ * too, so assertions only look at the users created here.
+ */
+class LedgerReconciliationIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("readOnlyTransactionTemplate")
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SchedulerLeadership leadership;
+
+    @TempDir
+    private Path reportDir;
+
+    private MeterRegistry registry;
+    private LedgerReconciliationJob job;
+    private Instant twoDaysAgo;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        // Small chunks so that several pages are checked in parallel
+        job = new LedgerReconciliationJob(jdbcTemplate, readOnlyTransactionTemplate, transactionTemplate,
+            leadership, new OperationMetrics(registry), Clock.systemUTC(), 2, 3, Duration.ofMinutes(10),
+            reportDir.toString());
+        twoDaysAgo = Instant.now().minus(Duration.ofDays(2));
+        jdbcTemplate.queryForObject("SELECT create_ledger_partitions(?, 1)", Integer.class,
+            Timestamp.from(twoDaysAgo));
+    }
+
+    private String userWithHistory(long balanceCents) {
+        String userId = "recon-" + UUID.randomUUID().toString().substring(0, 8);
+        jdbcTemplate.update("INSERT INTO users (id, balance_cents) VALUES (?, ?)", userId, balanceCents);
+        addEntry(userId, "INITIAL_CREDIT", 10000, 10000, twoDaysAgo);
+        addEntry(userId, "BET_PLACED", -2500, 7500, twoDaysAgo.plusSeconds(60));
+        return userId;
+    }
+
+    private void addEntry(String userId, String type, long amountCents, long balanceAfterCents, Instant createdAt) {
+        jdbcTemplate.update("INSERT INTO ledger_entries (id, user_id, entry_type, amount_cents, " +
+                "balance_after_cents, reference_id, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)",
+            UUID.randomUUID(), userId, type, amountCents, balanceAfterCents,
+            type.equals("INITIAL_CREDIT") ? null : UUID.randomUUID().toString(), Timestamp.from(createdAt));
+    }
+
+    private Optional<String> reportLine(LedgerReconciliationJob.Summary summary, String userId) throws IOException {
+        return Files.readAllLines(summary.report()).stream()
+            .filter(line -> line.startsWith(userId + ","))
+            .findFirst();
+    }
+
+    private Map<String, Object> checkpoint(String userId) {
+        return jdbcTemplate.queryForMap(
+            "SELECT ledger_sum_cents, entry_count FROM ledger_reconciliation_checkpoints WHERE user_id = ?", userId);
+    }
+
+    @Test
+    @DisplayName("should report accounts that do not match their ledger")
+    void shouldReportMismatchingAccounts() throws IOException {
+        String consistent = userWithHistory(7500);
+        String tampered = userWithHistory(9000);
+
+        LedgerReconciliationJob.Summary summary = job.run();
+
+        assertTrue(summary.usersChecked() >= 2);
+        assertTrue(summary.mismatches() >= 1);
+        assertTrue(Files.exists(summary.report()));
+        assertEquals(Optional.empty(), reportLine(summary, consistent));
+        assertEquals(Optional.of(tampered + ",9000,7500,7500,balance_sum;last_balance"),
+            reportLine(summary, tampered));
+        assertTrue(registry.get("f1bets.reconciliation.mismatches").tag("check", "balance_sum").counter().count() >= 1);
+        assertEquals(summary.usersChecked(), registry.get("f1bets.reconciliation.progress").gauge().value());
+    }
+
+    @Test
+    @DisplayName("should continue from the checkpoint on the next run")
+    void shouldContinueFromCheckpoint() throws IOException {
+        String userId = userWithHistory(7500);
+
+        job.run();
+        assertEquals(Map.of("ledger_sum_cents", 7500L, "entry_count", 2L), checkpoint(userId));
+
+        addEntry(userId, "BET_WON", 7500, 15000, Instant.now().minus(Duration.ofHours(1)));
+        jdbcTemplate.update("UPDATE users SET balance_cents = 15000 WHERE id = ?", userId);
+        LedgerReconciliationJob.Summary second = job.run();
+
+        assertEquals(Optional.empty(), reportLine(second, userId));
+        assertEquals(Map.of("ledger_sum_cents", 15000L, "entry_count", 3L), checkpoint(userId));
+
+        // Only entries after the checkpoint are read, so a wrong checkpoint sum shows up as a mismatch
+        jdbcTemplate.update("UPDATE ledger_reconciliation_checkpoints SET ledger_sum_cents = 14999 WHERE user_id = ?",
+            userId);
+        LedgerReconciliationJob.Summary third = job.run();
+
+        assertEquals(Optional.of(userId + ",15000,14999,15000,balance_sum"), reportLine(third, userId));
+    }
+
+    @Test
+    @DisplayName("should check recent entries without folding them into the checkpoint")
+    void shouldNotCheckpointEntriesWithinSettleMargin() throws IOException {
+        String userId = userWithHistory(5000);
+        addEntry(userId, "BET_PLACED", -2500, 5000, Instant.now());
+
+        LedgerReconciliationJob.Summary summary = job.run();
+
+        assertEquals(Optional.empty(), reportLine(summary, userId));
+        assertEquals(Map.of("ledger_sum_cents", 7500L, "entry_count", 2L), checkpoint(userId));
+    }
+}
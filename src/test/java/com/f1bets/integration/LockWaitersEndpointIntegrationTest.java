@@ -0,0 +1,144 @@
+package com.f1bets.integration;
+
+import com.f1bets.infrastructure.persistence.LockWaitersEndpoint;
+import com.f1bets.infrastructure.persistence.LockWaitersEndpoint.LockWaiter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Builds real lock queues on separate connections, so the waits are visible in pg_locks.
+ */
+class LockWaitersEndpointIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LockWaitersEndpoint endpoint;
+
+    private final List<Connection> connections = new ArrayList<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        for (Connection connection : connections) {
+            // Backends still waiting are cancelled by closing the holder's transaction first
+            connection.rollback();
+        }
+        for (Connection connection : connections) {
+            connection.close();
+        }
+        executor.shutdownNow();
+    }
+
+    private Connection open() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+        connections.add(connection);
+        return connection;
+    }
+
+    private static int pid(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT pg_backend_pid()")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    /** Runs a statement that blocks on another thread and waits until its backend waits for a lock. */
+    private int startBlocked(String sql) throws Exception {
+        Connection connection = open();
+        int pid = pid(connection);
+        executor.submit(() -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(sql);
+            }
+            return null;
+        });
+        for (int i = 0; i < 100; i++) {
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT wait_event_type = 'Lock' FROM pg_stat_activity WHERE pid = ?", Boolean.class, pid))) {
+                return pid;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Backend " + pid + " never started waiting");
+    }
+
+    private static Optional<LockWaiter> waiter(LockWaitersEndpoint.LockWaitersReport report, int pid) {
+        return report.waiters().stream().filter(w -> w.pid() == pid).findFirst();
+    }
+
+    @Test
+    @DisplayName("should list users row lock waiters by relation, not by query text")
+    void shouldListUsersRowLockWaiters() throws Exception {
+        String userId = "lockwait-" + UUID.randomUUID().toString().substring(0, 8);
+        jdbcTemplate.update("INSERT INTO users (id, balance_cents) VALUES (?, 1000)", userId);
+        String pendingUserId = "lockwait-" + UUID.randomUUID().toString().substring(0, 8);
+
+        Connection holder = open();
+        try (Statement statement = holder.createStatement()) {
+            statement.execute("SELECT 1 FROM users WHERE id = '" + userId + "' FOR UPDATE");
+            statement.execute("INSERT INTO users (id, balance_cents) VALUES ('" + pendingUserId + "', 0)");
+        }
+        int holderPid = pid(holder);
+
+        int first = startBlocked("SELECT 1 FROM users WHERE id = '" + userId + "' FOR UPDATE");
+        int second = startBlocked("SELECT 1 FROM users WHERE id = '" + userId + "' FOR UPDATE");
+        // Waits on the holder's transaction id for a unique key, with "users" in the query text
+        int unrelated = startBlocked("INSERT INTO users (id, balance_cents) VALUES ('" + pendingUserId + "', 0)");
+        Thread.sleep(200);
+
+        LockWaitersEndpoint.LockWaitersReport report = endpoint.waiters();
+
+        LockWaiter firstWaiter = waiter(report, first).orElseThrow();
+        assertEquals("users", firstWaiter.target());
+        assertEquals("transactionid", firstWaiter.lockType());
+        assertEquals(List.of(holderPid), firstWaiter.blockedBy());
+        assertTrue(firstWaiter.waitingMillis() >= 150, "waited " + firstWaiter.waitingMillis() + "ms");
+
+        LockWaiter secondWaiter = waiter(report, second).orElseThrow();
+        assertEquals("tuple", secondWaiter.lockType());
+        assertEquals(List.of(first), secondWaiter.blockedBy());
+
+        assertEquals(Optional.empty(), waiter(report, unrelated));
+    }
+
+    @Test
+    @DisplayName("should list session advisory lock waiters with their session key")
+    void shouldListAdvisoryLockWaiters() throws Exception {
+        long sessionKey = 7_000_000_000L + (System.nanoTime() & 0xFFFF);
+        Connection holder = open();
+        try (Statement statement = holder.createStatement()) {
+            statement.execute("SELECT pg_advisory_xact_lock(" + sessionKey + ")");
+        }
+
+        int waiting = startBlocked("SELECT pg_advisory_xact_lock(" + sessionKey + ")");
+
+        LockWaiter waiter = waiter(endpoint.waiters(), waiting).orElseThrow();
+        assertEquals("session", waiter.target());
+        assertEquals(sessionKey, waiter.sessionKey());
+        assertEquals(List.of(pid(holder)), waiter.blockedBy());
+    }
+}
@@ -0,0 +1,255 @@
+package com.f1bets.integration;
+
+import com.f1bets.api.dto.response.UserResponse;
+import com.f1bets.infrastructure.persistence.ReplicaLagMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Read routing against a real primary and a streaming replica.
+ *
+ * By default both run as containers: the replica is cloned from the primary with
+ * pg_basebackup and streams from it. With {@code -DuseExternalDb=true} the primary is the
+ * external database of the other integration tests and {@code -Dreplica.test.url} must point
+ * at a hot standby of it; without that URL the tests are skipped.
+ *
+ * Replay on the replica is paused to make it lag, which is why these tests run sequentially
+ * and always resume it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "replica.enabled=true",
+    "replica.max-lag=PT2S",
+    "replica.lag-check-interval=PT0.2S",
+    "replica.read-your-writes-window=PT30S"
+})
+@Import(TestF1DataProviderConfig.class)
+class ReplicaRoutingIntegrationTest {
+
+    private static final boolean USE_EXTERNAL_DB = Boolean.getBoolean("useExternalDb");
+    private static final Duration AWAIT = Duration.ofSeconds(15);
+
+    private static Network network;
+    private static PostgreSQLContainer<?> primary;
+    private static GenericContainer<?> replica;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("readOnlyTransactionTemplate")
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void requireReplica() {
+        Assumptions.assumeTrue(!USE_EXTERNAL_DB || System.getProperty("replica.test.url") != null,
+            "External database mode needs -Dreplica.test.url pointing at a hot standby");
+    }
+
+    private static void startContainersIfNeeded() {
+        if (USE_EXTERNAL_DB || primary != null) {
+            return;
+        }
+        network = Network.newNetwork();
+        primary = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withNetwork(network)
+            .withNetworkAliases("primary")
+            .withDatabaseName("f1bets_test")
+            .withUsername("test")
+            .withPassword("test")
+            .withCopyToContainer(
+                Transferable.of("echo 'host replication all all scram-sha-256' >> \"$PGDATA/pg_hba.conf\"\n"),
+                "/docker-entrypoint-initdb.d/replication.sh");
+        primary.start();
+        replica = new GenericContainer<>("postgres:16-alpine")
+            .withNetwork(network)
+            .withEnv("PGPASSWORD", "test")
+            .withExposedPorts(5432)
+            .withCreateContainerCmdModifier(cmd -> cmd.withUser("postgres").withEntrypoint("sh", "-c",
+                "pg_basebackup -h primary -U test -D \"$PGDATA\" -R -X stream && chmod 700 \"$PGDATA\" && exec postgres"))
+            .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*\\n", 1));
+        replica.start();
+    }
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> {
+            startContainersIfNeeded();
+            return USE_EXTERNAL_DB ? System.getProperty("spring.datasource.url") : primary.getJdbcUrl();
+        });
+        registry.add("spring.datasource.username", ReplicaRoutingIntegrationTest::username);
+        registry.add("spring.datasource.password", ReplicaRoutingIntegrationTest::password);
+        registry.add("replica.url", ReplicaRoutingIntegrationTest::replicaUrl);
+    }
+
+    private static String username() {
+        return USE_EXTERNAL_DB ? System.getProperty("spring.datasource.username", "postgres") : "test";
+    }
+
+    private static String password() {
+        return USE_EXTERNAL_DB ? System.getProperty("spring.datasource.password", "postgres") : "test";
+    }
+
+    private static String replicaUrl() {
+        if (USE_EXTERNAL_DB) {
+            return System.getProperty("replica.test.url");
+        }
+        startContainersIfNeeded();
+        return "jdbc:postgresql://" + replica.getHost() + ":" + replica.getMappedPort(5432) + "/f1bets_test";
+    }
+
+    @AfterEach
+    void resumeReplay() throws SQLException {
+        onReplica("SELECT pg_wal_replay_resume()");
+        awaitTrue(lagMonitor::replicaUsable, "replica usable again");
+    }
+
+    private static void onReplica(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(replicaUrl(), username(), password());
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static boolean replicaHasUser(String userId) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(replicaUrl(), username(), password());
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM users WHERE id = '" + userId + "'")) {
+            rs.next();
+            return rs.getInt(1) > 0;
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, String description) {
+        long deadline = System.nanoTime() + AWAIT.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Timed out waiting for " + description);
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted waiting for " + description);
+            }
+        }
+    }
+
+    /** Waits until the replica has replayed everything the primary has written so far. */
+    private void awaitReplayed() {
+        String lsn = jdbcTemplate.queryForObject("SELECT pg_current_wal_lsn()::text", String.class);
+        awaitTrue(() -> {
+            try (Connection connection = DriverManager.getConnection(replicaUrl(), username(), password());
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(
+                     "SELECT pg_last_wal_replay_lsn() >= '" + lsn + "'::pg_lsn")) {
+                rs.next();
+                return rs.getBoolean(1);
+            } catch (SQLException e) {
+                return false;
+            }
+        }, "replay of " + lsn);
+    }
+
+    private boolean readOnlyTransactionOnReplica() {
+        return Boolean.TRUE.equals(readOnlyTransactionTemplate.execute(status ->
+            jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class)));
+    }
+
+    private double reads(String target, String reason) {
+        var counter = meterRegistry.find("f1bets.db.reads").tags("target", target, "reason", reason).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    @Test
+    @DisplayName("should serve read-only transactions from the replica and writes from the primary")
+    void shouldRouteByTransactionType() {
+        awaitTrue(lagMonitor::replicaUsable, "replica usable");
+
+        assertTrue(readOnlyTransactionOnReplica());
+        assertEquals(Boolean.FALSE, jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class));
+    }
+
+    @Test
+    @DisplayName("should fall back to the primary while the replica lags and return once it caught up")
+    void shouldFallBackWhileLagging() throws SQLException {
+        awaitTrue(lagMonitor::replicaUsable, "replica usable");
+
+        onReplica("SELECT pg_wal_replay_pause()");
+        jdbcTemplate.update("INSERT INTO users (id, balance_cents) VALUES (?, 0)",
+            "replica-lag-" + UUID.randomUUID().toString().substring(0, 8));
+        awaitTrue(() -> !lagMonitor.replicaUsable(), "replica lag above the budget");
+        double fallbacks = reads("primary", "replica_unavailable");
+
+        assertFalse(readOnlyTransactionOnReplica());
+        assertEquals(fallbacks + 1, reads("primary", "replica_unavailable"));
+
+        onReplica("SELECT pg_wal_replay_resume()");
+        awaitTrue(lagMonitor::replicaUsable, "replica caught up");
+
+        assertTrue(readOnlyTransactionOnReplica());
+    }
+
+    @Test
+    @DisplayName("should read a user's own bet from the primary while the replica has not replayed it")
+    void shouldReadYourWrites() throws SQLException {
+        String userId = "replica-ryw-" + UUID.randomUUID().toString().substring(0, 8);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-User-Id", userId);
+        headers.set("Idempotency-Key", UUID.randomUUID().toString());
+        awaitTrue(lagMonitor::replicaUsable, "replica usable");
+        awaitReplayed();
+
+        onReplica("SELECT pg_wal_replay_pause()");
+        ResponseEntity<String> placed = restTemplate.exchange("/api/v1/bets", HttpMethod.POST,
+            new HttpEntity<>(Map.of("sessionKey", 9472, "driverNumber", 44, "amount", 10.00), headers), String.class);
+        double pinned = reads("primary", "read_your_writes");
+        ResponseEntity<UserResponse> user = restTemplate.getForEntity("/api/v1/users/" + userId, UserResponse.class);
+
+        assertEquals(HttpStatus.CREATED, placed.getStatusCode());
+        assertEquals(HttpStatus.OK, user.getStatusCode());
+        assertEquals(1, user.getBody().bets().size());
+        assertEquals(pinned + 1, reads("primary", "read_your_writes"));
+        assertFalse(replicaHasUser(userId), "the replica must not have replayed the bet yet");
+    }
+}
@@ -1,17 +1,41 @@
 package com.f1bets.integration;
 
+import com.f1bets.application.dto.SettleEventCommand;
+import com.f1bets.application.dto.SettleEventResult;
+import com.f1bets.application.event.UserBetUpdated;
+import com.f1bets.application.port.DomainEventPublisher;
+import com.f1bets.application.port.BetPlacementGateway;
+import com.f1bets.application.port.BetPlacementGateway.Outcome;
+import com.f1bets.application.port.BetPlacementGateway.Status;
+import com.f1bets.application.port.SessionLock;
+import com.f1bets.application.port.SettlementGateway;
+import com.f1bets.application.usecase.SettleEventUseCase;
+import com.f1bets.domain.exception.SessionLockTimeoutException;
 import com.f1bets.domain.model.*;
 import com.f1bets.domain.repository.BetRepository;
 import com.f1bets.domain.repository.LedgerRepository;
 import com.f1bets.domain.repository.UserRepository;
+import com.f1bets.infrastructure.outbox.OutboxRelay;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -27,6 +51,48 @@ class RepositoryIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private LedgerRepository ledgerRepository;
 
+    @Autowired
+    private BetPlacementGateway placementGateway;
+
+    @Autowired
+    private SettlementGateway settlementGateway;
+
+    @Autowired
+    private SettleEventUseCase settleEventUseCase;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SessionLock sessionLock;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private DomainEventPublisher eventPublisher;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    /**
+     * Plans {@code statement} the way a prepared statement is planned after a few executions:
+     * generically, without looking at the parameter values.
+     */
+    private String genericPlan(String statement, String parameterTypes, Object arguments) {
+        jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+        jdbcTemplate.execute("PREPARE plan_check(" + parameterTypes + ") AS " + statement);
+        try {
+            return String.join("\n",
+                jdbcTemplate.queryForList("EXPLAIN EXECUTE plan_check(" + arguments + ")", String.class));
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE plan_check");
+        }
+    }
+
     @Nested
     @DisplayName("UserRepository tests")
     class UserRepositoryTests {
@@ -58,6 +124,35 @@ class RepositoryIntegrationTest extends BaseIntegrationTest {
             assertEquals(userId, lockedUser.get().getId());
         }
 
+        @Test
+        @DisplayName("should open the account with its initial credit and return the row")
+        void shouldLockOrInsertNewUser() {
+            UserId userId = UserId.of("open-test-user-" + UUID.randomUUID().toString().substring(0, 8));
+            User user = User.createNew(userId);
+
+            var opened = userRepository.lockOrInsert(user, LedgerEntry.initialCredit(userId, user.getBalanceCents()));
+
+            assertTrue(opened.isPresent());
+            assertEquals(10_000L, opened.get().getBalanceCents());
+            assertEquals(List.of(LedgerEntryType.INITIAL_CREDIT),
+                ledgerRepository.findByUserIdSince(userId, Instant.EPOCH).stream().map(LedgerEntry::getEntryType).toList());
+        }
+
+        @Test
+        @DisplayName("should return an existing account without a second initial credit")
+        void shouldLockOrInsertExistingUser() {
+            UserId userId = UserId.of("open-test-user-" + UUID.randomUUID().toString().substring(0, 8));
+            userRepository.lockOrInsert(User.createNew(userId), LedgerEntry.initialCredit(userId, 10_000));
+            jdbcTemplate.update("UPDATE users SET balance_cents = 4200 WHERE id = ?", userId.getValue());
+            entityManager.clear();
+
+            var locked = userRepository.lockOrInsert(User.createNew(userId), LedgerEntry.initialCredit(userId, 10_000));
+
+            assertTrue(locked.isPresent());
+            assertEquals(4_200L, locked.get().getBalanceCents());
+            assertEquals(1, ledgerRepository.findByUserIdSince(userId, Instant.EPOCH).size());
+        }
+
         @Test
         @DisplayName("should return empty when user not found")
         void shouldReturnEmptyWhenUserNotFound() {
@@ -94,8 +189,8 @@ class RepositoryIntegrationTest extends BaseIntegrationTest {
         }
 
         @Test
-        @DisplayName("should find bets by session key and status")
-        void shouldFindBetsBySessionKeyAndStatus() {
+        @DisplayName("should find only the pending bets of a session for settlement")
+        void shouldFindPendingBetsBySessionKey() {
             UserId userId = UserId.of("multi-bet-user-" + UUID.randomUUID().toString().substring(0, 8));
             User user = User.createNew(userId);
             userRepository.save(user);
@@ -104,12 +199,115 @@ class RepositoryIntegrationTest extends BaseIntegrationTest {
 
             Bet bet1 = Bet.place(userId, sessionKey, DriverNumber.of(1), Money.ofCents(1000), Odds.of(2));
             Bet bet2 = Bet.place(userId, sessionKey, DriverNumber.of(44), Money.ofCents(2000), Odds.of(3));
+            Bet settled = Bet.place(userId, sessionKey, DriverNumber.of(16), Money.ofCents(500), Odds.of(4));
+            settled.markAsLost();
             betRepository.save(bet1);
             betRepository.save(bet2);
+            betRepository.save(settled);
 
-            List<Bet> pendingBets = betRepository.findBySessionKeyAndStatusForUpdate(sessionKey, BetStatus.PENDING);
+            List<Bet> pendingBets = betRepository.findPendingBySessionKeyForUpdate(sessionKey);
 
             assertEquals(2, pendingBets.size());
+            assertTrue(pendingBets.stream().allMatch(Bet::isPending));
+        }
+
+        @Test
+        @DisplayName("should find a bet with the balance after its placement by idempotency key")
+        void shouldFindPlacedBetByIdempotencyKey() {
+            UserId userId = UserId.of("replay-user-" + UUID.randomUUID().toString().substring(0, 8));
+            userRepository.save(User.createNew(userId));
+            String idempotencyKey = UUID.randomUUID().toString();
+            Bet bet = Bet.place(userId, SessionKey.of(9472), DriverNumber.of(44), Money.ofCents(2_500),
+                Odds.of(3), idempotencyKey);
+            betRepository.save(bet);
+            ledgerRepository.save(LedgerEntry.betPlaced(userId, -2_500, 7_500, bet.getId()));
+            entityManager.flush();
+
+            var placed = betRepository.findPlacedByIdempotencyKey(idempotencyKey);
+
+            assertTrue(placed.isPresent());
+            assertEquals(bet.getId(), placed.get().bet().getId());
+            assertEquals(Money.ofCents(7_500), placed.get().balanceAfter());
+            assertEquals(bet.getId(), jdbcTemplate.queryForObject(
+                "SELECT bet_id FROM ledger_entries WHERE reference_id = ?", UUID.class, bet.getId().toString()));
+        }
+
+        @Test
+        @DisplayName("should return a bet without balance when its placement entry is missing")
+        void shouldFindPlacedBetWithoutLedgerEntry() {
+            UserId userId = UserId.of("replay-user-" + UUID.randomUUID().toString().substring(0, 8));
+            userRepository.save(User.createNew(userId));
+            String idempotencyKey = UUID.randomUUID().toString();
+            betRepository.save(Bet.place(userId, SessionKey.of(9472), DriverNumber.of(44), Money.ofCents(2_500),
+                Odds.of(3), idempotencyKey));
+
+            var placed = betRepository.findPlacedByIdempotencyKey(idempotencyKey);
+
+            assertTrue(placed.isPresent());
+            assertNull(placed.get().balanceAfter());
+            assertTrue(betRepository.findPlacedByIdempotencyKey(UUID.randomUUID().toString()).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Pending bets index")
+    class PendingBetsIndexTests {
+
+        /**
+         * A session whose bets are mostly settled, next to other sessions' pending bets, with
+         * statistics, so the plans below are the ones a hot session gets. Generic plans are
+         * checked because prepared statements switch to them after a few executions.
+         */
+        private int sessionWithMostlySettledBets() {
+            UserId userId = UserId.of("pending-index-user-" + UUID.randomUUID().toString().substring(0, 8));
+            userRepository.save(User.createNew(userId));
+            entityManager.flush();
+            int sessionKey = 8_000_000 + (int) (System.nanoTime() % 100_000);
+            jdbcTemplate.update(
+                "INSERT INTO bets (id, user_id, session_key, driver_number, stake_cents, odds, status, settled_at) " +
+                "SELECT gen_random_uuid(), ?, ?, 1 + g % 20, 100, 2, " +
+                "CASE WHEN g <= 5 THEN 'PENDING' ELSE 'LOST' END, CASE WHEN g <= 5 THEN NULL ELSE NOW() END " +
+                "FROM generate_series(1, 5000) g",
+                userId.getValue(), sessionKey);
+            jdbcTemplate.update(
+                "INSERT INTO bets (id, user_id, session_key, driver_number, stake_cents, odds) " +
+                "SELECT gen_random_uuid(), ?, ? + 1 + g % 1000, 1 + g % 20, 100, 2 FROM generate_series(1, 5000) g",
+                userId.getValue(), sessionKey);
+            jdbcTemplate.execute("ANALYZE bets");
+            return sessionKey;
+        }
+
+        @Test
+        @DisplayName("should lock pending bets through the partial index")
+        void shouldLockPendingBetsThroughPartialIndex() {
+            int sessionKey = sessionWithMostlySettledBets();
+
+            // The statement findPendingBySessionKeyForUpdate issues
+            String plan = genericPlan(
+                "SELECT * FROM bets WHERE session_key = $1 AND status = 'PENDING' FOR UPDATE", "INT", sessionKey);
+
+            assertTrue(plan.contains("Index Scan on idx_bets_session_pending")
+                || plan.contains("Index Scan using idx_bets_session_pending"), plan);
+            assertFalse(plan.contains("bets_settled"), plan);
+            assertEquals(5, betRepository.findPendingBySessionKeyForUpdate(SessionKey.of(sessionKey)).size());
+        }
+
+        @Test
+        @DisplayName("should read covered pending-bet columns without touching the table")
+        void shouldReadCoveredColumnsIndexOnly() {
+            int sessionKey = sessionWithMostlySettledBets();
+            // Inside the test transaction nothing is vacuumed yet, so the visibility map is empty
+            // and a bitmap scan looks as cheap; after autovacuum the planner prefers index-only
+            jdbcTemplate.execute("SET LOCAL enable_bitmapscan = off");
+
+            String lockStep = genericPlan(
+                "SELECT user_id FROM bets WHERE session_key = $1 AND status = 'PENDING'", "INT", sessionKey);
+            String covered = genericPlan(
+                "SELECT user_id, driver_number, stake_cents, odds FROM bets " +
+                "WHERE session_key = $1 AND status = 'PENDING'", "INT", sessionKey);
+
+            assertTrue(lockStep.contains("Index Only Scan using idx_bets_session_pending"), lockStep);
+            assertTrue(covered.contains("Index Only Scan using idx_bets_session_pending"), covered);
         }
     }
 
@@ -127,7 +325,7 @@ class RepositoryIntegrationTest extends BaseIntegrationTest {
             LedgerEntry entry = LedgerEntry.initialCredit(userId, 10_000L);
             ledgerRepository.save(entry);
 
-            var entries = ledgerRepository.findByUserId(userId);
+            var entries = ledgerRepository.findByUserIdSince(userId, Instant.EPOCH);
             assertEquals(1, entries.size());
             assertEquals(LedgerEntryType.INITIAL_CREDIT, entries.get(0).getEntryType());
         }
@@ -148,8 +346,487 @@ class RepositoryIntegrationTest extends BaseIntegrationTest {
             ledgerRepository.save(credit);
             ledgerRepository.save(betPlaced);
 
-            var entries = ledgerRepository.findByUserId(userId);
+            var entries = ledgerRepository.findByUserIdSince(userId, Instant.EPOCH);
             assertEquals(2, entries.size());
         }
+
+        @Test
+        @DisplayName("should return only entries created since the given instant")
+        void shouldFindEntriesSince() {
+            UserId userId = UserId.of("ledger-since-" + UUID.randomUUID().toString().substring(0, 8));
+            userRepository.save(User.createNew(userId));
+            ledgerRepository.save(LedgerEntry.initialCredit(userId, 10_000L));
+            entityManager.flush();
+            Instant lastYear = Instant.now().minus(Duration.ofDays(400));
+            jdbcTemplate.queryForObject("SELECT create_ledger_partitions(?, 1)", Integer.class, Timestamp.from(lastYear));
+            jdbcTemplate.update("INSERT INTO ledger_entries (id, user_id, entry_type, amount_cents, " +
+                "balance_after_cents, reference_id, created_at) VALUES (?, ?, 'BET_PLACED', -100, 9900, ?, ?)",
+                UUID.randomUUID(), userId.getValue(), UUID.randomUUID().toString(), Timestamp.from(lastYear));
+
+            assertEquals(2, ledgerRepository.findByUserIdSince(userId, Instant.EPOCH).size());
+            assertEquals(List.of(LedgerEntryType.INITIAL_CREDIT),
+                ledgerRepository.findByUserIdSince(userId, Instant.now().minus(Duration.ofDays(30))).stream()
+                    .map(LedgerEntry::getEntryType).toList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Bet partitions")
+    class BetPartitionTests {
+
+        private String partitionOf(UUID betId) {
+            return jdbcTemplate.queryForObject("SELECT tableoid::regclass::TEXT FROM bets WHERE id = ?",
+                String.class, betId);
+        }
+
+        @Test
+        @DisplayName("should keep pending bets apart and move them to the settled partition on settlement")
+        void shouldMoveBetsOnSettlement() {
+            int sessionKey = 958_999;
+            String userId = "partition-" + UUID.randomUUID().toString().substring(0, 8);
+            jdbcTemplate.update("INSERT INTO users (id, balance_cents) VALUES (?, 1000)", userId);
+            UUID winner = UUID.randomUUID();
+            UUID loser = UUID.randomUUID();
+            for (UUID id : List.of(winner, loser)) {
+                jdbcTemplate.update("INSERT INTO bets (id, user_id, session_key, driver_number, stake_cents, odds) "
+                    + "VALUES (?, ?, ?, ?, 100, 2)", id, userId, sessionKey, id == winner ? 44 : 1);
+            }
+            assertEquals("bets_pending", partitionOf(winner));
+
+            settlementGateway.settle(SessionKey.of(sessionKey), DriverNumber.of(44), Instant.now());
+
+            assertEquals("bets_settled", partitionOf(winner));
+            assertEquals("bets_settled", partitionOf(loser));
+            assertEquals(BetStatus.WON, betRepository.findById(winner).orElseThrow().getStatus());
+        }
+
+        @Test
+        @DisplayName("should still reject placements on a settled session")
+        void shouldRejectBetOnSettledSession() {
+            int sessionKey = 958_998;
+            String userId = "partition-" + UUID.randomUUID().toString().substring(0, 8);
+            jdbcTemplate.update("INSERT INTO users (id, balance_cents) VALUES (?, 1000)", userId);
+            jdbcTemplate.update("INSERT INTO event_outcomes (session_key, winning_driver_number) VALUES (?, 44)",
+                sessionKey);
+
+            jdbcTemplate.execute("SAVEPOINT settled_session");
+            assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO bets (id, user_id, session_key, driver_number, stake_cents, odds) "
+                    + "VALUES (?, ?, ?, 44, 100, 2)", UUID.randomUUID(), userId, sessionKey));
+            jdbcTemplate.execute("ROLLBACK TO SAVEPOINT settled_session");
+        }
+
+        @Test
+        @DisplayName("should keep ids and idempotency keys of settled bets unique for new bets in other sessions")
+        void shouldKeepKeysUniqueAcrossPartitions() {
+            String userId = "partition-" + UUID.randomUUID().toString().substring(0, 8);
+            jdbcTemplate.update("INSERT INTO users (id, balance_cents) VALUES (?, 1000)", userId);
+            UUID settledId = UUID.randomUUID();
+            String settledKey = UUID.randomUUID().toString();
+            jdbcTemplate.update("INSERT INTO bets (id, user_id, session_key, driver_number, stake_cents, odds, "
+                + "idempotency_key) VALUES (?, ?, 958_997, 44, 100, 2, ?)", settledId, userId, settledKey);
+            settlementGateway.settle(SessionKey.of(958_997), DriverNumber.of(44), Instant.now());
+            assertEquals("bets_settled", partitionOf(settledId));
+
+            for (Object[] duplicate : List.of(
+                    new Object[] {UUID.randomUUID(), settledKey},
+                    new Object[] {settledId, UUID.randomUUID().toString()})) {
+                jdbcTemplate.execute("SAVEPOINT duplicate_bet");
+                assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                    "INSERT INTO bets (id, user_id, session_key, driver_number, stake_cents, odds, idempotency_key) "
+                        + "VALUES (?, ?, 958_996, 44, 100, 2, ?)", duplicate[0], userId, duplicate[1]));
+                jdbcTemplate.execute("ROLLBACK TO SAVEPOINT duplicate_bet");
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Ledger partitions")
+    class LedgerPartitionTests {
+
+        @Test
+        @DisplayName("should create missing monthly partitions once")
+        void shouldCreatePartitionsIdempotently() {
+            Timestamp farFuture = Timestamp.from(Instant.now().plus(Duration.ofDays(3 * 365)));
+
+            assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT create_ledger_partitions(?, 2)", Integer.class, farFuture));
+            assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT create_ledger_partitions(?, 2)", Integer.class, farFuture));
+            // The current month and the next three exist since the migration
+            assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT create_ledger_partitions(NOW(), 4)", Integer.class));
+        }
+
+        @Test
+        @DisplayName("should keep the immutability guard on every partition, including new ones")
+        void shouldGuardEveryPartition() {
+            jdbcTemplate.queryForObject("SELECT create_ledger_partitions(?, 1)", Integer.class,
+                Timestamp.from(Instant.now().plus(Duration.ofDays(5 * 365))));
+
+            Integer unguarded = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_inherits i WHERE i.inhparent = 'ledger_entries'::regclass " +
+                "AND NOT EXISTS (SELECT 1 FROM pg_trigger t " +
+                "WHERE t.tgrelid = i.inhrelid AND t.tgname = 'ledger_immutability_guard')", Integer.class);
+            assertEquals(0, unguarded);
+
+            UserId userId = UserId.of("ledger-guard-" + UUID.randomUUID().toString().substring(0, 8));
+            userRepository.save(User.createNew(userId));
+            ledgerRepository.save(LedgerEntry.initialCredit(userId, 10_000L));
+            entityManager.flush();
+            jdbcTemplate.execute("SAVEPOINT ledger_guard");
+            assertThrows(Exception.class, () -> jdbcTemplate.update(
+                "UPDATE ledger_entries SET amount_cents = 0 WHERE user_id = ?", userId.getValue()));
+            jdbcTemplate.execute("ROLLBACK TO SAVEPOINT ledger_guard");
+        }
+
+        @Test
+        @DisplayName("should reject a second initial credit for a user")
+        void shouldRejectSecondInitialCredit() {
+            UserId userId = UserId.of("ledger-credit-" + UUID.randomUUID().toString().substring(0, 8));
+            userRepository.save(User.createNew(userId));
+            ledgerRepository.save(LedgerEntry.initialCredit(userId, 10_000L));
+            entityManager.flush();
+
+            jdbcTemplate.execute("SAVEPOINT second_credit");
+            assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO ledger_entries (id, user_id, entry_type, amount_cents, balance_after_cents) " +
+                "VALUES (?, ?, 'INITIAL_CREDIT', 10000, 20000)", UUID.randomUUID(), userId.getValue()));
+            jdbcTemplate.execute("ROLLBACK TO SAVEPOINT second_credit");
+        }
+
+        @Test
+        @DisplayName("should read recent history from the newest partitions only")
+        void shouldPruneOlderPartitions() {
+            Instant old = Instant.now().minus(Duration.ofDays(200));
+            jdbcTemplate.queryForObject("SELECT create_ledger_partitions(?, 1)", Integer.class, Timestamp.from(old));
+            String oldPartition = jdbcTemplate.queryForObject(
+                "SELECT 'ledger_entries_' || to_char(?::TIMESTAMPTZ AT TIME ZONE 'UTC', 'YYYY_MM')",
+                String.class, Timestamp.from(old));
+
+            // The statement findByUserIdSince issues, as a generic plan
+            String plan = genericPlan(
+                "SELECT * FROM ledger_entries WHERE user_id = $1 AND created_at >= $2 ORDER BY created_at DESC",
+                "VARCHAR, TIMESTAMPTZ", "'someone', NOW() - INTERVAL '7 days'");
+
+            assertFalse(plan.contains(oldPartition), plan);
+            assertTrue(plan.contains("Subplans Removed"), plan);
+        }
+    }
+
+    @Nested
+    @DisplayName("place_bet function")
+    class PlaceBetFunctionTests {
+
+        private static final Money MAX_USER_STAKE = Money.ofCents(1_000_000);
+        private static final Money MAX_DRIVER_PAYOUT = Money.ofCents(100_000_000);
+        private static final Duration LOCK_TIMEOUT = Duration.ofSeconds(2);
+
+        private Bet newBet(long stakeCents) {
+            UserId userId = UserId.of("fn-user-" + UUID.randomUUID().toString().substring(0, 8));
+            SessionKey sessionKey = SessionKey.of(900_000 + (int) (Math.random() * 90_000));
+            return Bet.place(userId, sessionKey, DriverNumber.of(44), Money.ofCents(stakeCents), Odds.of(3));
+        }
+
+        @Test
+        @DisplayName("should open the account, place the bet and write both ledger entries")
+        void shouldPlaceForNewUser() {
+            Bet bet = newBet(2_500);
+
+            Outcome outcome = placementGateway.place(bet, MAX_USER_STAKE, MAX_DRIVER_PAYOUT, LOCK_TIMEOUT);
+
+            assertEquals(Status.PLACED, outcome.status());
+            assertEquals(7_500, outcome.balanceCents());
+            assertEquals(1, outcome.exposure().getBetCount());
+            assertEquals(7_500, outcome.exposure().getPotentialPayout().toCents());
+            assertEquals(7_500L, userRepository.findById(bet.getUserId()).orElseThrow().getBalanceCents());
+            assertTrue(betRepository.findById(bet.getId()).isPresent());
+            assertEquals(List.of(LedgerEntryType.INITIAL_CREDIT, LedgerEntryType.BET_PLACED),
+                ledgerRepository.findByUserIdSince(bet.getUserId(), Instant.EPOCH).stream()
+                    .map(LedgerEntry::getEntryType)
+                    .sorted()
+                    .toList());
+        }
+
+        @Test
+        @DisplayName("should return the current balance when it does not cover the stake")
+        void shouldRejectInsufficientBalance() {
+            Bet bet = newBet(20_000);
+
+            Outcome outcome = placementGateway.place(bet, MAX_USER_STAKE, MAX_DRIVER_PAYOUT, LOCK_TIMEOUT);
+
+            assertEquals(Status.INSUFFICIENT_BALANCE, outcome.status());
+            assertEquals(10_000, outcome.balanceCents());
+            assertNull(outcome.exposure());
+        }
+
+        @Test
+        @DisplayName("should reject a bet on a settled session")
+        void shouldRejectSettledSession() {
+            Bet bet = newBet(1_000);
+            jdbcTemplate.update("INSERT INTO event_outcomes (session_key, winning_driver_number) VALUES (?, 1)",
+                bet.getSessionKey().getValue());
+
+            Outcome outcome = placementGateway.place(bet, MAX_USER_STAKE, MAX_DRIVER_PAYOUT, LOCK_TIMEOUT);
+
+            assertEquals(Status.EVENT_SETTLED, outcome.status());
+        }
+
+        @Test
+        @DisplayName("should report which exposure limit would be exceeded")
+        void shouldRejectLimits() {
+            assertEquals(Status.USER_STAKE_LIMIT, placementGateway.place(newBet(1_000),
+                Money.ofCents(500), MAX_DRIVER_PAYOUT, LOCK_TIMEOUT).status());
+            assertEquals(Status.DRIVER_PAYOUT_LIMIT, placementGateway.place(newBet(1_000),
+                MAX_USER_STAKE, Money.ofCents(2_999), LOCK_TIMEOUT).status());
+        }
+
+        @Test
+        @DisplayName("should wait for a locked user row beyond the session lock timeout")
+        void shouldNotApplyLockTimeoutToUserRow() throws Exception {
+            Bet bet = newBet(1_000);
+            jdbcTemplate.execute("SET LOCAL lock_timeout = '7s'");
+            try (Connection holder = dataSource.getConnection(); Statement statement = holder.createStatement()) {
+                statement.execute("INSERT INTO users (id, balance_cents) VALUES ('" + bet.getUserId().getValue()
+                    + "', 10000)");
+                holder.setAutoCommit(false);
+                statement.execute("SELECT 1 FROM users WHERE id = '" + bet.getUserId().getValue() + "' FOR UPDATE");
+                Thread releaser = new Thread(() -> {
+                    try {
+                        Thread.sleep(500);
+                        holder.commit();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+                releaser.start();
+                long start = System.nanoTime();
+
+                Outcome outcome = placementGateway.place(bet, MAX_USER_STAKE, MAX_DRIVER_PAYOUT, Duration.ofMillis(100));
+
+                releaser.join();
+                assertEquals(Status.PLACED, outcome.status());
+                assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 400, "did not wait for the row");
+                assertEquals("7s", jdbcTemplate.queryForObject("SELECT current_setting('lock_timeout')", String.class));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Session lock tests")
+    class SessionLockTests {
+
+        private SessionKey newSessionKey() {
+            return SessionKey.of(800_000 + (int) (Math.random() * 90_000));
+        }
+
+        @Test
+        @DisplayName("should restore the previous lock_timeout once the lock is held")
+        void shouldRestoreLockTimeout() {
+            jdbcTemplate.execute("SET LOCAL lock_timeout = '7s'");
+
+            sessionLock.acquire(newSessionKey(), Duration.ofMillis(5));
+
+            assertEquals("7s", jdbcTemplate.queryForObject("SELECT current_setting('lock_timeout')", String.class));
+            assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_locks "
+                + "WHERE locktype = 'advisory' AND granted AND pid = pg_backend_pid()", Integer.class));
+        }
+
+        @Test
+        @DisplayName("should report a lock held elsewhere as a lock timeout")
+        void shouldTimeOutOnHeldLock() throws Exception {
+            SessionKey sessionKey = newSessionKey();
+            try (Connection holder = dataSource.getConnection(); Statement statement = holder.createStatement()) {
+                statement.execute("SELECT pg_advisory_lock(" + sessionKey.getValue() + ")");
+
+                assertThrows(SessionLockTimeoutException.class,
+                    () -> sessionLock.acquire(sessionKey, Duration.ofMillis(50)));
+
+                statement.execute("SELECT pg_advisory_unlock(" + sessionKey.getValue() + ")");
+            }
+        }
+
+        @Test
+        @DisplayName("should not report a statement timeout as a lock timeout")
+        void shouldNotReportStatementTimeoutAsLockTimeout() throws Exception {
+            SessionKey sessionKey = newSessionKey();
+            jdbcTemplate.execute("SET LOCAL statement_timeout = '50ms'");
+            try (Connection holder = dataSource.getConnection(); Statement statement = holder.createStatement()) {
+                statement.execute("SELECT pg_advisory_lock(" + sessionKey.getValue() + ")");
+
+                RuntimeException error = assertThrows(RuntimeException.class,
+                    () -> sessionLock.acquire(sessionKey, Duration.ofSeconds(5)));
+
+                assertFalse(error instanceof SessionLockTimeoutException);
+                statement.execute("SELECT pg_advisory_unlock(" + sessionKey.getValue() + ")");
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Outbox tests")
+    class OutboxTests {
+
+        @Test
+        @DisplayName("should write a batch of events in order")
+        void shouldPublishBatch() {
+            String userId = "outbox-" + UUID.randomUUID().toString().substring(0, 8);
+            List<UserBetUpdated> events = List.of(
+                new UserBetUpdated(userId, UUID.randomUUID(), 1, "WON", 300),
+                new UserBetUpdated(userId, UUID.randomUUID(), 1, "LOST", 300));
+
+            eventPublisher.publishAll(events);
+
+            assertEquals(events.stream().map(e -> e.betId().toString()).toList(),
+                jdbcTemplate.queryForList("SELECT payload->>'betId' FROM outbox WHERE recipient_user_id = ? ORDER BY id",
+                    String.class, userId));
+        }
+
+        @Test
+        @DisplayName("should move an undecodable event to the dead letter table and relay the rest")
+        void shouldDeadLetterUndecodableEvent() throws InterruptedException {
+            String userId = "outbox-" + UUID.randomUUID().toString().substring(0, 8);
+            Long bad = jdbcTemplate.queryForObject("INSERT INTO outbox (event_type, recipient_user_id, payload) "
+                + "VALUES ('user.bet.renamed', ?, '{}') RETURNING id", Long.class, userId);
+            eventPublisher.publish(new UserBetUpdated(userId, UUID.randomUUID(), 1, "WON", 300));
+
+            // The scheduled poll may hold the relay for a moment; it cannot see these uncommitted rows
+            for (int attempt = 0; attempt < 50 && outboxRelay.drain() == 0; attempt++) {
+                Thread.sleep(20);
+            }
+
+            assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox WHERE recipient_user_id = ?", Integer.class, userId));
+            assertEquals(List.of(bad), jdbcTemplate.queryForList(
+                "SELECT id FROM outbox_dead_letter WHERE recipient_user_id = ?", Long.class, userId));
+        }
+    }
+
+    @Nested
+    @DisplayName("settle_session function tests")
+    class SettleSessionFunctionTests {
+
+        private static final int[] DRIVERS = {1, 44, 16, 55};
+
+        /**
+         * Seeds a session with random users and bets. Placement times are drawn from a few
+         * seconds only, so a user often has several bets placed at the same instant.
+         */
+        private String seedSession(Random random, int sessionKey) {
+            String prefix = "settle-eq-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+            int users = 2 + random.nextInt(8);
+            for (int i = 0; i < users; i++) {
+                jdbcTemplate.update("INSERT INTO users (id, balance_cents) VALUES (?, ?)",
+                    prefix + i, (long) random.nextInt(20_000));
+            }
+            Instant placedFrom = Instant.parse("2024-06-01T14:00:00Z");
+            int bets = random.nextInt(40);
+            for (int i = 0; i < bets; i++) {
+                jdbcTemplate.update("INSERT INTO bets (id, user_id, session_key, driver_number, stake_cents, odds, "
+                        + "status, created_at) VALUES (?, ?, ?, ?, ?, ?, 'PENDING', ?)",
+                    UUID.randomUUID(), prefix + random.nextInt(users), sessionKey,
+                    DRIVERS[random.nextInt(DRIVERS.length)], 1L + random.nextInt(5_000), 2 + random.nextInt(3),
+                    Timestamp.from(placedFrom.plusSeconds(random.nextInt(4))));
+            }
+            return prefix;
+        }
+
+        private Map<String, List<Map<String, Object>>> snapshot(int sessionKey, String prefix) {
+            entityManager.flush();
+            return Map.of(
+                "bets", jdbcTemplate.queryForList(
+                    "SELECT id, status, settled_at IS NOT NULL AS settled FROM bets WHERE session_key = ? ORDER BY id",
+                    sessionKey),
+                "users", jdbcTemplate.queryForList(
+                    "SELECT id, balance_cents, version FROM users WHERE id LIKE ? ORDER BY id", prefix + "%"),
+                "ledger", jdbcTemplate.queryForList(
+                    "SELECT user_id, entry_type, amount_cents, balance_after_cents, reference_id FROM ledger_entries "
+                        + "WHERE user_id LIKE ? ORDER BY user_id, reference_id", prefix + "%"),
+                "events", jdbcTemplate.queryForList(
+                    "SELECT recipient_user_id, payload::text AS payload FROM outbox "
+                        + "WHERE event_type = 'user.bet.updated' AND recipient_user_id LIKE ? ORDER BY id",
+                    prefix + "%"));
+        }
+
+        /**
+         * Runs a settlement in a savepoint, captures its effects and rolls it back, so both
+         * engines can settle the very same rows.
+         */
+        private <T> Settled<T> settleAndRollBack(Supplier<T> settlement, int sessionKey, String prefix) {
+            jdbcTemplate.execute("SAVEPOINT settle_equivalence");
+            T result = settlement.get();
+            Map<String, List<Map<String, Object>>> rows = snapshot(sessionKey, prefix);
+            jdbcTemplate.execute("ROLLBACK TO SAVEPOINT settle_equivalence");
+            entityManager.clear();
+            return new Settled<>(result, rows);
+        }
+
+        private record Settled<T>(T result, Map<String, List<Map<String, Object>>> rows) {}
+
+        @Test
+        @DisplayName("should produce the same bets, balances, ledger and events as the Java engine")
+        void shouldMatchJavaEngine() {
+            for (long seed = 1; seed <= 5; seed++) {
+                Random random = new Random(seed);
+                int sessionKey = 950_000 + (int) seed;
+                int winner = DRIVERS[random.nextInt(DRIVERS.length)];
+                String prefix = seedSession(random, sessionKey);
+
+                Settled<SettleEventResult> java = settleAndRollBack(() -> settleEventUseCase.execute(
+                    new SettleEventCommand(SessionKey.of(sessionKey), DriverNumber.of(winner))), sessionKey, prefix);
+                Settled<SettlementGateway.Totals> sql = settleAndRollBack(() -> settlementGateway.settle(
+                    SessionKey.of(sessionKey), DriverNumber.of(winner), Instant.now()), sessionKey, prefix);
+
+                assertEquals(java.rows(), sql.rows(), "seed " + seed);
+                assertEquals(java.result().totalBets(), sql.result().totalBets(), "seed " + seed);
+                assertEquals(java.result().winningBets(), sql.result().winningBets(), "seed " + seed);
+                assertEquals(java.result().totalPayout().toCents(), sql.result().totalPayoutCents(), "seed " + seed);
+            }
+        }
+
+        @Test
+        @DisplayName("should credit each winner once and return the totals")
+        void shouldSettleSession() {
+            int sessionKey = 959_999;
+            String userId = "settle-fn-" + UUID.randomUUID().toString().substring(0, 8);
+            jdbcTemplate.update("INSERT INTO users (id, balance_cents) VALUES (?, 1000)", userId);
+            for (int driver : new int[] {44, 44, 1}) {
+                jdbcTemplate.update("INSERT INTO bets (id, user_id, session_key, driver_number, stake_cents, odds) "
+                    + "VALUES (?, ?, ?, ?, 100, 3)", UUID.randomUUID(), userId, sessionKey, driver);
+            }
+
+            SettlementGateway.Totals totals =
+                settlementGateway.settle(SessionKey.of(sessionKey), DriverNumber.of(44), Instant.now());
+
+            assertEquals(new SettlementGateway.Totals(3, 2, 600), totals);
+            assertEquals(1_600L, userRepository.findById(UserId.of(userId)).orElseThrow().getBalanceCents());
+            assertEquals(3, ledgerRepository.findByUserIdSince(UserId.of(userId), Instant.EPOCH).size());
+            assertEquals(0, betRepository.findBySessionKeyAndStatus(SessionKey.of(sessionKey), BetStatus.PENDING).size());
+        }
+
+        @Test
+        @DisplayName("should write ledger entries with time-ordered UUIDv7 ids")
+        void shouldWriteVersion7LedgerIds() {
+            int sessionKey = 959_998;
+            String userId = "settle-v7-" + UUID.randomUUID().toString().substring(0, 8);
+            jdbcTemplate.update("INSERT INTO users (id, balance_cents) VALUES (?, 1000)", userId);
+            for (int driver : new int[] {44, 1}) {
+                jdbcTemplate.update("INSERT INTO bets (id, user_id, session_key, driver_number, stake_cents, odds) "
+                    + "VALUES (?, ?, ?, ?, 100, 3)", UUID.randomUUID(), userId, sessionKey, driver);
+            }
+            long before = System.currentTimeMillis();
+
+            settlementGateway.settle(SessionKey.of(sessionKey), DriverNumber.of(44), Instant.now());
+
+            List<UUID> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM ledger_entries WHERE user_id = ?", UUID.class, userId);
+            assertEquals(2, ids.size());
+            for (UUID id : ids) {
+                assertEquals(7, id.version());
+                assertEquals(2, id.variant());
+                long millis = id.getMostSignificantBits() >>> 16;
+                assertTrue(millis >= before && millis <= System.currentTimeMillis(), "timestamp " + millis);
+            }
+        }
     }
 }